@@ -0,0 +1,19 @@
+-- Compressed interview transcripts, one per feedback row (FeedbackTranscript).
+-- The application copies transcripts still held in feedback.transcript into
+-- this table at startup and leaves the legacy column as it is.
+CREATE TABLE IF NOT EXISTS feedback_transcripts (
+    feedback_id     UUID PRIMARY KEY REFERENCES feedback (id) ON DELETE CASCADE,
+    encoding        VARCHAR(16) NOT NULL,
+    original_length INTEGER,
+    content         BYTEA NOT NULL
+);
+
+-- Optional, once every running release reads transcripts from
+-- feedback_transcripts and the copy has finished (the query below returns 0):
+--
+--   SELECT COUNT(*) FROM feedback f
+--   WHERE f.transcript IS NOT NULL
+--     AND NOT EXISTS (SELECT 1 FROM feedback_transcripts t WHERE t.feedback_id = f.id);
+--
+--   UPDATE feedback SET transcript = NULL
+--   WHERE id IN (SELECT feedback_id FROM feedback_transcripts);
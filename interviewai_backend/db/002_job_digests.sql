@@ -0,0 +1,11 @@
+-- Requirements summaries of job descriptions, keyed by the SHA-256 of the
+-- normalized text (JobDigest). Expired rows are deleted by the application
+-- (job-digest.retention), and missing ones are recreated on demand.
+CREATE TABLE IF NOT EXISTS job_digests (
+    hash          VARCHAR(64) PRIMARY KEY,
+    summary       TEXT NOT NULL,
+    source_tokens INTEGER,
+    created_at    TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_digests_created_at ON job_digests (created_at);
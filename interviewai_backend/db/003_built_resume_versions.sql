@@ -0,0 +1,31 @@
+-- Version history of built resumes (BuiltResumeVersion). The current content
+-- stays in built_resumes.user_input_data / ai_generated_content; versions are
+-- history only and are deleted with their resume.
+ALTER TABLE built_resumes ADD COLUMN IF NOT EXISTS current_version INTEGER;
+ALTER TABLE built_resumes ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) WITH TIME ZONE;
+
+CREATE TABLE IF NOT EXISTS built_resume_versions (
+    id              UUID PRIMARY KEY,
+    resume_id       UUID NOT NULL,
+    version         INTEGER NOT NULL,
+    kind            VARCHAR(16) NOT NULL,
+    encoding        VARCHAR(16) NOT NULL,
+    original_length INTEGER NOT NULL,
+    stored_length   INTEGER NOT NULL,
+    content         BYTEA NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_built_resume_versions_resume_version UNIQUE (resume_id, version)
+);
+
+-- Also for tables created before the foreign key existed: drop versions whose
+-- resume is gone, then cascade deletes from built_resumes (including deletes
+-- made directly through Supabase)
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_built_resume_versions_resume') THEN
+        DELETE FROM built_resume_versions v
+        WHERE NOT EXISTS (SELECT 1 FROM built_resumes r WHERE r.id = v.resume_id);
+        ALTER TABLE built_resume_versions ADD CONSTRAINT fk_built_resume_versions_resume
+            FOREIGN KEY (resume_id) REFERENCES built_resumes (id) ON DELETE CASCADE;
+    END IF;
+END $$;
@@ -0,0 +1,16 @@
+-- Responses to POSTs sent with an Idempotency-Key (IdempotencyRecord), kept
+-- until they expire so a retried request gets the original response. Expired
+-- rows are deleted by the application (idempotency.ttl).
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope                 VARCHAR(512) PRIMARY KEY,
+    user_id               UUID,
+    request_hash          VARCHAR(64),
+    status                VARCHAR(16),
+    response_status       INTEGER,
+    response_content_type VARCHAR(255),
+    response_body         BYTEA,
+    created_at            TIMESTAMP(6) WITH TIME ZONE,
+    expires_at            TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
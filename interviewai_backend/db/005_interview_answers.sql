@@ -0,0 +1,19 @@
+-- Answers of interview sessions (InterviewAnswer), each evaluated as soon as
+-- it is submitted. One row per question of an interview; a resubmitted answer
+-- updates its row.
+CREATE TABLE IF NOT EXISTS interview_answers (
+    id             UUID PRIMARY KEY,
+    interview_id   UUID,
+    user_id        UUID,
+    question_index INTEGER,
+    question       TEXT,
+    answer         TEXT,
+    revision       INTEGER,
+    status         VARCHAR(16),
+    score          INTEGER,
+    strengths      TEXT,
+    improvement    TEXT,
+    submitted_at   TIMESTAMP(6) WITH TIME ZONE,
+    evaluated_at   TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_interview_answers_interview_question UNIQUE (interview_id, question_index)
+);
@@ -0,0 +1,57 @@
+package com.interviewai.admission;
+
+import com.interviewai.web.JsonErrorResponse;
+import com.interviewai.web.LlmEndpoints;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Applies the per-user rate limits to the LLM endpoints before any work is
+ * done, answering over-limit requests with 429 and Retry-After. Runs after
+ * the idempotency filter, so replayed responses are not counted.
+ */
+@Component
+@Order(2)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final UserRateLimiter rateLimiter;
+
+    public AdmissionFilter(UserRateLimiter rateLimiter) {
+        this.rateLimiter = java.util.Objects.requireNonNull(rateLimiter, "rateLimiter must not be null");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !LlmEndpoints.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Duration retryAfter = rateLimiter.tryAcquire(authentication.getName(), LlmEndpoints.match(request));
+        if (!retryAfter.isZero()) {
+            JsonErrorResponse.write(response, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded", retryAfter);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,222 @@
+package com.interviewai.admission;
+
+import com.interviewai.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Global weighted-fair queue in front of the Gemini client.
+ * At most max-concurrency calls run at once. When all slots are busy, calls
+ * wait in a queue ordered by virtual finish time (self-clocked fair
+ * queuing): each user's calls are stamped one after another, advancing by
+ * the call's cost, so a user with many queued calls cannot starve one with
+ * a single call. The cost is the call's token budget, so large prompts use
+ * up a user's share faster. Calls that cannot be queued, or that wait longer
+ * than max-wait, fail fast with {@link TooManyRequestsException}.
+ *
+ * The user is read from the Reactor context ({@link #forUser}); calls
+ * without one share a single anonymous share.
+ */
+@Component
+public class FairQueue {
+
+    private static final String USER_KEY = FairQueue.class.getName() + ".USER";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final int maxConcurrency;
+    private final int maxQueued;
+    private final int maxQueuedPerUser;
+    private final Duration maxWait;
+    private final MeterRegistry meterRegistry;
+    private final Timer waitTimer;
+
+    private final PriorityQueue<Ticket> queue = new PriorityQueue<>(
+            Comparator.comparingDouble(Ticket::finishTag).thenComparingLong(Ticket::sequence));
+    private final Map<String, Share> shares = new HashMap<>();
+    private int running;
+    private double virtualTime;
+    private long sequence;
+    // Exponentially weighted mean call duration, used for Retry-After
+    private volatile double meanCallNanos = TimeUnit.SECONDS.toNanos(10);
+
+    private static final class Share {
+        double lastFinish;
+        int queued;
+    }
+
+    private record Ticket(String user, double finishTag, long sequence, long enqueuedAt,
+            CompletableFuture<Void> granted, AtomicBoolean finished) {
+    }
+
+    public FairQueue(MeterRegistry meterRegistry,
+            @Value("${admission.gemini.max-concurrency:8}") int maxConcurrency,
+            @Value("${admission.gemini.max-queued:64}") int maxQueued,
+            @Value("${admission.gemini.max-queued-per-user:4}") int maxQueuedPerUser,
+            @Value("${admission.gemini.max-wait:PT30S}") Duration maxWait) {
+        this.meterRegistry = java.util.Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.maxWait = java.util.Objects.requireNonNull(maxWait, "admission.gemini.max-wait must not be null");
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueued = maxQueued;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.waitTimer = Timer.builder("gemini.admission.wait")
+                .description("Time calls spend queued for a Gemini slot")
+                .register(meterRegistry);
+        meterRegistry.gauge("gemini.admission.queue.depth", this, FairQueue::queueDepth);
+        meterRegistry.gauge("gemini.admission.running", this, FairQueue::runningCalls);
+    }
+
+    /**
+     * Context entry identifying the user a Gemini call is made for, e.g.
+     * {@code geminiService.analyzeTranscript(t).contextWrite(FairQueue.forUser(userId))}.
+     */
+    public static Function<Context, Context> forUser(UUID userId) {
+        return context -> context.put(USER_KEY, userId.toString());
+    }
+
+    /**
+     * Runs the call once a slot is free and it is this user's turn.
+     *
+     * @param cost relative size of the call, e.g. its token budget
+     */
+    public <T> Mono<T> submit(double cost, Mono<T> call) {
+        return Mono.deferContextual(context -> {
+            String user = context.getOrDefault(USER_KEY, ANONYMOUS);
+            Ticket ticket;
+            try {
+                ticket = enqueue(user, cost);
+            } catch (TooManyRequestsException e) {
+                return Mono.error(e);
+            }
+            return Mono.fromFuture(ticket.granted(), true)
+                    .timeout(maxWait, Mono.error(() -> rejected("wait_timeout", "Timed out waiting for a model slot")))
+                    .then(Mono.defer(() -> {
+                        waitTimer.record(System.nanoTime() - ticket.enqueuedAt(), TimeUnit.NANOSECONDS);
+                        long started = System.nanoTime();
+                        return call.doFinally(signal -> recordCallTime(System.nanoTime() - started));
+                    }))
+                    .doFinally(signal -> finish(ticket));
+        });
+    }
+
+    /**
+     * Runs the call only if a slot is free right now and no call is queued;
+     * otherwise completes empty without running it. For optional calls that
+     * must not make user calls wait.
+     */
+    public <T> Mono<T> trySubmit(Mono<T> call) {
+        return Mono.defer(() -> {
+            Ticket ticket = tryAcquire();
+            return ticket == null ? Mono.<T>empty() : call.doFinally(signal -> finish(ticket));
+        });
+    }
+
+    private synchronized Ticket tryAcquire() {
+        if (running >= maxConcurrency || !queue.isEmpty()) {
+            return null;
+        }
+        running++;
+        return new Ticket(ANONYMOUS, virtualTime, sequence++, System.nanoTime(),
+                CompletableFuture.completedFuture(null), new AtomicBoolean());
+    }
+
+    private synchronized Ticket enqueue(String user, double cost) {
+        long now = System.nanoTime();
+        if (running < maxConcurrency && queue.isEmpty()) {
+            running++;
+            return new Ticket(user, virtualTime, sequence++, now, CompletableFuture.completedFuture(null),
+                    new AtomicBoolean());
+        }
+        Share share = shares.computeIfAbsent(user, u -> new Share());
+        if (queue.size() >= maxQueued) {
+            throw rejected("queue_full", "Model capacity exhausted, try again later");
+        }
+        if (share.queued >= maxQueuedPerUser) {
+            throw rejected("user_queue_full", "Too many queued requests for this user");
+        }
+        share.lastFinish = Math.max(virtualTime, share.lastFinish) + cost;
+        share.queued++;
+        Ticket ticket = new Ticket(user, share.lastFinish, sequence++, now, new CompletableFuture<>(),
+                new AtomicBoolean());
+        queue.add(ticket);
+        return ticket;
+    }
+
+    /**
+     * Releases the ticket's slot, or removes it from the queue if it never
+     * got one (cancelled or timed out), and starts the next queued calls.
+     */
+    private void finish(Ticket ticket) {
+        if (!ticket.finished().compareAndSet(false, true)) {
+            return;
+        }
+        List<Ticket> granted = new ArrayList<>();
+        synchronized (this) {
+            if (queue.remove(ticket)) {
+                shares.get(ticket.user()).queued--;
+            } else {
+                running--;
+            }
+            while (running < maxConcurrency && !queue.isEmpty()) {
+                Ticket next = queue.poll();
+                shares.get(next.user()).queued--;
+                virtualTime = next.finishTag();
+                running++;
+                granted.add(next);
+            }
+            if (queue.isEmpty()) {
+                // No contention left; start everyone afresh
+                shares.clear();
+            }
+        }
+        // Completed outside the lock: the call is subscribed on this thread
+        granted.forEach(next -> next.granted().complete(null));
+    }
+
+    private TooManyRequestsException rejected(String reason, String message) {
+        meterRegistry.counter("gemini.admission.rejected", "reason", reason).increment();
+        return new TooManyRequestsException(message, retryAfter());
+    }
+
+    /**
+     * Estimated time until a queued call would start: the queue drains
+     * max-concurrency calls per mean call duration.
+     */
+    private Duration retryAfter() {
+        double rounds = (double) (queueDepth() + 1) / maxConcurrency;
+        return Duration.ofNanos((long) (Math.max(1, rounds) * meanCallNanos));
+    }
+
+    private void recordCallTime(long nanos) {
+        meanCallNanos = 0.9 * meanCallNanos + 0.1 * nanos;
+    }
+
+    /**
+     * Calls waiting for a slot.
+     */
+    public synchronized int queueDepth() {
+        return queue.size();
+    }
+
+    synchronized int runningCalls() {
+        return running;
+    }
+}
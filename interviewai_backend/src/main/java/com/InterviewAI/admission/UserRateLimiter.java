@@ -0,0 +1,81 @@
+package com.interviewai.admission;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket rate limits for the LLM endpoints, keyed on the JWT subject.
+ * Each user has one bucket shared by all endpoints and one per endpoint, so
+ * a user looping on one endpoint is held to that endpoint's rate without
+ * exceeding the overall budget. Idle buckets are evicted once they would
+ * have refilled anyway.
+ */
+@Component
+public class UserRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final int userBurst;
+    private final double userPerMinute;
+    private final int endpointBurst;
+    private final double endpointPerMinute;
+
+    @Autowired
+    public UserRateLimiter(MeterRegistry meterRegistry,
+            @Value("${admission.user.burst:10}") int userBurst,
+            @Value("${admission.user.per-minute:20}") double userPerMinute,
+            @Value("${admission.endpoint.burst:6}") int endpointBurst,
+            @Value("${admission.endpoint.per-minute:8}") double endpointPerMinute) {
+        this(meterRegistry, userBurst, userPerMinute, endpointBurst, endpointPerMinute, System::nanoTime);
+    }
+
+    public UserRateLimiter(MeterRegistry meterRegistry, int userBurst, double userPerMinute, int endpointBurst,
+            double endpointPerMinute, LongSupplier nanoTime) {
+        this.meterRegistry = java.util.Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.nanoTime = java.util.Objects.requireNonNull(nanoTime, "nanoTime must not be null");
+        this.userBurst = userBurst;
+        this.userPerMinute = userPerMinute;
+        this.endpointBurst = endpointBurst;
+        this.endpointPerMinute = endpointPerMinute;
+        double refillMinutes = Math.max(userBurst / userPerMinute, endpointBurst / endpointPerMinute);
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofSeconds((long) Math.ceil(refillMinutes * 60)).plusMinutes(1))
+                .build();
+    }
+
+    /**
+     * Takes a token from the user's overall bucket and the endpoint bucket.
+     *
+     * @return zero if the request is admitted, otherwise when to retry
+     */
+    public Duration tryAcquire(String subject, String endpoint) {
+        TokenBucket perEndpoint = buckets.get(subject + " " + endpoint,
+                key -> new TokenBucket(endpointBurst, endpointPerMinute, nanoTime));
+        long wait = perEndpoint.tryConsume();
+        if (wait > 0) {
+            return limited(endpoint, "endpoint", wait);
+        }
+        TokenBucket overall = buckets.get(subject, key -> new TokenBucket(userBurst, userPerMinute, nanoTime));
+        wait = overall.tryConsume();
+        if (wait > 0) {
+            perEndpoint.refund();
+            return limited(endpoint, "user", wait);
+        }
+        return Duration.ZERO;
+    }
+
+    private Duration limited(String endpoint, String limit, long waitNanos) {
+        meterRegistry.counter("admission.rate.limited", "endpoint", endpoint, "limit", limit).increment();
+        return Duration.ofNanos(waitNanos);
+    }
+}
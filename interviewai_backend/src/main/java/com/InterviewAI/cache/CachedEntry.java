@@ -0,0 +1,8 @@
+package com.interviewai.cache;
+
+/**
+ * A cached read result together with the ETag of its JSON
+ * representation and that representation's size in bytes.
+ */
+public record CachedEntry<V>(V value, String etag, int sizeInBytes) {
+}
@@ -0,0 +1,8 @@
+package com.interviewai.cache;
+
+/**
+ * A cached entity in serialized form: its JSON body, ETag, and the small
+ * on-heap metadata needed to authorize access (e.g. the owner's id).
+ */
+public record CachedPayload<M>(M metadata, String etag, byte[] json) {
+}
@@ -0,0 +1,18 @@
+package com.interviewai.cache;
+
+import org.springframework.util.DigestUtils;
+
+/**
+ * ETags for serialized JSON bodies. They are weak because the same content
+ * may be sent gzip-compressed or as CBOR/Smile, and because Tomcat does not
+ * compress responses that carry a strong ETag.
+ */
+final class JsonEtag {
+
+    private JsonEtag() {
+    }
+
+    static String of(byte[] json) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(json) + "\"";
+    }
+}
@@ -0,0 +1,128 @@
+package com.interviewai.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Stores serialized payloads outside the Java heap, in a ring of direct
+ * ByteBuffer segments. Payloads are appended to the current segment; when
+ * the ring is full the oldest segment is recycled and every payload in it
+ * becomes unreadable, so callers treat a null read as a cache miss.
+ * Payloads larger than one segment are not stored. A capacity of 0 disables
+ * the store.
+ */
+@Component
+public class OffHeapPayloadStore {
+
+    private final Segment[] segments;
+    private final int segmentSize;
+    private final Counter recycled;
+    private int current;
+
+    public OffHeapPayloadStore(MeterRegistry meterRegistry,
+            @Value("${cache.offheap.capacity:64MB}") DataSize capacity,
+            @Value("${cache.offheap.segment-size:4MB}") DataSize segmentSize) {
+        this.segmentSize = (int) Math.min(segmentSize.toBytes(), Integer.MAX_VALUE);
+        int count = (int) (capacity.toBytes() / Math.max(1, this.segmentSize));
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(this.segmentSize);
+        }
+        this.recycled = Counter.builder("cache.offheap.segments.recycled")
+                .description("Off-heap cache segments overwritten to make room")
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.capacity", () -> (double) count * this.segmentSize)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("cache.offheap.used", this, OffHeapPayloadStore::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Copies the payload into the store.
+     *
+     * @return its location, or null if the store is disabled or the payload
+     *         is larger than a segment
+     */
+    public synchronized PayloadRef write(byte[] payload) {
+        if (segments.length == 0 || payload.length > segmentSize) {
+            return null;
+        }
+        Segment segment = segments[current];
+        if (segment.position + payload.length > segmentSize) {
+            current = (current + 1) % segments.length;
+            segment = segments[current];
+            segment.recycle();
+            recycled.increment();
+        }
+        int offset = segment.position;
+        segment.buffer.put(offset, payload);
+        segment.position += payload.length;
+        return new PayloadRef(current, segment.generation, offset, payload.length);
+    }
+
+    /**
+     * Copies a payload back onto the heap.
+     *
+     * @return the payload, or null if its segment has been recycled
+     */
+    public byte[] read(PayloadRef ref) {
+        Segment segment = segments[ref.segment()];
+        ReentrantReadWriteLock.ReadLock lock = segment.lock.readLock();
+        lock.lock();
+        try {
+            if (segment.generation != ref.generation()) {
+                return null;
+            }
+            byte[] payload = new byte[ref.length()];
+            segment.buffer.get(ref.offset(), payload);
+            return payload;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private synchronized double usedBytes() {
+        long used = 0;
+        for (Segment segment : segments) {
+            used += segment.position;
+        }
+        return used;
+    }
+
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        // Written under the store's monitor (and the write lock), read under the read lock
+        private volatile long generation;
+        private int position;
+
+        private Segment(int size) {
+            this.buffer = ByteBuffer.allocateDirect(size);
+        }
+
+        /**
+         * Invalidates every payload in the segment; waits for in-flight reads.
+         */
+        private void recycle() {
+            ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                generation++;
+                position = 0;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+}
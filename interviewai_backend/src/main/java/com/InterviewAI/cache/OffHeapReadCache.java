@@ -0,0 +1,91 @@
+package com.interviewai.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for entities with large JSONB payloads. The entity is
+ * serialized once on load and kept as JSON bytes in the
+ * {@link OffHeapPayloadStore}; the heap holds only a small index entry per
+ * key, so hot entries add neither JsonNode trees nor GC work. Reads return
+ * the stored bytes, ready to be written as the response body.
+ */
+public class OffHeapReadCache<K, V, M> {
+
+    private final Cache<K, Slot<M>> index;
+    private final OffHeapPayloadStore store;
+    private final ObjectMapper objectMapper;
+    private final Function<? super V, ? extends M> metadata;
+
+    OffHeapReadCache(Cache<K, Slot<M>> index, OffHeapPayloadStore store, ObjectMapper objectMapper,
+            Function<? super V, ? extends M> metadata) {
+        this.index = index;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.metadata = metadata;
+    }
+
+    /**
+     * Returns the cached payload for the key, loading it on a miss or when
+     * its off-heap segment has been recycled. Like ReadThroughCache, the load
+     * runs atomically for its key, so concurrent misses share one load and
+     * an invalidate issued during a load waits for it and then removes what
+     * it stored, rather than being overwritten by the value read before it.
+     *
+     * @return the payload, or null if the loader found nothing
+     */
+    public CachedPayload<M> get(K key, Function<? super K, ? extends V> loader) {
+        Slot<M> slot = index.getIfPresent(key);
+        CachedPayload<M> cached = read(slot);
+        if (cached != null) {
+            return cached;
+        }
+
+        AtomicReference<CachedPayload<M>> result = new AtomicReference<>();
+        index.asMap().compute(key, (k, current) -> {
+            // Another caller may have loaded the key while this one waited
+            CachedPayload<M> existing = read(current);
+            if (existing != null) {
+                result.set(existing);
+                return current;
+            }
+            V value = loader.apply(k);
+            if (value == null) {
+                return null;
+            }
+            byte[] json = serialize(value);
+            CachedPayload<M> payload = new CachedPayload<>(metadata.apply(value), JsonEtag.of(json), json);
+            result.set(payload);
+            PayloadRef ref = store.write(json);
+            return ref == null ? null : new Slot<>(payload.metadata(), payload.etag(), ref);
+        });
+        return result.get();
+    }
+
+    public void invalidate(K key) {
+        index.invalidate(key);
+    }
+
+    private CachedPayload<M> read(Slot<M> slot) {
+        if (slot == null) {
+            return null;
+        }
+        byte[] json = store.read(slot.ref());
+        return json == null ? null : new CachedPayload<>(slot.metadata(), slot.etag(), json);
+    }
+
+    private byte[] serialize(V value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached value: " + e.getMessage(), e);
+        }
+    }
+
+    record Slot<M>(M metadata, String etag, PayloadRef ref) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.interviewai.cache;
+
+/**
+ * Location of a payload in the {@link OffHeapPayloadStore}. Valid while the
+ * segment still has the same generation.
+ */
+record PayloadRef(int segment, long generation, int offset, int length) {
+}
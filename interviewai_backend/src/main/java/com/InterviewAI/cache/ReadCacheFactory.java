@@ -0,0 +1,75 @@
+package com.interviewai.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Creates the named read caches used by the services.
+ * Each cache is bounded by the serialized size of its entries (Caffeine's
+ * W-TinyLFU policy decides what to evict) and expires entries after a TTL,
+ * which bounds staleness for rows changed outside this instance. Hit/miss
+ * and eviction counts are published as cache.* metrics tagged with the name.
+ * Off-heap caches share one {@link OffHeapPayloadStore}; only their index
+ * lives on the heap, bounded by entry count.
+ */
+@Component
+public class ReadCacheFactory {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final OffHeapPayloadStore offHeapStore;
+    private final DataSize maxSize;
+    private final Duration ttl;
+    private final long offHeapMaxEntries;
+
+    public ReadCacheFactory(ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            OffHeapPayloadStore offHeapStore,
+            @Value("${cache.read.max-size:32MB}") DataSize maxSize,
+            @Value("${cache.read.ttl:PT30M}") Duration ttl,
+            @Value("${cache.offheap.max-entries:100000}") long offHeapMaxEntries) {
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.meterRegistry = java.util.Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.offHeapStore = java.util.Objects.requireNonNull(offHeapStore, "offHeapStore must not be null");
+        this.maxSize = java.util.Objects.requireNonNull(maxSize, "cache.read.max-size must not be null");
+        this.ttl = java.util.Objects.requireNonNull(ttl, "cache.read.ttl must not be null");
+        this.offHeapMaxEntries = offHeapMaxEntries;
+    }
+
+    public <K, V> ReadThroughCache<K, V> create(String name) {
+        Cache<K, CachedEntry<V>> cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((K key, CachedEntry<V> entry) -> entry.sizeInBytes())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return new ReadThroughCache<>(cache, objectMapper);
+    }
+
+    /**
+     * Creates a cache whose payloads are stored off-heap.
+     *
+     * @param metadata extracts what must stay on the heap, e.g. the owner id
+     */
+    public <K, V, M> OffHeapReadCache<K, V, M> createOffHeap(String name, Function<? super V, ? extends M> metadata) {
+        Cache<K, OffHeapReadCache.Slot<M>> index = Caffeine.newBuilder()
+                .maximumSize(offHeapMaxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, index, name);
+        return new OffHeapReadCache<>(index, offHeapStore, objectMapper, metadata);
+    }
+}
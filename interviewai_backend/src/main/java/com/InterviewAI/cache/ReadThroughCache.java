@@ -0,0 +1,58 @@
+package com.interviewai.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.function.Function;
+
+/**
+ * On-heap read-through cache for entities served by read endpoints.
+ * Concurrent misses for the same key share one load, and a loader returning
+ * null is not cached. The ETag is computed once per load, so a conditional
+ * request that matches it is answered without serializing the body again.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final Cache<K, CachedEntry<V>> cache;
+    private final ObjectMapper objectMapper;
+
+    ReadThroughCache(Cache<K, CachedEntry<V>> cache, ObjectMapper objectMapper) {
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the cached entry for the key, loading it on a miss.
+     *
+     * @return the entry, or null if the loader found nothing
+     */
+    public CachedEntry<V> get(K key, Function<? super K, ? extends V> loader) {
+        return cache.get(key, k -> {
+            V value = loader.apply(k);
+            return value == null ? null : entryFor(value);
+        });
+    }
+
+    /**
+     * Replaces the cached entry for the key with a freshly written value.
+     */
+    public CachedEntry<V> put(K key, V value) {
+        CachedEntry<V> entry = entryFor(value);
+        cache.put(key, entry);
+        return entry;
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    private CachedEntry<V> entryFor(V value) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(value);
+            return new CachedEntry<>(value, JsonEtag.of(json), json.length);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached value: " + e.getMessage(), e);
+        }
+    }
+}
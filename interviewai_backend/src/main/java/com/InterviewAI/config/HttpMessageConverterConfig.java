@@ -0,0 +1,38 @@
+package com.interviewai.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.interviewai.web.RawJsonHttpMessageConverter;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Content negotiation for the mobile client. Besides JSON, /api/** responses
+ * can be requested as CBOR (Accept: application/cbor) or Smile
+ * (Accept: application/x-jackson-smile). The binary converters replace
+ * Spring MVC's defaults of the same type, which sit after the JSON
+ * converter, so JSON stays the default; they are built from Boot's
+ * Jackson2ObjectMapperBuilder so dates and modules match the JSON output.
+ */
+@Configuration
+public class HttpMessageConverterConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public RawJsonHttpMessageConverter rawJsonHttpMessageConverter() {
+        return new RawJsonHttpMessageConverter();
+    }
+}
@@ -4,17 +4,29 @@ package com.interviewai.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.interviewai.idempotency.IdempotencyFilter;
+import com.interviewai.live.LiveInterviewServer;
+import com.interviewai.security.CachingJwtDecoder;
+import com.interviewai.security.ScrapeTokenFilter;
+import com.interviewai.security.UserJwtAuthenticationConverter;
+
 import javax.crypto.spec.SecretKeySpec;
 import java.util.Arrays;
 
@@ -24,9 +36,35 @@ public class SecurityConfig {
 
     // Injects the 'supabase.jwt.secret' from application.properties
     private final String jwtSecret;
+    private final long jwtCacheMaxSize;
+    private final String scrapeToken;
 
-    public SecurityConfig(@Value("${supabase.jwt.secret}") String jwtSecret) {
+    public SecurityConfig(@Value("${supabase.jwt.secret}") String jwtSecret,
+            @Value("${security.jwt.cache.max-size:10000}") long jwtCacheMaxSize,
+            @Value("${management.prometheus.scrape-token:}") String scrapeToken) {
         this.jwtSecret = java.util.Objects.requireNonNull(jwtSecret, "supabase.jwt.secret must not be null");
+        this.jwtCacheMaxSize = jwtCacheMaxSize;
+        this.scrapeToken = scrapeToken;
+    }
+
+    /**
+     * Prometheus scraping, authenticated by the scrape token rather than a
+     * user JWT. Metrics include per-operation Gemini usage, so without a
+     * token configured the endpoint answers 401 to everyone.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new ScrapeTokenFilter(scrapeToken), AuthorizationFilter.class)
+                .authorizeHttpRequests(authorize -> authorize.anyRequest().hasRole(ScrapeTokenFilter.ROLE))
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+
+        return http.build();
     }
 
     @Bean
@@ -45,17 +83,39 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize -> authorize
                         // Allow health checks or other public endpoints
                         .requestMatchers("/public/**", "/").permitAll()
+                        // Health checks (Prometheus scraping has its own chain above)
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        // Ranking every candidate's resume is for recruiters only
+                        .requestMatchers("/api/recruiter/**").hasRole("RECRUITER")
                         // Secure all other /api/ endpoints
                         .requestMatchers("/api/**").authenticated()
                         // Deny everything else
                         .anyRequest().denyAll())
 
                 // 5. Configure as an OAuth 2.0 Resource Server
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.decoder(jwtDecoder())));
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .bearerTokenResolver(bearerTokenResolver())
+                        .jwt(jwt -> jwt
+                                .decoder(jwtDecoder())
+                                .jwtAuthenticationConverter(new UserJwtAuthenticationConverter())));
 
         return http.build();
     }
 
+    /**
+     * Reads the token from the Authorization header, or for live interview
+     * handshakes (browsers cannot set headers on a WebSocket) from the
+     * access_token query parameter.
+     */
+    private static BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver headerResolver = new DefaultBearerTokenResolver();
+        DefaultBearerTokenResolver handshakeResolver = new DefaultBearerTokenResolver();
+        handshakeResolver.setAllowUriQueryParameter(true);
+        return request -> LiveInterviewServer.isHandshake(request)
+                ? handshakeResolver.resolve(request)
+                : headerResolver.resolve(request);
+    }
+
     @Bean
     public JwtDecoder jwtDecoder() {
         // Supabase uses a symmetric key (HS256), so we build a decoder with it
@@ -63,9 +123,11 @@ public class SecurityConfig {
                 jwtSecret.getBytes(),
                 MacAlgorithm.HS256.getName());
 
-        return NimbusJwtDecoder.withSecretKey(secretKey)
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(secretKey)
                 .macAlgorithm(MacAlgorithm.HS256)
                 .build();
+        // Verified tokens are reused until they expire
+        return new CachingJwtDecoder(decoder, jwtCacheMaxSize);
     }
 
     @Bean
@@ -78,7 +140,8 @@ public class SecurityConfig {
                                                                                                                // for
                                                                                                                // dev
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", IdempotencyFilter.HEADER));
+        configuration.setExposedHeaders(Arrays.asList(IdempotencyFilter.REPLAYED_HEADER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration); // Apply to all paths
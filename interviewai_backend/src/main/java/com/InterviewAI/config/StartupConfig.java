@@ -0,0 +1,32 @@
+package com.interviewai.config;
+
+import com.interviewai.admission.FairQueue;
+import com.interviewai.idempotency.IdempotencyService;
+import com.interviewai.live.LiveInterviewServer;
+import com.interviewai.service.JobDigestService;
+import com.interviewai.service.ResumeVersionService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Beans created at startup even with spring.main.lazy-initialization (the
+ * fast-start profile): the database and schema validation, so a deployment
+ * against a stale schema fails before taking traffic, and beans that
+ * schedule work or register gauges when they are created.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(DataSource.class, EntityManagerFactory.class,
+                IdempotencyService.class, JobDigestService.class, ResumeVersionService.class, FairQueue.class,
+                LiveInterviewServer.class);
+    }
+}
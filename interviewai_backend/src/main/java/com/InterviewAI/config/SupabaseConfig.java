@@ -28,8 +28,8 @@ public class SupabaseConfig {
      * The service role key provides admin-level access to Storage and Database.
      */
     @Bean(name = "supabaseWebClient")
-    public WebClient supabaseWebClient() {
-        return WebClient.builder()
+    public WebClient supabaseWebClient(WebClient.Builder webClientBuilder) {
+        return webClientBuilder
                 .baseUrl(supabaseUrl)
                 .defaultHeader("apikey", supabaseServiceRoleKey)
                 .defaultHeader("Authorization", "Bearer " + supabaseServiceRoleKey)
@@ -8,8 +8,9 @@ import org.springframework.web.reactive.function.client.WebClient;
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient() {
-        // This creates a reusable WebClient for your application
-        return WebClient.builder().build();
+    public WebClient webClient(WebClient.Builder webClientBuilder) {
+        // This creates a reusable WebClient for your application.
+        // The Boot-provided builder is instrumented, so calls are timed and traced.
+        return webClientBuilder.build();
     }
 }
@@ -0,0 +1,24 @@
+package com.interviewai.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.interviewai.exception.TooManyRequestsException;
+import com.interviewai.web.JsonErrorResponse;
+
+import java.util.Map;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Gemini admission rejections (see FairQueue)
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<Map<String, String>> tooManyRequests(TooManyRequestsException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, JsonErrorResponse.retryAfterSeconds(e.getRetryAfter()))
+                .body(Map.of("error", e.getMessage()));
+    }
+}
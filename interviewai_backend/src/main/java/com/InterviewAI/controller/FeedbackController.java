@@ -10,10 +10,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.interviewai.cache.CachedEntry;
 import com.interviewai.dto.FeedbackRequest;
 import com.interviewai.model.Feedback;
 import com.interviewai.service.FeedbackService;
+import com.interviewai.security.AuthenticatedUser;
 
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -30,8 +33,8 @@ public class FeedbackController {
             @RequestBody FeedbackRequest request,
             Authentication authentication) {
 
-        // Get the authenticated user's UUID from the token
-        UUID userId = UUID.fromString(authentication.getName());
+        // Get the authenticated user's UUID (parsed once during authentication)
+        UUID userId = AuthenticatedUser.userId(authentication);
 
         // Generate and save feedback using real Gemini API
         Feedback feedback = feedbackService.generateAndSaveFeedback(request, userId);
@@ -44,12 +47,29 @@ public class FeedbackController {
             @PathVariable UUID id,
             Authentication authentication) {
 
-        // Get the authenticated user's UUID from the token
-        UUID userId = UUID.fromString(authentication.getName());
+        // Get the authenticated user's UUID (parsed once during authentication)
+        UUID userId = AuthenticatedUser.userId(authentication);
 
-        // Get feedback with ownership verification
-        Feedback feedback = feedbackService.getFeedbackById(id, userId);
-        return ResponseEntity.ok(feedback);
+        // Get feedback with ownership verification; a matching If-None-Match gets 304
+        CachedEntry<Feedback> feedback = feedbackService.getFeedbackById(id, userId);
+        return ResponseEntity.ok().eTag(feedback.etag()).body(feedback.value());
+    }
+
+    /**
+     * The interview transcript on its own, without the scores.
+     */
+    @GetMapping("/{id}/transcript")
+    public ResponseEntity<Object> getTranscript(
+            @PathVariable UUID id,
+            Authentication authentication) {
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        return feedbackService.getTranscript(id, userId)
+                .<ResponseEntity<Object>>map(transcript -> ResponseEntity.ok(
+                        Map.of("feedbackId", id, "transcript", transcript)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "No transcript stored for this feedback")));
     }
 
     @GetMapping("/for-interview/{interviewId}")
@@ -57,12 +77,12 @@ public class FeedbackController {
             @PathVariable UUID interviewId,
             Authentication authentication) {
 
-        // Get the authenticated user's UUID from the token
-        UUID userId = UUID.fromString(authentication.getName());
+        // Get the authenticated user's UUID (parsed once during authentication)
+        UUID userId = AuthenticatedUser.userId(authentication);
 
         try {
-            Feedback feedback = feedbackService.getFeedbackByInterviewId(interviewId, userId);
-            return ResponseEntity.ok(feedback);
+            CachedEntry<Feedback> feedback = feedbackService.getFeedbackByInterviewId(interviewId, userId);
+            return ResponseEntity.ok().eTag(feedback.etag()).body(feedback.value());
         } catch (RuntimeException e) {
             // Return 404 if no feedback is found (which is OK for interviews in progress)
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
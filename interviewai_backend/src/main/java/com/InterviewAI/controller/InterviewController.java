@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.interviewai.dto.InterviewRequest;
 import com.interviewai.model.Interview;
 import com.interviewai.service.InterviewService;
+import com.interviewai.security.AuthenticatedUser;
 
 import java.util.UUID;
 
@@ -27,8 +28,8 @@ public class InterviewController {
             @RequestBody InterviewRequest request,
             Authentication authentication) {
 
-        // Get the authenticated user's UUID from the token
-        UUID userId = UUID.fromString(authentication.getName());
+        // Get the authenticated user's UUID (parsed once during authentication)
+        UUID userId = AuthenticatedUser.userId(authentication);
 
         Interview newInterview = interviewService.createInterview(request, userId);
 
@@ -0,0 +1,101 @@
+package com.interviewai.controller;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.interviewai.dto.AnswerRequest;
+import com.interviewai.exception.InterviewNotFoundException;
+import com.interviewai.model.Feedback;
+import com.interviewai.model.InterviewAnswer;
+import com.interviewai.security.AuthenticatedUser;
+import com.interviewai.service.InterviewSessionService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Answer-by-answer interview sessions. The client posts each answer as the
+ * interview goes, then completes the session to get the feedback.
+ */
+@RestController
+@RequestMapping("/api/interviews/{interviewId}")
+public class InterviewSessionController {
+    private final InterviewSessionService sessionService;
+
+    public InterviewSessionController(InterviewSessionService sessionService) {
+        this.sessionService = sessionService;
+    }
+
+    /**
+     * Submits (or replaces) the answer to one question. Evaluation runs in
+     * the background, so this returns 202 with the answer in PENDING state.
+     */
+    @PostMapping("/answers")
+    public ResponseEntity<Object> submitAnswer(
+            @PathVariable UUID interviewId,
+            @RequestBody AnswerRequest request,
+            Authentication authentication) {
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        try {
+            InterviewAnswer answer = sessionService.submitAnswer(interviewId, request, userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(answer);
+        } catch (InterviewNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            // Conflicting concurrent submissions the service could not reconcile
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "The answer was submitted concurrently, please retry"));
+        }
+    }
+
+    /**
+     * Lists the submitted answers with their evaluation status and scores.
+     */
+    @GetMapping("/answers")
+    public ResponseEntity<List<InterviewAnswer>> getAnswers(
+            @PathVariable UUID interviewId,
+            Authentication authentication) {
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        try {
+            return ResponseEntity.ok(sessionService.getAnswers(interviewId, userId));
+        } catch (InterviewNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Completes the session and returns the feedback aggregated from the
+     * per-answer evaluations.
+     */
+    @PostMapping("/complete")
+    public ResponseEntity<Object> complete(
+            @PathVariable UUID interviewId,
+            Authentication authentication) {
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        try {
+            Feedback feedback = sessionService.complete(interviewId, userId);
+            return ResponseEntity.ok(feedback);
+        } catch (InterviewNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+        }
+    }
+}
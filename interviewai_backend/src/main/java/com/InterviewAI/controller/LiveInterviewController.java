@@ -0,0 +1,68 @@
+package com.interviewai.controller;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.interviewai.exception.InterviewNotFoundException;
+import com.interviewai.live.LiveInterviewServer;
+import com.interviewai.model.Interview;
+import com.interviewai.security.AuthenticatedUser;
+import com.interviewai.service.InterviewSessionService;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * WebSocket channel for live interviews (see LiveInterviewEndpoint for the
+ * message protocol). Browsers cannot set the Authorization header on a
+ * WebSocket handshake, so this endpoint also accepts the token as an
+ * access_token query parameter.
+ */
+@RestController
+@RequestMapping("/api/interviews/{interviewId}")
+public class LiveInterviewController {
+    private final InterviewSessionService sessionService;
+    private final LiveInterviewServer liveInterviewServer;
+
+    public LiveInterviewController(InterviewSessionService sessionService, LiveInterviewServer liveInterviewServer) {
+        this.sessionService = sessionService;
+        this.liveInterviewServer = liveInterviewServer;
+    }
+
+    @GetMapping("/live")
+    public ResponseEntity<Object> live(
+            @PathVariable UUID interviewId,
+            Authentication authentication,
+            HttpServletRequest request,
+            HttpServletResponse response) throws ServletException, IOException {
+
+        if (!"websocket".equalsIgnoreCase(request.getHeader(HttpHeaders.UPGRADE))) {
+            return ResponseEntity.status(HttpStatus.UPGRADE_REQUIRED)
+                    .header(HttpHeaders.UPGRADE, "websocket")
+                    .body(Map.of("error", "WebSocket upgrade required"));
+        }
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        Interview interview;
+        try {
+            interview = sessionService.getInterview(interviewId, userId);
+        } catch (InterviewNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
+        }
+
+        liveInterviewServer.upgrade(request, response, interview, userId);
+        return null; // the container has written the handshake response
+    }
+}
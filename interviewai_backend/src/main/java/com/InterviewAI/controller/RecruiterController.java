@@ -0,0 +1,77 @@
+package com.interviewai.controller;
+
+import org.springframework.lang.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import com.interviewai.dto.RankRequest;
+import com.interviewai.dto.RankedResume;
+import com.interviewai.exception.TooManyRequestsException;
+import com.interviewai.logging.LogRedactor;
+import com.interviewai.security.AuthenticatedUser;
+import com.interviewai.service.RecruiterService;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * REST controller for recruiter endpoints. Requires the recruiter role (see
+ * UserJwtAuthenticationConverter).
+ */
+@RestController
+@RequestMapping("/api/recruiter")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class RecruiterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecruiterController.class);
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final RecruiterService recruiterService;
+
+    public RecruiterController(@NonNull RecruiterService recruiterService) {
+        this.recruiterService = java.util.Objects.requireNonNull(recruiterService,
+                "recruiterService must not be null");
+    }
+
+    /**
+     * POST /api/recruiter/rank
+     * Ranks every analyzed resume against a job description with the local
+     * keyword matcher, optionally analyzing the best few with Gemini.
+     *
+     * @param request        Contains jobDescription, optional limit and deepAnalyses
+     * @param authentication Spring Security authentication (contains userId)
+     * @return The best matching resumes, best first
+     */
+    @PostMapping("/rank")
+    public Mono<ResponseEntity<List<RankedResume>>> rank(
+            @RequestBody RankRequest request,
+            Authentication authentication) {
+
+        logger.debug("Rank request, job description: {}", LogRedactor.describe(request.getJobDescription()));
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_LIMIT;
+        int deepAnalyses = request.getDeepAnalyses() != null ? request.getDeepAnalyses() : 0;
+        if (request.getJobDescription() == null || request.getJobDescription().isBlank()
+                || limit < 1 || deepAnalyses < 0) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        if (!recruiterService.isIndexComplete()) {
+            // Still loading the stored analyses; another instance may be ready
+            return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30").<List<RankedResume>>build());
+        }
+
+        return recruiterService.rank(request.getJobDescription(), limit, deepAnalyses,
+                AuthenticatedUser.userId(authentication))
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> !(e instanceof TooManyRequestsException), e -> {
+                    logger.error("Error in rank endpoint: {}", e.getMessage(), e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                });
+    }
+}
@@ -2,12 +2,21 @@ package com.interviewai.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.admission.FairQueue;
+import com.interviewai.dto.BuiltResumeJson;
+import com.interviewai.dto.BuiltResumeSummary;
 import com.interviewai.dto.ResumeBuildRequest;
+import com.interviewai.dto.ResumeVersionInfo;
+import com.interviewai.exception.TooManyRequestsException;
 import com.interviewai.model.BuiltResume;
-import com.interviewai.repository.BuiltResumeRepository;
+import com.interviewai.service.BuiltResumeService;
 import com.interviewai.service.GeminiService;
+import com.interviewai.service.ResumeUpdateService;
+import com.interviewai.security.AuthenticatedUser;
+import com.interviewai.web.RawJson;
 
 // Using constructor injection instead of field injection for better testability and immutability
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +26,7 @@ import reactor.core.publisher.Mono;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -30,14 +40,17 @@ public class ResumeBuilderController {
     private static final Logger logger = LoggerFactory.getLogger(ResumeBuilderController.class);
 
     private final GeminiService geminiService;
-    private final BuiltResumeRepository resumeRepository;
+    private final BuiltResumeService builtResumeService;
+    private final ResumeUpdateService resumeUpdateService;
     private final ObjectMapper objectMapper;
 
     public ResumeBuilderController(GeminiService geminiService,
-            BuiltResumeRepository resumeRepository,
+            BuiltResumeService builtResumeService,
+            ResumeUpdateService resumeUpdateService,
             ObjectMapper objectMapper) {
         this.geminiService = geminiService;
-        this.resumeRepository = resumeRepository;
+        this.builtResumeService = builtResumeService;
+        this.resumeUpdateService = resumeUpdateService;
         this.objectMapper = objectMapper;
     }
 
@@ -55,9 +68,10 @@ public class ResumeBuilderController {
             @RequestBody ResumeBuildRequest request,
             Authentication authentication) {
 
-        UUID userId = UUID.fromString(authentication.getName());
+        UUID userId = AuthenticatedUser.userId(authentication);
 
         return geminiService.buildResume(request)
+                .contextWrite(FairQueue.forUser(userId))
                 .flatMap(aiResponse -> {
                     try {
                         // 1. Create the entity to save
@@ -73,8 +87,7 @@ public class ResumeBuilderController {
                         newResume.setAiGeneratedContent(aiGeneratedNode);
 
                         // 3. Save to database
-                        BuiltResume savedResume = resumeRepository.save(newResume);
-                        Objects.requireNonNull(savedResume, "Saved resume must not be null");
+                        BuiltResume savedResume = builtResumeService.save(newResume);
 
                         return Mono.just(ResponseEntity.ok(savedResume));
 
@@ -83,23 +96,101 @@ public class ResumeBuilderController {
                         return Mono.error(e);
                     }
                 })
-                .onErrorResume(e -> {
+                .onErrorResume(e -> !(e instanceof TooManyRequestsException), e -> {
                     logger.error("Error building resume: {}", e.getMessage(), e);
                     return Mono.just(ResponseEntity.internalServerError().build());
                 });
     }
 
     /**
-     * Get all resumes built by the authenticated user.
+     * Update a built resume from edited input.
+     * Only the entries that changed are sent to Gemini, each in its own call;
+     * the rest of the generated content is kept.
+     *
+     * @param id             The resume ID
+     * @param request        The complete edited input, as for /build
+     * @param authentication The authenticated user's details
+     * @return The updated resume, 404 if not found or not owned by the user
+     */
+    @PostMapping("/{id}/update")
+    public Mono<ResponseEntity<BuiltResume>> updateResume(
+            @PathVariable UUID id,
+            @RequestBody ResumeBuildRequest request,
+            Authentication authentication) {
+
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        return resumeUpdateService.update(safeId, request, userId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(e -> !(e instanceof TooManyRequestsException), e -> {
+                    logger.error("Error updating resume {}: {}", safeId, e.getMessage(), e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                });
+    }
+
+    /**
+     * Get all resumes built by the authenticated user, without their content.
      * 
      * @param authentication The authenticated user's details
-     * @return List of built resumes ordered by creation date (newest first)
+     * @return Metadata of the built resumes ordered by creation date (newest first)
      */
     @GetMapping("/my-resumes")
-    public ResponseEntity<List<BuiltResume>> getMyResumes(Authentication authentication) {
-        UUID userId = UUID.fromString(authentication.getName());
-        List<BuiltResume> resumes = resumeRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        return ResponseEntity.ok(resumes);
+    public ResponseEntity<List<BuiltResumeSummary>> getMyResumes(Authentication authentication) {
+        UUID userId = AuthenticatedUser.userId(authentication);
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(builtResumeService.findByUser(userId));
+    }
+
+    /**
+     * List the stored versions of a built resume.
+     *
+     * @param id             The resume ID
+     * @param authentication The authenticated user's details
+     * @return Version metadata (newest first) if the resume is owned by the user
+     */
+    @GetMapping("/{id}/versions")
+    public ResponseEntity<List<ResumeVersionInfo>> getVersions(
+            @PathVariable UUID id,
+            Authentication authentication) {
+
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        return builtResumeService.findVersionsOwned(safeId, userId)
+                .map(versions -> ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(versions))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get one version of a built resume.
+     *
+     * @param id             The resume ID
+     * @param version        The version number
+     * @param authentication The authenticated user's details
+     * @return The resume as of that version, 404 if not found or no longer stored
+     */
+    @GetMapping("/{id}/versions/{version}")
+    public ResponseEntity<RawJson> getVersion(
+            @PathVariable UUID id,
+            @PathVariable int version,
+            Authentication authentication) throws com.fasterxml.jackson.core.JsonProcessingException {
+
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+
+        Optional<BuiltResumeJson> resume = builtResumeService.findVersionOwned(safeId, version, userId);
+        if (resume.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(new RawJson(objectMapper.writeValueAsBytes(resume.get())));
     }
 
     /**
@@ -110,17 +201,21 @@ public class ResumeBuilderController {
      * @return The built resume if found and owned by the user
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BuiltResume> getResumeById(
+    public ResponseEntity<RawJson> getResumeById(
             @PathVariable UUID id,
             Authentication authentication) {
 
         UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
 
-        UUID userId = UUID.fromString(authentication.getName());
+        UUID userId = AuthenticatedUser.userId(authentication);
 
-        return resumeRepository.findById(safeId)
-                .filter(resume -> resume.getUserId().equals(userId)) // Ensure user owns this resume
-                .map(ResponseEntity::ok)
+        // The cached JSON is written as-is (or transcoded to CBOR/Smile on request);
+        // a matching If-None-Match gets 304
+        return builtResumeService.findOwned(safeId, userId)
+                .map(resume -> ResponseEntity.ok()
+                        .eTag(resume.etag())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(new RawJson(resume.json())))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -138,15 +233,10 @@ public class ResumeBuilderController {
 
         UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
 
-        UUID userId = UUID.fromString(authentication.getName());
+        UUID userId = AuthenticatedUser.userId(authentication);
 
-        return resumeRepository.findById(safeId)
-                .filter(resume -> resume.getUserId().equals(userId)) // Ensure user owns this resume
-                .map(resume -> {
-                    BuiltResume safeResume = Objects.requireNonNull(resume, "resume must not be null");
-                    resumeRepository.delete(safeResume);
-                    return ResponseEntity.noContent().<Void>build();
-                })
-                .orElse(ResponseEntity.notFound().build());
+        return builtResumeService.deleteOwned(safeId, userId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
     }
 }
@@ -1,18 +1,30 @@
 package com.interviewai.controller;
 
 import org.springframework.lang.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import com.interviewai.dto.KeywordMatch;
 import com.interviewai.dto.ResumeAnalysisRequest;
+import com.interviewai.exception.TooManyRequestsException;
+import com.interviewai.logging.LogMarkers;
+import com.interviewai.logging.LogRedactor;
 import com.interviewai.model.ResumeAnalysis;
+import com.interviewai.security.AuthenticatedUser;
 import com.interviewai.service.ResumeService;
+import com.interviewai.web.JsonErrorResponse;
+import com.interviewai.web.RawJson;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -44,10 +56,10 @@ public class ResumeController {
             @RequestBody ResumeAnalysisRequest request,
             Authentication authentication) {
 
-        logger.info("=== Resume Analysis Request ===");
+        logger.info(LogMarkers.SAMPLED, "=== Resume Analysis Request ===");
         logger.debug("Authentication: {}", (authentication != null ? authentication.getName() : "NULL"));
         logger.debug("Resume ID: {}", request.getResumeId());
-        logger.debug("Job Description: {}", request.getJobDescription());
+        logger.debug("Job description: {}", LogRedactor.describe(request.getJobDescription()));
 
         if (authentication == null || authentication.getName() == null) {
             logger.warn("ERROR: No authentication or user ID found!");
@@ -56,7 +68,7 @@ public class ResumeController {
 
         UUID userId;
         try {
-            userId = UUID.fromString(authentication.getName());
+            userId = AuthenticatedUser.userId(authentication);
         } catch (IllegalArgumentException e) {
             logger.warn("ERROR: Invalid UUID format for user ID: {}", authentication.getName());
             return Mono.just(ResponseEntity.status(400).build());
@@ -67,28 +79,98 @@ public class ResumeController {
                 userId,
                 request.getJobDescription())
                 .map(ResponseEntity::ok)
-                .onErrorResume(e -> {
+                .onErrorResume(e -> !(e instanceof TooManyRequestsException), e -> {
                     logger.error("Error in analyzeResume endpoint: {}", e.getMessage(), e);
                     return Mono.just(ResponseEntity.internalServerError().build());
                 });
     }
 
+    /**
+     * POST /api/resume/analyze/stream
+     * Same analysis as /analyze, as server-sent events: a "match" event with
+     * the local keyword match as soon as the resume has been read (when a job
+     * description is given), then an "analysis" event with the saved
+     * ResumeAnalysis once Gemini has answered. Failures end the stream with
+     * an "error" event, since the status has been sent by then.
+     *
+     * @param request        Contains resumeId and optional jobDescription
+     * @param authentication Spring Security authentication (contains userId)
+     * @return The match and analysis events
+     */
+    @PostMapping(path = "/analyze/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> analyzeResumeStream(
+            @RequestBody ResumeAnalysisRequest request,
+            Authentication authentication) {
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+        String jobDescription = request.getJobDescription();
+        Mono<ResumeService.ResumeFile> resume = resumeService.loadResume(request.getResumeId(), userId).cache();
+
+        Mono<ServerSentEvent<Object>> match = jobDescription == null || jobDescription.isBlank()
+                ? Mono.empty()
+                : resume.map(file -> event("match", resumeService.matchKeywords(file, jobDescription)));
+        Mono<ServerSentEvent<Object>> analysis = resume
+                .flatMap(file -> resumeService.analyzeResume(file, request.getResumeId(), userId, jobDescription))
+                .map(saved -> event("analysis", saved));
+
+        return Flux.concat(match, analysis)
+                .onErrorResume(e -> {
+                    if (e instanceof TooManyRequestsException tooMany) {
+                        return Mono.just(event("error", Map.of("error", tooMany.getMessage(),
+                                "retryAfter", JsonErrorResponse.retryAfterSeconds(tooMany.getRetryAfter()))));
+                    }
+                    logger.error("Error in analyzeResumeStream endpoint: {}", e.getMessage(), e);
+                    return Mono.just(event("error", Map.of("error", "Resume analysis failed")));
+                });
+    }
+
+    /**
+     * POST /api/resume/match
+     * Scores a resume against a job description with the local keyword
+     * matcher: no Gemini call, so it answers as soon as the resume is read.
+     *
+     * @param request        Contains resumeId and jobDescription
+     * @param authentication Spring Security authentication (contains userId)
+     * @return The score with matched and missing skills
+     */
+    @PostMapping("/match")
+    public Mono<ResponseEntity<KeywordMatch>> matchKeywords(
+            @RequestBody ResumeAnalysisRequest request,
+            Authentication authentication) {
+
+        UUID userId = AuthenticatedUser.userId(authentication);
+        if (request.getJobDescription() == null || request.getJobDescription().isBlank()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return resumeService.matchKeywords(request.getResumeId(), userId, request.getJobDescription())
+                .map(ResponseEntity::ok);
+    }
+
+    private static ServerSentEvent<Object> event(String name, Object data) {
+        return ServerSentEvent.builder(data).event(name).build();
+    }
+
     /**
      * GET /api/resume/analysis/{resumeId}
      * Retrieves an existing analysis.
      * 
      * @param resumeId The resume ID
-     * @return The ResumeAnalysis entity
+     * @return The ResumeAnalysis as JSON
      */
     @GetMapping("/analysis/{resumeId}")
-    public Mono<ResponseEntity<ResumeAnalysis>> getAnalysis(
+    public Mono<ResponseEntity<RawJson>> getAnalysis(
             @PathVariable UUID resumeId,
             Authentication authentication) {
 
         // Note: We should verify the user owns this resume,
         // but for simplicity, relying on RLS in Supabase
+        // The cached JSON is written as-is (or transcoded to CBOR/Smile on request);
+        // a matching If-None-Match gets 304
         return resumeService.getAnalysis(resumeId)
-                .map(ResponseEntity::ok)
+                .map(analysis -> ResponseEntity.ok()
+                        .eTag(analysis.etag())
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .body(new RawJson(analysis.json())))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,9 @@
+package com.interviewai.dto;
+
+import lombok.Data;
+
+@Data
+public class AnswerRequest {
+    private Integer questionIndex; // position in the interview's questions array
+    private String answer;
+}
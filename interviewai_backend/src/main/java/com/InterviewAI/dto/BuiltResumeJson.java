@@ -0,0 +1,19 @@
+package com.interviewai.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a BuiltResume with its JSONB columns fetched as text,
+ * written to the response verbatim (see {@link ResumeAnalysisJson}).
+ */
+public record BuiltResumeJson(
+        UUID id,
+        UUID userId,
+        String title,
+        @JsonRawValue String userInputData,
+        @JsonRawValue String aiGeneratedContent,
+        OffsetDateTime createdAt) {
+}
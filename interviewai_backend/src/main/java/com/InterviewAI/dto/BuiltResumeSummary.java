@@ -0,0 +1,16 @@
+package com.interviewai.dto;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * A built resume in lists: its metadata without the content, which is read
+ * one resume (or version) at a time.
+ */
+public record BuiltResumeSummary(
+        UUID id,
+        String title,
+        Integer currentVersion,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt) {
+}
@@ -0,0 +1,16 @@
+package com.interviewai.dto;
+
+import java.util.List;
+
+/**
+ * Result of the local keyword match between a resume and a job description.
+ *
+ * @param score   0-100, the weighted share of the job's skills found in the
+ *                resume
+ * @param matched Skills the job description and the resume both mention,
+ *                most important first, then in job description order
+ * @param missing Skills the job description mentions and the resume does
+ *                not, in the same order
+ */
+public record KeywordMatch(int score, List<String> matched, List<String> missing) {
+}
@@ -0,0 +1,19 @@
+package com.interviewai.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for ranking stored resumes against a job description.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankRequest {
+    private String jobDescription;
+    // Optional: how many resumes to return (default 20, capped by ranking.max-results)
+    private Integer limit;
+    // Optional: how many of the best resumes to also analyze with Gemini (default 0)
+    private Integer deepAnalyses;
+}
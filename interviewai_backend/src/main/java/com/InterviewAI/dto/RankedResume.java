@@ -0,0 +1,21 @@
+package com.interviewai.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A stored resume ranked against a job description.
+ *
+ * @param score    0-100, as in KeywordMatch
+ * @param matched  Skills the job description and the resume both mention
+ * @param missing  Skills the job description mentions and the resume does
+ *                 not
+ * @param analysis Gemini's analysis of the resume against the job
+ *                 description, for the deep-analyzed top resumes only
+ */
+public record RankedResume(UUID resumeId, UUID userId, int score, List<String> matched, List<String> missing,
+        @JsonInclude(JsonInclude.Include.NON_NULL) JsonNode analysis) {
+}
@@ -0,0 +1,22 @@
+package com.interviewai.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a ResumeAnalysis with its JSONB columns fetched as text.
+ * Serializes to the same shape as the entity, but the stored documents are
+ * written to the response verbatim instead of being parsed into JsonNode
+ * trees and serialized again.
+ */
+public record ResumeAnalysisJson(
+        UUID id,
+        UUID resumeId,
+        UUID userId,
+        Integer overallScore,
+        @JsonRawValue String strengths,
+        @JsonRawValue String improvements,
+        LocalDateTime generatedAt) {
+}
@@ -0,0 +1,19 @@
+package com.interviewai.dto;
+
+import com.interviewai.model.BuiltResumeVersion;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Metadata of one stored version of a built resume.
+ *
+ * @param storedBytes   Compressed size of the version as stored
+ * @param originalBytes Size of its snapshot or patch JSON before compression
+ */
+public record ResumeVersionInfo(
+        int version,
+        BuiltResumeVersion.Kind kind,
+        int storedBytes,
+        int originalBytes,
+        OffsetDateTime createdAt) {
+}
@@ -1,13 +1,23 @@
 package com.interviewai.dto.gemini;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.util.List;
+import java.util.Map;
 
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // Omit generationConfig for plain text calls
 public class GeminiRequest {
     private List<Content> contents;
+    private GenerationConfig generationConfig;
+
+    public GeminiRequest(List<Content> contents) {
+        this(contents, null);
+    }
 
     @Data
     @AllArgsConstructor
@@ -20,4 +30,20 @@ public class GeminiRequest {
     public static class Part {
         private String text;
     }
+
+    /**
+     * Generation settings for structured output.
+     * When responseMimeType is "application/json" and a responseSchema is set,
+     * Gemini constrains its output to valid JSON matching the schema.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class GenerationConfig {
+        private String responseMimeType;
+        private Map<String, Object> responseSchema;
+        private Double temperature;
+        private Integer maxOutputTokens;
+    }
 }
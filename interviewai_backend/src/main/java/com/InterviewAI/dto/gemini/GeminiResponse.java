@@ -8,11 +8,13 @@ import java.util.List;
 @JsonIgnoreProperties(ignoreUnknown = true) // Ignores extra fields
 public class GeminiResponse {
     private List<Candidate> candidates;
+    private UsageMetadata usageMetadata;
 
     @Data
     @JsonIgnoreProperties(ignoreUnknown = true)
     public static class Candidate {
         private Content content;
+        private String finishReason;
     }
 
     @Data
@@ -27,6 +29,18 @@ public class GeminiResponse {
         private String text;
     }
 
+    /**
+     * Token counts reported by Gemini for a call.
+     */
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class UsageMetadata {
+        private Integer promptTokenCount;
+        private Integer candidatesTokenCount;
+        private Integer thoughtsTokenCount;
+        private Integer totalTokenCount;
+    }
+
     /**
      * Helper method to extract the first text part from the response.
      */
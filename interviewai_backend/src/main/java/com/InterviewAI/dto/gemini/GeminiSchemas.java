@@ -0,0 +1,196 @@
+package com.interviewai.dto.gemini;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response schemas for Gemini structured output, one per operation.
+ * Uses the OpenAPI subset accepted by the generationConfig.responseSchema
+ * field (type, properties, items, required).
+ */
+public final class GeminiSchemas {
+
+    public static final Map<String, Object> INTERVIEW_SCRIPT = object(
+            props(
+                    "opening", string(),
+                    "questions", array(object(
+                            props(
+                                    "transition", string(),
+                                    "question", string(),
+                                    "acknowledgment", string()),
+                            "transition", "question", "acknowledgment")),
+                    "closing", string()),
+            "opening", "questions", "closing");
+
+    public static final Map<String, Object> TRANSCRIPT_FEEDBACK = object(
+            props(
+                    "strengths", string(),
+                    "areas_for_improvement", string(),
+                    "overall_score", integer()),
+            "strengths", "areas_for_improvement", "overall_score");
+
+    public static final Map<String, Object> ANSWER_EVALUATION = object(
+            props(
+                    "score", integer(),
+                    "strengths", string(),
+                    "improvement", string()),
+            "score", "strengths", "improvement");
+
+    public static final Map<String, Object> FOLLOW_UP = object(
+            props(
+                    "acknowledgment", string(),
+                    "followUp", string()),
+            "acknowledgment", "followUp");
+
+    public static final Map<String, Object> RESUME_ANALYSIS = object(
+            props(
+                    "overallScore", integer(),
+                    "skillsAssessment", object(
+                            props(
+                                    "technical", stringArray(),
+                                    "soft", stringArray(),
+                                    "domain", stringArray()),
+                            "technical", "soft", "domain"),
+                    "experienceEvaluation", stringArray(),
+                    "educationCertifications", stringArray(),
+                    "resumeOptimization", object(
+                            props(
+                                    "ats", stringArray(),
+                                    "keywords", stringArray(),
+                                    "structure", stringArray()),
+                            "ats", "keywords", "structure"),
+                    "interviewPreparation", stringArray(),
+                    "careerAdvancement", object(
+                            props(
+                                    "jobRecommendations", stringArray(),
+                                    "growthOpportunities", stringArray()),
+                            "jobRecommendations", "growthOpportunities"),
+                    "professionalDevelopment", stringArray()),
+            "overallScore", "skillsAssessment", "experienceEvaluation", "educationCertifications",
+            "resumeOptimization", "interviewPreparation", "careerAdvancement", "professionalDevelopment");
+
+    private static final Map<String, Object> EXPERIENCE_ENTRY = object(
+            props(
+                    "title", string(),
+                    "company", string(),
+                    "location", string(),
+                    "startDate", string(),
+                    "endDate", string(),
+                    "bullets", stringArray()),
+            "title", "company", "bullets");
+
+    private static final Map<String, Object> EDUCATION_ENTRY = object(
+            props(
+                    "degree", string(),
+                    "school", string(),
+                    "location", string(),
+                    "startDate", string(),
+                    "endDate", string(),
+                    "gpa", string(),
+                    "achievements", stringArray()),
+            "degree", "school");
+
+    private static final Map<String, Object> SKILL_CATEGORIES = object(
+            props(
+                    "technical", stringArray(),
+                    "tools", stringArray(),
+                    "soft", stringArray()));
+
+    private static final Map<String, Object> PROJECT_ENTRY = object(
+            props(
+                    "name", string(),
+                    "description", string(),
+                    "technologies", stringArray(),
+                    "link", string(),
+                    "highlights", stringArray()),
+            "name", "description");
+
+    private static final Map<String, Object> CERTIFICATION_ENTRY = object(
+            props(
+                    "name", string(),
+                    "issuer", string(),
+                    "date", string(),
+                    "credentialId", string()),
+            "name");
+
+    public static final Map<String, Object> BUILT_RESUME = object(
+            props(
+                    "summary", string(),
+                    "experience", array(EXPERIENCE_ENTRY),
+                    "education", array(EDUCATION_ENTRY),
+                    "skills", SKILL_CATEGORIES,
+                    "projects", array(PROJECT_ENTRY),
+                    "certifications", array(CERTIFICATION_ENTRY)),
+            "summary", "experience", "education", "skills", "projects");
+
+    /**
+     * One rewritten part of a built resume: the caller asks for exactly one
+     * of the properties, holding a single entry of that section.
+     */
+    public static final Map<String, Object> BUILT_RESUME_ENTRY = object(
+            props(
+                    "summary", string(),
+                    "experience", EXPERIENCE_ENTRY,
+                    "education", EDUCATION_ENTRY,
+                    "skills", SKILL_CATEGORIES,
+                    "projects", PROJECT_ENTRY,
+                    "certifications", CERTIFICATION_ENTRY));
+
+    public static final Map<String, Object> JOB_DIGEST = object(
+            props(
+                    "title", string(),
+                    "seniority", string(),
+                    "mustHave", stringArray(),
+                    "niceToHave", stringArray(),
+                    "responsibilities", stringArray(),
+                    "qualifications", stringArray()),
+            "title", "mustHave", "responsibilities");
+
+    private GeminiSchemas() {
+    }
+
+    /**
+     * Returns the top-level required property names of a schema.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> requiredFields(Map<String, Object> schema) {
+        Object required = schema.get("required");
+        return required instanceof List<?> ? (List<String>) required : List.of();
+    }
+
+    private static Map<String, Object> object(Map<String, Object> properties, String... required) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "OBJECT");
+        schema.put("properties", properties);
+        if (required.length > 0) {
+            schema.put("required", List.of(required));
+        }
+        return Collections.unmodifiableMap(schema);
+    }
+
+    private static Map<String, Object> props(Object... keyValues) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    private static Map<String, Object> array(Map<String, Object> items) {
+        return Map.of("type", "ARRAY", "items", items);
+    }
+
+    private static Map<String, Object> stringArray() {
+        return array(string());
+    }
+
+    private static Map<String, Object> string() {
+        return Map.of("type", "STRING");
+    }
+
+    private static Map<String, Object> integer() {
+        return Map.of("type", "INTEGER");
+    }
+}
@@ -0,0 +1,11 @@
+package com.interviewai.exception;
+
+public class InterviewNotFoundException extends RuntimeException {
+    public InterviewNotFoundException(String message) {
+        super(message);
+    }
+
+    public InterviewNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package com.interviewai.exception;
+
+public class PromptTooLargeException extends RuntimeException {
+    public PromptTooLargeException(String message) {
+        super(message);
+    }
+
+    public PromptTooLargeException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
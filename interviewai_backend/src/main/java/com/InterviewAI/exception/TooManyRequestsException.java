@@ -0,0 +1,21 @@
+package com.interviewai.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is refused by admission control. Mapped to 429 with
+ * a Retry-After header.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
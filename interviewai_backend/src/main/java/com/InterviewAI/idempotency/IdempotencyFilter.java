@@ -0,0 +1,284 @@
+package com.interviewai.idempotency;
+
+import com.interviewai.security.AuthenticatedUser;
+import com.interviewai.web.JsonErrorResponse;
+import com.interviewai.web.LlmEndpoints;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the POST endpoints that call Gemini safe to retry.
+ * A request carrying an Idempotency-Key header is executed once per user,
+ * endpoint and key; repeats get the original response (marked with
+ * Idempotent-Replayed: true), and a repeat with a different body is
+ * rejected with 422. Runs after Spring Security, so the user is known.
+ * Like ShallowEtagHeaderFilter, the response is buffered and recorded on
+ * the last dispatch, which also covers the async (Mono) endpoints.
+ */
+@Component
+@Order(1) // after Spring Security (-100)
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+    private static final String EXECUTION_ATTRIBUTE = IdempotencyFilter.class.getName() + ".EXECUTION";
+
+    private record Execution(String scope, ContentCachingResponseWrapper response) {
+    }
+
+    private final IdempotencyService idempotencyService;
+    private final Duration waitTimeout;
+
+    public IdempotencyFilter(IdempotencyService idempotencyService,
+            @Value("${idempotency.wait-timeout:PT2M}") Duration waitTimeout) {
+        this.idempotencyService = java.util.Objects.requireNonNull(idempotencyService,
+                "idempotencyService must not be null");
+        this.waitTimeout = java.util.Objects.requireNonNull(waitTimeout, "idempotency.wait-timeout must not be null");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !LlmEndpoints.matches(request);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            Execution execution = (Execution) request.getAttribute(EXECUTION_ATTRIBUTE);
+            execute(execution, request, response, chain);
+            return;
+        }
+
+        String key = request.getHeader(HEADER);
+        UUID userId = currentUserId();
+        if (key == null || userId == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            reject(response, HttpStatus.BAD_REQUEST, HEADER + " must be 1-" + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String scope = IdempotencyService.scope(userId, LlmEndpoints.path(request), key);
+        String requestHash = sha256(body);
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            IdempotencyService.Claim claim = idempotencyService.claim(scope, userId, requestHash);
+            switch (claim) {
+                case IdempotencyService.Execute e -> {
+                    ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+                    Execution execution = new Execution(scope, buffered);
+                    request.setAttribute(EXECUTION_ATTRIBUTE, execution);
+                    execute(execution, new CachedBodyRequest(request, body), buffered, chain);
+                    return;
+                }
+                case IdempotencyService.Replay replay -> {
+                    replay(response, replay.response());
+                    return;
+                }
+                case IdempotencyService.Await await -> {
+                    StoredResponse result = await(await);
+                    if (result != null) {
+                        replay(response, result);
+                        return;
+                    }
+                    if (!await.result().isDone()) {
+                        reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is in progress");
+                        return;
+                    }
+                    // The original request failed; claim the key again
+                }
+                case IdempotencyService.InProgress p -> {
+                    reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is in progress");
+                    return;
+                }
+                case IdempotencyService.Mismatch m -> {
+                    reject(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                            HEADER + " was already used for a different request");
+                    return;
+                }
+            }
+        }
+        reject(response, HttpStatus.CONFLICT, "A request with this " + HEADER + " is in progress");
+    }
+
+    private void execute(Execution execution, HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        if (execution == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            idempotencyService.release(execution.scope());
+            throw e;
+        }
+        if (isAsyncStarted(request)) {
+            return; // recorded on the async dispatch
+        }
+
+        ContentCachingResponseWrapper buffered = execution.response();
+        int status = buffered.getStatus();
+        if (status >= 200 && status < 300) {
+            idempotencyService.complete(execution.scope(),
+                    new StoredResponse(status, buffered.getContentType(), buffered.getContentAsByteArray()));
+        } else {
+            idempotencyService.release(execution.scope());
+        }
+        buffered.copyBodyToResponse();
+    }
+
+    /**
+     * Waits for the in-flight execution.
+     *
+     * @return its response, or null if it failed or did not finish in time
+     */
+    private StoredResponse await(IdempotencyService.Await await) throws IOException {
+        try {
+            return await.result().get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for an idempotent request", e);
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        if (status == HttpStatus.CONFLICT) {
+            JsonErrorResponse.write(response, status, message, RETRY_AFTER);
+        } else {
+            JsonErrorResponse.write(response, status, message);
+        }
+    }
+
+    private static UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return AuthenticatedUser.userId(authentication);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Replays a request body that was read to compute its hash.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.interviewai.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.interviewai.model.IdempotencyRecord;
+import com.interviewai.repository.IdempotencyRecordRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks requests sent with an Idempotency-Key.
+ * A key is claimed by the first request; the response it produces is stored
+ * in the idempotency_keys table (fronted by an in-memory cache) and replayed
+ * for every repeat until the key expires. Duplicates arriving on this
+ * instance while the first is still running wait for its result instead of
+ * starting another Gemini call. Only successful responses are recorded, so
+ * a failed request can be retried with the same key.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    /** Outcome of {@link #claim}. */
+    public sealed interface Claim {
+    }
+
+    /** The caller owns the key and must {@link #complete} or {@link #release} it. */
+    public record Execute() implements Claim {
+    }
+
+    /** The key was already completed with this response. */
+    public record Replay(StoredResponse response) implements Claim {
+    }
+
+    /**
+     * The key is being executed on this instance. The result is null if that
+     * execution failed, in which case the caller should claim again.
+     */
+    public record Await(CompletableFuture<StoredResponse> result) implements Claim {
+    }
+
+    /** The key is being executed by another instance. */
+    public record InProgress() implements Claim {
+    }
+
+    /** The key was used for a request with a different body. */
+    public record Mismatch() implements Claim {
+    }
+
+    private record InFlight(String requestHash, CompletableFuture<StoredResponse> result) {
+    }
+
+    private record Completed(String requestHash, StoredResponse response) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final Cache<String, Completed> completed;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration lockTimeout;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository repository,
+            @Value("${idempotency.ttl:PT24H}") Duration ttl,
+            @Value("${idempotency.lock-timeout:PT5M}") Duration lockTimeout,
+            @Value("${idempotency.cache.max-size:10000}") long cacheMaxSize) {
+        this(repository, ttl, lockTimeout, cacheMaxSize, Clock.systemUTC());
+    }
+
+    public IdempotencyService(IdempotencyRecordRepository repository, Duration ttl, Duration lockTimeout,
+            long cacheMaxSize, Clock clock) {
+        this.repository = java.util.Objects.requireNonNull(repository, "repository must not be null");
+        this.ttl = java.util.Objects.requireNonNull(ttl, "idempotency.ttl must not be null");
+        this.lockTimeout = java.util.Objects.requireNonNull(lockTimeout, "idempotency.lock-timeout must not be null");
+        this.clock = java.util.Objects.requireNonNull(clock, "clock must not be null");
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Keys are scoped to the user and endpoint, so two users (or two
+     * endpoints) can never see each other's stored responses.
+     */
+    public static String scope(UUID userId, String endpoint, String key) {
+        return userId + ":" + endpoint + ":" + key;
+    }
+
+    public Claim claim(String scope, UUID userId, String requestHash) {
+        InFlight mine = new InFlight(requestHash, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(scope, mine);
+        if (running != null) {
+            return running.requestHash().equals(requestHash) ? new Await(running.result()) : new Mismatch();
+        }
+        Claim claim;
+        try {
+            claim = claimStored(scope, userId, requestHash);
+        } catch (RuntimeException e) {
+            resolve(scope, null);
+            throw e;
+        }
+        if (!(claim instanceof Execute)) {
+            // Duplicates that queued behind this lookup get the same answer
+            resolve(scope, claim instanceof Replay replay ? replay.response() : null);
+        }
+        return claim;
+    }
+
+    private Claim claimStored(String scope, UUID userId, String requestHash) {
+        Completed cached = completed.getIfPresent(scope);
+        if (cached != null) {
+            return cached.requestHash().equals(requestHash) ? new Replay(cached.response()) : new Mismatch();
+        }
+
+        Instant now = clock.instant();
+        Optional<IdempotencyRecord> stored = repository.findById(scope)
+                .filter(record -> record.getExpiresAt().isAfter(now));
+        if (stored.isPresent()) {
+            IdempotencyRecord record = stored.get();
+            if (!record.getRequestHash().equals(requestHash)) {
+                return new Mismatch();
+            }
+            if (record.getStatus() == IdempotencyRecord.Status.COMPLETED) {
+                StoredResponse response = new StoredResponse(record.getResponseStatus(),
+                        record.getResponseContentType(), record.getResponseBody());
+                completed.put(scope, new Completed(requestHash, response));
+                return new Replay(response);
+            }
+            if (record.getCreatedAt().isAfter(now.minus(lockTimeout))) {
+                return new InProgress();
+            }
+            // The instance that claimed it never finished; take the key over
+            logger.warn("Taking over idempotency key abandoned since {}", record.getCreatedAt());
+        }
+
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setScope(scope);
+        record.setUserId(userId);
+        record.setRequestHash(requestHash);
+        record.setStatus(IdempotencyRecord.Status.IN_PROGRESS);
+        record.setCreatedAt(now);
+        record.setExpiresAt(now.plus(ttl));
+        try {
+            repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted the key first
+            return new InProgress();
+        }
+        return new Execute();
+    }
+
+    /**
+     * Records the response of a claimed key and hands it to waiting duplicates.
+     */
+    public void complete(String scope, StoredResponse response) {
+        try {
+            repository.storeResponse(scope, IdempotencyRecord.Status.COMPLETED, response.status(),
+                    response.contentType(), response.body());
+            InFlight mine = inFlight.get(scope);
+            if (mine != null) {
+                completed.put(scope, new Completed(mine.requestHash(), response));
+            }
+        } catch (DataAccessException e) {
+            // The response is still returned; a retry runs again after the lock timeout
+            logger.warn("Failed to store idempotent response: {}", e.getMessage());
+        } finally {
+            resolve(scope, response);
+        }
+    }
+
+    /**
+     * Gives up a claimed key after a failed request so it can be retried.
+     */
+    public void release(String scope) {
+        try {
+            repository.deleteById(scope);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to release idempotency key: {}", e.getMessage());
+        } finally {
+            resolve(scope, null);
+        }
+    }
+
+    private void resolve(String scope, StoredResponse response) {
+        InFlight mine = inFlight.remove(scope);
+        if (mine != null) {
+            mine.result().complete(response);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:PT1H}",
+            initialDelayString = "${idempotency.cleanup-interval:PT1H}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(clock.instant());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired idempotency keys", deleted);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.interviewai.idempotency;
+
+/**
+ * Response of a completed idempotent request, replayed for repeated keys.
+ */
+public record StoredResponse(int status, String contentType, byte[] body) {
+}
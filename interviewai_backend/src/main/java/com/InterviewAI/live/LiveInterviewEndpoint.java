@@ -0,0 +1,254 @@
+package com.interviewai.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.admission.FairQueue;
+import com.interviewai.dto.AnswerRequest;
+import com.interviewai.model.Interview;
+import com.interviewai.model.InterviewAnswer;
+import com.interviewai.service.GeminiService;
+import com.interviewai.service.InterviewSessionService;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Endpoint;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.Session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One live interview connection. The client streams the transcript of the
+ * current answer as it is spoken:
+ *
+ * <pre>
+ * {"type":"chunk","questionIndex":0,"text":"I led the migration of..."}
+ * {"type":"end","questionIndex":0}
+ * </pre>
+ *
+ * Every chunk is acknowledged with the buffered length ("ack"). Once the
+ * answer has grown enough, Gemini is asked for an acknowledgment and a
+ * follow-up question ("follow_up") while the candidate keeps talking; at
+ * most one such call runs per connection. A follow-up still arrives after
+ * the answer ends, but is dropped once the candidate moves to the next
+ * question. Ending an answer (or starting the
+ * next question) submits it to {@link InterviewSessionService}, which
+ * evaluates it in the background ("saved").
+ *
+ * Memory per connection is bounded by the frame size, the answer buffer and
+ * the {@link OutboundQueue}.
+ */
+public class LiveInterviewEndpoint extends Endpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveInterviewEndpoint.class);
+
+    private final Interview interview;
+    private final UUID userId;
+    private final InterviewSessionService sessionService;
+    private final GeminiService geminiService;
+    private final ObjectMapper objectMapper;
+    private final LiveInterviewSettings settings;
+    private final Runnable onClosed;
+
+    private Session session;
+    private OutboundQueue outbound;
+    private int questionIndex = -1;
+    private String question;
+    private final StringBuilder answer = new StringBuilder();
+    private int followUpMark;
+    private int followUps;
+    private boolean followUpRunning;
+    private Disposable followUp;
+    private boolean closed;
+
+    public LiveInterviewEndpoint(Interview interview, UUID userId, InterviewSessionService sessionService,
+            GeminiService geminiService, ObjectMapper objectMapper, LiveInterviewSettings settings,
+            Runnable onClosed) {
+        this.interview = java.util.Objects.requireNonNull(interview, "interview must not be null");
+        this.userId = java.util.Objects.requireNonNull(userId, "userId must not be null");
+        this.sessionService = java.util.Objects.requireNonNull(sessionService, "sessionService must not be null");
+        this.geminiService = java.util.Objects.requireNonNull(geminiService, "geminiService must not be null");
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.settings = java.util.Objects.requireNonNull(settings, "settings must not be null");
+        this.onClosed = java.util.Objects.requireNonNull(onClosed, "onClosed must not be null");
+    }
+
+    @Override
+    public synchronized void onOpen(Session session, EndpointConfig config) {
+        this.session = session;
+        session.setMaxTextMessageBufferSize(settings.maxMessageChars());
+        session.setMaxIdleTimeout(settings.idleTimeout().toMillis());
+        this.outbound = new OutboundQueue(session.getAsyncRemote(), settings.sendQueueLimit(),
+                () -> close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "Client is not reading")));
+        session.addMessageHandler(String.class, this::onText);
+    }
+
+    @Override
+    public void onClose(Session session, CloseReason closeReason) {
+        Disposable running;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            running = followUp;
+            outbound.close();
+        }
+        if (running != null) {
+            running.dispose();
+        }
+        onClosed.run();
+    }
+
+    @Override
+    public void onError(Session session, Throwable error) {
+        logger.debug("Live interview connection failed: {}", error.getMessage());
+    }
+
+    synchronized void onText(String text) {
+        JsonNode message;
+        try {
+            message = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            sendError("Malformed message");
+            return;
+        }
+        JsonNode index = message.path("questionIndex");
+        if (!index.canConvertToInt()) {
+            sendError("questionIndex is required");
+            return;
+        }
+        try {
+            switch (message.path("type").asText()) {
+                case "chunk" -> onChunk(index.intValue(), message.path("text").asText(""));
+                case "end" -> onEnd(index.intValue());
+                default -> sendError("Unknown message type");
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(e.getMessage());
+        } catch (RuntimeException e) {
+            logger.warn("Live interview message failed: {}", e.getMessage(), e);
+            sendError("Could not process the message, please try again");
+        }
+    }
+
+    private void onChunk(int index, String text) {
+        if (index != questionIndex) {
+            // Starting the next question ends the previous answer
+            submitAnswer();
+            question = sessionService.questionAt(interview, index);
+            questionIndex = index;
+            followUps = 0;
+            if (followUp != null) {
+                followUp.dispose();
+                followUpRunning = false;
+            }
+        }
+        if (answer.length() + text.length() > settings.maxAnswerChars()) {
+            sendError("Answer exceeds " + settings.maxAnswerChars() + " characters");
+            return;
+        }
+        answer.append(text);
+        outbound.sendAck(json(message("ack", index, "chars", answer.length())));
+        requestFollowUp();
+    }
+
+    private void onEnd(int index) {
+        if (index != questionIndex) {
+            sendError("No answer in progress for questionIndex " + index);
+            return;
+        }
+        submitAnswer();
+    }
+
+    private void submitAnswer() {
+        if (answer.isEmpty()) {
+            return;
+        }
+        AnswerRequest request = new AnswerRequest();
+        request.setQuestionIndex(questionIndex);
+        request.setAnswer(answer.toString());
+        InterviewAnswer saved = sessionService.submitAnswer(interview.getId(), request, userId);
+
+        answer.setLength(0);
+        followUpMark = 0;
+        Map<String, Object> message = message("saved", saved.getQuestionIndex(), "answerId", saved.getId());
+        message.put("status", saved.getStatus());
+        outbound.send(json(message));
+    }
+
+    /**
+     * Starts a follow-up generation if the answer has grown enough since the
+     * last one and none is running.
+     */
+    private void requestFollowUp() {
+        if (followUpRunning || closed || followUps >= settings.maxFollowUpsPerQuestion()
+                || answer.length() - followUpMark < settings.followUpEveryChars()) {
+            return;
+        }
+        followUpRunning = true;
+        followUps++;
+        followUpMark = answer.length();
+        int index = questionIndex;
+        followUp = geminiService.generateFollowUp(interview.getRole(), question, answer.toString())
+                .contextWrite(FairQueue.forUser(userId))
+                .subscribe(result -> onFollowUp(index, result), error -> onFollowUpFailed(index, error));
+    }
+
+    private synchronized void onFollowUp(int index, Map<String, Object> result) {
+        if (index != questionIndex) {
+            return; // superseded by the next question
+        }
+        followUpRunning = false;
+        Map<String, Object> message = message("follow_up", index, "acknowledgment", result.get("acknowledgment"));
+        message.put("question", result.get("followUp"));
+        outbound.send(json(message));
+        requestFollowUp();
+    }
+
+    private synchronized void onFollowUpFailed(int index, Throwable error) {
+        // Follow-ups are optional: skip this one (e.g. the model queue is full)
+        logger.debug("Follow-up generation failed: {}", error.getMessage());
+        if (index == questionIndex) {
+            followUpRunning = false;
+        }
+    }
+
+    private void sendError(String error) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "error");
+        message.put("message", error);
+        outbound.send(json(message));
+    }
+
+    private static Map<String, Object> message(String type, int questionIndex, String key, Object value) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", type);
+        message.put("questionIndex", questionIndex);
+        message.put(key, value);
+        return message;
+    }
+
+    private String json(Map<String, Object> message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize message", e);
+        }
+    }
+
+    private void close(CloseReason reason) {
+        try {
+            session.close(reason);
+        } catch (IOException e) {
+            logger.debug("Failed to close live interview connection: {}", e.getMessage());
+        }
+    }
+}
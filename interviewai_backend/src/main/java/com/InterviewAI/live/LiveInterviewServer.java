@@ -0,0 +1,115 @@
+package com.interviewai.live;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.model.Interview;
+import com.interviewai.service.GeminiService;
+import com.interviewai.service.InterviewSessionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.DeploymentException;
+import jakarta.websocket.server.ServerContainer;
+import jakarta.websocket.server.ServerEndpointConfig;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.ServletContextAware;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Upgrades live interview requests to WebSocket connections using the
+ * servlet container's WebSocket support. The upgrade is done from a
+ * controller, after Spring Security has authenticated the request and the
+ * interview's owner has been checked, and each connection gets its own
+ * {@link LiveInterviewEndpoint}.
+ */
+@Component
+public class LiveInterviewServer implements ServletContextAware {
+
+    public static final String PATH = "/api/interviews/{interviewId}/live";
+
+    private static final PathPattern PATTERN = PathPatternParser.defaultInstance.parse(PATH);
+
+    private final InterviewSessionService sessionService;
+    private final GeminiService geminiService;
+    private final ObjectMapper objectMapper;
+    private final LiveInterviewSettings settings;
+    private final AtomicInteger connections = new AtomicInteger();
+    private ServerContainer serverContainer;
+
+    public LiveInterviewServer(InterviewSessionService sessionService,
+            GeminiService geminiService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${interview.live.max-message-chars:8192}") int maxMessageChars,
+            @Value("${interview.live.max-answer-chars:20000}") int maxAnswerChars,
+            @Value("${interview.live.send-queue-limit:32}") int sendQueueLimit,
+            @Value("${interview.live.idle-timeout:PT2M}") Duration idleTimeout,
+            @Value("${interview.live.follow-up-every-chars:400}") int followUpEveryChars,
+            @Value("${interview.live.max-follow-ups-per-question:2}") int maxFollowUpsPerQuestion) {
+        this.sessionService = java.util.Objects.requireNonNull(sessionService, "sessionService must not be null");
+        this.geminiService = java.util.Objects.requireNonNull(geminiService, "geminiService must not be null");
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.settings = new LiveInterviewSettings(maxMessageChars, maxAnswerChars, sendQueueLimit,
+                java.util.Objects.requireNonNull(idleTimeout, "interview.live.idle-timeout must not be null"),
+                followUpEveryChars, maxFollowUpsPerQuestion);
+        meterRegistry.gauge("interview.live.connections", connections);
+    }
+
+    @Override
+    public void setServletContext(ServletContext servletContext) {
+        // Registered by the embedded Tomcat's WebSocket support
+        this.serverContainer = (ServerContainer) servletContext.getAttribute(ServerContainer.class.getName());
+    }
+
+    /**
+     * Whether the request is a live interview handshake.
+     */
+    public static boolean isHandshake(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod())
+                && PATTERN.matches(PathContainer.parsePath(
+                        request.getRequestURI().substring(request.getContextPath().length())));
+    }
+
+    /**
+     * Upgrades the request to a live interview connection for the given
+     * (already authorized) interview.
+     */
+    public void upgrade(HttpServletRequest request, HttpServletResponse response, Interview interview, UUID userId)
+            throws ServletException, IOException {
+        if (serverContainer == null) {
+            throw new IllegalStateException("WebSocket support is not available in this container");
+        }
+        LiveInterviewEndpoint endpoint = new LiveInterviewEndpoint(interview, userId, sessionService, geminiService,
+                objectMapper, settings, connections::decrementAndGet);
+        ServerEndpointConfig config = ServerEndpointConfig.Builder
+                .create(LiveInterviewEndpoint.class, request.getRequestURI())
+                .configurator(new ServerEndpointConfig.Configurator() {
+                    @Override
+                    public <T> T getEndpointInstance(Class<T> endpointClass) {
+                        // Called once the handshake has succeeded
+                        connections.incrementAndGet();
+                        return endpointClass.cast(endpoint);
+                    }
+                })
+                .build();
+        try {
+            serverContainer.upgradeHttpToWebSocket(request, response, config, Map.of());
+        } catch (DeploymentException e) {
+            throw new ServletException("WebSocket upgrade failed", e);
+        }
+    }
+}
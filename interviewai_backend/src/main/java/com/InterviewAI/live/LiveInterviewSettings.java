@@ -0,0 +1,18 @@
+package com.interviewai.live;
+
+import java.time.Duration;
+
+/**
+ * Per-connection limits of the live interview channel.
+ *
+ * @param maxMessageChars         largest text frame accepted from the client
+ * @param maxAnswerChars          largest answer buffered for one question
+ * @param sendQueueLimit          messages queued for a client that is not reading
+ *                                before the connection is closed
+ * @param idleTimeout             connections without traffic are closed after this
+ * @param followUpEveryChars      answer growth that triggers the next follow-up
+ * @param maxFollowUpsPerQuestion follow-ups generated per answer
+ */
+public record LiveInterviewSettings(int maxMessageChars, int maxAnswerChars, int sendQueueLimit,
+        Duration idleTimeout, int followUpEveryChars, int maxFollowUpsPerQuestion) {
+}
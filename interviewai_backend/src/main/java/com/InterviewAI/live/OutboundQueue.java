@@ -0,0 +1,97 @@
+package com.interviewai.live;
+
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendResult;
+
+import java.util.ArrayDeque;
+
+/**
+ * Serializes the messages sent on one connection. The async remote endpoint
+ * allows a single write at a time, so messages queue behind it. The queue is
+ * bounded: a client that stops reading is closed through the overflow
+ * callback instead of buffering without limit. Acknowledgments are
+ * coalesced (only the latest unsent one is kept), so a burst of chunks never
+ * fills the queue on its own.
+ */
+final class OutboundQueue {
+
+    private final RemoteEndpoint.Async remote;
+    private final int limit;
+    private final Runnable overflow;
+
+    private final ArrayDeque<String> pending = new ArrayDeque<>();
+    private String pendingAck;
+    private boolean sending;
+    private boolean closed;
+
+    OutboundQueue(RemoteEndpoint.Async remote, int limit, Runnable overflow) {
+        this.remote = remote;
+        this.limit = limit;
+        this.overflow = overflow;
+    }
+
+    void send(String message) {
+        boolean overflowed;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            overflowed = pending.size() >= limit;
+            if (overflowed) {
+                closed = true;
+                pending.clear();
+                pendingAck = null;
+            } else {
+                pending.add(message);
+                drain();
+            }
+        }
+        if (overflowed) {
+            overflow.run();
+        }
+    }
+
+    synchronized void sendAck(String ack) {
+        if (closed) {
+            return;
+        }
+        pendingAck = ack;
+        drain();
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+        pendingAck = null;
+    }
+
+    synchronized int size() {
+        return pending.size() + (pendingAck == null ? 0 : 1);
+    }
+
+    private void drain() {
+        if (sending || closed) {
+            return;
+        }
+        String next = pending.poll();
+        if (next == null) {
+            next = pendingAck;
+            pendingAck = null;
+        }
+        if (next == null) {
+            return;
+        }
+        sending = true;
+        remote.sendText(next, this::sent);
+    }
+
+    private synchronized void sent(SendResult result) {
+        sending = false;
+        if (result.isOK()) {
+            drain();
+        } else {
+            // The connection is failing; the container closes it
+            close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.interviewai.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+/**
+ * SLF4J markers understood by the logging configuration.
+ */
+public final class LogMarkers {
+
+    /**
+     * Per-request INFO/DEBUG logs that are written for only a sample of
+     * requests (see SamplingTurboFilter in logback-spring.xml).
+     */
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,44 @@
+package com.interviewai.logging;
+
+import java.util.regex.Pattern;
+
+/**
+ * Masks secrets and personal data in log output.
+ * Applied to every string value of structured log events by
+ * RedactingJsonMembersCustomizer, as a safety net behind the rule that
+ * transcripts, resume text and job descriptions are never logged directly.
+ */
+public final class LogRedactor {
+
+    private static final Pattern SECRET_QUERY_PARAM = Pattern.compile(
+            "(?i)([?&](?:key|api_key|apikey|token|access_token|password)=)[^&\\s\"]+");
+    private static final Pattern BEARER = Pattern.compile("(?i)(bearer\\s+)[A-Za-z0-9._~+/=-]+");
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]*");
+    private static final Pattern GOOGLE_API_KEY = Pattern.compile("AIza[0-9A-Za-z_-]{35}");
+    private static final Pattern EMAIL = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+
+    private LogRedactor() {
+    }
+
+    /**
+     * Replaces API keys, passwords, bearer tokens, JWTs and email addresses.
+     */
+    public static String redact(String value) {
+        if (value == null || value.isEmpty()) {
+            return value;
+        }
+        String result = SECRET_QUERY_PARAM.matcher(value).replaceAll("$1[REDACTED]");
+        result = BEARER.matcher(result).replaceAll("$1[REDACTED]");
+        result = JWT.matcher(result).replaceAll("[JWT]");
+        result = GOOGLE_API_KEY.matcher(result).replaceAll("[API_KEY]");
+        return EMAIL.matcher(result).replaceAll("[EMAIL]");
+    }
+
+    /**
+     * Describes user-supplied free text by size only, for log messages that
+     * need to mention a transcript, resume or job description.
+     */
+    public static String describe(String text) {
+        return text == null ? "[none]" : "[" + text.length() + " chars]";
+    }
+}
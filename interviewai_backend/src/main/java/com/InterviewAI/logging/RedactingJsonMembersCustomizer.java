@@ -0,0 +1,18 @@
+package com.interviewai.logging;
+
+import org.springframework.boot.json.JsonWriter;
+import org.springframework.boot.logging.structured.StructuredLoggingJsonMembersCustomizer;
+
+/**
+ * Runs every string in a structured log event (message, MDC values, stack
+ * traces) through {@link LogRedactor}. Registered in META-INF/spring.factories
+ * so it applies without configuration; it executes on the async appender's
+ * worker thread, off the request path.
+ */
+public class RedactingJsonMembersCustomizer implements StructuredLoggingJsonMembersCustomizer<Object> {
+
+    @Override
+    public void customize(JsonWriter.Members<Object> members) {
+        members.applyingValueProcessor(JsonWriter.ValueProcessor.of(String.class, LogRedactor::redact));
+    }
+}
@@ -0,0 +1,34 @@
+package com.interviewai.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one in N log events marked {@link LogMarkers#SAMPLED} at INFO level
+ * or below and drops the rest before the message is formatted. Warnings and
+ * errors always pass.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final AtomicLong counter = new AtomicLong();
+    private int oneIn = 20;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+            Throwable t) {
+        if (marker == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !marker.contains(LogMarkers.SAMPLED)) {
+            return FilterReply.NEUTRAL;
+        }
+        return counter.getAndIncrement() % oneIn == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setOneIn(int oneIn) {
+        this.oneIn = Math.max(1, oneIn);
+    }
+}
@@ -0,0 +1,163 @@
+package com.interviewai.match;
+
+import com.interviewai.dto.KeywordMatch;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Scores how well a resume covers the skills a job description asks for,
+ * locally and deterministically, in well under a millisecond for typical
+ * texts.
+ *
+ * Both texts are scanned for the skills in the vocabulary, longest phrase
+ * first ("spring boot" before "spring"). Each skill in the job description
+ * gets a query weight of vocabulary weight * (1 + ln tf); the vocabulary
+ * weight stands in for IDF, as there is no corpus to compute it from. The
+ * resume's term frequency goes through BM25 saturation with length
+ * normalization (k1 = 1.2, b = 0.75), capped at 1, so a skill mentioned
+ * once in a resume of average length counts fully and long resumes need
+ * more mentions. The score is the weighted share of the job's skills
+ * covered.
+ *
+ * Counting uses int arrays indexed by skill number rather than maps, so a
+ * match allocates only the token buffers, the count arrays and the result
+ * lists.
+ */
+@Component
+public class KeywordMatcher {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final SkillVocabulary vocabulary;
+    private final double averageResumeTokens;
+
+    @Autowired
+    public KeywordMatcher(
+            @Value("${match.vocabulary:match/skills.txt}") String vocabularyLocation,
+            @Value("${match.average-resume-tokens:450}") int averageResumeTokens) throws IOException {
+        this(SkillVocabulary.load(vocabularyLocation), averageResumeTokens);
+    }
+
+    public KeywordMatcher(SkillVocabulary vocabulary, int averageResumeTokens) {
+        this.vocabulary = java.util.Objects.requireNonNull(vocabulary, "vocabulary must not be null");
+        if (averageResumeTokens < 1) {
+            throw new IllegalArgumentException("match.average-resume-tokens must be positive");
+        }
+        this.averageResumeTokens = averageResumeTokens;
+    }
+
+    /**
+     * Matches a resume against a job description.
+     *
+     * @param resumeText     The resume's text
+     * @param jobDescription The job description
+     * @return The score with matched and missing skills; a score of 0 with
+     *         empty lists if the job description names no known skill
+     */
+    public KeywordMatch match(String resumeText, String jobDescription) {
+        Query query = query(jobDescription);
+        if (query.skills().length == 0) {
+            return new KeywordMatch(0, List.of(), List.of());
+        }
+        SkillCounts resume = count(resumeText);
+        double covered = 0;
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < query.skills().length; i++) {
+            int skill = query.skills()[i];
+            int tf = resume.count(skill);
+            covered += query.weights()[i] * credit(tf, resume.tokens());
+            (tf > 0 ? matched : missing).add(vocabulary.name(skill));
+        }
+        return new KeywordMatch(query.score(covered), matched, missing);
+    }
+
+    /**
+     * Weighs the skills a job description names, most important first.
+     */
+    public Query query(String jobDescription) {
+        SkillCounts job = count(jobDescription);
+        // Query weight (descending, quantized) in the high bits, position in the job description in the low bits
+        long[] ranked = new long[job.distinct()];
+        double[] byPosition = new double[job.distinct()];
+        double total = 0;
+        for (int i = 0; i < job.distinct(); i++) {
+            int skill = job.skill(i);
+            byPosition[i] = vocabulary.weight(skill) * (1 + Math.log(job.count(skill)));
+            total += byPosition[i];
+            ranked[i] = ((long) (Integer.MAX_VALUE - (int) (byPosition[i] * 1000)) << 32) | i;
+        }
+        Arrays.sort(ranked);
+        int[] skills = new int[ranked.length];
+        double[] weights = new double[ranked.length];
+        for (int i = 0; i < ranked.length; i++) {
+            int position = (int) ranked[i];
+            skills[i] = job.skill(position);
+            weights[i] = byPosition[position];
+        }
+        return new Query(skills, weights, total);
+    }
+
+    /**
+     * How much a resume mentioning a skill tf times covers it, from 0 to 1.
+     *
+     * @param tf           Occurrences of the skill in the resume
+     * @param resumeTokens The resume's length in words
+     */
+    public double credit(int tf, int resumeTokens) {
+        if (tf == 0) {
+            return 0;
+        }
+        double lengthNorm = 1 - B + B * resumeTokens / averageResumeTokens;
+        return Math.min(1, tf * (K1 + 1) / (tf + K1 * lengthNorm));
+    }
+
+    /**
+     * Counts the skills in a text, trying the longest phrase at each word.
+     */
+    public SkillCounts count(String text) {
+        Tokens tokens = Tokens.of(text == null ? "" : text);
+        SkillCounts counts = new SkillCounts(vocabulary.size(), tokens.count());
+        char[] chars = tokens.chars();
+        int word = 0;
+        while (word < tokens.count()) {
+            int matchedWords = 0;
+            for (int n = Math.min(vocabulary.maxPhraseTokens(), tokens.count() - word); n > 0; n--) {
+                int skill = vocabulary.find(chars, tokens.start(word), tokens.end(word + n - 1));
+                if (skill >= 0) {
+                    counts.add(skill);
+                    matchedWords = n;
+                    break;
+                }
+            }
+            word += Math.max(1, matchedWords);
+        }
+        return counts;
+    }
+
+    public SkillVocabulary vocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * The skills a job description names, most important first, with their
+     * query weights.
+     */
+    public record Query(int[] skills, double[] weights, double totalWeight) {
+
+        /**
+         * Converts the covered weight into a 0-100 score.
+         */
+        public int score(double covered) {
+            return totalWeight == 0 ? 0 : (int) Math.round(100 * covered / totalWeight);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.interviewai.match;
+
+/**
+ * Occurrences of each skill in a text, indexed by skill number, with the
+ * distinct skills in order of first occurrence and the text's length in
+ * words.
+ */
+public final class SkillCounts {
+
+    private final int[] counts;
+    private final int[] skills;
+    private final int tokens;
+    private int distinct;
+
+    SkillCounts(int vocabularySize, int tokens) {
+        this.counts = new int[vocabularySize];
+        this.skills = new int[vocabularySize];
+        this.tokens = tokens;
+    }
+
+    void add(int skill) {
+        if (counts[skill]++ == 0) {
+            skills[distinct++] = skill;
+        }
+    }
+
+    public int count(int skill) {
+        return counts[skill];
+    }
+
+    /**
+     * Number of distinct skills found.
+     */
+    public int distinct() {
+        return distinct;
+    }
+
+    /**
+     * The i-th distinct skill found, in order of first occurrence.
+     */
+    public int skill(int i) {
+        return skills[i];
+    }
+
+    public int tokens() {
+        return tokens;
+    }
+}
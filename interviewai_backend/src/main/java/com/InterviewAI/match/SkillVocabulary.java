@@ -0,0 +1,152 @@
+package com.interviewai.match;
+
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The skills the keyword matcher recognizes, with their aliases and weights.
+ *
+ * Every name and alias is tokenized like the texts it is matched against and
+ * stored as a phrase in an open-addressing table of char arrays, so looking
+ * up a token run compares chars in place and creates no strings. Skills are
+ * numbered from 0, which lets callers count them in plain int arrays.
+ *
+ * File format (see match/skills.txt): one skill per line, the display name
+ * followed by aliases separated by "|"; "@weight w" applies to the lines
+ * after it; "#" starts a comment.
+ */
+public final class SkillVocabulary {
+
+    private final List<String> names;
+    private final Map<String, Integer> idsByName;
+    private final double[] weights;
+    private final char[][] keys;
+    private final int[] ids;
+    private final int mask;
+    private final int maxPhraseTokens;
+
+    private SkillVocabulary(List<String> names, double[] weights, List<char[]> phrases, List<Integer> phraseIds) {
+        this.names = List.copyOf(names);
+        this.idsByName = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            idsByName.putIfAbsent(names.get(i), i);
+        }
+        this.weights = weights;
+        int capacity = Integer.highestOneBit(Math.max(16, phrases.size() * 3)) << 1;
+        this.keys = new char[capacity][];
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+        int longest = 1;
+        for (int i = 0; i < phrases.size(); i++) {
+            char[] phrase = phrases.get(i);
+            int slot = hash(phrase, 0, phrase.length) & mask;
+            while (keys[slot] != null && !Arrays.equals(keys[slot], phrase)) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] != null && ids[slot] != phraseIds.get(i)) {
+                throw new IllegalArgumentException("Skill alias \"" + new String(phrase)
+                        + "\" is listed for both " + names.get(ids[slot]) + " and " + names.get(phraseIds.get(i)));
+            }
+            keys[slot] = phrase;
+            ids[slot] = phraseIds.get(i);
+            int tokens = 1;
+            for (char c : phrase) {
+                if (c == ' ') {
+                    tokens++;
+                }
+            }
+            longest = Math.max(longest, tokens);
+        }
+        this.maxPhraseTokens = longest;
+    }
+
+    /**
+     * Loads a vocabulary file from the classpath.
+     */
+    public static SkillVocabulary load(String location) throws IOException {
+        String content = new ClassPathResource(location).getContentAsString(StandardCharsets.UTF_8);
+        return parse(content.lines().toList());
+    }
+
+    public static SkillVocabulary parse(List<String> lines) {
+        List<String> names = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        List<char[]> phrases = new ArrayList<>();
+        List<Integer> phraseIds = new ArrayList<>();
+        double weight = 1.0;
+        for (String raw : lines) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            if (line.startsWith("@weight")) {
+                weight = Double.parseDouble(line.substring("@weight".length()).strip());
+                continue;
+            }
+            String[] aliases = line.split("\\|");
+            int id = names.size();
+            names.add(aliases[0].strip());
+            weights.add(weight);
+            for (String alias : aliases) {
+                Tokens tokens = Tokens.of(alias);
+                if (tokens.count() > 0) {
+                    phrases.add(Arrays.copyOf(tokens.chars(), tokens.length()));
+                    phraseIds.add(id);
+                }
+            }
+        }
+        return new SkillVocabulary(names, weights.stream().mapToDouble(Double::doubleValue).toArray(), phrases,
+                phraseIds);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String name(int skill) {
+        return names.get(skill);
+    }
+
+    /**
+     * Returns the skill with the given display name, or -1.
+     */
+    public int skill(String name) {
+        return idsByName.getOrDefault(name, -1);
+    }
+
+    public double weight(int skill) {
+        return weights[skill];
+    }
+
+    int maxPhraseTokens() {
+        return maxPhraseTokens;
+    }
+
+    /**
+     * Returns the skill whose name or alias is chars[from, to), or -1.
+     */
+    int find(char[] chars, int from, int to) {
+        for (int slot = hash(chars, from, to) & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            char[] key = keys[slot];
+            if (key.length == to - from && Arrays.equals(key, 0, key.length, chars, from, to)) {
+                return ids[slot];
+            }
+        }
+        return -1;
+    }
+
+    private static int hash(char[] chars, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + chars[i];
+        }
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,81 @@
+package com.interviewai.match;
+
+import java.util.Arrays;
+
+/**
+ * The lower-cased words of a text in one char array, separated by single
+ * spaces, with the offset of each word. A word is a run of letters and
+ * digits; "+" and "#" extend a word ("c++", "c#") and "." joins the letters
+ * around it ("node.js", ".net"). Anything else separates words.
+ */
+final class Tokens {
+
+    private final char[] chars;
+    private int length;
+    private int[] starts = new int[32];
+    private int count;
+
+    private Tokens(int capacity) {
+        this.chars = new char[capacity];
+    }
+
+    static Tokens of(CharSequence text) {
+        int n = text.length();
+        Tokens tokens = new Tokens(n);
+        boolean inWord = false;
+        for (int i = 0; i < n; i++) {
+            char c = text.charAt(i);
+            boolean part;
+            if (Character.isLetterOrDigit(c)) {
+                part = true;
+            } else if (c == '+' || c == '#') {
+                part = inWord;
+            } else {
+                part = c == '.' && i + 1 < n && Character.isLetterOrDigit(text.charAt(i + 1));
+            }
+            if (!part) {
+                inWord = false;
+                continue;
+            }
+            if (!inWord) {
+                tokens.startWord();
+                inWord = true;
+            }
+            tokens.chars[tokens.length++] = Character.toLowerCase(c);
+        }
+        return tokens;
+    }
+
+    private void startWord() {
+        if (count > 0) {
+            chars[length++] = ' ';
+        }
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+        }
+        starts[count++] = length;
+    }
+
+    char[] chars() {
+        return chars;
+    }
+
+    int length() {
+        return length;
+    }
+
+    int count() {
+        return count;
+    }
+
+    int start(int word) {
+        return starts[word];
+    }
+
+    /**
+     * End offset (exclusive) of a word.
+     */
+    int end(int word) {
+        return word + 1 < count ? starts[word + 1] - 1 : length;
+    }
+}
@@ -0,0 +1,193 @@
+package com.interviewai.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Single place where the request pipelines record metrics.
+ *
+ * Stage timings are Micrometer observations, so each one produces both a
+ * timer (tagged with operation and outcome) and a tracing span parented to
+ * the current request. Reactive stages carry the observation in the Reactor
+ * context so spans nest correctly across thread hops.
+ */
+@Component
+public class PipelineMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_ERROR = "error";
+    /** Gemini calls whose response is served, and copies sent to the shadow model. */
+    public static final String TRAFFIC_SERVED = "served";
+    public static final String TRAFFIC_SHADOW = "shadow";
+
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+
+    public PipelineMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.meterRegistry = java.util.Objects.requireNonNull(meterRegistry, "meterRegistry must not be null");
+        this.observationRegistry = java.util.Objects.requireNonNull(observationRegistry,
+                "observationRegistry must not be null");
+    }
+
+    /**
+     * Times a reactive stage. The observation starts on subscription and
+     * stops on completion, error or cancellation.
+     *
+     * @param name      Metric and span name, e.g. "supabase.metadata.fetch"
+     * @param operation Operation tag, e.g. "resume_analysis"
+     * @param stage     The Mono to time
+     */
+    public <T> Mono<T> observe(String name, String operation, Mono<T> stage) {
+        return Mono.deferContextual(context -> {
+            Observation parent = context.getOrDefault(ObservationThreadLocalAccessor.KEY,
+                    observationRegistry.getCurrentObservation());
+            Observation observation = Observation.createNotStarted(name, observationRegistry)
+                    .parentObservation(parent)
+                    .lowCardinalityKeyValue("operation", operation)
+                    .start();
+            return stage
+                    .doOnSuccess(value -> observation.lowCardinalityKeyValue(
+                            KeyValue.of("outcome", value == null ? "empty" : OUTCOME_SUCCESS)))
+                    .doOnError(error -> {
+                        observation.lowCardinalityKeyValue("outcome", OUTCOME_ERROR);
+                        observation.error(error);
+                    })
+                    .doOnCancel(() -> observation.lowCardinalityKeyValue("outcome", "cancelled"))
+                    .doFinally(signal -> observation.stop())
+                    .contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
+        });
+    }
+
+    /**
+     * Times a blocking stage such as PDF extraction or a database save.
+     */
+    public <T> T observe(String name, String operation, Supplier<T> stage) {
+        Observation observation = Observation.createNotStarted(name, observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            T result = stage.get();
+            observation.lowCardinalityKeyValue("outcome", OUTCOME_SUCCESS);
+            return result;
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", OUTCOME_ERROR);
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /**
+     * Records the size of a file downloaded from Supabase Storage.
+     */
+    public void storageDownloadBytes(long bytes) {
+        DistributionSummary.builder("supabase.storage.download.bytes")
+                .baseUnit("bytes")
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    /**
+     * Records the estimated token count of an assembled prompt.
+     */
+    public void promptTokens(String operation, int estimatedTokens) {
+        meterRegistry.summary("gemini.prompt.estimated.tokens", "operation", operation).record(estimatedTokens);
+    }
+
+    /**
+     * Records a token count reported by Gemini in usageMetadata.
+     *
+     * @param traffic served or shadow
+     * @param type    prompt, candidates, thoughts or total
+     */
+    public void geminiTokens(String operation, String model, String traffic, String type, int tokens) {
+        meterRegistry.summary("gemini.tokens", "operation", operation, "model", model, "traffic", traffic,
+                "type", type).record(tokens);
+    }
+
+    /**
+     * Counts the model a Gemini call was routed to.
+     *
+     * @param reason configured, or errors, latency or load when the call was
+     *               moved to the light model
+     */
+    public void modelRoute(String operation, String model, String reason) {
+        meterRegistry.counter("gemini.model.route", "operation", operation, "model", model, "reason", reason)
+                .increment();
+    }
+
+    /**
+     * Records the duration of one HTTP call to a Gemini model, without the
+     * time spent queued for it.
+     *
+     * @param traffic served or shadow
+     */
+    public void modelCall(String operation, String model, String traffic, String outcome, long nanos) {
+        meterRegistry.timer("gemini.model.latency", "operation", operation, "model", model, "traffic", traffic,
+                "outcome", outcome).record(nanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one shadow comparison, and the similarity of the shadow model's
+     * output to the served output when both were JSON.
+     *
+     * @param outcome compared, unparsed, error, or skipped when no fair
+     *                queue slot was free
+     */
+    public void shadowCompare(String operation, String model, String outcome, double similarity) {
+        meterRegistry.counter("gemini.shadow.calls", "operation", operation, "model", model, "outcome", outcome)
+                .increment();
+        if ("compared".equals(outcome)) {
+            meterRegistry.summary("gemini.shadow.similarity", "operation", operation, "model", model)
+                    .record(similarity);
+        }
+    }
+
+    /**
+     * Records one update of a built resume: how many of its parts were
+     * regenerated and reused, and the estimated prompt tokens it sent.
+     *
+     * @param mode incremental, or full when the stored resume could not be
+     *             updated part by part
+     */
+    public void resumeUpdate(String mode, int regenerated, int reused, int promptTokens) {
+        meterRegistry.summary("resume.update.parts", "mode", mode, "outcome", "regenerated").record(regenerated);
+        meterRegistry.summary("resume.update.parts", "mode", mode, "outcome", "reused").record(reused);
+        meterRegistry.summary("resume.update.prompt.tokens", "mode", mode).record(promptTokens);
+    }
+
+    /**
+     * Records the bytes stored for one version of a built resume.
+     *
+     * @param kind snapshot or delta
+     */
+    public void resumeVersionBytes(String kind, int bytes) {
+        meterRegistry.summary("resume.version.stored.bytes", "kind", kind).record(bytes);
+    }
+
+    /**
+     * Counts one parse of a Gemini response.
+     *
+     * @param outcome ok, repaired or failed
+     */
+    public void geminiParse(String operation, String outcome) {
+        meterRegistry.counter("gemini.response.parse", "operation", operation, "outcome", outcome).increment();
+    }
+
+    /**
+     * Counts a fallback response returned instead of a Gemini result.
+     */
+    public void fallback(String operation, Throwable cause) {
+        meterRegistry.counter("gemini.fallback", "operation", operation, "reason", cause.getClass().getSimpleName())
+                .increment();
+    }
+}
@@ -14,7 +14,8 @@ import java.util.UUID;
 /**
  * Entity representing a built resume.
  * Maps to the 'built_resumes' table in Supabase.
- * Stores both the user's raw input and AI-generated professional content.
+ * Stores both the user's raw input and AI-generated professional content;
+ * earlier versions of it are kept in 'built_resume_versions'.
  */
 @Entity
 @Table(name = "built_resumes")
@@ -49,9 +50,20 @@ public class BuiltResume {
     @Column(name = "ai_generated_content", columnDefinition = "jsonb")
     private JsonNode aiGeneratedContent;
 
+    /**
+     * The version of the content above in built_resume_versions, the latest
+     * one there. Null for resumes not saved through the API since versions
+     * were introduced, which have no history yet.
+     */
+    @Column(name = "current_version")
+    private Integer currentVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
@@ -0,0 +1,55 @@
+package com.interviewai.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One version of a built resume's content (see ResumeVersionService): either
+ * the whole document or a JSON Patch from the previous version, stored
+ * DEFLATE-compressed. Rows go with their resume: the foreign key created by
+ * db/003_built_resume_versions.sql cascades deletes, including those made
+ * directly through Supabase.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "built_resume_versions", uniqueConstraints = @UniqueConstraint(
+        name = "uk_built_resume_versions_resume_version", columnNames = { "resume_id", "version" }))
+public class BuiltResumeVersion {
+
+    public enum Kind {
+        SNAPSHOT, DELTA
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "resume_id", nullable = false)
+    private UUID resumeId;
+
+    @Column(nullable = false)
+    private Integer version;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Kind kind;
+
+    @Column(length = 16, nullable = false)
+    private String encoding; // see FeedbackTranscriptService
+
+    @Column(name = "original_length", nullable = false)
+    private Integer originalLength; // UTF-8 bytes of the JSON before compression
+
+    @Column(name = "stored_length", nullable = false)
+    private Integer storedLength;
+
+    @Column(columnDefinition = "bytea", nullable = false)
+    private byte[] content;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.interviewai.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,7 +23,10 @@ public class Feedback {
     @Column(name = "user_id") // Foreign key to auth.users table
     private UUID userId;
 
-    @Column(columnDefinition = "TEXT") // Store the full transcript
+    // Stored compressed in feedback_transcripts (FeedbackTranscriptService);
+    // set on single feedback reads and when just submitted
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String transcript;
 
     @Column(columnDefinition = "TEXT") // Store AI-generated strengths
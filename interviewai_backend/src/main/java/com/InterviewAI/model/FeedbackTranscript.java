@@ -0,0 +1,30 @@
+package com.interviewai.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+/**
+ * Compressed interview transcript of a feedback row. Kept out of the
+ * feedback table so reading scores does not load the transcript.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "feedback_transcripts")
+public class FeedbackTranscript {
+
+    @Id
+    @Column(name = "feedback_id")
+    private UUID feedbackId;
+
+    @Column(length = 16, nullable = false)
+    private String encoding; // see FeedbackTranscriptService
+
+    @Column(name = "original_length")
+    private Integer originalLength; // UTF-8 bytes before compression
+
+    @Column(columnDefinition = "bytea", nullable = false)
+    private byte[] content;
+}
@@ -0,0 +1,52 @@
+package com.interviewai.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of a POST sent with an Idempotency-Key, kept until it expires so a
+ * retried request is answered with the original response.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_expires_at", columnList = "expires_at"))
+public class IdempotencyRecord {
+
+    public enum Status {
+        IN_PROGRESS, COMPLETED
+    }
+
+    // user id, endpoint and client key (see IdempotencyService.scope)
+    @Id
+    @Column(length = 512)
+    private String scope;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "request_hash", length = 64)
+    private String requestHash; // SHA-256 of the request body
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Status status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "response_content_type")
+    private String responseContentType;
+
+    @Column(name = "response_body", columnDefinition = "bytea")
+    private byte[] responseBody;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
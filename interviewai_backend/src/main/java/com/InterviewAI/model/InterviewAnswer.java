@@ -0,0 +1,63 @@
+package com.interviewai.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * One answer of an interview session, evaluated on its own as soon as it is
+ * submitted. The final feedback aggregates these evaluations.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "interview_answers", uniqueConstraints = @UniqueConstraint(columnNames = { "interview_id",
+        "question_index" }))
+public class InterviewAnswer {
+
+    public enum Status {
+        PENDING, EVALUATED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @Column(name = "interview_id")
+    private UUID interviewId;
+
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "question_index")
+    private Integer questionIndex;
+
+    @Column(columnDefinition = "TEXT")
+    private String question;
+
+    @Column(columnDefinition = "TEXT")
+    private String answer;
+
+    // Incremented when the answer is resubmitted, so a stale evaluation is discarded
+    private Integer revision;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Status status;
+
+    private Integer score;
+
+    @Column(columnDefinition = "TEXT")
+    private String strengths;
+
+    @Column(columnDefinition = "TEXT")
+    private String improvement;
+
+    @Column(name = "submitted_at")
+    private OffsetDateTime submittedAt;
+
+    @Column(name = "evaluated_at")
+    private OffsetDateTime evaluatedAt;
+}
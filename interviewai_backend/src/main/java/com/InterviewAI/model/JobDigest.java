@@ -0,0 +1,32 @@
+package com.interviewai.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * Requirements summary of a job description, shared by every analysis
+ * tailored to the same job description (see JobDigestService).
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "job_digests", indexes = @Index(name = "idx_job_digests_created_at", columnList = "created_at"))
+public class JobDigest {
+
+    // SHA-256 of the normalized job description
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    // The requirements as they go into analysis prompts
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String summary;
+
+    @Column(name = "source_tokens")
+    private Integer sourceTokens; // estimated tokens of the job description it replaces
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
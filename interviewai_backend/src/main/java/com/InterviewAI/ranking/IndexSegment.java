@@ -0,0 +1,249 @@
+package com.interviewai.ranking;
+
+import com.interviewai.match.SkillVocabulary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An immutable block of indexed resumes: their ids and lengths, and for
+ * every skill the resumes that mention it with how often (a posting list),
+ * sorted by document number.
+ *
+ * Layout, big-endian:
+ * header: int magic, int version, int document count, int skill count;
+ * documents: resume id and user id as four longs, int length in words;
+ * skills: short name length, UTF-8 name, int posting count, then that many
+ * (int document, int occurrences) pairs.
+ *
+ * Skills are stored by display name so that segments survive vocabulary
+ * edits: opening a segment maps the names to the current skill numbers and
+ * skips names the vocabulary no longer lists. Segments read from disk are
+ * memory-mapped read-only and their postings are read in place; segments
+ * built in memory use the same layout in a heap buffer.
+ */
+final class IndexSegment {
+
+    private static final int MAGIC = 0x52495831; // "RIX1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int DOC_BYTES = 36;
+    private static final int POSTING_BYTES = 8;
+
+    private final ByteBuffer buffer;
+    private final int docCount;
+    // By skill number: byte offset of the first posting, and how many there are (0 if none)
+    private final int[] postingsOffset;
+    private final int[] postingsCount;
+
+    private IndexSegment(ByteBuffer buffer, SkillVocabulary vocabulary) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a resume index segment");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported resume index segment version " + buffer.getInt(4));
+        }
+        this.docCount = buffer.getInt(8);
+        int skillCount = buffer.getInt(12);
+        this.postingsOffset = new int[vocabulary.size()];
+        this.postingsCount = new int[vocabulary.size()];
+        int position = HEADER_BYTES + docCount * DOC_BYTES;
+        for (int i = 0; i < skillCount; i++) {
+            byte[] name = new byte[buffer.getShort(position)];
+            buffer.get(position + 2, name);
+            position += 2 + name.length;
+            int count = buffer.getInt(position);
+            position += 4;
+            int skill = vocabulary.skill(new String(name, StandardCharsets.UTF_8));
+            if (skill >= 0) {
+                postingsOffset[skill] = position;
+                postingsCount[skill] = count;
+            }
+            position += count * POSTING_BYTES;
+        }
+        if (position > buffer.limit()) {
+            throw new IOException("Truncated resume index segment");
+        }
+    }
+
+    /**
+     * Builds a segment in memory.
+     */
+    static IndexSegment build(List<IndexedResume> docs, SkillVocabulary vocabulary) {
+        int[] postings = new int[vocabulary.size()];
+        for (IndexedResume doc : docs) {
+            for (int skill : doc.skills()) {
+                postings[skill]++;
+            }
+        }
+        byte[][] names = new byte[vocabulary.size()][];
+        int skillCount = 0;
+        int size = HEADER_BYTES + docs.size() * DOC_BYTES;
+        for (int skill = 0; skill < postings.length; skill++) {
+            if (postings[skill] > 0) {
+                names[skill] = vocabulary.name(skill).getBytes(StandardCharsets.UTF_8);
+                size += 2 + names[skill].length + 4 + postings[skill] * POSTING_BYTES;
+                skillCount++;
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(docs.size()).putInt(skillCount);
+        for (IndexedResume doc : docs) {
+            buffer.putLong(doc.resumeId().getMostSignificantBits())
+                    .putLong(doc.resumeId().getLeastSignificantBits())
+                    .putLong(doc.userId().getMostSignificantBits())
+                    .putLong(doc.userId().getLeastSignificantBits())
+                    .putInt(doc.tokens());
+        }
+        // Reserve each skill's posting list, then fill them in document order
+        int[] next = new int[vocabulary.size()];
+        for (int skill = 0; skill < postings.length; skill++) {
+            if (postings[skill] > 0) {
+                buffer.putShort((short) names[skill].length).put(names[skill]).putInt(postings[skill]);
+                next[skill] = buffer.position();
+                buffer.position(buffer.position() + postings[skill] * POSTING_BYTES);
+            }
+        }
+        for (int doc = 0; doc < docs.size(); doc++) {
+            IndexedResume resume = docs.get(doc);
+            for (int i = 0; i < resume.skills().length; i++) {
+                int skill = resume.skills()[i];
+                buffer.putInt(next[skill], doc).putInt(next[skill] + 4, resume.counts()[i]);
+                next[skill] += POSTING_BYTES;
+            }
+        }
+        try {
+            return new IndexSegment(buffer.clear(), vocabulary);
+        } catch (IOException e) {
+            throw new IllegalStateException("Built an unreadable segment", e);
+        }
+    }
+
+    /**
+     * Maps a segment file into memory.
+     *
+     * @throws IOException if the file cannot be read or is not a segment
+     */
+    static IndexSegment open(Path file, SkillVocabulary vocabulary) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new IndexSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), vocabulary);
+        }
+    }
+
+    /**
+     * Writes the segment to a file and maps it back, replacing the file
+     * atomically so that a crash never leaves a partial segment behind.
+     */
+    IndexSegment writeTo(Path file, SkillVocabulary vocabulary) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer contents = buffer.duplicate().clear();
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return open(file, vocabulary);
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    UUID resumeId(int doc) {
+        int offset = HEADER_BYTES + doc * DOC_BYTES;
+        return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+    }
+
+    UUID userId(int doc) {
+        int offset = HEADER_BYTES + doc * DOC_BYTES + 16;
+        return new UUID(buffer.getLong(offset), buffer.getLong(offset + 8));
+    }
+
+    int tokens(int doc) {
+        return buffer.getInt(HEADER_BYTES + doc * DOC_BYTES + 32);
+    }
+
+    int postings(int skill) {
+        return postingsCount[skill];
+    }
+
+    int postingDoc(int skill, int i) {
+        return buffer.getInt(postingsOffset[skill] + i * POSTING_BYTES);
+    }
+
+    int postingCount(int skill, int i) {
+        return buffer.getInt(postingsOffset[skill] + i * POSTING_BYTES + 4);
+    }
+
+    /**
+     * Index of the first posting of a skill for a document at or after doc.
+     */
+    int firstPosting(int skill, int doc) {
+        int low = 0;
+        int high = postingsCount[skill];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (postingDoc(skill, mid) < doc) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Occurrences of a skill in a document.
+     */
+    int count(int skill, int doc) {
+        int i = firstPosting(skill, doc);
+        return i < postingsCount[skill] && postingDoc(skill, i) == doc ? postingCount(skill, i) : 0;
+    }
+
+    /**
+     * Reads back the documents not in deleted, in order, for merging.
+     */
+    List<IndexedResume> docs(BitSet deleted) {
+        int[] skillCounts = new int[docCount];
+        for (int skill = 0; skill < postingsCount.length; skill++) {
+            for (int i = 0; i < postingsCount[skill]; i++) {
+                skillCounts[postingDoc(skill, i)]++;
+            }
+        }
+        int[][] skills = new int[docCount][];
+        int[][] counts = new int[docCount][];
+        for (int doc = 0; doc < docCount; doc++) {
+            skills[doc] = new int[skillCounts[doc]];
+            counts[doc] = new int[skillCounts[doc]];
+        }
+        Arrays.fill(skillCounts, 0);
+        for (int skill = 0; skill < postingsCount.length; skill++) {
+            for (int i = 0; i < postingsCount[skill]; i++) {
+                int doc = postingDoc(skill, i);
+                skills[doc][skillCounts[doc]] = skill;
+                counts[doc][skillCounts[doc]++] = postingCount(skill, i);
+            }
+        }
+        List<IndexedResume> docs = new ArrayList<>();
+        for (int doc = deleted.nextClearBit(0); doc < docCount; doc = deleted.nextClearBit(doc + 1)) {
+            docs.add(new IndexedResume(resumeId(doc), userId(doc), tokens(doc), skills[doc], counts[doc]));
+        }
+        return docs;
+    }
+}
@@ -0,0 +1,13 @@
+package com.interviewai.ranking;
+
+import java.util.UUID;
+
+/**
+ * A resume as the index stores it: the skills it mentions with how often,
+ * and its length in words.
+ *
+ * @param skills Skill numbers, in the current vocabulary
+ * @param counts Occurrences of each skill, parallel to skills
+ */
+record IndexedResume(UUID resumeId, UUID userId, int tokens, int[] skills, int[] counts) {
+}
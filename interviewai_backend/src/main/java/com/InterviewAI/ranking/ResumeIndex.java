@@ -0,0 +1,501 @@
+package com.interviewai.ranking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.interviewai.dto.KeywordMatch;
+import com.interviewai.match.KeywordMatcher;
+import com.interviewai.match.SkillCounts;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * An inverted index of analyzed resumes by skill, for ranking them all
+ * against one job description without calling Gemini.
+ *
+ * Each resume is indexed as the skills the keyword matcher finds in its
+ * text and in its analysis's skill lists, and scored exactly like
+ * KeywordMatcher.match: the job's skills weighted by the vocabulary, each
+ * credited by BM25 saturation of how often the resume mentions it.
+ *
+ * Resumes are added as their analyses are saved. New ones go to an
+ * in-memory segment that is rebuilt on every add and written to a
+ * segment-NNNNNN.idx file (see IndexSegment) once it holds flush-docs
+ * resumes, every flush-interval, and on shutdown; without a directory
+ * segments simply stay in memory. Files are memory-mapped, so the index's
+ * postings live in the page cache rather than on the heap. When there are
+ * more than max-segments files they are merged into one. A re-analyzed
+ * resume replaces its earlier entry: the older copy is marked deleted, on
+ * startup by loading segments in order, and dropped by the next merge.
+ *
+ * Readers work on an immutable snapshot and never lock. Ranking splits the
+ * documents into slices scored on a fork-join pool, each keeping its own
+ * top k, and computes the matched and missing skills for the winners only.
+ */
+@Component
+public class ResumeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeIndex.class);
+
+    private static final String FILE_PREFIX = "segment-";
+    private static final String FILE_SUFFIX = ".idx";
+    private static final int SLICE_DOCS = 2048;
+
+    private final KeywordMatcher matcher;
+    private final Path directory;
+    private final int flushDocs;
+    private final int maxSegments;
+    private final ForkJoinPool pool;
+
+    // Guarded by this
+    private final List<IndexSegment> segments = new ArrayList<>();
+    private final List<Path> files = new ArrayList<>();
+    private final List<BitSet> deleted = new ArrayList<>();
+    private final Map<UUID, Long> locations = new HashMap<>();
+    private final List<IndexedResume> pending = new ArrayList<>();
+    private int nextFileNumber;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), List.of(), new int[] { 0 });
+
+    public ResumeIndex(KeywordMatcher matcher,
+            MeterRegistry meterRegistry,
+            @Value("${ranking.directory:}") String directory,
+            @Value("${ranking.flush-docs:256}") int flushDocs,
+            @Value("${ranking.max-segments:8}") int maxSegments,
+            @Value("${ranking.parallelism:0}") int parallelism) throws IOException {
+        this.matcher = java.util.Objects.requireNonNull(matcher, "matcher must not be null");
+        if (flushDocs < 1 || maxSegments < 1) {
+            throw new IllegalArgumentException("ranking.flush-docs and ranking.max-segments must be positive");
+        }
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.flushDocs = flushDocs;
+        this.maxSegments = maxSegments;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        if (this.directory != null) {
+            load();
+        }
+        Gauge.builder("ranking.index.resumes", this, ResumeIndex::size)
+                .description("Resumes in the recruiter ranking index")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        pool.shutdownNow();
+    }
+
+    /**
+     * Indexes a resume, replacing any earlier entry for it.
+     *
+     * @param text     The resume's extracted text
+     * @param analysis The analysis's structured sections (ResumeAnalysis.strengths), or null
+     */
+    public void add(UUID resumeId, UUID userId, String text, JsonNode analysis) {
+        SkillCounts counts = matcher.count(text + "\n" + skillText(analysis));
+        int[] skills = new int[counts.distinct()];
+        int[] occurrences = new int[counts.distinct()];
+        for (int i = 0; i < skills.length; i++) {
+            skills[i] = counts.skill(i);
+            occurrences[i] = counts.count(skills[i]);
+        }
+        IndexedResume resume = new IndexedResume(resumeId, userId, counts.tokens(), skills, occurrences);
+        synchronized (this) {
+            Long location = locations.remove(resumeId);
+            if (location != null) {
+                int segment = (int) (location >>> 32);
+                BitSet copy = (BitSet) deleted.get(segment).clone();
+                copy.set((int) (long) location);
+                deleted.set(segment, copy);
+            }
+            pending.removeIf(doc -> doc.resumeId().equals(resumeId));
+            pending.add(resume);
+            if (pending.size() >= flushDocs) {
+                flush();
+            } else {
+                publish();
+            }
+        }
+    }
+
+    public boolean contains(UUID resumeId) {
+        synchronized (this) {
+            return locations.containsKey(resumeId)
+                    || pending.stream().anyMatch(doc -> doc.resumeId().equals(resumeId));
+        }
+    }
+
+    /**
+     * Number of resumes indexed.
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        int size = current.bases()[current.segments().size()];
+        for (BitSet removed : current.deleted()) {
+            size -= removed.cardinality();
+        }
+        return size;
+    }
+
+    /**
+     * Ranks every indexed resume against a job description.
+     *
+     * @param jobDescription The job description
+     * @param limit          How many resumes to return at most
+     * @return The best matching resumes, best first; resumes matching none
+     *         of the job's skills are left out
+     */
+    public List<Hit> rank(String jobDescription, int limit) {
+        KeywordMatcher.Query query = matcher.query(jobDescription);
+        Snapshot current = snapshot;
+        if (query.skills().length == 0 || limit < 1) {
+            return List.of();
+        }
+        List<Callable<TopK>> slices = new ArrayList<>();
+        for (int s = 0; s < current.segments().size(); s++) {
+            int segment = s;
+            int docs = current.segments().get(s).docCount();
+            for (int from = 0; from < docs; from += SLICE_DOCS) {
+                int start = from;
+                slices.add(() -> score(current, segment, start, Math.min(docs, start + SLICE_DOCS), query, limit));
+            }
+        }
+        TopK best = new TopK(limit);
+        try {
+            for (Future<TopK> slice : pool.invokeAll(slices)) {
+                best.addAll(slice.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while ranking resumes", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ranking resumes failed", e.getCause());
+        }
+
+        long[] ranked = best.sorted();
+        List<Hit> hits = new ArrayList<>(ranked.length);
+        for (long entry : ranked) {
+            int global = (int) entry;
+            // Segments are never empty, so a base is the start of exactly one segment
+            int segmentIndex = Arrays.binarySearch(current.bases(), global);
+            segmentIndex = segmentIndex >= 0 ? segmentIndex : -segmentIndex - 2;
+            IndexSegment segment = current.segments().get(segmentIndex);
+            hits.add(hit(segment, global - current.bases()[segmentIndex], query));
+        }
+        return hits;
+    }
+
+    private TopK score(Snapshot current, int segmentIndex, int from, int to, KeywordMatcher.Query query,
+            int limit) {
+        IndexSegment segment = current.segments().get(segmentIndex);
+        float[] covered = new float[to - from];
+        for (int q = 0; q < query.skills().length; q++) {
+            int skill = query.skills()[q];
+            double weight = query.weights()[q];
+            int postings = segment.postings(skill);
+            for (int i = segment.firstPosting(skill, from); i < postings; i++) {
+                int doc = segment.postingDoc(skill, i);
+                if (doc >= to) {
+                    break;
+                }
+                covered[doc - from] += (float) (weight
+                        * matcher.credit(segment.postingCount(skill, i), segment.tokens(doc)));
+            }
+        }
+        BitSet removed = current.deleted().get(segmentIndex);
+        int base = current.bases()[segmentIndex];
+        TopK top = new TopK(limit);
+        for (int doc = from; doc < to; doc++) {
+            if (covered[doc - from] > 0 && !removed.get(doc)) {
+                top.add(covered[doc - from], base + doc);
+            }
+        }
+        return top;
+    }
+
+    private Hit hit(IndexSegment segment, int doc, KeywordMatcher.Query query) {
+        double covered = 0;
+        List<String> matched = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (int q = 0; q < query.skills().length; q++) {
+            int skill = query.skills()[q];
+            int count = segment.count(skill, doc);
+            covered += query.weights()[q] * matcher.credit(count, segment.tokens(doc));
+            (count > 0 ? matched : missing).add(matcher.vocabulary().name(skill));
+        }
+        return new Hit(segment.resumeId(doc), segment.userId(doc),
+                new KeywordMatch(query.score(covered), matched, missing));
+    }
+
+    /**
+     * Moves the in-memory segment into a file, merging files if there are
+     * too many.
+     */
+    @Scheduled(fixedDelayString = "${ranking.flush-interval:PT1M}",
+            initialDelayString = "${ranking.flush-interval:PT1M}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        IndexSegment segment = IndexSegment.build(pending, matcher.vocabulary());
+        Path file = null;
+        if (directory != null) {
+            try {
+                file = nextFile();
+                segment = segment.writeTo(file, matcher.vocabulary());
+            } catch (IOException e) {
+                // Keep the segment in memory only; the next merge writes it out with the others
+                logger.warn("Writing resume index segment {} failed: {}", file, e.getMessage());
+                file = null;
+            }
+        }
+        register(segment, file);
+        pending.clear();
+        if (segments.size() > maxSegments) {
+            merge();
+        }
+        publish();
+    }
+
+    /**
+     * Merges every segment into one, dropping replaced entries.
+     */
+    private void merge() {
+        List<IndexedResume> live = new ArrayList<>();
+        for (int s = 0; s < segments.size(); s++) {
+            live.addAll(segments.get(s).docs(deleted.get(s)));
+        }
+        IndexSegment merged = IndexSegment.build(live, matcher.vocabulary());
+        Path file = null;
+        if (directory != null) {
+            try {
+                file = nextFile();
+                merged = merged.writeTo(file, matcher.vocabulary());
+            } catch (IOException e) {
+                logger.warn("Merging resume index segments failed: {}", e.getMessage());
+                return;
+            }
+        }
+        List<Path> replaced = new ArrayList<>(files);
+        segments.clear();
+        files.clear();
+        deleted.clear();
+        locations.clear();
+        register(merged, file);
+        // Mappings of the old files stay valid until the snapshots using them are collected
+        for (Path old : replaced) {
+            if (old != null) {
+                try {
+                    Files.deleteIfExists(old);
+                } catch (IOException e) {
+                    logger.warn("Deleting merged resume index segment {} failed: {}", old, e.getMessage());
+                }
+            }
+        }
+        logger.info("Merged {} resume index segments into {} ({} resumes)", replaced.size(),
+                file != null ? file : "memory", live.size());
+    }
+
+    /**
+     * Appends a segment, marking earlier entries of its resumes deleted.
+     */
+    private void register(IndexSegment segment, Path file) {
+        int index = segments.size();
+        BitSet removed = new BitSet();
+        for (int doc = 0; doc < segment.docCount(); doc++) {
+            Long earlier = locations.put(segment.resumeId(doc), ((long) index << 32) | doc);
+            if (earlier != null) {
+                int earlierSegment = (int) (earlier >>> 32);
+                if (earlierSegment == index) {
+                    removed.set((int) (long) earlier);
+                } else {
+                    BitSet copy = (BitSet) deleted.get(earlierSegment).clone();
+                    copy.set((int) (long) earlier);
+                    deleted.set(earlierSegment, copy);
+                }
+            }
+        }
+        segments.add(segment);
+        files.add(file);
+        deleted.add(removed);
+    }
+
+    private void publish() {
+        List<IndexSegment> all = new ArrayList<>(segments);
+        List<BitSet> removed = new ArrayList<>(deleted);
+        if (!pending.isEmpty()) {
+            all.add(IndexSegment.build(pending, matcher.vocabulary()));
+            removed.add(new BitSet());
+        }
+        int[] bases = new int[all.size() + 1];
+        for (int s = 0; s < all.size(); s++) {
+            bases[s + 1] = bases[s] + all.get(s).docCount();
+        }
+        snapshot = new Snapshot(List.copyOf(all), List.copyOf(removed), bases);
+    }
+
+    private synchronized void load() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> found;
+        try (Stream<Path> listing = Files.list(directory)) {
+            found = listing.filter(path -> fileNumber(path) >= 0)
+                    .sorted((a, b) -> Integer.compare(fileNumber(a), fileNumber(b)))
+                    .toList();
+        }
+        for (Path file : found) {
+            nextFileNumber = fileNumber(file) + 1;
+            try {
+                IndexSegment segment = IndexSegment.open(file, matcher.vocabulary());
+                register(segment, file);
+            } catch (IOException e) {
+                logger.warn("Skipping unreadable resume index segment {}: {}", file, e.getMessage());
+            }
+        }
+        publish();
+        logger.info("Loaded {} resumes from {} index segments in {}", size(), segments.size(), directory);
+    }
+
+    private Path nextFile() {
+        return directory.resolve(String.format("%s%06d%s", FILE_PREFIX, nextFileNumber++, FILE_SUFFIX));
+    }
+
+    private static int fileNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * The skill lists of an analysis (skillsAssessment), one per line.
+     */
+    static String skillText(JsonNode analysis) {
+        if (analysis == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        JsonNode assessment = analysis.path("skillsAssessment");
+        for (String list : new String[] { "technical", "soft", "domain" }) {
+            for (JsonNode skill : assessment.path(list)) {
+                text.append(skill.asText()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * A ranked resume and how it matches the job description.
+     */
+    public record Hit(UUID resumeId, UUID userId, KeywordMatch match) {
+    }
+
+    /**
+     * Segments with their deleted documents, and the global number of each
+     * segment's first document (plus the total at the end).
+     */
+    private record Snapshot(List<IndexSegment> segments, List<BitSet> deleted, int[] bases) {
+    }
+
+    /**
+     * The k best (score, document) pairs, packed into longs: the float
+     * score's bits on top, which order like the scores as they are never
+     * negative, and the global document number below, so that ties go to
+     * the most recently indexed resume.
+     */
+    private static final class TopK {
+
+        private final long[] heap;
+        private int size;
+
+        private TopK(int k) {
+            this.heap = new long[k];
+        }
+
+        void add(float score, int doc) {
+            offer(((long) Float.floatToIntBits(score) << 32) | doc);
+        }
+
+        void addAll(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.heap[i]);
+            }
+        }
+
+        private void offer(long entry) {
+            if (size < heap.length) {
+                heap[size] = entry;
+                siftUp(size++);
+            } else if (entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(0);
+            }
+        }
+
+        long[] sorted() {
+            long[] entries = Arrays.copyOf(heap, size);
+            Arrays.sort(entries);
+            for (int i = 0; i < entries.length / 2; i++) {
+                long swap = entries[i];
+                entries[i] = entries[entries.length - 1 - i];
+                entries[entries.length - 1 - i] = swap;
+            }
+            return entries;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0 && heap[(i - 1) / 2] > heap[i]) {
+                swap(i, (i - 1) / 2);
+                i = (i - 1) / 2;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (heap[child] < heap[smallest]) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long swap = heap[a];
+            heap[a] = heap[b];
+            heap[b] = swap;
+        }
+    }
+}
@@ -1,20 +1,29 @@
 package com.interviewai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.interviewai.dto.BuiltResumeJson;
+import com.interviewai.dto.BuiltResumeSummary;
 import com.interviewai.model.BuiltResume;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repository for accessing BuiltResume entities.
- * Provides CRUD operations for resumes built by users.
+ * Provides CRUD operations for resumes built by users; earlier versions of
+ * their content are in BuiltResumeVersionRepository.
  */
 @Repository
 public interface BuiltResumeRepository extends JpaRepository<BuiltResume, UUID> {
 
+    String SELECT_JSON = "select new com.interviewai.dto.BuiltResumeJson(r.id, r.userId, r.title, "
+            + "cast(r.userInputData as String), cast(r.aiGeneratedContent as String), r.createdAt) "
+            + "from BuiltResume r ";
+
     /**
      * Find all resumes built by a specific user.
      * 
@@ -22,4 +31,17 @@ public interface BuiltResumeRepository extends JpaRepository<BuiltResume, UUID>
      * @return List of built resumes ordered by creation date (newest first)
      */
     List<BuiltResume> findByUserIdOrderByCreatedAtDesc(UUID userId);
+
+    /**
+     * Find a resume with its JSONB columns as raw text.
+     */
+    @Query(SELECT_JSON + "where r.id = :id")
+    Optional<BuiltResumeJson> findJsonById(UUID id);
+
+    /**
+     * Find the metadata of all resumes built by a user, newest first.
+     */
+    @Query("select new com.interviewai.dto.BuiltResumeSummary(r.id, r.title, r.currentVersion, r.createdAt, "
+            + "r.updatedAt) from BuiltResume r where r.userId = :userId order by r.createdAt desc")
+    List<BuiltResumeSummary> findSummariesByUserId(UUID userId);
 }
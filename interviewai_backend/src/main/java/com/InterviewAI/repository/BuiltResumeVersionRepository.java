@@ -0,0 +1,52 @@
+package com.interviewai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.interviewai.dto.ResumeVersionInfo;
+import com.interviewai.model.BuiltResumeVersion;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface BuiltResumeVersionRepository extends JpaRepository<BuiltResumeVersion, UUID> {
+
+    /**
+     * The rows that make up a version: the latest snapshot at or before it,
+     * followed by the deltas up to the version, oldest first.
+     */
+    @Query("SELECT v FROM BuiltResumeVersion v WHERE v.resumeId = :resumeId AND v.version <= :version "
+            + "AND v.version >= (SELECT MAX(s.version) FROM BuiltResumeVersion s WHERE s.resumeId = :resumeId "
+            + "AND s.kind = :snapshot AND s.version <= :version) ORDER BY v.version")
+    List<BuiltResumeVersion> findChain(@Param("resumeId") UUID resumeId, @Param("version") int version,
+            @Param("snapshot") BuiltResumeVersion.Kind snapshot);
+
+    @Query("SELECT MAX(v.version) FROM BuiltResumeVersion v WHERE v.resumeId = :resumeId AND v.kind = :snapshot")
+    Integer findLatestSnapshot(@Param("resumeId") UUID resumeId,
+            @Param("snapshot") BuiltResumeVersion.Kind snapshot);
+
+    @Query("SELECT new com.interviewai.dto.ResumeVersionInfo(v.version, v.kind, v.storedLength, v.originalLength, "
+            + "v.createdAt) FROM BuiltResumeVersion v WHERE v.resumeId = :resumeId ORDER BY v.version DESC")
+    List<ResumeVersionInfo> findInfoByResumeId(@Param("resumeId") UUID resumeId);
+
+    @Query("SELECT v.resumeId FROM BuiltResumeVersion v GROUP BY v.resumeId HAVING COUNT(v) > :versions")
+    List<UUID> findResumesWithMoreThan(@Param("versions") long versions);
+
+    @Query("SELECT MAX(v.version) FROM BuiltResumeVersion v WHERE v.resumeId = :resumeId")
+    Integer findLatestVersion(@Param("resumeId") UUID resumeId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BuiltResumeVersion v WHERE v.resumeId = :resumeId AND v.version < :version")
+    int deleteBefore(@Param("resumeId") UUID resumeId, @Param("version") int version);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BuiltResumeVersion v WHERE v.resumeId = :resumeId")
+    int deleteByResumeId(@Param("resumeId") UUID resumeId);
+}
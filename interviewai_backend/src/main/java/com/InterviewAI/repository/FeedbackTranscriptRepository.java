@@ -0,0 +1,12 @@
+package com.interviewai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.interviewai.model.FeedbackTranscript;
+
+import java.util.UUID;
+
+@Repository
+public interface FeedbackTranscriptRepository extends JpaRepository<FeedbackTranscript, UUID> {
+}
@@ -0,0 +1,36 @@
+package com.interviewai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.interviewai.model.IdempotencyRecord;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE IdempotencyRecord r
+            SET r.status = :status, r.responseStatus = :responseStatus,
+                r.responseContentType = :contentType, r.responseBody = :body
+            WHERE r.scope = :scope
+            """)
+    int storeResponse(@Param("scope") String scope,
+            @Param("status") IdempotencyRecord.Status status,
+            @Param("responseStatus") int responseStatus,
+            @Param("contentType") String contentType,
+            @Param("body") byte[] body);
+
+    // Bulk delete; does not load the (possibly large) stored responses
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
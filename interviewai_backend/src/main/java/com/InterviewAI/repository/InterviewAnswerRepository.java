@@ -0,0 +1,40 @@
+package com.interviewai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.interviewai.model.InterviewAnswer;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface InterviewAnswerRepository extends JpaRepository<InterviewAnswer, UUID> {
+
+    List<InterviewAnswer> findByInterviewIdOrderByQuestionIndex(UUID interviewId);
+
+    Optional<InterviewAnswer> findByInterviewIdAndQuestionIndex(UUID interviewId, Integer questionIndex);
+
+    // Only applies if the answer was not resubmitted while it was evaluated
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE InterviewAnswer a
+            SET a.status = :status, a.score = :score, a.strengths = :strengths,
+                a.improvement = :improvement, a.evaluatedAt = :evaluatedAt
+            WHERE a.id = :id AND a.revision = :revision
+            """)
+    int storeEvaluation(@Param("id") UUID id,
+            @Param("revision") Integer revision,
+            @Param("status") InterviewAnswer.Status status,
+            @Param("score") Integer score,
+            @Param("strengths") String strengths,
+            @Param("improvement") String improvement,
+            @Param("evaluatedAt") OffsetDateTime evaluatedAt);
+}
@@ -0,0 +1,21 @@
+package com.interviewai.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.interviewai.model.JobDigest;
+
+import java.time.Instant;
+
+@Repository
+public interface JobDigestRepository extends JpaRepository<JobDigest, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM JobDigest d WHERE d.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
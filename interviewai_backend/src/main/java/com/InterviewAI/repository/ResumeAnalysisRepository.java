@@ -1,8 +1,10 @@
 package com.interviewai.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.interviewai.dto.ResumeAnalysisJson;
 import com.interviewai.model.ResumeAnalysis;
 
 import java.util.Optional;
@@ -19,6 +21,14 @@ public interface ResumeAnalysisRepository extends JpaRepository<ResumeAnalysis,
      */
     Optional<ResumeAnalysis> findByResumeId(UUID resumeId);
 
+    /**
+     * Find the analysis for a specific resume with its JSONB columns as raw text.
+     */
+    @Query("select new com.interviewai.dto.ResumeAnalysisJson(a.id, a.resumeId, a.userId, a.overallScore, "
+            + "cast(a.strengths as String), cast(a.improvements as String), a.generatedAt) "
+            + "from ResumeAnalysis a where a.resumeId = :resumeId")
+    Optional<ResumeAnalysisJson> findJsonByResumeId(UUID resumeId);
+
     /**
      * Find all analyses for a specific user.
      */
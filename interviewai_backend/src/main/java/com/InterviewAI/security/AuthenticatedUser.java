@@ -0,0 +1,29 @@
+package com.interviewai.security;
+
+import org.springframework.security.core.Authentication;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Principal of an authenticated API request. The Supabase user id (the
+ * token's "sub" claim) is parsed once during authentication.
+ */
+public record AuthenticatedUser(UUID id, String subject) implements Principal {
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    /**
+     * Returns the user id of the given authentication. Falls back to parsing
+     * the name for authentications created elsewhere (e.g. @WithMockUser).
+     */
+    public static UUID userId(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
+        return UUID.fromString(authentication.getName());
+    }
+}
@@ -0,0 +1,47 @@
+package com.interviewai.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Authenticates metrics scrapers by a shared bearer token
+ * (management.prometheus.scrape-token) instead of a Supabase JWT. Requests
+ * with the token get ROLE_METRICS; with no token configured, none do.
+ */
+public class ScrapeTokenFilter extends OncePerRequestFilter {
+
+    public static final String ROLE = "METRICS";
+
+    private static final String BEARER = "Bearer ";
+
+    private final byte[] token;
+
+    public ScrapeTokenFilter(String token) {
+        this.token = token == null || token.isBlank() ? null : token.trim().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (token != null && header != null && header.startsWith(BEARER)
+                // Constant-time, so the token cannot be guessed from response times
+                && MessageDigest.isEqual(token, header.substring(BEARER.length()).trim()
+                        .getBytes(StandardCharsets.UTF_8))) {
+            SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                    "metrics-scraper", null, AuthorityUtils.createAuthorityList("ROLE_" + ROLE)));
+        }
+        chain.doFilter(request, response);
+    }
+}
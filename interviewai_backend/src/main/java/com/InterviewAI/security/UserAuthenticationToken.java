@@ -0,0 +1,26 @@
+package com.interviewai.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Authentication for a verified Supabase JWT whose principal is an
+ * {@link AuthenticatedUser}.
+ */
+public class UserAuthenticationToken extends AbstractOAuth2TokenAuthenticationToken<Jwt> {
+
+    public UserAuthenticationToken(Jwt jwt, AuthenticatedUser user,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(jwt, user, jwt, authorities);
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Map<String, Object> getTokenAttributes() {
+        return getToken().getClaims();
+    }
+}
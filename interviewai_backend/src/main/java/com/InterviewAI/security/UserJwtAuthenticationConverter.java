@@ -0,0 +1,48 @@
+package com.interviewai.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Converts a verified JWT into a {@link UserAuthenticationToken}, rejecting
+ * tokens whose subject is not a UUID with 401 instead of failing later in a
+ * controller.
+ *
+ * Besides the token's scopes, users whose app_metadata.role claim is
+ * "recruiter" get ROLE_RECRUITER. Supabase only lets the service role write
+ * app_metadata, so users cannot grant it to themselves.
+ */
+public class UserJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    static final String RECRUITER_ROLE = "recruiter";
+
+    private final JwtGrantedAuthoritiesConverter authoritiesConverter = new JwtGrantedAuthoritiesConverter();
+
+    @Override
+    public AbstractAuthenticationToken convert(@NonNull Jwt jwt) {
+        String subject = jwt.getSubject();
+        UUID userId;
+        try {
+            userId = UUID.fromString(subject);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new InvalidBearerTokenException("Token subject is not a user id");
+        }
+        Collection<GrantedAuthority> authorities = new ArrayList<>(authoritiesConverter.convert(jwt));
+        Map<String, Object> appMetadata = jwt.getClaimAsMap("app_metadata");
+        if (appMetadata != null && RECRUITER_ROLE.equals(appMetadata.get("role"))) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_RECRUITER"));
+        }
+        return new UserAuthenticationToken(jwt, new AuthenticatedUser(userId, subject), authorities);
+    }
+}
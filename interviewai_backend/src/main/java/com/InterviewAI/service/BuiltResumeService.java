@@ -0,0 +1,175 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interviewai.cache.CachedPayload;
+import com.interviewai.cache.OffHeapReadCache;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.dto.BuiltResumeJson;
+import com.interviewai.dto.BuiltResumeSummary;
+import com.interviewai.dto.ResumeVersionInfo;
+import com.interviewai.model.BuiltResume;
+import com.interviewai.repository.BuiltResumeRepository;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Service for storing and reading built resumes.
+ * The current content of a resume stays in the JSONB columns of
+ * built_resumes, which the app also reads directly from Supabase; each save
+ * through the API additionally records it as a version in
+ * built_resume_versions (see ResumeVersionService), storing only what
+ * changed. History therefore starts at a resume's first save after versions
+ * were introduced.
+ *
+ * Reads fetch the JSONB columns as text and write them to the response
+ * verbatim. Single resumes are served through the read cache as serialized
+ * JSON (kept off-heap while cached), which is invalidated once a save or
+ * delete has committed. Lists return metadata only.
+ */
+@Service
+public class BuiltResumeService {
+
+    private static final String USER_INPUT_DATA = "userInputData";
+    private static final String AI_GENERATED_CONTENT = "aiGeneratedContent";
+
+    private final BuiltResumeRepository resumeRepository;
+    private final ResumeVersionService resumeVersionService;
+    private final ObjectMapper objectMapper;
+    private final TransactionOperations transactions;
+    private final OffHeapReadCache<UUID, BuiltResumeJson, UUID> resumeCache;
+
+    public BuiltResumeService(BuiltResumeRepository resumeRepository,
+            ResumeVersionService resumeVersionService,
+            ObjectMapper objectMapper,
+            TransactionOperations transactions,
+            ReadCacheFactory readCacheFactory) {
+        this.resumeRepository = Objects.requireNonNull(resumeRepository, "resumeRepository must not be null");
+        this.resumeVersionService = Objects.requireNonNull(resumeVersionService,
+                "resumeVersionService must not be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.transactions = Objects.requireNonNull(transactions, "transactions must not be null");
+        this.resumeCache = readCacheFactory.createOffHeap("builtResume", BuiltResumeJson::userId);
+    }
+
+    /**
+     * Saves a resume and records its content as a new version: version 1 for
+     * a resume without history, otherwise the one after the version it was
+     * read at. Two saves from the same version conflict on the version
+     * number, and the second fails.
+     */
+    public BuiltResume save(BuiltResume resume) {
+        BuiltResume saved = transactions.execute(status -> {
+            Integer current = resume.getCurrentVersion();
+            JsonNode previous = current == null ? null
+                    : resumeVersionService.load(resume.getId(), current).orElse(null);
+            int version = current == null ? 1 : current + 1;
+            resume.setCurrentVersion(version);
+            resume.setUpdatedAt(OffsetDateTime.now());
+            BuiltResume row = Objects.requireNonNull(resumeRepository.save(resume),
+                    "Saved resume must not be null");
+            resumeVersionService.store(row.getId(), version, previous, document(row));
+            return row;
+        });
+        resumeCache.invalidate(saved.getId());
+        return saved;
+    }
+
+    /**
+     * Metadata of all resumes built by a user, newest first.
+     */
+    public List<BuiltResumeSummary> findByUser(UUID userId) {
+        return resumeRepository.findSummariesByUserId(userId);
+    }
+
+    /**
+     * The JSON of a resume if it exists and is owned by the user.
+     */
+    public Optional<CachedPayload<UUID>> findOwned(UUID id, UUID userId) {
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+        CachedPayload<UUID> entry = resumeCache.get(safeId,
+                key -> resumeRepository.findJsonById(key).orElse(null));
+        return Optional.ofNullable(entry)
+                .filter(cached -> cached.metadata().equals(userId)); // Ensure user owns this resume
+    }
+
+    /**
+     * The entity of a resume if it exists and is owned by the user, for
+     * updates.
+     */
+    public Optional<BuiltResume> findEntityOwned(UUID id, UUID userId) {
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+        return resumeRepository.findById(safeId)
+                .filter(found -> found.getUserId().equals(userId));
+    }
+
+    /**
+     * Metadata of the stored versions of a resume owned by the user, newest
+     * first.
+     */
+    public Optional<List<ResumeVersionInfo>> findVersionsOwned(UUID id, UUID userId) {
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+        return findEntityOwned(safeId, userId)
+                .map(found -> resumeVersionService.list(safeId));
+    }
+
+    /**
+     * The JSON of one version of a resume owned by the user, with the title
+     * it had then.
+     */
+    public Optional<BuiltResumeJson> findVersionOwned(UUID id, int version, UUID userId) {
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+        return findEntityOwned(safeId, userId)
+                .flatMap(found -> resumeVersionService.load(safeId, version)
+                        .map(document -> json(found, document)));
+    }
+
+    /**
+     * Deletes a resume owned by the user, with all its versions.
+     *
+     * @return false if no such resume exists for the user
+     */
+    public boolean deleteOwned(UUID id, UUID userId) {
+        UUID safeId = Objects.requireNonNull(id, "resume id must not be null");
+        boolean deleted = Boolean.TRUE.equals(transactions.execute(status -> {
+            Optional<BuiltResume> resume = findEntityOwned(safeId, userId);
+            resume.ifPresent(found -> {
+                resumeVersionService.delete(safeId);
+                resumeRepository.delete(found);
+            });
+            return resume.isPresent();
+        }));
+        if (deleted) {
+            resumeCache.invalidate(safeId);
+        }
+        return deleted;
+    }
+
+    private ObjectNode document(BuiltResume resume) {
+        ObjectNode document = objectMapper.createObjectNode();
+        document.put("title", resume.getTitle());
+        document.set(USER_INPUT_DATA, resume.getUserInputData());
+        document.set(AI_GENERATED_CONTENT, resume.getAiGeneratedContent());
+        return document;
+    }
+
+    private BuiltResumeJson json(BuiltResume resume, JsonNode document) {
+        try {
+            return new BuiltResumeJson(resume.getId(), resume.getUserId(), document.path("title").asText(null),
+                    objectMapper.writeValueAsString(document.get(USER_INPUT_DATA)),
+                    objectMapper.writeValueAsString(document.get(AI_GENERATED_CONTENT)),
+                    resume.getCreatedAt());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable resume content: " + e.getMessage(), e);
+        }
+    }
+}
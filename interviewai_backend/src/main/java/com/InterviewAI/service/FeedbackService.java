@@ -3,7 +3,12 @@ package com.interviewai.service;
 // using constructor injection for better testability
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
 
+import com.interviewai.admission.FairQueue;
+import com.interviewai.cache.CachedEntry;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.cache.ReadThroughCache;
 import com.interviewai.dto.FeedbackRequest;
 import com.interviewai.model.Feedback;
 import com.interviewai.model.Interview;
@@ -12,6 +17,7 @@ import com.interviewai.repository.InterviewRepository;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Service
@@ -20,13 +26,24 @@ public class FeedbackService {
     private final FeedbackRepository feedbackRepository;
     private final InterviewRepository interviewRepository;
     private final GeminiService geminiService;
+    private final FeedbackTranscriptService transcriptService;
+    private final TransactionOperations transactions;
+    private final ReadThroughCache<UUID, Feedback> feedbackById;
+    private final ReadThroughCache<UUID, Feedback> feedbackByInterview;
 
     public FeedbackService(FeedbackRepository feedbackRepository,
             InterviewRepository interviewRepository,
-            GeminiService geminiService) {
+            GeminiService geminiService,
+            FeedbackTranscriptService transcriptService,
+            TransactionOperations transactions,
+            ReadCacheFactory readCacheFactory) {
         this.feedbackRepository = feedbackRepository;
         this.interviewRepository = interviewRepository;
         this.geminiService = geminiService;
+        this.transcriptService = transcriptService;
+        this.transactions = transactions;
+        this.feedbackById = readCacheFactory.create("feedback");
+        this.feedbackByInterview = readCacheFactory.create("feedbackByInterview");
     }
 
     /**
@@ -46,6 +63,7 @@ public class FeedbackService {
 
         // 1. Call Gemini to get analysis
         Map<String, Object> feedbackMap = geminiService.analyzeTranscript(request.getTranscript())
+                .contextWrite(FairQueue.forUser(userId))
                 .block(); // Wait for the analysis
 
         // 2. Create and populate the Feedback entity
@@ -61,38 +79,95 @@ public class FeedbackService {
         }
 
         // 3. Save to database
-        return feedbackRepository.save(feedback);
+        return save(feedback);
     }
 
     /**
-     * Get feedback by ID with user authorization check
+     * Saves feedback built elsewhere (e.g. aggregated from a session) with its
+     * transcript, and invalidates the cached entries.
      */
-    public Feedback getFeedbackById(UUID feedbackId, UUID userId) {
+    public Feedback save(Feedback feedback) {
+        Feedback saved = transactions.execute(status -> {
+            Feedback row = feedbackRepository.save(feedback);
+            transcriptService.store(row.getId(), feedback.getTranscript());
+            return row;
+        });
+        feedbackById.invalidate(saved.getId());
+        feedbackByInterview.invalidate(saved.getInterviewId());
+        return saved;
+    }
+
+    /**
+     * Saves the feedback of an interview in place of any feedback it already
+     * has, so that completing a session again (a retry or a second click)
+     * updates its feedback instead of adding another.
+     */
+    public Feedback saveForInterview(Feedback feedback) {
+        UUID interviewId = Objects.requireNonNull(feedback.getInterviewId(), "Feedback.interviewId must not be null");
+        Feedback saved = transactions.execute(status -> {
+            feedbackRepository.findFirstByInterviewId(interviewId).ifPresent(existing -> {
+                feedback.setId(existing.getId());
+                feedback.setGeneratedAt(existing.getGeneratedAt());
+            });
+            Feedback row = feedbackRepository.save(feedback);
+            transcriptService.store(row.getId(), feedback.getTranscript());
+            return row;
+        });
+        feedbackById.invalidate(saved.getId());
+        feedbackByInterview.invalidate(interviewId);
+        return saved;
+    }
+
+    /**
+     * Get feedback by ID, with its transcript, with user authorization check.
+     * Served from the read cache; ownership is checked on every call.
+     */
+    public CachedEntry<Feedback> getFeedbackById(UUID feedbackId, UUID userId) {
         UUID safeFeedbackId = Objects.requireNonNull(feedbackId, "feedbackId must not be null");
         // Get the feedback
-        Feedback feedback = feedbackRepository.findById(safeFeedbackId)
-                .orElseThrow(() -> new RuntimeException("Feedback not found"));
-
-        // Get the associated interview to verify ownership
-        UUID feedbackInterviewId = Objects.requireNonNull(feedback.getInterviewId(),
-                "Feedback.interviewId must not be null");
-        Interview interview = interviewRepository.findById(feedbackInterviewId)
-                .orElseThrow(() -> new RuntimeException("Associated interview not found"));
+        CachedEntry<Feedback> entry = feedbackById.get(safeFeedbackId,
+                id -> feedbackRepository.findById(Objects.requireNonNull(id))
+                        .map(feedback -> {
+                            transcriptService.load(id).ifPresent(feedback::setTranscript);
+                            return feedback;
+                        })
+                        .orElse(null));
+        if (entry == null) {
+            throw new RuntimeException("Feedback not found");
+        }
 
-        // Verify the user owns this interview (and therefore this feedback)
-        if (!interview.getUserId().equals(userId)) {
+        // Verify the user owns the associated interview (and therefore this feedback)
+        if (!isOwner(entry.value(), userId)) {
             throw new AccessDeniedException("User does not have permission to access this feedback.");
         }
 
-        return feedback;
+        return entry;
     }
 
     /**
-     * Get feedback by interview ID with user authorization check
+     * The transcript of a feedback row on its own.
      */
-    public Feedback getFeedbackByInterviewId(UUID interviewId, UUID userId) {
+    public Optional<String> getTranscript(UUID feedbackId, UUID userId) {
+        return Optional.ofNullable(getFeedbackById(feedbackId, userId).value().getTranscript());
+    }
+
+    /**
+     * Get feedback by interview ID with user authorization check.
+     * Served from the read cache; ownership is checked on every call.
+     */
+    public CachedEntry<Feedback> getFeedbackByInterviewId(UUID interviewId, UUID userId) {
         UUID safeInterviewId = Objects.requireNonNull(interviewId, "interviewId must not be null");
-        // First verify the interview exists and belongs to the user
+        CachedEntry<Feedback> entry = feedbackByInterview.get(safeInterviewId,
+                id -> feedbackRepository.findFirstByInterviewId(id).orElse(null));
+
+        if (entry != null) {
+            if (!isOwner(entry.value(), userId)) {
+                throw new AccessDeniedException("User does not have permission to access this interview.");
+            }
+            return entry;
+        }
+
+        // No feedback yet: report whether the interview itself is missing or foreign
         Interview interview = interviewRepository.findById(safeInterviewId)
                 .orElseThrow(() -> new RuntimeException("Interview not found"));
 
@@ -100,8 +175,21 @@ public class FeedbackService {
             throw new AccessDeniedException("User does not have permission to access this interview.");
         }
 
-        // Get the feedback for this interview
-        return feedbackRepository.findFirstByInterviewId(safeInterviewId)
-                .orElseThrow(() -> new RuntimeException("No feedback found for interview id: " + interviewId));
+        throw new RuntimeException("No feedback found for interview id: " + interviewId);
+    }
+
+    /**
+     * Feedback saved by this service carries its user id; older rows are
+     * checked through the owning interview.
+     */
+    private boolean isOwner(Feedback feedback, UUID userId) {
+        if (feedback.getUserId() != null) {
+            return feedback.getUserId().equals(userId);
+        }
+        UUID feedbackInterviewId = Objects.requireNonNull(feedback.getInterviewId(),
+                "Feedback.interviewId must not be null");
+        Interview interview = interviewRepository.findById(feedbackInterviewId)
+                .orElseThrow(() -> new RuntimeException("Associated interview not found"));
+        return interview.getUserId().equals(userId);
     }
 }
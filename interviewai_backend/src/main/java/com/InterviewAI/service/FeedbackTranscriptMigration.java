@@ -0,0 +1,117 @@
+package com.interviewai.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Copies transcripts stored in the legacy feedback.transcript column that
+ * have no feedback_transcripts row yet, in batches in the background after
+ * startup. The column itself is not touched, so older releases keep working,
+ * and FeedbackTranscriptService reads it for rows not copied yet. Safe to run
+ * on several instances at once: a row copied twice is stored twice with the
+ * same content.
+ *
+ * Readiness (the feedbackTranscriptMigration health indicator, part of the
+ * readiness group) is OUT_OF_SERVICE until the copy has finished or
+ * feedback.transcript-migration-timeout has passed.
+ */
+@Component
+public class FeedbackTranscriptMigration implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackTranscriptMigration.class);
+    private static final int BATCH = 100;
+
+    private final FeedbackTranscriptService transcriptService;
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration timeout;
+
+    private final AtomicInteger copied = new AtomicInteger();
+    private volatile boolean complete;
+    private volatile boolean ready;
+
+    public FeedbackTranscriptMigration(FeedbackTranscriptService transcriptService,
+            JdbcTemplate jdbcTemplate,
+            @Value("${feedback.transcript-migration-timeout:PT90S}") Duration timeout) {
+        this.transcriptService = java.util.Objects.requireNonNull(transcriptService,
+                "transcriptService must not be null");
+        this.jdbcTemplate = java.util.Objects.requireNonNull(jdbcTemplate, "jdbcTemplate must not be null");
+        this.timeout = java.util.Objects.requireNonNull(timeout,
+                "feedback.transcript-migration-timeout must not be null");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread worker = Thread.ofPlatform().name("feedback-transcript-migration").daemon().start(this::run);
+        Thread.ofVirtual().name("feedback-transcript-migration-timeout").start(() -> {
+            try {
+                worker.join(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!ready) {
+                logger.warn("Copying legacy feedback transcripts did not finish within {}, accepting traffic",
+                        timeout);
+                ready = true;
+            }
+        });
+    }
+
+    /**
+     * Whether every legacy transcript has been copied.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = ready ? Health.up() : Health.outOfService();
+        return health.withDetail("complete", complete).withDetail("copied", copied.get()).build();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT f.id, f.transcript FROM feedback f WHERE f.transcript IS NOT NULL"
+                                + " AND NOT EXISTS (SELECT 1 FROM feedback_transcripts t WHERE t.feedback_id = f.id)"
+                                + " LIMIT " + BATCH);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Map<String, Object> row : rows) {
+                    transcriptService.store((UUID) row.get("id"), (String) row.get("transcript"));
+                    copied.incrementAndGet();
+                }
+            }
+            complete = true;
+        } catch (BadSqlGrammarException e) {
+            // Schemas created after the move have no legacy column
+            logger.debug("No legacy feedback transcripts to copy: {}", e.getMessage());
+            complete = true;
+        } catch (DataAccessException e) {
+            logger.warn("Copying legacy feedback transcripts failed after {} rows: {}", copied.get(),
+                    e.getMessage());
+        } finally {
+            ready = true;
+            if (copied.get() > 0) {
+                logger.info("Copied {} feedback transcripts to feedback_transcripts", copied.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.interviewai.service;
+
+import com.interviewai.model.FeedbackTranscript;
+import com.interviewai.repository.FeedbackTranscriptRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Interview transcripts of feedback rows, stored DEFLATE-compressed in the
+ * feedback_transcripts table and only read when a transcript is asked for.
+ * Transcripts are conversational English, which typically compresses to a
+ * third of its size or less.
+ *
+ * Transcripts used to live in feedback.transcript. They are copied over in
+ * the background after startup (FeedbackTranscriptMigration) and read from
+ * there until then; the legacy column is left as it is (see
+ * DEPLOY_CLOUD_RUN.md for clearing it).
+ */
+@Service
+public class FeedbackTranscriptService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FeedbackTranscriptService.class);
+
+    /** Raw DEFLATE (no zlib header), level 6. */
+    public static final String DEFLATE = "deflate";
+
+    private final FeedbackTranscriptRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedbackTranscriptService(FeedbackTranscriptRepository repository, JdbcTemplate jdbcTemplate) {
+        this.repository = java.util.Objects.requireNonNull(repository, "repository must not be null");
+        this.jdbcTemplate = java.util.Objects.requireNonNull(jdbcTemplate, "jdbcTemplate must not be null");
+    }
+
+    /**
+     * Stores (or replaces) the transcript of a feedback row. Null transcripts
+     * are not stored.
+     */
+    public void store(UUID feedbackId, String transcript) {
+        if (transcript == null) {
+            return;
+        }
+        byte[] utf8 = transcript.getBytes(StandardCharsets.UTF_8);
+        FeedbackTranscript row = new FeedbackTranscript();
+        row.setFeedbackId(feedbackId);
+        row.setEncoding(DEFLATE);
+        row.setOriginalLength(utf8.length);
+        row.setContent(compress(utf8));
+        repository.save(row);
+    }
+
+    public Optional<String> load(UUID feedbackId) {
+        return repository.findById(java.util.Objects.requireNonNull(feedbackId, "feedbackId must not be null"))
+                .map(row -> decompress(row.getContent(), row.getOriginalLength()))
+                .or(() -> loadLegacy(feedbackId));
+    }
+
+    private Optional<String> loadLegacy(UUID feedbackId) {
+        try {
+            return jdbcTemplate.queryForList("SELECT transcript FROM feedback WHERE id = ?", String.class, feedbackId)
+                    .stream()
+                    .filter(java.util.Objects::nonNull)
+                    .findFirst();
+        } catch (BadSqlGrammarException e) {
+            return Optional.empty(); // no legacy column
+        }
+    }
+
+    public static byte[] compress(byte[] utf8) {
+        Deflater deflater = new Deflater(6, true);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, utf8.length / 3));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] content, int originalLength) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(content);
+            byte[] utf8 = new byte[originalLength];
+            int read = 0;
+            while (read < originalLength && !inflater.finished()) {
+                int n = inflater.inflate(utf8, read, originalLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != originalLength) {
+                throw new IllegalStateException("Stored content is truncated");
+            }
+            return new String(utf8, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Stored content is corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.interviewai.service;
+
+import com.interviewai.admission.FairQueue;
+import com.interviewai.metrics.PipelineMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses the Gemini model for each call.
+ *
+ * Every operation uses gemini.model.default unless gemini.model.routes names
+ * another model for it. The latency and outcome of recent calls are kept per
+ * operation and model over gemini.model.window; while the configured model's
+ * p95 latency or error rate for an operation is over its threshold, or the
+ * fair queue is at least gemini.model.degrade.queue-depth deep, calls go to
+ * gemini.model.light instead. A degraded model gets no traffic, so it is tried
+ * again once its samples have aged out of the window.
+ *
+ * A share of successful calls (gemini.model.shadow.sample-rate) can be sent
+ * again to gemini.model.shadow.model to compare its output. Shadow calls are
+ * not recorded here, so they never move traffic between models.
+ */
+@Component
+public class GeminiModelRouter {
+
+    public static final String REASON_CONFIGURED = "configured";
+    public static final String REASON_ERRORS = "errors";
+    public static final String REASON_LATENCY = "latency";
+    public static final String REASON_LOAD = "load";
+
+    private static final int WINDOW_CAPACITY = 128;
+
+    /**
+     * The model chosen for a call, and why: configured, or errors, latency or
+     * load when the call was moved to the light model.
+     */
+    public record Route(String model, String reason) {
+    }
+
+    private final FairQueue fairQueue;
+    private final PipelineMetrics pipelineMetrics;
+    private final Map<GeminiOperation, String> routes = new EnumMap<>(GeminiOperation.class);
+    private final String lightModel;
+    private final long windowNanos;
+    private final int minSamples;
+    private final long p95ThresholdNanos;
+    private final double errorRateThreshold;
+    private final int queueDepthThreshold;
+    private final String shadowModel;
+    private final double shadowSampleRate;
+    private final Set<String> shadowOperations;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public GeminiModelRouter(FairQueue fairQueue,
+            PipelineMetrics pipelineMetrics,
+            @Value("${gemini.model.default:gemini-2.5-flash}") String defaultModel,
+            @Value("${gemini.model.routes:}") String routes,
+            @Value("${gemini.model.light:gemini-2.5-flash-lite}") String lightModel,
+            @Value("${gemini.model.window:PT1M}") Duration window,
+            @Value("${gemini.model.degrade.min-samples:20}") int minSamples,
+            @Value("${gemini.model.degrade.p95:PT20S}") Duration p95Threshold,
+            @Value("${gemini.model.degrade.error-rate:0.25}") double errorRateThreshold,
+            @Value("${gemini.model.degrade.queue-depth:32}") int queueDepthThreshold,
+            @Value("${gemini.model.shadow.model:}") String shadowModel,
+            @Value("${gemini.model.shadow.sample-rate:0}") double shadowSampleRate,
+            @Value("${gemini.model.shadow.operations:}") String shadowOperations) {
+        this.fairQueue = java.util.Objects.requireNonNull(fairQueue, "fairQueue must not be null");
+        this.pipelineMetrics = java.util.Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        java.util.Objects.requireNonNull(defaultModel, "gemini.model.default must not be null");
+        for (GeminiOperation operation : GeminiOperation.values()) {
+            this.routes.put(operation, defaultModel.trim());
+        }
+        for (String route : tokens(routes)) {
+            String[] parts = route.split("=", 2);
+            if (parts.length != 2 || parts[1].isBlank()) {
+                throw new IllegalArgumentException("gemini.model.routes entries must be operation=model: " + route);
+            }
+            this.routes.put(operation(parts[0].trim()), parts[1].trim());
+        }
+        this.lightModel = lightModel == null ? "" : lightModel.trim();
+        this.windowNanos = window.toNanos();
+        this.minSamples = Math.max(1, minSamples);
+        this.p95ThresholdNanos = p95Threshold.toNanos();
+        this.errorRateThreshold = errorRateThreshold;
+        this.queueDepthThreshold = queueDepthThreshold;
+        this.shadowModel = shadowModel == null ? "" : shadowModel.trim();
+        this.shadowSampleRate = shadowSampleRate;
+        this.shadowOperations = tokens(shadowOperations).stream()
+                .map(tag -> operation(tag).getTag())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * The model for a call of an operation, counted in "gemini.model.route".
+     */
+    public Route route(GeminiOperation operation) {
+        Route route = choose(operation, System.nanoTime());
+        pipelineMetrics.modelRoute(operation.getTag(), route.model(), route.reason());
+        return route;
+    }
+
+    /**
+     * Records the outcome of a served call to a model, for routing and in
+     * "gemini.model.latency".
+     */
+    public void record(GeminiOperation operation, String model, long nanos, boolean error) {
+        windows.computeIfAbsent(key(operation, model), k -> new Window())
+                .add(System.nanoTime(), nanos, error);
+        pipelineMetrics.modelCall(operation.getTag(), model, PipelineMetrics.TRAFFIC_SERVED,
+                error ? PipelineMetrics.OUTCOME_ERROR : PipelineMetrics.OUTCOME_SUCCESS, nanos);
+    }
+
+    /**
+     * The model to send a copy of a call served by servedModel to, if this
+     * call is sampled for shadow comparison.
+     */
+    public Optional<String> shadowModel(GeminiOperation operation, String servedModel) {
+        if (shadowModel.isEmpty() || shadowModel.equals(servedModel) || shadowSampleRate <= 0
+                || (!shadowOperations.isEmpty() && !shadowOperations.contains(operation.getTag()))
+                || ThreadLocalRandom.current().nextDouble() >= shadowSampleRate) {
+            return Optional.empty();
+        }
+        return Optional.of(shadowModel);
+    }
+
+    private Route choose(GeminiOperation operation, long now) {
+        String configured = routes.get(operation);
+        if (lightModel.isEmpty() || lightModel.equals(configured)) {
+            return new Route(configured, REASON_CONFIGURED);
+        }
+        String reason = pressure(operation, configured, now);
+        // No point moving to the light model while it fails as well
+        if (reason == null || REASON_ERRORS.equals(pressure(operation, lightModel, now))) {
+            return new Route(configured, REASON_CONFIGURED);
+        }
+        return new Route(lightModel, reason);
+    }
+
+    private String pressure(GeminiOperation operation, String model, long now) {
+        Window window = windows.get(key(operation, model));
+        Window.Stats stats = window == null ? null : window.stats(now - windowNanos);
+        if (stats != null && stats.samples() >= minSamples) {
+            if (stats.errorRate() > errorRateThreshold) {
+                return REASON_ERRORS;
+            }
+            if (stats.p95Nanos() > p95ThresholdNanos) {
+                return REASON_LATENCY;
+            }
+        }
+        if (queueDepthThreshold > 0 && fairQueue.queueDepth() >= queueDepthThreshold) {
+            return REASON_LOAD;
+        }
+        return null;
+    }
+
+    private static String key(GeminiOperation operation, String model) {
+        return operation.getTag() + "/" + model;
+    }
+
+    private static GeminiOperation operation(String tag) {
+        return Arrays.stream(GeminiOperation.values())
+                .filter(operation -> operation.getTag().equals(tag))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown Gemini operation: " + tag));
+    }
+
+    private static List<String> tokens(String list) {
+        return list == null ? List.of()
+                : Arrays.stream(list.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    /**
+     * The last WINDOW_CAPACITY calls of an operation to a model.
+     */
+    private static final class Window {
+
+        record Stats(int samples, long p95Nanos, double errorRate) {
+        }
+
+        private final long[] at = new long[WINDOW_CAPACITY];
+        private final long[] nanos = new long[WINDOW_CAPACITY];
+        private final boolean[] errors = new boolean[WINDOW_CAPACITY];
+        private int next;
+        private int size;
+
+        synchronized void add(long now, long callNanos, boolean error) {
+            at[next] = now;
+            nanos[next] = callNanos;
+            errors[next] = error;
+            next = (next + 1) % WINDOW_CAPACITY;
+            size = Math.min(size + 1, WINDOW_CAPACITY);
+        }
+
+        synchronized Stats stats(long since) {
+            long[] recent = new long[size];
+            int samples = 0;
+            int failed = 0;
+            for (int i = 0; i < size; i++) {
+                if (at[i] - since >= 0) {
+                    recent[samples++] = nanos[i];
+                    failed += errors[i] ? 1 : 0;
+                }
+            }
+            if (samples == 0) {
+                return new Stats(0, 0, 0);
+            }
+            Arrays.sort(recent, 0, samples);
+            int p95 = Math.min(samples - 1, (int) Math.ceil(samples * 0.95) - 1);
+            return new Stats(samples, recent[p95], (double) failed / samples);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.interviewai.service;
+
+import com.interviewai.dto.gemini.GeminiSchemas;
+
+import java.util.Map;
+
+/**
+ * The distinct Gemini calls made by the backend.
+ * Each operation carries its response schema and generation settings,
+ * and its tag is used to label metrics.
+ */
+public enum GeminiOperation {
+
+    INTERVIEW_QUESTIONS("interview_questions", GeminiSchemas.INTERVIEW_SCRIPT, 0.7, 8192),
+    TRANSCRIPT_ANALYSIS("transcript_analysis", GeminiSchemas.TRANSCRIPT_FEEDBACK, 0.2, 4096),
+    ANSWER_EVALUATION("answer_evaluation", GeminiSchemas.ANSWER_EVALUATION, 0.2, 1024),
+    FOLLOW_UP("follow_up", GeminiSchemas.FOLLOW_UP, 0.7, 512),
+    RESUME_ANALYSIS("resume_analysis", GeminiSchemas.RESUME_ANALYSIS, 0.3, 16384),
+    RESUME_BUILD("resume_build", GeminiSchemas.BUILT_RESUME, 0.4, 16384),
+    RESUME_ENTRY("resume_entry", GeminiSchemas.BUILT_RESUME_ENTRY, 0.4, 2048),
+    JOB_DIGEST("job_digest", GeminiSchemas.JOB_DIGEST, 0.1, 1024);
+
+    private final String tag;
+    private final Map<String, Object> responseSchema;
+    private final double temperature;
+    private final int maxOutputTokens;
+
+    GeminiOperation(String tag, Map<String, Object> responseSchema, double temperature, int maxOutputTokens) {
+        this.tag = tag;
+        this.responseSchema = responseSchema;
+        this.temperature = temperature;
+        this.maxOutputTokens = maxOutputTokens;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public Map<String, Object> getResponseSchema() {
+        return responseSchema;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public int getMaxOutputTokens() {
+        return maxOutputTokens;
+    }
+}
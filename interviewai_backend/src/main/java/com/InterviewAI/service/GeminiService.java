@@ -1,9 +1,15 @@
 package com.interviewai.service;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.admission.FairQueue;
 import com.interviewai.dto.ResumeBuildRequest;
 import com.interviewai.dto.gemini.GeminiRequest;
 import com.interviewai.dto.gemini.GeminiResponse;
+import com.interviewai.exception.AiAnalysisParseException;
+import com.interviewai.exception.TooManyRequestsException;
+import com.interviewai.metrics.PipelineMetrics;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,8 +24,6 @@ import java.util.Map;
 @Service
 public class GeminiService {
 
-    private static final String MARKDOWN_JSON = "```json";
-    private static final String MARKDOWN_BACKTICKS = "```";
     private static final Logger logger = LoggerFactory.getLogger(GeminiService.class);
     private static final String KEY_VALUE_FORMAT = "  %s: %s%n";
     private static final String PROMPT_NOT_NULL_MSG = "prompt must not be null";
@@ -29,15 +33,30 @@ public class GeminiService {
     private final String geminiApiKey;
     private final String geminiApiUrl;
     private final ObjectMapper objectMapper; // For parsing JSON
+    private final LenientJsonParser jsonParser;
+    private final PromptBudget promptBudget;
+    private final PipelineMetrics pipelineMetrics;
+    private final FairQueue fairQueue;
+    private final GeminiModelRouter modelRouter;
 
     public GeminiService(WebClient webClient,
             @org.springframework.beans.factory.annotation.Value("${gemini.api.key}") String geminiApiKey,
             @org.springframework.beans.factory.annotation.Value("${gemini.api.url}") String geminiApiUrl,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            LenientJsonParser jsonParser,
+            PromptBudget promptBudget,
+            PipelineMetrics pipelineMetrics,
+            FairQueue fairQueue,
+            GeminiModelRouter modelRouter) {
         this.webClient = java.util.Objects.requireNonNull(webClient, "webClient must not be null");
         this.geminiApiKey = java.util.Objects.requireNonNull(geminiApiKey, "gemini.api.key must not be null");
         this.geminiApiUrl = java.util.Objects.requireNonNull(geminiApiUrl, "gemini.api.url must not be null");
         this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.jsonParser = java.util.Objects.requireNonNull(jsonParser, "jsonParser must not be null");
+        this.promptBudget = java.util.Objects.requireNonNull(promptBudget, "promptBudget must not be null");
+        this.pipelineMetrics = java.util.Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        this.fairQueue = java.util.Objects.requireNonNull(fairQueue, "fairQueue must not be null");
+        this.modelRouter = java.util.Objects.requireNonNull(modelRouter, "modelRouter must not be null");
     }
 
     /**
@@ -92,14 +111,14 @@ public class GeminiService {
                 experience, role, role, role);
 
         java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
-        GeminiRequest request = java.util.Objects.requireNonNull(buildGeminiRequest(prompt),
-                GEMINI_REQUEST_NOT_NULL_MSG);
+        GeminiRequest request = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.INTERVIEW_QUESTIONS), GEMINI_REQUEST_NOT_NULL_MSG);
 
-        return callGeminiApi(request)
-                .map(GeminiResponse::getFirstText)
-                .map(responseText -> responseText.replace(MARKDOWN_JSON, "").replace(MARKDOWN_BACKTICKS, "").trim())
-                .onErrorResume(e -> {
+        return callGeminiApi(request, GeminiOperation.INTERVIEW_QUESTIONS)
+                .map(response -> parseStructured(GeminiOperation.INTERVIEW_QUESTIONS, response))
+                .onErrorResume(GeminiService::hasFallback, e -> {
                     logger.error("Error generating interview questions: {}", e.getMessage(), e);
+                    pipelineMetrics.fallback(GeminiOperation.INTERVIEW_QUESTIONS.getTag(), e);
                     // Return a fallback conversational structure
                     return Mono.just(
                             "{\"opening\": \"Hello! Thanks for joining me today. I'm excited to learn more about your background and experience. Let's have a great conversation!\", "
@@ -130,18 +149,20 @@ public class GeminiService {
                         "'strengths' (string), 'areas_for_improvement' (string), " +
                         "and 'overall_score' (integer out of 100). " +
                         "Return ONLY the raw JSON object.",
-                transcript);
+                promptBudget.fitTranscript(transcript));
 
         java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
-        GeminiRequest request = java.util.Objects.requireNonNull(buildGeminiRequest(prompt),
-                GEMINI_REQUEST_NOT_NULL_MSG);
-
-        return callGeminiApi(request)
-                .map(GeminiResponse::getFirstText)
-                .flatMap(this::parseFeedbackJson) // Use flatMap to handle the Mono
-                .onErrorResume(e -> {
+        GeminiRequest request = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.TRANSCRIPT_ANALYSIS), GEMINI_REQUEST_NOT_NULL_MSG);
+
+        return callGeminiApi(request, GeminiOperation.TRANSCRIPT_ANALYSIS)
+                .map(response -> jsonParser.parse(GeminiOperation.TRANSCRIPT_ANALYSIS, response.getFirstText()))
+                .map(node -> objectMapper.convertValue(node, new TypeReference<Map<String, Object>>() {
+                }))
+                .onErrorResume(GeminiService::hasFallback, e -> {
                     // If the API call or parsing fails, return a map with an error
                     logger.error("Error analyzing transcript: {}", e.getMessage(), e);
+                    pipelineMetrics.fallback(GeminiOperation.TRANSCRIPT_ANALYSIS.getTag(), e);
                     return Mono.just(Map.of(
                             "strengths", "Analysis failed.",
                             "areas_for_improvement", "Could not generate feedback. Please try again.",
@@ -149,6 +170,86 @@ public class GeminiService {
                 });
     }
 
+    /**
+     * Calls Gemini to score a single interview answer. Errors are not replaced
+     * by a fallback: the caller records the answer as failed and evaluates it
+     * again when the interview is completed.
+     */
+    public Mono<Map<String, Object>> evaluateAnswer(String role, String question, String answer) {
+        String prompt = String.format(
+                "You are evaluating one answer from a voice interview for a %s position.%n%n" +
+                        "Question: %s%n%nAnswer: %s%n%n" +
+                        "Provide feedback as a JSON object with three keys: " +
+                        "'score' (integer out of 100), 'strengths' (one or two sentences) " +
+                        "and 'improvement' (one or two sentences). " +
+                        "Return ONLY the raw JSON object.",
+                role, question, promptBudget.fitTranscript(answer));
+
+        java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
+        GeminiRequest request = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.ANSWER_EVALUATION), GEMINI_REQUEST_NOT_NULL_MSG);
+
+        return callGeminiApi(request, GeminiOperation.ANSWER_EVALUATION)
+                .map(response -> jsonParser.parse(GeminiOperation.ANSWER_EVALUATION, response.getFirstText()))
+                .map(node -> objectMapper.convertValue(node, new TypeReference<Map<String, Object>>() {
+                }));
+    }
+
+    /**
+     * Generates a short acknowledgment and an adaptive follow-up question for
+     * an answer the candidate is still giving.
+     *
+     * @param partialAnswer the transcript of the answer so far
+     * @return a Mono with the keys 'acknowledgment' and 'followUp'
+     */
+    public Mono<Map<String, Object>> generateFollowUp(String role, String question, String partialAnswer) {
+        String prompt = String.format(
+                "You are interviewing a candidate for a %s position in a live voice interview.%n%n" +
+                        "Question: %s%n%nThe candidate's answer so far: %s%n%n" +
+                        "Return a JSON object with two keys: 'acknowledgment' (a brief, natural " +
+                        "acknowledgment of what they said) and 'followUp' (one short follow-up question " +
+                        "that digs into their answer). " +
+                        "Return ONLY the raw JSON object.",
+                role, question, promptBudget.fitTranscript(partialAnswer));
+
+        java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
+        GeminiRequest request = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.FOLLOW_UP), GEMINI_REQUEST_NOT_NULL_MSG);
+
+        return callGeminiApi(request, GeminiOperation.FOLLOW_UP)
+                .map(response -> jsonParser.parse(GeminiOperation.FOLLOW_UP, response.getFirstText()))
+                .map(node -> objectMapper.convertValue(node, new TypeReference<Map<String, Object>>() {
+                }));
+    }
+
+    /**
+     * Calls Gemini to condense a job description into its requirements. Errors
+     * are not replaced by a fallback: the caller uses the job description
+     * itself instead.
+     *
+     * @return a Mono with the keys 'title', 'seniority', 'mustHave',
+     *         'niceToHave', 'responsibilities' and 'qualifications'
+     */
+    public Mono<JsonNode> digestJobDescription(String rawJobDescription) {
+        String prompt = String.format(
+                "Condense this job description into the requirements a resume will be assessed against. " +
+                        "Use the job's own terms, keep each item to a few words, list at most 8 items per " +
+                        "array and leave out benefits, company background and application instructions.%n%n" +
+                        "'title' is the job title, 'seniority' the level (e.g. junior, senior, lead), " +
+                        "'mustHave' the required skills and experience, 'niceToHave' the preferred ones, " +
+                        "'responsibilities' the main duties, 'qualifications' degrees, years of experience, " +
+                        "certifications and other formal requirements.%n%n" +
+                        "JOB DESCRIPTION:%n%s%n%nReturn ONLY the raw JSON object.",
+                promptBudget.fitJobDescription(rawJobDescription));
+
+        java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
+        GeminiRequest request = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.JOB_DIGEST), GEMINI_REQUEST_NOT_NULL_MSG);
+
+        return callGeminiApi(request, GeminiOperation.JOB_DIGEST)
+                .map(response -> jsonParser.parse(GeminiOperation.JOB_DIGEST, response.getFirstText()));
+    }
+
     /**
      * Calls Gemini to analyze a resume and provide comprehensive professional
      * assessment.
@@ -157,11 +258,16 @@ public class GeminiService {
      * @param fileName       The name of the resume file
      * @param fileSize       The size of the file (formatted)
      * @param uploadDate     The upload date of the resume
-     * @param jobDescription Optional job description for tailored analysis
+     * @param jobDescription Optional job description for tailored analysis, or
+     *                       its requirements digest (see JobDigestService)
      * @return A Mono containing the analysis result as a JSON string
      */
-    public Mono<String> analyzeResume(String resumeText, String fileName, String fileSize, String uploadDate,
-            String jobDescription) {
+    public Mono<String> analyzeResume(String rawResumeText, String fileName, String fileSize, String uploadDate,
+            String rawJobDescription) {
+        // Fit user-supplied text to its token budget before building the prompt
+        String resumeText = promptBudget.fitResume(rawResumeText);
+        String jobDescription = promptBudget.fitJobDescription(rawJobDescription);
+
         // Infer role and experience level from filename or resume text
         String inferredRole = inferRoleFromText(fileName + " " + resumeText);
         String inferredLevel = inferExperienceLevelFromText(resumeText);
@@ -177,7 +283,7 @@ public class GeminiService {
                         - Inferred Role Category: %s
                         - Estimated Experience Level: %s
 
-                        RESUME CONTENT:
+                        RESUME CONTENT (contact details first, then one "## " heading per section):
                         %s
 
                         ANALYSIS CONTEXT:
@@ -276,14 +382,14 @@ public class GeminiService {
                         : "");
 
         java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
-        GeminiRequest request = java.util.Objects.requireNonNull(buildGeminiRequest(prompt),
-                GEMINI_REQUEST_NOT_NULL_MSG);
+        GeminiRequest request = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.RESUME_ANALYSIS), GEMINI_REQUEST_NOT_NULL_MSG);
 
-        return callGeminiApi(request)
-                .map(GeminiResponse::getFirstText)
-                .map(responseText -> responseText.replace(MARKDOWN_JSON, "").replace(MARKDOWN_BACKTICKS, "").trim())
-                .onErrorResume(e -> {
+        return callGeminiApi(request, GeminiOperation.RESUME_ANALYSIS)
+                .map(response -> parseStructured(GeminiOperation.RESUME_ANALYSIS, response))
+                .onErrorResume(GeminiService::hasFallback, e -> {
                     logger.error("Error analyzing resume: {}", e.getMessage(), e);
+                    pipelineMetrics.fallback(GeminiOperation.RESUME_ANALYSIS.getTag(), e);
                     return Mono.just("{\"error\": \"Failed to analyze resume.\"}");
                 });
     }
@@ -296,24 +402,14 @@ public class GeminiService {
      */
     public Mono<String> buildResume(ResumeBuildRequest request) {
         try {
-            StringBuilder promptData = new StringBuilder();
-
-            appendPersonalInfo(promptData, request);
-            appendWorkExperience(promptData, request);
-            appendEducation(promptData, request);
-            appendSkills(promptData, request);
-            appendProjects(promptData, request);
-            appendCertifications(promptData, request);
-
-            String prompt = String.format(RESUME_PROMPT_TEMPLATE, promptData.toString());
-            java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
-            GeminiRequest geminiRequest = java.util.Objects.requireNonNull(buildGeminiRequest(prompt),
-                    GEMINI_REQUEST_NOT_NULL_MSG);
-            return callGeminiApi(geminiRequest)
-                    .map(GeminiResponse::getFirstText)
-                    .map(responseText -> responseText.replace(MARKDOWN_JSON, "").replace(MARKDOWN_BACKTICKS, "").trim())
-                    .onErrorResume(e -> {
+            String prompt = buildResumePrompt(request);
+            GeminiRequest geminiRequest = java.util.Objects.requireNonNull(
+                    buildGeminiRequest(prompt, GeminiOperation.RESUME_BUILD), GEMINI_REQUEST_NOT_NULL_MSG);
+            return callGeminiApi(geminiRequest, GeminiOperation.RESUME_BUILD)
+                    .map(response -> parseStructured(GeminiOperation.RESUME_BUILD, response))
+                    .onErrorResume(GeminiService::hasFallback, e -> {
                         logger.error("Error building resume: {}", e.getMessage(), e);
+                        pipelineMetrics.fallback(GeminiOperation.RESUME_BUILD.getTag(), e);
                         return Mono.just("{\"error\": \"Failed to build resume. Please try again.\"}");
                     });
 
@@ -322,6 +418,70 @@ public class GeminiService {
         }
     }
 
+    /**
+     * The prompt buildResume sends for a request.
+     */
+    public String buildResumePrompt(ResumeBuildRequest request) {
+        StringBuilder promptData = new StringBuilder();
+
+        appendPersonalInfo(promptData, request);
+        appendWorkExperience(promptData, request);
+        appendEducation(promptData, request);
+        appendSkills(promptData, request);
+        appendProjects(promptData, request);
+        appendCertifications(promptData, request);
+
+        String prompt = String.format(RESUME_PROMPT_TEMPLATE, promptData.toString());
+        return java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
+    }
+
+    /**
+     * Calls Gemini to rewrite one part of a built resume, so that an edit
+     * regenerates only what changed (see ResumeUpdateService). Errors are not
+     * replaced by a fallback: a failed update leaves the stored resume as is.
+     *
+     * @param section The section of the part
+     * @param request The updated resume input
+     * @param index   The entry of a list section; ignored for skills and summary
+     * @return A Mono with the rewritten part, shaped like the same part of
+     *         buildResume's output (a single entry for list sections)
+     */
+    public Mono<JsonNode> rewriteResumeEntry(ResumeSection section, ResumeBuildRequest request, int index) {
+        String prompt = resumeEntryPrompt(section, request, index);
+        GeminiRequest geminiRequest = java.util.Objects.requireNonNull(
+                buildGeminiRequest(prompt, GeminiOperation.RESUME_ENTRY), GEMINI_REQUEST_NOT_NULL_MSG);
+
+        return callGeminiApi(geminiRequest, GeminiOperation.RESUME_ENTRY)
+                .map(response -> {
+                    JsonNode part = jsonParser.parse(GeminiOperation.RESUME_ENTRY, response.getFirstText())
+                            .get(section.getKey());
+                    if (part == null || part.isNull()) {
+                        throw new AiAnalysisParseException("Gemini returned no " + section.getKey()
+                                + " for " + GeminiOperation.RESUME_ENTRY.getTag());
+                    }
+                    return part;
+                });
+    }
+
+    /**
+     * The prompt rewriteResumeEntry sends for a part of a resume.
+     */
+    public String resumeEntryPrompt(ResumeSection section, ResumeBuildRequest request, int index) {
+        StringBuilder promptData = new StringBuilder();
+        switch (section) {
+            case SKILLS -> appendSkills(promptData, request);
+            case SUMMARY -> {
+                appendWorkExperience(promptData, request);
+                appendSkills(promptData, request);
+            }
+            default -> section.entries(request).get(index)
+                    .forEach((k, v) -> promptData.append(String.format(KEY_VALUE_FORMAT, k, v)));
+        }
+        String prompt = String.format(RESUME_ENTRY_PROMPT_TEMPLATE, section.getLabel(), promptData.toString(),
+                RESUME_ENTRY_INSTRUCTIONS.get(section), section.getKey());
+        return java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
+    }
+
     /**
      * Infers the role category from filename and resume text
      */
@@ -358,41 +518,174 @@ public class GeminiService {
         return "Mid Level";
     }
 
-    private GeminiRequest buildGeminiRequest(@NonNull String prompt) {
+    /**
+     * Builds a request in structured output mode: Gemini is asked for
+     * application/json constrained by the operation's response schema.
+     */
+    private GeminiRequest buildGeminiRequest(@NonNull String prompt, @NonNull GeminiOperation operation) {
         java.util.Objects.requireNonNull(prompt, PROMPT_NOT_NULL_MSG);
+        GeminiRequest.GenerationConfig generationConfig = new GeminiRequest.GenerationConfig(
+                "application/json",
+                operation.getResponseSchema(),
+                operation.getTemperature(),
+                operation.getMaxOutputTokens());
         GeminiRequest request = new GeminiRequest(
                 List.of(new GeminiRequest.Content(
-                        List.of(new GeminiRequest.Part(prompt)))));
+                        List.of(new GeminiRequest.Part(prompt)))),
+                generationConfig);
         return java.util.Objects.requireNonNull(request, GEMINI_REQUEST_NOT_NULL_MSG);
     }
 
-    private Mono<GeminiResponse> callGeminiApi(@NonNull GeminiRequest request) {
+    /**
+     * Parses the response text for an operation and re-serializes it, so
+     * callers always receive compact, valid JSON.
+     */
+    private String parseStructured(GeminiOperation operation, GeminiResponse response) {
+        try {
+            return objectMapper.writeValueAsString(jsonParser.parse(operation, response.getFirstText()));
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            throw new AiAnalysisParseException("Failed to serialize parsed JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends a request to Gemini after checking the prompt size, through the
+     * fair queue, to the model the router picks for the operation.
+     * Records latency per operation and outcome (as an observation, so the
+     * call also appears as a span), the estimated prompt size, and the token
+     * counts Gemini reports in usageMetadata. A sampled share of successful
+     * calls is sent to the shadow model as well, in the background.
+     */
+    private Mono<GeminiResponse> callGeminiApi(@NonNull GeminiRequest request, @NonNull GeminiOperation operation) {
         java.util.Objects.requireNonNull(request, GEMINI_REQUEST_NOT_NULL_MSG);
-        // Using gemini-2.0-flash - the latest fast and reliable model
-        String fullUrl = geminiApiUrl + "/v1beta/models/gemini-2.5-flash:generateContent?key=" + geminiApiKey;
 
+        return Mono.defer(() -> {
+            int estimatedTokens = promptBudget.checkPrompt(operation, promptText(request));
+            pipelineMetrics.promptTokens(operation.getTag(), estimatedTokens);
+            String model = modelRouter.route(operation).model();
+
+            Mono<GeminiResponse> call = send(request, operation, model)
+                    .doOnSuccess(response -> shadow(request, operation, model, response))
+                    .doOnError(error -> logger.error("Gemini API error for {}: {}", operation.getTag(),
+                            error.getMessage()));
+            // Queued for a slot by its token budget; latency is timed from when the call starts
+            return fairQueue.submit(estimatedTokens + operation.getMaxOutputTokens(),
+                    pipelineMetrics.observe("gemini.latency", operation.getTag(), call));
+        });
+    }
+
+    private Mono<GeminiResponse> send(GeminiRequest request, GeminiOperation operation, String model) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return post(request, model)
+                    .doOnSuccess(response -> {
+                        modelRouter.record(operation, model, System.nanoTime() - started, false);
+                        recordUsage(operation, model, PipelineMetrics.TRAFFIC_SERVED, response);
+                    })
+                    .doOnError(error -> modelRouter.record(operation, model, System.nanoTime() - started, true));
+        });
+    }
+
+    /**
+     * Like send, but for a shadow call: its outcome is recorded with the
+     * shadow traffic tag and not passed to the router, so a failing shadow
+     * model never degrades the routing of served calls.
+     */
+    private Mono<GeminiResponse> sendShadow(GeminiRequest request, GeminiOperation operation, String model) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return post(request, model)
+                    .doOnSuccess(response -> {
+                        pipelineMetrics.modelCall(operation.getTag(), model, PipelineMetrics.TRAFFIC_SHADOW,
+                                PipelineMetrics.OUTCOME_SUCCESS, System.nanoTime() - started);
+                        recordUsage(operation, model, PipelineMetrics.TRAFFIC_SHADOW, response);
+                    })
+                    .doOnError(error -> pipelineMetrics.modelCall(operation.getTag(), model,
+                            PipelineMetrics.TRAFFIC_SHADOW, PipelineMetrics.OUTCOME_ERROR,
+                            System.nanoTime() - started));
+        });
+    }
+
+    private Mono<GeminiResponse> post(GeminiRequest request, String model) {
+        // The key goes in a header so it never appears in URLs, access logs or error messages
+        String fullUrl = geminiApiUrl + "/v1beta/models/" + model + ":generateContent";
+        // URI (not a template string) keeps the URL out of http.client.requests tags
         return webClient.post()
-                .uri(fullUrl)
+                .uri(java.net.URI.create(fullUrl))
                 .header("Content-Type", "application/json")
+                .header("x-goog-api-key", geminiApiKey)
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(GeminiResponse.class)
-                .doOnError(error -> {
-                    logger.error("Gemini API Error: {}", error.getMessage(), error);
-                    logger.error("URL: {}", fullUrl);
-                });
+                .bodyToMono(GeminiResponse.class);
+    }
+
+    /**
+     * Sends a copy of a served call to the shadow model, if it is sampled,
+     * and records how alike the two outputs are. Nothing waits for it. It
+     * takes a fair queue slot, and is dropped if none is free right away.
+     */
+    private void shadow(GeminiRequest request, GeminiOperation operation, String servedModel,
+            GeminiResponse served) {
+        modelRouter.shadowModel(operation, servedModel).ifPresent(shadowModel -> fairQueue
+                .trySubmit(sendShadow(request, operation, shadowModel))
+                .switchIfEmpty(Mono.fromRunnable(
+                        () -> pipelineMetrics.shadowCompare(operation.getTag(), shadowModel, "skipped", 0)))
+                .subscribe(
+                        response -> compareShadow(operation, shadowModel, served, response),
+                        error -> pipelineMetrics.shadowCompare(operation.getTag(), shadowModel, "error", 0)));
+    }
+
+    private void compareShadow(GeminiOperation operation, String shadowModel, GeminiResponse served,
+            GeminiResponse shadow) {
+        JsonNode servedJson = readJson(served == null ? null : served.getFirstText());
+        if (servedJson == null) {
+            return; // Nothing to compare against; the served call reports its own parse failure
+        }
+        JsonNode shadowJson = readJson(shadow == null ? null : shadow.getFirstText());
+        if (shadowJson == null) {
+            pipelineMetrics.shadowCompare(operation.getTag(), shadowModel, "unparsed", 0);
+        } else {
+            pipelineMetrics.shadowCompare(operation.getTag(), shadowModel, "compared",
+                    JsonSimilarity.score(servedJson, shadowJson));
+        }
     }
 
-    private Mono<Map<String, Object>> parseFeedbackJson(String jsonString) {
+    private JsonNode readJson(String text) {
         try {
-            // Remove markdown backticks if present
-            String cleanedJson = jsonString.replace(MARKDOWN_JSON, "").replace(MARKDOWN_BACKTICKS, "").trim();
+            return text == null ? null : objectMapper.readTree(text);
+        } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+            return null;
+        }
+    }
 
-            @SuppressWarnings("unchecked")
-            Map<String, Object> feedbackMap = objectMapper.readValue(cleanedJson, Map.class);
-            return Mono.just(feedbackMap);
-        } catch (Exception e) {
-            return Mono.error(new RuntimeException("Failed to parse JSON feedback: " + e.getMessage()));
+    /**
+     * Admission rejections are not replaced by fallback content; they reach
+     * the client as 429 so it can retry.
+     */
+    private static boolean hasFallback(Throwable error) {
+        return !(error instanceof TooManyRequestsException);
+    }
+
+    private String promptText(GeminiRequest request) {
+        StringBuilder sb = new StringBuilder();
+        request.getContents().forEach(content -> content.getParts().forEach(part -> sb.append(part.getText())));
+        return sb.toString();
+    }
+
+    private void recordUsage(GeminiOperation operation, String model, String traffic, GeminiResponse response) {
+        if (response == null || response.getUsageMetadata() == null) {
+            return;
+        }
+        GeminiResponse.UsageMetadata usage = response.getUsageMetadata();
+        recordTokens(operation, model, traffic, "prompt", usage.getPromptTokenCount());
+        recordTokens(operation, model, traffic, "candidates", usage.getCandidatesTokenCount());
+        recordTokens(operation, model, traffic, "thoughts", usage.getThoughtsTokenCount());
+        recordTokens(operation, model, traffic, "total", usage.getTotalTokenCount());
+    }
+
+    private void recordTokens(GeminiOperation operation, String model, String traffic, String type, Integer count) {
+        if (count != null) {
+            pipelineMetrics.geminiTokens(operation.getTag(), model, traffic, type, count);
         }
     }
 
@@ -472,6 +765,31 @@ public class GeminiService {
             Return ONLY the raw JSON object without any markdown formatting, code blocks, or additional text.
             """;
 
+    private static final String RESUME_ENTRY_PROMPT_TEMPLATE = """
+            You are an expert resume writer. Rewrite this %s of a resume into professionally written, compelling content.
+
+            RAW DATA:
+            %s
+            INSTRUCTIONS:
+            - %s
+            - Use active voice, strong action verbs and professional, industry-standard terminology
+            - Keep all factual information accurate (dates, company names, schools, etc.) and format dates consistently
+            - DO NOT invent or fabricate any experiences, achievements, or qualifications
+
+            Return ONLY a raw JSON object whose only property is "%s".
+            """;
+
+    private static final Map<ResumeSection, String> RESUME_ENTRY_INSTRUCTIONS = Map.of(
+            ResumeSection.EXPERIENCE,
+            "Turn the description into enhanced bullets with quantifiable achievements where possible",
+            ResumeSection.EDUCATION, "List the achievements, keeping the GPA if provided",
+            ResumeSection.PROJECTS,
+            "Enhance the description to highlight impact and technical complexity, and list the technologies and highlights",
+            ResumeSection.CERTIFICATIONS, "Keep the name, issuer, date and credential ID if provided",
+            ResumeSection.SKILLS, "Organize the skills into technical, tools and soft",
+            ResumeSection.SUMMARY,
+            "Write a compelling professional summary (2-3 sentences) based on the experience and skills");
+
     private void appendPersonalInfo(StringBuilder sb, ResumeBuildRequest request) {
         sb.append(String.format("=== PERSONAL INFORMATION ===%n"));
         if (request.getPersonalInfo() != null) {
@@ -2,6 +2,7 @@ package com.interviewai.service;
 
 import org.springframework.stereotype.Service;
 
+import com.interviewai.admission.FairQueue;
 import com.interviewai.dto.InterviewRequest;
 import com.interviewai.model.Interview;
 import com.interviewai.repository.InterviewRepository;
@@ -30,7 +31,9 @@ public class InterviewService {
         // .block() waits for the asynchronous call to finish.
         String questionsJson = geminiService.generateInterviewQuestions(
                 request.getRole(),
-                request.getExperienceLevel()).block(); // This makes the call synchronous
+                request.getExperienceLevel())
+                .contextWrite(FairQueue.forUser(userId)) // fair share of Gemini capacity
+                .block(); // This makes the call synchronous
 
         Interview interview = new Interview();
         interview.setUserId(userId);
@@ -0,0 +1,310 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.admission.FairQueue;
+import com.interviewai.dto.AnswerRequest;
+import com.interviewai.exception.AiAnalysisParseException;
+import com.interviewai.exception.InterviewNotFoundException;
+import com.interviewai.model.Feedback;
+import com.interviewai.model.Interview;
+import com.interviewai.model.InterviewAnswer;
+import com.interviewai.repository.InterviewAnswerRepository;
+import com.interviewai.repository.InterviewRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Interview sessions that are evaluated answer by answer.
+ * Each submitted answer is scored by Gemini in the background while the
+ * interview continues, so completing the interview only has to wait for the
+ * last answer's evaluation (plus any that failed, retried concurrently) and
+ * aggregate the scores. Its latency no longer grows with the length of the
+ * interview, unlike a single call over the whole transcript.
+ */
+@Service
+public class InterviewSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InterviewSessionService.class);
+
+    private final InterviewRepository interviewRepository;
+    private final InterviewAnswerRepository answerRepository;
+    private final FeedbackService feedbackService;
+    private final GeminiService geminiService;
+    private final ObjectMapper objectMapper;
+    private final Duration completeTimeout;
+    // Evaluations running on this instance, by answer id; null result if it failed
+    private final Map<UUID, CompletableFuture<Evaluation>> evaluations = new ConcurrentHashMap<>();
+
+    private record Evaluation(UUID answerId, Integer score, String strengths, String improvement) {
+        static Evaluation of(InterviewAnswer answer) {
+            return new Evaluation(answer.getId(), answer.getScore(), answer.getStrengths(), answer.getImprovement());
+        }
+    }
+
+    public InterviewSessionService(InterviewRepository interviewRepository,
+            InterviewAnswerRepository answerRepository,
+            FeedbackService feedbackService,
+            GeminiService geminiService,
+            ObjectMapper objectMapper,
+            @Value("${interview.session.complete-timeout:PT30S}") Duration completeTimeout) {
+        this.interviewRepository = Objects.requireNonNull(interviewRepository, "interviewRepository must not be null");
+        this.answerRepository = Objects.requireNonNull(answerRepository, "answerRepository must not be null");
+        this.feedbackService = Objects.requireNonNull(feedbackService, "feedbackService must not be null");
+        this.geminiService = Objects.requireNonNull(geminiService, "geminiService must not be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.completeTimeout = Objects.requireNonNull(completeTimeout,
+                "interview.session.complete-timeout must not be null");
+    }
+
+    /**
+     * Stores an answer and starts its evaluation. Resubmitting an answer for
+     * the same question replaces it and evaluates it again.
+     *
+     * @throws IllegalArgumentException if the question index is out of range
+     *                                  or the answer is empty
+     */
+    public InterviewAnswer submitAnswer(UUID interviewId, AnswerRequest request, UUID userId) {
+        Interview interview = getInterview(interviewId, userId);
+        if (request.getQuestionIndex() == null) {
+            throw new IllegalArgumentException("questionIndex is required");
+        }
+        if (request.getAnswer() == null || request.getAnswer().isBlank()) {
+            throw new IllegalArgumentException("answer must not be empty");
+        }
+        int index = request.getQuestionIndex();
+        String question = questionAt(interview, index);
+
+        InterviewAnswer answer = answerRepository.findByInterviewIdAndQuestionIndex(interviewId, index)
+                .orElseGet(() -> {
+                    InterviewAnswer created = new InterviewAnswer();
+                    created.setInterviewId(interviewId);
+                    created.setUserId(userId);
+                    created.setQuestionIndex(index);
+                    created.setRevision(0);
+                    return created;
+                });
+        InterviewAnswer saved;
+        try {
+            saved = answerRepository.save(revise(answer, question, request.getAnswer()));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent first submission for this question inserted its row first
+            InterviewAnswer inserted = answerRepository.findByInterviewIdAndQuestionIndex(interviewId, index)
+                    .orElseThrow(() -> e);
+            saved = answerRepository.save(revise(inserted, question, request.getAnswer()));
+        }
+        evaluate(saved, interview.getRole());
+        return saved;
+    }
+
+    /**
+     * Sets a new answer text on a row, pending evaluation under the next
+     * revision.
+     */
+    private static InterviewAnswer revise(InterviewAnswer answer, String question, String text) {
+        answer.setQuestion(question);
+        answer.setAnswer(text);
+        answer.setRevision(answer.getRevision() + 1);
+        answer.setStatus(InterviewAnswer.Status.PENDING);
+        answer.setScore(null);
+        answer.setStrengths(null);
+        answer.setImprovement(null);
+        answer.setSubmittedAt(OffsetDateTime.now());
+        answer.setEvaluatedAt(null);
+        return answer;
+    }
+
+    public List<InterviewAnswer> getAnswers(UUID interviewId, UUID userId) {
+        getInterview(interviewId, userId);
+        return answerRepository.findByInterviewIdOrderByQuestionIndex(interviewId);
+    }
+
+    /**
+     * Completes the session: waits for evaluations still running, evaluates
+     * failed answers again, and saves the aggregated feedback. Completing a
+     * session again updates its feedback rather than adding another.
+     *
+     * @throws IllegalStateException if no answers were submitted
+     */
+    public Feedback complete(UUID interviewId, UUID userId) {
+        Interview interview = getInterview(interviewId, userId);
+        List<InterviewAnswer> answers = answerRepository.findByInterviewIdOrderByQuestionIndex(interviewId);
+        if (answers.isEmpty()) {
+            throw new IllegalStateException("No answers have been submitted for this interview");
+        }
+        // Both waits below share one complete timeout
+        long deadline = System.nanoTime() + completeTimeout.toNanos();
+
+        // Results of evaluations finishing now come from their futures: rows
+        // re-read in this request could be stale copies from the persistence context
+        Map<UUID, Evaluation> results = new HashMap<>();
+        answers.stream()
+                .filter(a -> a.getStatus() == InterviewAnswer.Status.EVALUATED)
+                .forEach(a -> results.put(a.getId(), Evaluation.of(a)));
+        Map<UUID, CompletableFuture<Evaluation>> running = new HashMap<>();
+        for (InterviewAnswer answer : answers) {
+            CompletableFuture<Evaluation> future = evaluations.get(answer.getId());
+            if (future != null && !results.containsKey(answer.getId())) {
+                running.put(answer.getId(), future);
+            }
+        }
+        await(List.copyOf(running.values()), results, deadline);
+
+        // Failed answers, or pending ones whose evaluation was lost (e.g. on
+        // restart). Finished futures may not have left the evaluations map yet.
+        List<CompletableFuture<Evaluation>> retries = answers.stream()
+                .filter(a -> !results.containsKey(a.getId()))
+                .filter(a -> !running.containsKey(a.getId()) || running.get(a.getId()).isDone())
+                .map(a -> evaluate(a, interview.getRole()))
+                .toList();
+        await(retries, results, deadline);
+
+        return feedbackService.saveForInterview(aggregate(interviewId, userId, answers, results));
+    }
+
+    private CompletableFuture<Evaluation> evaluate(InterviewAnswer answer, String role) {
+        UUID id = answer.getId();
+        Integer revision = answer.getRevision();
+        CompletableFuture<Evaluation> done = geminiService
+                .evaluateAnswer(role, answer.getQuestion(), answer.getAnswer())
+                .contextWrite(FairQueue.forUser(answer.getUserId()))
+                .publishOn(Schedulers.boundedElastic()) // the result is saved with blocking JPA
+                .map(result -> storeEvaluation(id, revision, result))
+                .onErrorResume(e -> {
+                    logger.warn("Evaluation of answer {} failed: {}", id, e.getMessage());
+                    answerRepository.storeEvaluation(id, revision, InterviewAnswer.Status.FAILED, null, null, null,
+                            OffsetDateTime.now());
+                    return Mono.empty();
+                })
+                .toFuture();
+        evaluations.put(id, done);
+        done.whenComplete((ignored, error) -> evaluations.remove(id, done));
+        return done;
+    }
+
+    private Evaluation storeEvaluation(UUID id, Integer revision, Map<String, Object> result) {
+        Integer score = result.get("score") instanceof Number number
+                ? Math.max(0, Math.min(100, number.intValue()))
+                : null;
+        Evaluation evaluation = new Evaluation(id, score, (String) result.get("strengths"),
+                (String) result.get("improvement"));
+        answerRepository.storeEvaluation(id, revision, InterviewAnswer.Status.EVALUATED, evaluation.score(),
+                evaluation.strengths(), evaluation.improvement(), OffsetDateTime.now());
+        return evaluation;
+    }
+
+    /**
+     * Waits (until the deadline, in System.nanoTime) for evaluations and
+     * collects the successful ones.
+     */
+    private void await(List<CompletableFuture<Evaluation>> running, Map<UUID, Evaluation> results,
+            long deadline) {
+        try {
+            CompletableFuture.allOf(running.toArray(CompletableFuture[]::new))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Aggregate what has been evaluated so far
+            logger.warn("Timed out waiting for {} answer evaluations", running.size());
+        } catch (ExecutionException e) {
+            // Not thrown: evaluation errors complete the future with null
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.stream()
+                .map(future -> future.getNow(null))
+                .filter(Objects::nonNull)
+                .forEach(evaluation -> results.put(evaluation.answerId(), evaluation));
+    }
+
+    private Feedback aggregate(UUID interviewId, UUID userId, List<InterviewAnswer> answers,
+            Map<UUID, Evaluation> results) {
+        List<String> strengths = new ArrayList<>();
+        List<String> improvements = new ArrayList<>();
+        int scored = 0;
+        int total = 0;
+        for (InterviewAnswer answer : answers) {
+            Evaluation evaluation = results.get(answer.getId());
+            if (evaluation == null) {
+                continue;
+            }
+            String label = "Q" + (answer.getQuestionIndex() + 1) + ": ";
+            strengths.add(label + evaluation.strengths());
+            improvements.add(label + evaluation.improvement());
+            if (evaluation.score() != null) {
+                scored++;
+                total += evaluation.score();
+            }
+        }
+        if (results.size() < answers.size()) {
+            improvements.add((answers.size() - results.size()) + " answer(s) could not be evaluated.");
+        }
+
+        Feedback feedback = new Feedback();
+        feedback.setInterviewId(interviewId);
+        feedback.setUserId(userId);
+        feedback.setTranscript(answers.stream()
+                .map(a -> "Q: " + a.getQuestion() + "\nA: " + a.getAnswer())
+                .collect(Collectors.joining("\n\n")));
+        feedback.setStrengths(String.join("\n", strengths));
+        feedback.setAreasForImprovement(String.join("\n", improvements));
+        feedback.setOverallScore(scored == 0 ? 0 : Math.round((float) total / scored));
+        return feedback;
+    }
+
+    /**
+     * Returns the interview if it belongs to the user.
+     *
+     * @throws InterviewNotFoundException if it does not exist
+     * @throws AccessDeniedException      if it belongs to another user
+     */
+    public Interview getInterview(UUID interviewId, UUID userId) {
+        Interview interview = interviewRepository.findById(Objects.requireNonNull(interviewId))
+                .orElseThrow(() -> new InterviewNotFoundException("Interview not found"));
+        if (!interview.getUserId().equals(userId)) {
+            throw new AccessDeniedException("User does not have permission to access this interview.");
+        }
+        return interview;
+    }
+
+    /**
+     * Returns the text of a question from the interview's script.
+     *
+     * @throws IllegalArgumentException if the index is out of range
+     */
+    public String questionAt(Interview interview, int index) {
+        JsonNode script;
+        try {
+            script = objectMapper.readTree(interview.getQuestions());
+        } catch (JsonProcessingException e) {
+            throw new AiAnalysisParseException("Interview questions are not valid JSON", e);
+        }
+        JsonNode question = script.path("questions").path(index).path("question");
+        if (index < 0 || !question.isTextual()) {
+            throw new IllegalArgumentException("questionIndex " + index + " is out of range");
+        }
+        return question.asText();
+    }
+}
@@ -0,0 +1,216 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.interviewai.cache.CachedEntry;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.cache.ReadThroughCache;
+import com.interviewai.match.KeywordMatcher;
+import com.interviewai.match.SkillCounts;
+import com.interviewai.model.JobDigest;
+import com.interviewai.repository.JobDigestRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Condenses job descriptions into requirements summaries once, so that every
+ * analysis tailored to the same job description embeds the short summary
+ * instead of the whole text.
+ *
+ * A job description is normalized (NFKC, lower case, whitespace collapsed)
+ * and hashed with SHA-256. Its digest is looked up in a read cache, then in
+ * the job_digests table, and only then made: a small Gemini call lists the
+ * requirements, and the keyword matcher adds skills the text names that the
+ * list leaves out. Concurrent requests for the same new job description
+ * share one Gemini call. Digests are deleted after job-digest.retention.
+ *
+ * Job descriptions under job-digest.min-tokens are used as they are, since
+ * a digest would not be shorter. So are job descriptions whose digest call
+ * fails; the failure is not remembered, so the next analysis tries again.
+ */
+@Service
+public class JobDigestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobDigestService.class);
+
+    private final GeminiService geminiService;
+    private final JobDigestRepository repository;
+    private final KeywordMatcher keywordMatcher;
+    private final PromptBudget promptBudget;
+    private final TokenEstimator tokenEstimator;
+    private final ReadThroughCache<String, String> cache;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+    private final int minTokens;
+    private final Duration retention;
+    private final Clock clock = Clock.systemUTC();
+
+    public JobDigestService(GeminiService geminiService,
+            JobDigestRepository repository,
+            KeywordMatcher keywordMatcher,
+            PromptBudget promptBudget,
+            TokenEstimator tokenEstimator,
+            ReadCacheFactory readCacheFactory,
+            @Value("${job-digest.min-tokens:150}") int minTokens,
+            @Value("${job-digest.retention:P30D}") Duration retention) {
+        this.geminiService = java.util.Objects.requireNonNull(geminiService, "geminiService must not be null");
+        this.repository = java.util.Objects.requireNonNull(repository, "repository must not be null");
+        this.keywordMatcher = java.util.Objects.requireNonNull(keywordMatcher, "keywordMatcher must not be null");
+        this.promptBudget = java.util.Objects.requireNonNull(promptBudget, "promptBudget must not be null");
+        this.tokenEstimator = java.util.Objects.requireNonNull(tokenEstimator, "tokenEstimator must not be null");
+        this.cache = readCacheFactory.create("jobDigest");
+        this.minTokens = minTokens;
+        this.retention = java.util.Objects.requireNonNull(retention, "job-digest.retention must not be null");
+    }
+
+    /**
+     * Returns the text to put in a prompt for a job description: its digest,
+     * or the job description fitted to its budget.
+     *
+     * @param jobDescription The job description, may be null or blank
+     * @return A Mono with the text, empty string if there is no job description
+     */
+    public Mono<String> resolve(String jobDescription) {
+        String fitted = promptBudget.fitJobDescription(jobDescription);
+        if (fitted.isEmpty() || tokenEstimator.estimateTokens(fitted) < minTokens) {
+            return Mono.just(fitted);
+        }
+        String hash = hash(jobDescription);
+        return Mono.fromCallable(() -> cached(hash))
+                .subscribeOn(Schedulers.boundedElastic()) // the lookup may hit blocking JPA
+                .onErrorResume(DataAccessException.class, e -> {
+                    logger.warn("Reading job digest {} failed: {}", hash, e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(() -> inFlight.computeIfAbsent(hash,
+                        h -> digest(h, jobDescription, fitted)
+                                .doOnTerminate(() -> inFlight.remove(h))
+                                .cache())))
+                .onErrorResume(e -> {
+                    logger.warn("Digesting job description {} failed, using it as is: {}", hash, e.getMessage());
+                    return Mono.just(fitted);
+                });
+    }
+
+    private String cached(String hash) {
+        CachedEntry<String> entry = cache.get(hash,
+                h -> repository.findById(h).map(JobDigest::getSummary).orElse(null));
+        return entry == null ? null : entry.value();
+    }
+
+    private Mono<String> digest(String hash, String jobDescription, String fitted) {
+        return geminiService.digestJobDescription(jobDescription)
+                .publishOn(Schedulers.boundedElastic()) // the digest is saved with blocking JPA
+                .map(requirements -> {
+                    String summary = render(requirements, jobDescription);
+                    // Keep whichever is shorter, so a repeat never costs more than the original
+                    int sourceTokens = tokenEstimator.estimateTokens(fitted);
+                    return store(hash, tokenEstimator.estimateTokens(summary) < sourceTokens ? summary : fitted,
+                            sourceTokens);
+                });
+    }
+
+    private String store(String hash, String summary, int sourceTokens) {
+        JobDigest digest = new JobDigest();
+        digest.setHash(hash);
+        digest.setSummary(summary);
+        digest.setSourceTokens(sourceTokens);
+        digest.setCreatedAt(clock.instant());
+        try {
+            repository.save(digest);
+        } catch (DataAccessException e) {
+            // Another instance may have stored it first; this one still has it cached
+            logger.warn("Storing job digest {} failed: {}", hash, e.getMessage());
+        }
+        cache.put(hash, summary);
+        return summary;
+    }
+
+    /**
+     * Formats Gemini's requirements for a prompt, followed by the skills the
+     * keyword matcher finds in the job description that they leave out.
+     */
+    private String render(JsonNode requirements, String jobDescription) {
+        StringBuilder summary = new StringBuilder("Job requirements (condensed):\n");
+        String title = requirements.path("title").asText("");
+        String seniority = requirements.path("seniority").asText("");
+        if (!title.isBlank()) {
+            summary.append("Title: ").append(title);
+            if (!seniority.isBlank()) {
+                summary.append(" (").append(seniority).append(')');
+            }
+            summary.append('\n');
+        }
+        line(summary, "Must have", requirements.path("mustHave"));
+        line(summary, "Nice to have", requirements.path("niceToHave"));
+        line(summary, "Responsibilities", requirements.path("responsibilities"));
+        line(summary, "Qualifications", requirements.path("qualifications"));
+        SkillCounts listed = keywordMatcher.count(summary.toString());
+        List<String> others = new ArrayList<>();
+        for (int skill : keywordMatcher.query(jobDescription).skills()) {
+            if (listed.count(skill) == 0) {
+                others.add(keywordMatcher.vocabulary().name(skill));
+            }
+        }
+        if (!others.isEmpty()) {
+            summary.append("Also named: ").append(String.join(", ", others)).append('\n');
+        }
+        return summary.toString().strip();
+    }
+
+    private static void line(StringBuilder summary, String label, JsonNode items) {
+        List<String> values = new ArrayList<>();
+        for (JsonNode item : items) {
+            if (!item.asText("").isBlank()) {
+                values.add(item.asText().strip());
+            }
+        }
+        if (!values.isEmpty()) {
+            summary.append(label).append(": ").append(String.join("; ", values)).append('\n');
+        }
+    }
+
+    /**
+     * SHA-256 of the normalized job description, so that copies differing
+     * only in case, whitespace or Unicode form share a digest.
+     */
+    private static String hash(String jobDescription) {
+        String normalized = Normalizer.normalize(jobDescription, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .strip();
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${job-digest.cleanup-interval:PT6H}",
+            initialDelayString = "${job-digest.cleanup-interval:PT6H}")
+    public void deleteExpired() {
+        int deleted = repository.deleteCreatedBefore(clock.instant().minus(retention));
+        if (deleted > 0) {
+            logger.info("Deleted {} expired job digests", deleted);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.Map;
+
+/**
+ * JSON Patch (RFC 6902) between two JSON documents, limited to the add,
+ * remove and replace operations that diff produces.
+ *
+ * Objects are diffed key by key. Arrays are diffed after dropping their
+ * common prefix and suffix, so editing, inserting or removing one entry of
+ * a list patches that entry only; the remaining elements are paired by
+ * position.
+ */
+public final class JsonPatch {
+
+    private JsonPatch() {
+    }
+
+    /**
+     * The patch that turns source into target.
+     */
+    public static ArrayNode diff(JsonNode source, JsonNode target) {
+        ArrayNode patch = JsonNodeFactory.instance.arrayNode();
+        diff(source, target, "", patch);
+        return patch;
+    }
+
+    /**
+     * Applies a patch made by diff.
+     *
+     * @param patch    The operations, in order
+     * @param document The document to patch; it is not modified
+     * @return The patched document
+     * @throws IllegalArgumentException if an operation is unsupported or its
+     *                                  path does not exist in the document
+     */
+    public static JsonNode apply(JsonNode patch, JsonNode document) {
+        JsonNode result = document.deepCopy();
+        for (JsonNode operation : patch) {
+            String op = operation.path("op").asText();
+            String path = operation.path("path").asText();
+            JsonNode value = operation.get("value");
+            if (path.isEmpty()) {
+                if (!"replace".equals(op) && !"add".equals(op)) {
+                    throw new IllegalArgumentException("Cannot " + op + " the whole document");
+                }
+                result = value.deepCopy();
+                continue;
+            }
+            int slash = path.lastIndexOf('/');
+            JsonNode parent = resolve(result, path.substring(0, slash));
+            String key = unescape(path.substring(slash + 1));
+            switch (op) {
+                case "add" -> add(parent, key, value.deepCopy(), path);
+                case "remove" -> remove(parent, key, path);
+                case "replace" -> {
+                    remove(parent, key, path);
+                    add(parent, key, value.deepCopy(), path);
+                }
+                default -> throw new IllegalArgumentException("Unsupported JSON Patch operation: " + op);
+            }
+        }
+        return result;
+    }
+
+    private static void diff(JsonNode source, JsonNode target, String path, ArrayNode patch) {
+        if (source.equals(target)) {
+            return;
+        }
+        if (source.isObject() && target.isObject()) {
+            for (Map.Entry<String, JsonNode> field : source.properties()) {
+                JsonNode other = target.get(field.getKey());
+                if (other == null) {
+                    operation(patch, "remove", path + "/" + escape(field.getKey()), null);
+                } else {
+                    diff(field.getValue(), other, path + "/" + escape(field.getKey()), patch);
+                }
+            }
+            for (Map.Entry<String, JsonNode> field : target.properties()) {
+                if (!source.has(field.getKey())) {
+                    operation(patch, "add", path + "/" + escape(field.getKey()), field.getValue());
+                }
+            }
+        } else if (source.isArray() && target.isArray()) {
+            diffArray(source, target, path, patch);
+        } else {
+            operation(patch, "replace", path, target);
+        }
+    }
+
+    private static void diffArray(JsonNode source, JsonNode target, String path, ArrayNode patch) {
+        int prefix = 0;
+        while (prefix < source.size() && prefix < target.size() && source.get(prefix).equals(target.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < source.size() - prefix && suffix < target.size() - prefix
+                && source.get(source.size() - 1 - suffix).equals(target.get(target.size() - 1 - suffix))) {
+            suffix++;
+        }
+        int removed = source.size() - prefix - suffix;
+        int added = target.size() - prefix - suffix;
+        int paired = Math.min(removed, added);
+        for (int i = prefix; i < prefix + paired; i++) {
+            diff(source.get(i), target.get(i), path + "/" + i, patch);
+        }
+        // From the end, so the indices of the remaining ones do not shift
+        for (int i = prefix + removed - 1; i >= prefix + paired; i--) {
+            operation(patch, "remove", path + "/" + i, null);
+        }
+        for (int i = prefix + paired; i < prefix + added; i++) {
+            operation(patch, "add", path + "/" + i, target.get(i));
+        }
+    }
+
+    private static void operation(ArrayNode patch, String op, String path, JsonNode value) {
+        ObjectNode operation = patch.addObject().put("op", op).put("path", path);
+        if (value != null) {
+            operation.set("value", value);
+        }
+    }
+
+    private static JsonNode resolve(JsonNode document, String pointer) {
+        JsonNode node = document;
+        if (pointer.isEmpty()) {
+            return node;
+        }
+        for (String token : pointer.substring(1).split("/", -1)) {
+            String key = unescape(token);
+            node = node.isArray() ? node.get(index(node, key, pointer)) : node.get(key);
+            if (node == null) {
+                throw new IllegalArgumentException("No such path in document: " + pointer);
+            }
+        }
+        return node;
+    }
+
+    private static void add(JsonNode parent, String key, JsonNode value, String path) {
+        if (parent instanceof ObjectNode object) {
+            object.set(key, value);
+        } else if (parent instanceof ArrayNode array) {
+            if ("-".equals(key)) {
+                array.add(value);
+            } else {
+                int index = Integer.parseInt(key);
+                if (index < 0 || index > array.size()) {
+                    throw new IllegalArgumentException("No such path in document: " + path);
+                }
+                array.insert(index, value);
+            }
+        } else {
+            throw new IllegalArgumentException("No such path in document: " + path);
+        }
+    }
+
+    private static void remove(JsonNode parent, String key, String path) {
+        JsonNode removed = null;
+        if (parent instanceof ObjectNode object) {
+            removed = object.remove(key);
+        } else if (parent instanceof ArrayNode array) {
+            removed = array.remove(index(array, key, path));
+        }
+        if (removed == null) {
+            throw new IllegalArgumentException("No such path in document: " + path);
+        }
+    }
+
+    private static int index(JsonNode array, String key, String path) {
+        try {
+            int index = Integer.parseInt(key);
+            if (index >= 0 && index < array.size()) {
+                return index;
+            }
+        } catch (NumberFormatException e) {
+            // fall through
+        }
+        throw new IllegalArgumentException("No such path in document: " + path);
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static String unescape(String token) {
+        return token.replace("~1", "/").replace("~0", "~");
+    }
+}
@@ -0,0 +1,86 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * How alike two JSON answers to the same prompt are, from 0 (unrelated) to
+ * 1 (equal), for comparing the output of two models.
+ *
+ * Objects score the mean over the union of their keys, so a missing field
+ * scores 0. Arrays pair elements by position and count unpaired ones as 0.
+ * Numbers score by relative difference, strings by the overlap of their
+ * words, and other values by equality.
+ */
+public final class JsonSimilarity {
+
+    private JsonSimilarity() {
+    }
+
+    public static double score(JsonNode a, JsonNode b) {
+        if (a == null || b == null || a.isNull() || b.isNull()) {
+            return a == null || a.isNull() ? (b == null || b.isNull() ? 1 : 0) : 0;
+        }
+        if (a.isObject() && b.isObject()) {
+            Set<String> keys = new HashSet<>();
+            a.fieldNames().forEachRemaining(keys::add);
+            b.fieldNames().forEachRemaining(keys::add);
+            if (keys.isEmpty()) {
+                return 1;
+            }
+            double total = 0;
+            for (String key : keys) {
+                total += score(a.get(key), b.get(key));
+            }
+            return total / keys.size();
+        }
+        if (a.isArray() && b.isArray()) {
+            int longest = Math.max(a.size(), b.size());
+            if (longest == 0) {
+                return 1;
+            }
+            double total = 0;
+            Iterator<JsonNode> left = a.elements();
+            Iterator<JsonNode> right = b.elements();
+            while (left.hasNext() && right.hasNext()) {
+                total += score(left.next(), right.next());
+            }
+            return total / longest;
+        }
+        if (a.isNumber() && b.isNumber()) {
+            double x = a.asDouble();
+            double y = b.asDouble();
+            double scale = Math.max(Math.abs(x), Math.abs(y));
+            return scale == 0 ? 1 : 1 - Math.abs(x - y) / scale;
+        }
+        if (a.isTextual() && b.isTextual()) {
+            return words(a.asText(), b.asText());
+        }
+        return a.equals(b) ? 1 : 0;
+    }
+
+    /**
+     * Jaccard overlap of the lower-cased words of two strings.
+     */
+    private static double words(String a, String b) {
+        Set<String> left = wordSet(a);
+        Set<String> right = wordSet(b);
+        if (left.isEmpty() && right.isEmpty()) {
+            return 1;
+        }
+        Set<String> shared = new HashSet<>(left);
+        shared.retainAll(right);
+        return (double) shared.size() / (left.size() + right.size() - shared.size());
+    }
+
+    private static Set<String> wordSet(String text) {
+        Set<String> words = new HashSet<>(Arrays.asList(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")));
+        words.remove("");
+        return words;
+    }
+}
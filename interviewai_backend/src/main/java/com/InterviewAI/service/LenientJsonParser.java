@@ -0,0 +1,211 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.core.json.JsonReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.interviewai.dto.gemini.GeminiSchemas;
+import com.interviewai.exception.AiAnalysisParseException;
+import com.interviewai.metrics.PipelineMetrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses JSON returned by Gemini.
+ * With structured output enabled the response is already valid JSON, so the
+ * fast path is a single readTree call. When that fails (markdown fences, prose
+ * around the object, or output truncated by maxOutputTokens) the text is
+ * cleaned and structurally repaired before giving up.
+ *
+ * Every call is counted in the "gemini.response.parse" metric tagged with
+ * operation and outcome (ok, repaired, failed).
+ */
+@Component
+public class LenientJsonParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(LenientJsonParser.class);
+    private static final String MARKDOWN_JSON = "```json";
+    private static final String MARKDOWN_BACKTICKS = "```";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader lenientReader;
+    private final PipelineMetrics pipelineMetrics;
+
+    public LenientJsonParser(ObjectMapper objectMapper, PipelineMetrics pipelineMetrics) {
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.pipelineMetrics = java.util.Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        this.lenientReader = objectMapper.reader()
+                .with(JsonReadFeature.ALLOW_TRAILING_COMMA)
+                .with(JsonReadFeature.ALLOW_JAVA_COMMENTS);
+    }
+
+    /**
+     * Parses and validates the response text for an operation.
+     *
+     * @param operation The Gemini operation that produced the text
+     * @param rawText   The first text part of the Gemini response
+     * @return The parsed JSON tree
+     * @throws AiAnalysisParseException if the text cannot be parsed or is
+     *                                  missing required fields
+     */
+    public JsonNode parse(GeminiOperation operation, String rawText) {
+        if (rawText == null || rawText.isBlank()) {
+            record(operation, "failed");
+            throw new AiAnalysisParseException("Empty response from Gemini for " + operation.getTag());
+        }
+
+        // Fast path: structured output returns the bare JSON object
+        String trimmed = rawText.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[")) {
+            JsonNode node = tryRead(objectMapper.reader(), trimmed);
+            if (isValid(operation, node)) {
+                record(operation, "ok");
+                return node;
+            }
+        }
+
+        // Slow path: strip markdown and surrounding prose, then repair truncation
+        String cleaned = stripFences(trimmed);
+        List<String> candidates = new ArrayList<>();
+        int start = cleaned.indexOf('{');
+        int end = cleaned.lastIndexOf('}');
+        if (start >= 0 && end > start) {
+            candidates.add(cleaned.substring(start, end + 1)); // Drop prose around a complete object
+        }
+        candidates.addAll(repairTruncated(start > 0 ? cleaned.substring(start) : cleaned));
+        for (String candidate : candidates) {
+            JsonNode node = tryRead(lenientReader, candidate);
+            if (isValid(operation, node)) {
+                record(operation, "repaired");
+                logger.warn("Repaired malformed Gemini JSON for operation {}", operation.getTag());
+                return node;
+            }
+        }
+
+        record(operation, "failed");
+        throw new AiAnalysisParseException("Failed to parse Gemini JSON for " + operation.getTag()
+                + " (" + rawText.length() + " chars)");
+    }
+
+    private JsonNode tryRead(ObjectReader reader, String text) {
+        try {
+            return reader.readTree(text);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean isValid(GeminiOperation operation, JsonNode node) {
+        if (node == null || !node.isObject()) {
+            return false;
+        }
+        for (String field : GeminiSchemas.requiredFields(operation.getResponseSchema())) {
+            if (!node.has(field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void record(GeminiOperation operation, String outcome) {
+        pipelineMetrics.geminiParse(operation.getTag(), outcome);
+    }
+
+    /**
+     * Removes markdown code fences.
+     */
+    static String stripFences(String text) {
+        return text.replace(MARKDOWN_JSON, "").replace(MARKDOWN_BACKTICKS, "").trim();
+    }
+
+    /**
+     * Builds repair candidates for JSON cut off mid-document.
+     * The first candidate keeps a dangling string value by closing it; the
+     * second cuts back to the last point where a value was complete. Both
+     * close every container still open at the cut.
+     */
+    static List<String> repairTruncated(String json) {
+        StringBuilder stack = new StringBuilder();
+        boolean inString = false;
+        boolean escaped = false;
+        boolean stringIsKey = false;
+        char lastSignificant = 0;
+        int safeEnd = -1;
+        String safeStack = "";
+
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                    lastSignificant = '"';
+                    if (!stringIsKey) {
+                        safeEnd = i + 1;
+                        safeStack = stack.toString();
+                    }
+                }
+                continue;
+            }
+            switch (c) {
+                case '"' -> {
+                    inString = true;
+                    stringIsKey = top(stack) == '}' && (lastSignificant == '{' || lastSignificant == ',');
+                }
+                case '{', '[' -> {
+                    stack.append(c == '{' ? '}' : ']');
+                    lastSignificant = c;
+                    safeEnd = i + 1;
+                    safeStack = stack.toString();
+                }
+                case '}', ']' -> {
+                    if (stack.length() > 0) {
+                        stack.setLength(stack.length() - 1);
+                    }
+                    lastSignificant = c;
+                    safeEnd = i + 1;
+                    safeStack = stack.toString();
+                }
+                case ',' -> {
+                    safeEnd = i;
+                    safeStack = stack.toString();
+                    lastSignificant = c;
+                }
+                default -> {
+                    if (!Character.isWhitespace(c)) {
+                        lastSignificant = c;
+                    }
+                }
+            }
+        }
+
+        List<String> candidates = new ArrayList<>();
+        if (stack.length() == 0 && !inString) {
+            return candidates; // Structurally complete, nothing to repair
+        }
+        if (inString && !stringIsKey) {
+            String closed = json + (escaped ? "\\\"" : "\"");
+            candidates.add(closed + closers(stack.toString()));
+        }
+        if (safeEnd > 0) {
+            candidates.add(json.substring(0, safeEnd) + closers(safeStack));
+        }
+        return candidates;
+    }
+
+    private static char top(StringBuilder stack) {
+        return stack.length() == 0 ? 0 : stack.charAt(stack.length() - 1);
+    }
+
+    private static String closers(String stack) {
+        return new StringBuilder(stack).reverse().toString();
+    }
+}
@@ -0,0 +1,267 @@
+package com.interviewai.service;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extracts PDF text page range by page range, several ranges at a time.
+ *
+ * Up to max-parallelism-per-document workers share a document: the calling
+ * thread and others from a fork-join pool shared by all extractions. Each
+ * worker opens its own PDDocument (they are not thread-safe) and takes the
+ * next unclaimed range until none are left, or until the ranges extracted
+ * so far hold max-chars characters. Pages after that would not fit in the
+ * prompt anyway. Ranges are claimed in page order and every claimed range is
+ * finished, so the result is always the document's first pages, in order.
+ *
+ * extract blocks the calling thread until every range is done, so it must
+ * not be called on an event loop thread.
+ *
+ * Pages end with a form feed, which lets the prompt compressor spot
+ * repeated headers. Lines set in a larger font than the page's body text
+ * start with ResumeTextCompressor.HEADING_MARK, which the compressor uses to
+ * find section headings.
+ */
+@Component
+public class PdfTextExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfTextExtractor.class);
+
+    private static final String PAGE_END = String.valueOf(ResumeTextCompressor.PAGE_SEPARATOR);
+    private static final float HEADING_SIZE_RATIO = 1.15f;
+
+    private final ForkJoinPool pool;
+    private final int maxParallelismPerDocument;
+    private final int pagesPerRange;
+    private final int maxChars;
+
+    public PdfTextExtractor(
+            @Value("${pdf.extraction.pool-size:0}") int poolSize,
+            @Value("${pdf.extraction.max-parallelism-per-document:4}") int maxParallelismPerDocument,
+            @Value("${pdf.extraction.pages-per-range:4}") int pagesPerRange,
+            @Value("${pdf.extraction.max-chars:100000}") int maxChars) {
+        if (maxParallelismPerDocument < 1 || pagesPerRange < 1 || maxChars < 1) {
+            throw new IllegalArgumentException("pdf.extraction limits must be positive");
+        }
+        this.pool = new ForkJoinPool(poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors());
+        this.maxParallelismPerDocument = maxParallelismPerDocument;
+        this.pagesPerRange = pagesPerRange;
+        this.maxChars = maxChars;
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Extracts the text of a PDF, pages separated by form feeds.
+     *
+     * @throws IOException if the PDF cannot be read
+     */
+    public String extract(byte[] pdfBytes) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
+            Extraction extraction = new Extraction(pdfBytes, document.getNumberOfPages());
+            List<Future<?>> helpers = new ArrayList<>();
+            for (int i = 1; i < Math.min(maxParallelismPerDocument, extraction.ranges()); i++) {
+                helpers.add(pool.submit(() -> {
+                    extraction.work();
+                    return null;
+                }));
+            }
+            try {
+                extraction.work(document);
+            } catch (IOException | RuntimeException e) {
+                extraction.stop();
+                throw e;
+            }
+            awaitAll(helpers, extraction);
+            return extraction.text();
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> helpers, Extraction extraction) throws IOException {
+        IOException failure = null;
+        for (Future<?> helper : helpers) {
+            try {
+                helper.get();
+            } catch (ExecutionException e) {
+                extraction.stop();
+                if (failure == null) {
+                    failure = e.getCause() instanceof IOException io ? io
+                            : new IOException("PDF text extraction failed", e.getCause());
+                }
+            } catch (InterruptedException e) {
+                extraction.stop();
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while extracting PDF text", e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * One document's ranges, claimed in order and stored by index.
+     */
+    private final class Extraction {
+        private final byte[] pdfBytes;
+        private final int pages;
+        private final String[] texts;
+        private final AtomicInteger nextRange = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private long extractedChars; // guarded by this
+
+        Extraction(byte[] pdfBytes, int pages) {
+            this.pdfBytes = pdfBytes;
+            this.pages = pages;
+            this.texts = new String[(pages + pagesPerRange - 1) / pagesPerRange];
+        }
+
+        int ranges() {
+            return texts.length;
+        }
+
+        void work() throws IOException {
+            if (stopped.get()) {
+                return;
+            }
+            try (PDDocument document = Loader.loadPDF(pdfBytes)) {
+                work(document);
+            }
+        }
+
+        void work(PDDocument document) throws IOException {
+            PDFTextStripper stripper = new LayoutTextStripper();
+            stripper.setPageEnd(PAGE_END);
+            int range;
+            while (!stopped.get() && (range = nextRange.getAndIncrement()) < texts.length) {
+                stripper.setStartPage(range * pagesPerRange + 1);
+                stripper.setEndPage(Math.min(pages, (range + 1) * pagesPerRange));
+                completed(range, stripper.getText(document));
+            }
+        }
+
+        private synchronized void completed(int range, String text) {
+            texts[range] = text;
+            extractedChars += text.length();
+            if (extractedChars >= maxChars && nextRange.get() < texts.length && stopped.compareAndSet(false, true)) {
+                logger.debug("Stopped PDF extraction at page {} of {}: text budget reached",
+                        Math.min(pages, nextRange.get() * pagesPerRange), pages);
+            }
+        }
+
+        void stop() {
+            stopped.set(true);
+        }
+
+        /**
+         * The extracted ranges, once every worker is done.
+         */
+        synchronized String text() {
+            StringBuilder text = new StringBuilder((int) Math.min(Integer.MAX_VALUE, extractedChars));
+            for (int i = 0; i < texts.length && texts[i] != null; i++) {
+                text.append(texts[i]);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Buffers each line and marks it if every character is set larger than
+     * the page's most common font size. Bold alone is not enough: resumes
+     * often set job titles and employers in bold. Documents in a single font
+     * size come out as PDFTextStripper's.
+     */
+    private static final class LayoutTextStripper extends PDFTextStripper {
+        private final StringBuilder line = new StringBuilder();
+        private boolean lineHeading = true;
+        private float bodyFontSize;
+
+        @Override
+        protected void writePage() throws IOException {
+            Map<Integer, Integer> sizes = new HashMap<>();
+            for (List<TextPosition> article : getCharactersByArticle()) {
+                for (TextPosition position : article) {
+                    sizes.merge(Math.round(position.getFontSizeInPt()), 1, Integer::sum);
+                }
+            }
+            bodyFontSize = sizes.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(0);
+            super.writePage();
+        }
+
+        @Override
+        protected void writeString(String text, List<TextPosition> textPositions) {
+            line.append(text);
+            for (TextPosition position : textPositions) {
+                if (!position.getUnicode().isBlank()
+                        && position.getFontSizeInPt() < bodyFontSize * HEADING_SIZE_RATIO) {
+                    lineHeading = false;
+                }
+            }
+        }
+
+        @Override
+        protected void writeWordSeparator() {
+            line.append(getWordSeparator());
+        }
+
+        @Override
+        protected void writeLineSeparator() throws IOException {
+            flushLine();
+            super.writeLineSeparator();
+        }
+
+        @Override
+        protected void writeParagraphStart() throws IOException {
+            flushLine();
+            super.writeParagraphStart();
+        }
+
+        @Override
+        protected void writeParagraphEnd() throws IOException {
+            flushLine();
+            super.writeParagraphEnd();
+        }
+
+        @Override
+        protected void writePageEnd() throws IOException {
+            flushLine();
+            super.writePageEnd();
+        }
+
+        private void flushLine() throws IOException {
+            if (!line.isEmpty()) {
+                if (lineHeading && !line.toString().isBlank()) {
+                    writeString(String.valueOf(ResumeTextCompressor.HEADING_MARK));
+                }
+                writeString(line.toString());
+            }
+            line.setLength(0);
+            lineHeading = true;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.interviewai.service;
+
+import com.interviewai.exception.PromptTooLargeException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token budgets for the variable sections of Gemini prompts.
+ * User-supplied text (resume, job description, transcript) is fitted to its
+ * budget before the prompt is assembled, and the assembled prompt is checked
+ * against a hard ceiling before it is sent.
+ */
+@Component
+public class PromptBudget {
+
+    private final TokenEstimator tokenEstimator;
+    private final ResumeTextCompressor resumeTextCompressor;
+    private final int resumeMaxTokens;
+    private final int jobDescriptionMaxTokens;
+    private final int transcriptMaxTokens;
+    private final int promptMaxTokens;
+
+    public PromptBudget(TokenEstimator tokenEstimator,
+            ResumeTextCompressor resumeTextCompressor,
+            @Value("${gemini.prompt.resume-max-tokens:6000}") int resumeMaxTokens,
+            @Value("${gemini.prompt.job-description-max-tokens:1500}") int jobDescriptionMaxTokens,
+            @Value("${gemini.prompt.transcript-max-tokens:12000}") int transcriptMaxTokens,
+            @Value("${gemini.prompt.max-tokens:24000}") int promptMaxTokens) {
+        this.tokenEstimator = java.util.Objects.requireNonNull(tokenEstimator, "tokenEstimator must not be null");
+        this.resumeTextCompressor = java.util.Objects.requireNonNull(resumeTextCompressor,
+                "resumeTextCompressor must not be null");
+        this.resumeMaxTokens = resumeMaxTokens;
+        this.jobDescriptionMaxTokens = jobDescriptionMaxTokens;
+        this.transcriptMaxTokens = transcriptMaxTokens;
+        this.promptMaxTokens = promptMaxTokens;
+    }
+
+    /**
+     * Compresses extracted resume text into the resume budget.
+     */
+    public String fitResume(String resumeText) {
+        return resumeTextCompressor.compress(resumeText, resumeMaxTokens);
+    }
+
+    /**
+     * Collapses whitespace in a job description and truncates it to budget.
+     */
+    public String fitJobDescription(String jobDescription) {
+        if (jobDescription == null || jobDescription.isBlank()) {
+            return "";
+        }
+        String collapsed = jobDescription.replaceAll("[ \\t]+", " ").replaceAll("\\n{3,}", "\n\n").trim();
+        return tokenEstimator.truncateToTokens(collapsed, jobDescriptionMaxTokens);
+    }
+
+    /**
+     * Fits an interview transcript to budget, keeping its beginning and end
+     * since closing answers matter as much as the opening ones.
+     */
+    public String fitTranscript(String transcript) {
+        if (transcript == null || tokenEstimator.estimateTokens(transcript) <= transcriptMaxTokens) {
+            return transcript;
+        }
+        int half = tokenEstimator.charsForTokens(transcriptMaxTokens) / 2;
+        return transcript.substring(0, half) + "\n[...]\n" + transcript.substring(transcript.length() - half);
+    }
+
+    /**
+     * Estimates the prompt size and rejects prompts over the hard ceiling.
+     *
+     * @return The estimated token count of the prompt
+     * @throws PromptTooLargeException if the prompt exceeds the ceiling
+     */
+    public int checkPrompt(GeminiOperation operation, String prompt) {
+        int tokens = tokenEstimator.estimateTokens(prompt);
+        if (tokens > promptMaxTokens) {
+            throw new PromptTooLargeException("Prompt for " + operation.getTag() + " is ~" + tokens
+                    + " tokens, limit is " + promptMaxTokens);
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,121 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.admission.FairQueue;
+import com.interviewai.dto.RankedResume;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.ranking.ResumeIndex;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranks every analyzed resume against a job description for recruiters.
+ * The ranking itself is local (see ResumeIndex); only the top resumes the
+ * recruiter asks for are sent to Gemini, and those analyses are returned
+ * without being saved, so the candidates' own analyses stay as they are.
+ */
+@Service
+public class RecruiterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecruiterService.class);
+    private static final String OPERATION = GeminiOperation.RESUME_ANALYSIS.getTag();
+
+    private final ResumeIndex resumeIndex;
+    private final ResumeIndexBackfill backfill;
+    private final ResumeService resumeService;
+    private final GeminiService geminiService;
+    private final JobDigestService jobDigestService;
+    private final ObjectMapper objectMapper;
+    private final PipelineMetrics pipelineMetrics;
+    private final int maxResults;
+    private final int maxDeepAnalyses;
+
+    public RecruiterService(ResumeIndex resumeIndex,
+            ResumeService resumeService,
+            GeminiService geminiService,
+            JobDigestService jobDigestService,
+            ResumeIndexBackfill backfill,
+            ObjectMapper objectMapper,
+            PipelineMetrics pipelineMetrics,
+            @Value("${ranking.max-results:100}") int maxResults,
+            @Value("${ranking.max-deep-analyses:5}") int maxDeepAnalyses) {
+        this.resumeIndex = java.util.Objects.requireNonNull(resumeIndex, "resumeIndex must not be null");
+        this.resumeService = java.util.Objects.requireNonNull(resumeService, "resumeService must not be null");
+        this.geminiService = java.util.Objects.requireNonNull(geminiService, "geminiService must not be null");
+        this.jobDigestService = java.util.Objects.requireNonNull(jobDigestService,
+                "jobDigestService must not be null");
+        this.backfill = java.util.Objects.requireNonNull(backfill, "backfill must not be null");
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.pipelineMetrics = java.util.Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        this.maxResults = maxResults;
+        this.maxDeepAnalyses = maxDeepAnalyses;
+    }
+
+    /**
+     * Whether every stored analysis is indexed (see ResumeIndexBackfill).
+     * Until then rankings would miss resumes.
+     */
+    public boolean isIndexComplete() {
+        return backfill.isComplete();
+    }
+
+    /**
+     * Ranks the indexed resumes against a job description.
+     *
+     * @param jobDescription The job description
+     * @param limit          How many resumes to return (capped by ranking.max-results)
+     * @param deepAnalyses   How many of the best to also analyze with Gemini
+     *                       (capped by ranking.max-deep-analyses)
+     * @param recruiterId    The ID of the recruiter, whose Gemini quota the
+     *                       deep analyses use
+     * @return A Mono containing the best matching resumes, best first
+     */
+    public Mono<List<RankedResume>> rank(String jobDescription, int limit, int deepAnalyses, UUID recruiterId) {
+        int results = Math.min(limit, maxResults);
+        int deep = Math.min(deepAnalyses, maxDeepAnalyses);
+        return Mono.fromCallable(() -> pipelineMetrics.observe("recruiter.rank", OPERATION,
+                () -> resumeIndex.rank(jobDescription, results)))
+                .flatMap(hits -> Flux.range(0, hits.size())
+                        .flatMapSequential(i -> i < deep
+                                ? deepAnalysis(hits.get(i), jobDescription, recruiterId)
+                                : Mono.just(ranked(hits.get(i), null)))
+                        .collectList());
+    }
+
+    /**
+     * Analyzes a ranked resume with Gemini. A failure leaves the resume
+     * ranked without an analysis rather than failing the whole ranking.
+     */
+    private Mono<RankedResume> deepAnalysis(ResumeIndex.Hit hit, String jobDescription, UUID recruiterId) {
+        return Mono.zip(resumeService.loadResume(hit.resumeId(), hit.userId()),
+                jobDigestService.resolve(jobDescription))
+                .flatMap(loaded -> geminiService.analyzeResume(loaded.getT1().text(), loaded.getT1().fileName(),
+                        loaded.getT1().fileSize(), loaded.getT1().uploadDate(), loaded.getT2()))
+                .contextWrite(FairQueue.forUser(recruiterId))
+                .map(json -> {
+                    try {
+                        return ranked(hit, objectMapper.readTree(json));
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Unparseable analysis: " + e.getMessage(), e);
+                    }
+                })
+                .onErrorResume(e -> {
+                    logger.warn("Deep analysis of resume {} failed: {}", hit.resumeId(), e.getMessage());
+                    return Mono.just(ranked(hit, null));
+                });
+    }
+
+    private static RankedResume ranked(ResumeIndex.Hit hit, JsonNode analysis) {
+        return new RankedResume(hit.resumeId(), hit.userId(), hit.match().score(), hit.match().matched(),
+                hit.match().missing(), analysis);
+    }
+}
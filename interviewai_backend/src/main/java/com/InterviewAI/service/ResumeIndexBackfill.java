@@ -0,0 +1,126 @@
+package com.interviewai.service;
+
+import com.interviewai.model.ResumeAnalysis;
+import com.interviewai.ranking.ResumeIndex;
+import com.interviewai.repository.ResumeAnalysisRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills an empty resume index from the stored analyses in the background,
+ * e.g. on the first start or when the index is kept in memory only. Their
+ * resume text is not stored, so these entries hold the analyses' skill
+ * lists only until the resumes are analyzed again.
+ *
+ * Readiness (the resumeIndexBackfill health indicator, part of the
+ * readiness group) is OUT_OF_SERVICE until the backfill has finished or
+ * ranking.backfill-timeout has passed. Rankings are refused until it has
+ * finished, so they are never computed from part of the resumes.
+ */
+@Component
+public class ResumeIndexBackfill implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeIndexBackfill.class);
+    private static final int BATCH = 500;
+
+    private final ResumeIndex resumeIndex;
+    private final ResumeAnalysisRepository resumeAnalysisRepository;
+    private final Duration timeout;
+
+    private final AtomicInteger indexed = new AtomicInteger();
+    private volatile boolean complete;
+    private volatile boolean ready;
+
+    public ResumeIndexBackfill(ResumeIndex resumeIndex,
+            ResumeAnalysisRepository resumeAnalysisRepository,
+            @Value("${ranking.backfill-timeout:PT90S}") Duration timeout) {
+        this.resumeIndex = java.util.Objects.requireNonNull(resumeIndex, "resumeIndex must not be null");
+        this.resumeAnalysisRepository = java.util.Objects.requireNonNull(resumeAnalysisRepository,
+                "resumeAnalysisRepository must not be null");
+        this.timeout = java.util.Objects.requireNonNull(timeout, "ranking.backfill-timeout must not be null");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (resumeIndex.size() > 0) {
+            complete = true;
+            ready = true;
+            return;
+        }
+        Thread worker = Thread.ofPlatform().name("resume-index-backfill").daemon().start(this::run);
+        Thread.ofVirtual().name("resume-index-backfill-timeout").start(() -> {
+            try {
+                worker.join(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!ready) {
+                logger.warn("Resume index backfill did not finish within {}, accepting traffic without ranking",
+                        timeout);
+                ready = true;
+            }
+        });
+    }
+
+    /**
+     * Whether the index holds every stored analysis, so rankings are complete.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = ready ? Health.up() : Health.outOfService();
+        return health.withDetail("complete", complete).withDetail("indexed", indexed.get()).build();
+    }
+
+    private void run() {
+        // Resumes analyzed while the backfill runs are added by ResumeService with their text
+        Set<UUID> backfilled = new HashSet<>();
+        try {
+            Page<ResumeAnalysis> page;
+            int number = 0;
+            do {
+                // Oldest first, so that the latest analysis of a resume wins
+                page = resumeAnalysisRepository.findAll(
+                        PageRequest.of(number++, BATCH, Sort.by("generatedAt", "id")));
+                for (ResumeAnalysis analysis : page) {
+                    UUID resumeId = analysis.getResumeId();
+                    if (resumeIndex.contains(resumeId) && !backfilled.contains(resumeId)) {
+                        continue;
+                    }
+                    resumeIndex.add(resumeId, analysis.getUserId(), "", analysis.getStrengths());
+                    backfilled.add(resumeId);
+                    indexed.incrementAndGet();
+                }
+            } while (page.hasNext());
+            complete = true;
+        } catch (DataAccessException e) {
+            logger.warn("Indexing stored resume analyses failed after {} rows: {}", indexed.get(), e.getMessage());
+        } finally {
+            resumeIndex.flush();
+            ready = true;
+            if (indexed.get() > 0) {
+                logger.info("Indexed {} stored resume analyses for ranking", indexed.get());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.interviewai.service;
+
+import com.interviewai.dto.ResumeBuildRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The parts of a built resume that Gemini writes. The key is the property
+ * name in both ResumeBuildRequest and the generated content; list sections
+ * map their input entries one-to-one onto generated entries.
+ */
+public enum ResumeSection {
+
+    EXPERIENCE("experience", "work experience entry", ResumeBuildRequest::getExperience),
+    EDUCATION("education", "education entry", ResumeBuildRequest::getEducation),
+    PROJECTS("projects", "project entry", ResumeBuildRequest::getProjects),
+    CERTIFICATIONS("certifications", "certification entry", ResumeBuildRequest::getCertifications),
+    SKILLS("skills", "skills list", null),
+    SUMMARY("summary", "professional summary", null);
+
+    private final String key;
+    private final String label;
+    private final Function<ResumeBuildRequest, List<Map<String, String>>> entries;
+
+    ResumeSection(String key, String label, Function<ResumeBuildRequest, List<Map<String, String>>> entries) {
+        this.key = key;
+        this.label = label;
+        this.entries = entries;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isList() {
+        return entries != null;
+    }
+
+    /**
+     * The input entries of a list section, empty if there are none.
+     */
+    public List<Map<String, String>> entries(ResumeBuildRequest request) {
+        if (entries == null) {
+            throw new IllegalStateException(key + " is not a list section");
+        }
+        List<Map<String, String>> list = entries.apply(request);
+        return list == null ? List.of() : list;
+    }
+}
@@ -2,18 +2,26 @@ package com.interviewai.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.admission.FairQueue;
+import com.interviewai.cache.CachedPayload;
+import com.interviewai.cache.OffHeapReadCache;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.dto.KeywordMatch;
+import com.interviewai.dto.ResumeAnalysisJson;
+import com.interviewai.logging.LogMarkers;
+import com.interviewai.match.KeywordMatcher;
+import com.interviewai.metrics.PipelineMetrics;
 import com.interviewai.model.ResumeAnalysis;
+import com.interviewai.ranking.ResumeIndex;
 import com.interviewai.repository.ResumeAnalysisRepository;
 
-import org.apache.pdfbox.Loader;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import com.interviewai.exception.AiAnalysisParseException;
 import com.interviewai.exception.AnalysisNotFoundException;
 import com.interviewai.exception.DownloadFailedException;
@@ -34,22 +42,43 @@ import java.util.UUID;
 public class ResumeService {
 
     private static final Logger logger = LoggerFactory.getLogger(ResumeService.class);
+    private static final String OPERATION = GeminiOperation.RESUME_ANALYSIS.getTag();
 
     private final GeminiService geminiService;
     private final ResumeAnalysisRepository resumeAnalysisRepository;
     private final WebClient supabaseWebClient;
     private final ObjectMapper objectMapper;
+    private final PipelineMetrics pipelineMetrics;
+    private final PdfTextExtractor pdfTextExtractor;
+    private final KeywordMatcher keywordMatcher;
+    private final ResumeIndex resumeIndex;
+    private final JobDigestService jobDigestService;
+    private final OffHeapReadCache<UUID, ResumeAnalysisJson, UUID> analysisCache;
 
     public ResumeService(GeminiService geminiService,
             ResumeAnalysisRepository resumeAnalysisRepository,
             @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            PipelineMetrics pipelineMetrics,
+            PdfTextExtractor pdfTextExtractor,
+            KeywordMatcher keywordMatcher,
+            ResumeIndex resumeIndex,
+            JobDigestService jobDigestService,
+            ReadCacheFactory readCacheFactory) {
         this.geminiService = java.util.Objects.requireNonNull(geminiService, "geminiService must not be null");
         this.resumeAnalysisRepository = java.util.Objects.requireNonNull(resumeAnalysisRepository,
                 "resumeAnalysisRepository must not be null");
         this.supabaseWebClient = java.util.Objects.requireNonNull(supabaseWebClient,
                 "supabaseWebClient must not be null");
         this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.pipelineMetrics = java.util.Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        this.pdfTextExtractor = java.util.Objects.requireNonNull(pdfTextExtractor,
+                "pdfTextExtractor must not be null");
+        this.keywordMatcher = java.util.Objects.requireNonNull(keywordMatcher, "keywordMatcher must not be null");
+        this.resumeIndex = java.util.Objects.requireNonNull(resumeIndex, "resumeIndex must not be null");
+        this.jobDigestService = java.util.Objects.requireNonNull(jobDigestService,
+                "jobDigestService must not be null");
+        this.analysisCache = readCacheFactory.createOffHeap("resumeAnalysis", ResumeAnalysisJson::userId);
     }
 
     /**
@@ -62,8 +91,41 @@ public class ResumeService {
      * @return A Mono containing the saved ResumeAnalysis entity
      */
     public Mono<ResumeAnalysis> analyzeResume(UUID resumeId, UUID userId, String jobDescription) {
+        return loadResume(resumeId, userId)
+                .flatMap(resume -> analyzeResume(resume, resumeId, userId, jobDescription));
+    }
+
+    /**
+     * Matches a resume against a job description with the local keyword
+     * matcher, without calling Gemini.
+     *
+     * @param resumeId       The ID of the resume
+     * @param userId         The ID of the user (for security verification)
+     * @param jobDescription The job description
+     * @return A Mono containing the match score and matched and missing skills
+     */
+    public Mono<KeywordMatch> matchKeywords(UUID resumeId, UUID userId, String jobDescription) {
+        return loadResume(resumeId, userId).map(resume -> matchKeywords(resume, jobDescription));
+    }
+
+    /**
+     * Matches an already loaded resume against a job description.
+     */
+    public KeywordMatch matchKeywords(ResumeFile resume, String jobDescription) {
+        return pipelineMetrics.observe("resume.keyword.match", OPERATION,
+                () -> keywordMatcher.match(resume.text(), jobDescription));
+    }
+
+    /**
+     * Downloads a resume from Supabase Storage and extracts its text.
+     *
+     * @param resumeId The ID of the resume
+     * @param userId   The ID of the user (for security verification)
+     * @return A Mono containing the resume's text and file metadata
+     */
+    public Mono<ResumeFile> loadResume(UUID resumeId, UUID userId) {
         // 1. Get the resume metadata from the 'resumes' table
-        return supabaseWebClient.get()
+        Mono<String> metadata = supabaseWebClient.get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/rest/v1/resumes")
                         .queryParam("select", "file_path,file_name,file_size_bytes,upload_date")
@@ -71,12 +133,14 @@ public class ResumeService {
                         .queryParam("user_id", "eq." + userId.toString())
                         .build())
                 .retrieve()
-                .bodyToMono(String.class)
+                .bodyToMono(String.class);
+
+        return pipelineMetrics.observe("supabase.metadata.fetch", OPERATION, metadata)
                 .flatMap(responseBody -> {
                     try {
                         JsonNode data = objectMapper.readTree(responseBody);
                         if (!data.isArray() || data.isEmpty()) {
-                            return Mono.<Map<String, Object>>error(
+                            return Mono.<ResumeFile>error(
                                     new ResumeNotFoundException("Resume not found or access denied"));
                         }
 
@@ -87,9 +151,12 @@ public class ResumeService {
                         String uploadDate = resumeData.get("upload_date").asText();
 
                         // 2. Download the file from storage (using authenticated endpoint)
-                        logger.info("Downloading file from: /storage/v1/object/authenticated/resumes/{}", filePath);
-                        return supabaseWebClient.get()
-                                .uri("/storage/v1/object/authenticated/resumes/" + filePath)
+                        logger.debug("Downloading file from: /storage/v1/object/authenticated/resumes/{}", filePath);
+                        Mono<byte[]> download = supabaseWebClient.get()
+                                .uri(uriBuilder -> uriBuilder
+                                        .path("/storage/v1/object/authenticated/resumes/")
+                                        .path(filePath)
+                                        .build())
                                 .retrieve()
                                 .onStatus(
                                         status -> status.is4xxClientError() || status.is5xxServerError(),
@@ -100,34 +167,49 @@ public class ResumeService {
                                                             "Failed to download file: " + errorBody));
                                                 }))
                                 .bodyToMono(byte[].class)
+                                .doOnNext(fileBytes -> pipelineMetrics.storageDownloadBytes(fileBytes.length));
+
+                        return pipelineMetrics.observe("supabase.storage.download", OPERATION, download)
+                                .publishOn(Schedulers.boundedElastic()) // PDF parsing blocks; keep it off the event loop
                                 .map(fileBytes -> {
                                     try {
                                         // 3. Extract text from PDF
                                         String resumeText = extractTextFromPdf(fileBytes);
 
                                         // Return metadata along with resume text
-                                        return Map.of(
-                                                "resumeText", resumeText,
-                                                "fileName", fileName,
-                                                "fileSize", String.format("%.2f KB", fileSize / 1024.0),
-                                                "uploadDate", uploadDate);
+                                        return new ResumeFile(resumeText, fileName,
+                                                String.format("%.2f KB", fileSize / 1024.0), uploadDate);
                                     } catch (IOException e) {
                                         throw new PdfExtractionException(
                                                 "Failed to extract PDF text: " + e.getMessage(), e);
                                     }
                                 });
                     } catch (Exception e) {
-                        return Mono.<Map<String, Object>>error(
+                        return Mono.<ResumeFile>error(
                                 new MetadataParseException("Failed to parse resume metadata: " + e.getMessage(), e));
                     }
-                })
-                // 4. Send text to Gemini for analysis with metadata
-                .flatMap(resumeData -> geminiService.analyzeResume(
-                        (String) resumeData.get("resumeText"),
-                        (String) resumeData.get("fileName"),
-                        (String) resumeData.get("fileSize"),
-                        (String) resumeData.get("uploadDate"),
-                        jobDescription != null ? jobDescription : ""))
+                });
+    }
+
+    /**
+     * Sends a loaded resume to Gemini for analysis and saves the results.
+     *
+     * @param resume         The resume's text and file metadata
+     * @param resumeId       The ID of the resume
+     * @param userId         The ID of the user
+     * @param jobDescription Optional job description for tailored analysis
+     * @return A Mono containing the saved ResumeAnalysis entity
+     */
+    public Mono<ResumeAnalysis> analyzeResume(ResumeFile resume, UUID resumeId, UUID userId, String jobDescription) {
+        // 4. Send text to Gemini for analysis with metadata, and the job description's digest
+        return jobDigestService.resolve(jobDescription)
+                .flatMap(job -> geminiService.analyzeResume(
+                        resume.text(),
+                        resume.fileName(),
+                        resume.fileSize(),
+                        resume.uploadDate(),
+                        job))
+                .contextWrite(FairQueue.forUser(userId))
                 // 5. Parse Gemini's JSON response and save to database
                 .flatMap(geminiResponse -> {
                     try {
@@ -165,8 +247,13 @@ public class ResumeService {
                                 "Skills, Experience, Education, Resume Optimization, Interview Prep, Career Advancement, Professional Development");
                         analysis.setImprovements(objectMapper.valueToTree(summary));
 
-                        // 6. Save analysis to the database
-                        return Mono.fromCallable(() -> resumeAnalysisRepository.save(analysis));
+                        // 6. Save analysis to the database (timed by spring.data.repository.invocations)
+                        return Mono.fromCallable(() -> {
+                            ResumeAnalysis saved = resumeAnalysisRepository.save(analysis);
+                            analysisCache.invalidate(resumeId);
+                            indexForRanking(resume, saved);
+                            return saved;
+                        }).subscribeOn(Schedulers.boundedElastic()); // JPA and index writes block
 
                     } catch (Exception e) {
                         logger.error("Error parsing Gemini response: {}", e.getMessage(), e);
@@ -188,34 +275,68 @@ public class ResumeService {
                             .retrieve()
                             .bodyToMono(Void.class)
                             .subscribe(
-                                    result -> logger.info("Successfully updated is_analyzed flag"),
+                                    result -> logger.info(LogMarkers.SAMPLED, "Successfully updated is_analyzed flag"),
                                     error -> logger.error("Failed to update is_analyzed flag: {}", error.getMessage(),
                                             error));
                 });
     }
 
     /**
-     * Extracts text content from a PDF file using Apache PDFBox.
+     * Adds a saved analysis to the recruiter ranking index. A failure here
+     * only leaves the resume out of rankings until its next analysis.
+     */
+    private void indexForRanking(ResumeFile resume, ResumeAnalysis saved) {
+        try {
+            resumeIndex.add(saved.getResumeId(), saved.getUserId(), resume.text(), saved.getStrengths());
+        } catch (RuntimeException e) {
+            logger.warn("Indexing resume {} for ranking failed: {}", saved.getResumeId(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Extracts text content from a PDF file using Apache PDFBox, several page
+     * ranges at a time (see PdfTextExtractor).
      * 
      * @param pdfBytes The PDF file as a byte array
      * @return The extracted text content
      * @throws IOException if PDF cannot be read
      */
     private String extractTextFromPdf(byte[] pdfBytes) throws IOException {
-        try (PDDocument document = Loader.loadPDF(pdfBytes)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            return stripper.getText(document);
+        try {
+            return pipelineMetrics.observe("resume.pdf.extraction", OPERATION, () -> {
+                try {
+                    return pdfTextExtractor.extract(pdfBytes);
+                } catch (IOException e) {
+                    throw new java.io.UncheckedIOException(e);
+                }
+            });
+        } catch (java.io.UncheckedIOException e) {
+            throw e.getCause();
         }
     }
 
     /**
-     * Retrieves an existing analysis for a resume.
+     * Retrieves an existing analysis for a resume, through the read cache.
+     * The analysis is returned already serialized: its JSONB columns are read
+     * as text and copied into the body verbatim, and kept off-heap while cached.
      * 
      * @param resumeId The resume ID
-     * @return A Mono containing the ResumeAnalysis if found
+     * @return A Mono containing the ResumeAnalysis JSON and its ETag if found
+     */
+    public Mono<CachedPayload<UUID>> getAnalysis(UUID resumeId) {
+        return Mono.fromCallable(() -> {
+            CachedPayload<UUID> entry = analysisCache.get(resumeId,
+                    id -> resumeAnalysisRepository.findJsonByResumeId(id).orElse(null));
+            if (entry == null) {
+                throw new AnalysisNotFoundException("Analysis not found");
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * A downloaded resume: its extracted text and file metadata.
      */
-    public Mono<ResumeAnalysis> getAnalysis(UUID resumeId) {
-        return Mono.fromCallable(() -> resumeAnalysisRepository.findByResumeId(resumeId)
-                .orElseThrow(() -> new AnalysisNotFoundException("Analysis not found")));
+    public record ResumeFile(String text, String fileName, String fileSize, String uploadDate) {
     }
 }
@@ -0,0 +1,313 @@
+package com.interviewai.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks extracted resume text before it is embedded in a prompt.
+ * Collapses whitespace, drops page numbers and all but one copy of headers
+ * and footers, rejoins lines broken by the PDF layout, and groups the text
+ * under canonical section headings ("## EXPERIENCE", "## SKILLS", ...).
+ * When the text is still over budget it keeps sections in priority order
+ * (experience and skills before hobbies and references).
+ *
+ * Pages are expected to be separated by form feeds, and lines set in a
+ * larger font than the body text to start with HEADING_MARK, as produced by
+ * PdfTextExtractor.
+ */
+@Component
+public class ResumeTextCompressor {
+
+    static final char PAGE_SEPARATOR = '\f';
+    static final char HEADING_MARK = '\u001E';
+
+    private static final int EDGE_LINES = 3;
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[ \\t\\u00A0]+");
+    private static final Pattern PAGE_NUMBER = Pattern.compile(
+            "(?i)^(page\\s*)?\\d{1,3}(\\s*(of|/)\\s*\\d{1,3})?$");
+    private static final Pattern PAGE_NUMBER_SUFFIX = Pattern.compile(
+            "(?i)\\s*[|\\u2022\\u00B7-]?\\s*page\\s*\\d{1,3}(\\s*(of|/)\\s*\\d{1,3})?$");
+    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    private static final Pattern BULLET = Pattern.compile(
+            "^(?:[\\u2022\\u25CF\\u25AA\\u25E6\\u2023\\u2219\\u00B7]\\s*|[*\\u2013\\u2014-]\\s+)");
+
+    /**
+     * Heading texts (lower case, letters only, "&" as "and") mapped to the
+     * canonical section name.
+     */
+    private static final Map<String, String> SECTION_NAMES = Map.ofEntries(
+            Map.entry("summary", "SUMMARY"), Map.entry("professional summary", "SUMMARY"),
+            Map.entry("profile", "SUMMARY"), Map.entry("professional profile", "SUMMARY"),
+            Map.entry("objective", "SUMMARY"), Map.entry("career objective", "SUMMARY"),
+            Map.entry("about me", "SUMMARY"),
+            Map.entry("experience", "EXPERIENCE"), Map.entry("work experience", "EXPERIENCE"),
+            Map.entry("professional experience", "EXPERIENCE"), Map.entry("employment", "EXPERIENCE"),
+            Map.entry("employment history", "EXPERIENCE"), Map.entry("work history", "EXPERIENCE"),
+            Map.entry("career history", "EXPERIENCE"), Map.entry("relevant experience", "EXPERIENCE"),
+            Map.entry("skills", "SKILLS"), Map.entry("technical skills", "SKILLS"),
+            Map.entry("core competencies", "SKILLS"), Map.entry("skills and tools", "SKILLS"),
+            Map.entry("key skills", "SKILLS"), Map.entry("technologies", "SKILLS"),
+            Map.entry("education", "EDUCATION"), Map.entry("academic background", "EDUCATION"),
+            Map.entry("education and training", "EDUCATION"),
+            Map.entry("projects", "PROJECTS"), Map.entry("personal projects", "PROJECTS"),
+            Map.entry("selected projects", "PROJECTS"), Map.entry("key projects", "PROJECTS"),
+            Map.entry("certifications", "CERTIFICATIONS"), Map.entry("certificates", "CERTIFICATIONS"),
+            Map.entry("licenses and certifications", "CERTIFICATIONS"),
+            Map.entry("certifications and licenses", "CERTIFICATIONS"),
+            Map.entry("awards", "AWARDS"), Map.entry("honors and awards", "AWARDS"),
+            Map.entry("publications", "PUBLICATIONS"), Map.entry("languages", "LANGUAGES"),
+            Map.entry("volunteer", "VOLUNTEER"), Map.entry("volunteering", "VOLUNTEER"),
+            Map.entry("volunteer experience", "VOLUNTEER"),
+            Map.entry("interests", "INTERESTS"), Map.entry("hobbies", "INTERESTS"),
+            Map.entry("hobbies and interests", "INTERESTS"), Map.entry("references", "REFERENCES"));
+
+    /**
+     * Canonical sections mapped to their priority (lower keeps first).
+     */
+    private static final Map<String, Integer> SECTION_PRIORITIES = Map.ofEntries(
+            Map.entry("EXPERIENCE", 0), Map.entry("SUMMARY", 1), Map.entry("SKILLS", 1),
+            Map.entry("EDUCATION", 2), Map.entry("PROJECTS", 2), Map.entry("CERTIFICATIONS", 3),
+            Map.entry("AWARDS", 4), Map.entry("PUBLICATIONS", 4), Map.entry("LANGUAGES", 4),
+            Map.entry("VOLUNTEER", 5), Map.entry("INTERESTS", 6), Map.entry("REFERENCES", 7));
+    private static final int DEFAULT_PRIORITY = 3;
+
+    private final TokenEstimator tokenEstimator;
+
+    public ResumeTextCompressor(TokenEstimator tokenEstimator) {
+        this.tokenEstimator = java.util.Objects.requireNonNull(tokenEstimator, "tokenEstimator must not be null");
+    }
+
+    /**
+     * Compresses resume text to fit a token budget.
+     *
+     * @param text      The raw extracted text, pages separated by form feeds
+     * @param maxTokens The token budget for the resume section of the prompt
+     * @return The normalized text under section headings, truncated by
+     *         section priority if needed
+     */
+    public String compress(String text, int maxTokens) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        List<Section> sections = splitSections(joinWrappedLines(removeRepeatedPageEdges(text)));
+        StringBuilder sb = new StringBuilder();
+        for (Section section : sections) {
+            sb.append(section.text()).append('\n');
+        }
+        String structured = sb.toString().trim();
+        if (tokenEstimator.estimateTokens(structured) <= maxTokens) {
+            return structured;
+        }
+        return truncateBySection(sections, maxTokens);
+    }
+
+    /**
+     * Normalizes each page and drops bare page numbers. Lines that repeat at
+     * the top or bottom of several pages (usually name and contact details)
+     * are kept once, without their page number, at the start of the text.
+     */
+    private List<String> removeRepeatedPageEdges(String text) {
+        List<List<String>> pages = new ArrayList<>();
+        for (String page : text.split(String.valueOf(PAGE_SEPARATOR))) {
+            List<String> pageLines = new ArrayList<>();
+            for (String line : page.split("\\R")) {
+                // trim() would also strip the heading mark
+                String cleaned = HORIZONTAL_WHITESPACE.matcher(unmarked(line)).replaceAll(" ").trim();
+                if (!cleaned.isEmpty() && !PAGE_NUMBER.matcher(cleaned).matches()) {
+                    pageLines.add(isMarked(line) ? HEADING_MARK + cleaned : cleaned);
+                }
+            }
+            if (!pageLines.isEmpty()) {
+                pages.add(pageLines);
+            }
+        }
+
+        // Count edge lines per page, ignoring digits so "Page 2" and "Page 3" match
+        Map<String, Integer> edgeCounts = new HashMap<>();
+        for (List<String> page : pages) {
+            Set<String> seenOnPage = new HashSet<>();
+            for (int i = 0; i < page.size(); i++) {
+                if (i < EDGE_LINES || i >= page.size() - EDGE_LINES) {
+                    String key = edgeKey(page.get(i));
+                    if (seenOnPage.add(key)) {
+                        edgeCounts.merge(key, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+
+        List<String> edges = new ArrayList<>();
+        List<String> body = new ArrayList<>();
+        Set<String> emitted = new HashSet<>();
+        for (List<String> page : pages) {
+            for (int i = 0; i < page.size(); i++) {
+                String line = page.get(i);
+                boolean edge = i < EDGE_LINES || i >= page.size() - EDGE_LINES;
+                if (edge && pages.size() > 1 && edgeCounts.getOrDefault(edgeKey(line), 0) > 1) {
+                    String withoutPage = PAGE_NUMBER_SUFFIX.matcher(unmarked(line)).replaceFirst("");
+                    if (emitted.add(edgeKey(line)) && !withoutPage.isEmpty()) {
+                        edges.add(withoutPage);
+                    }
+                    continue;
+                }
+                body.add(line);
+            }
+        }
+        edges.addAll(body);
+        return edges;
+    }
+
+    /**
+     * Rejoins lines the PDF layout wrapped: a line continues the previous one
+     * if that ended in a comma, or if it starts in lower case and the previous
+     * one did not end a sentence. Words hyphenated across lines are put back
+     * together. Bullets are written as "- ".
+     */
+    private static List<String> joinWrappedLines(List<String> lines) {
+        List<String> result = new ArrayList<>();
+        for (String line : lines) {
+            boolean bullet = BULLET.matcher(unmarked(line)).find();
+            if (bullet) {
+                line = "- " + BULLET.matcher(unmarked(line)).replaceFirst("");
+            }
+            String previous = result.isEmpty() ? null : result.get(result.size() - 1);
+            if (previous != null && !bullet && !isMarked(line) && !isMarked(previous)) {
+                boolean lowerCase = Character.isLowerCase(line.charAt(0));
+                if (lowerCase && previous.length() > 1 && previous.endsWith("-")
+                        && Character.isLetter(previous.charAt(previous.length() - 2))) {
+                    result.set(result.size() - 1, previous.substring(0, previous.length() - 1) + line);
+                    continue;
+                }
+                boolean sentenceEnded = ".:;!?".indexOf(previous.charAt(previous.length() - 1)) >= 0;
+                if (previous.endsWith(",") || (lowerCase && !sentenceEnded)) {
+                    result.set(result.size() - 1, previous + " " + line);
+                    continue;
+                }
+            }
+            result.add(line);
+        }
+        return result;
+    }
+
+    private String truncateBySection(List<Section> sections, int maxTokens) {
+        List<Section> byPriority = new ArrayList<>(sections);
+        byPriority.sort(Comparator.comparingInt(Section::priority).thenComparingInt(Section::order));
+
+        int remaining = maxTokens;
+        Map<Integer, String> kept = new HashMap<>();
+        for (Section section : byPriority) {
+            if (remaining <= 0) {
+                break;
+            }
+            String body = section.text();
+            int tokens = tokenEstimator.estimateTokens(body);
+            if (tokens > remaining) {
+                body = tokenEstimator.truncateToTokens(body, remaining);
+                tokens = tokenEstimator.estimateTokens(body);
+            }
+            kept.put(section.order(), body);
+            remaining -= tokens + 1;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (Section section : sections) {
+            String body = kept.get(section.order());
+            if (body != null && !body.isEmpty()) {
+                sb.append(body).append('\n');
+            }
+        }
+        return sb.toString().trim();
+    }
+
+    private List<Section> splitSections(List<String> lines) {
+        List<Section> sections = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        String name = null; // Text before the first heading is contact info and headline
+        boolean first = true;
+        for (String line : lines) {
+            // The first line is usually the candidate's name, never a heading
+            String heading = first ? null : sectionName(line);
+            // Once sections have started, a short line in a larger font starts one with an
+            // unusual name. Capitals alone are not enough: "AWS" or "ACME CORP" are body text.
+            // Before that, large lines are the name and headline.
+            if (heading == null && name != null && looksLikeHeading(line)) {
+                heading = unmarked(line).toUpperCase(Locale.ROOT);
+            }
+            first = false;
+            if (heading != null) {
+                if (current.length() > 0 || name != null) {
+                    sections.add(new Section(sections.size(), priority(name), name, current.toString().trim()));
+                    current.setLength(0);
+                }
+                name = heading;
+                continue;
+            }
+            current.append(unmarked(line)).append('\n');
+        }
+        if (current.length() > 0 || name != null) {
+            sections.add(new Section(sections.size(), priority(name), name, current.toString().trim()));
+        }
+        return sections;
+    }
+
+    /**
+     * Returns the canonical name of a known section heading, such as
+     * "Work History" or "TECHNICAL SKILLS:", or null.
+     */
+    static String sectionName(String line) {
+        String text = unmarked(line);
+        if (text.length() > 40) {
+            return null;
+        }
+        String key = text.toLowerCase(Locale.ROOT).replace("&", " and ").replaceAll("[^a-z ]", "")
+                .replaceAll(" +", " ").trim();
+        return SECTION_NAMES.get(key);
+    }
+
+    /**
+     * Whether a line could be the heading of a section with an unusual name:
+     * a short title set in a larger font.
+     */
+    private static boolean looksLikeHeading(String line) {
+        String text = unmarked(line);
+        return isMarked(line)
+                && text.chars().anyMatch(Character::isLetter)
+                && text.chars().noneMatch(c -> Character.isDigit(c) || ",|@.:;".indexOf(c) >= 0)
+                && text.split(" ").length <= 4;
+    }
+
+    private static int priority(String section) {
+        // Untitled text at the top is contact info and headline
+        return section == null ? 0 : SECTION_PRIORITIES.getOrDefault(section, DEFAULT_PRIORITY);
+    }
+
+    private static boolean isMarked(String line) {
+        return !line.isEmpty() && line.charAt(0) == HEADING_MARK;
+    }
+
+    private static String unmarked(String line) {
+        return isMarked(line) ? line.substring(1) : line;
+    }
+
+    private static String edgeKey(String line) {
+        return DIGITS.matcher(unmarked(line).toLowerCase(Locale.ROOT)).replaceAll("#");
+    }
+
+    private record Section(int order, int priority, String name, String body) {
+        String text() {
+            if (name == null) {
+                return body;
+            }
+            return body.isEmpty() ? "## " + name : "## " + name + "\n" + body;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interviewai.admission.FairQueue;
+import com.interviewai.dto.ResumeBuildRequest;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.model.BuiltResume;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Updates built resumes by regenerating only the parts whose input changed.
+ *
+ * The edited input is compared with the stored userInputData entry by
+ * entry. An entry of a list section (experience, education, projects,
+ * certifications) equal to a stored one keeps that entry's generated
+ * content, wherever it moved; every other entry is rewritten on its own by
+ * a small Gemini call, and the calls run in parallel. The skills are
+ * regenerated when the skills list changed, the summary when the experience
+ * or the skills did. Personal info and the title are not generated, so
+ * editing them costs no call.
+ *
+ * A resume whose stored content cannot be lined up with its input (a failed
+ * build, or output with a different number of entries) is rebuilt in full.
+ * Nothing is saved unless every call succeeds.
+ */
+@Service
+public class ResumeUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeUpdateService.class);
+    private static final String INCREMENTAL = "incremental";
+    private static final String FULL = "full";
+
+    private final GeminiService geminiService;
+    private final BuiltResumeService builtResumeService;
+    private final ObjectMapper objectMapper;
+    private final TokenEstimator tokenEstimator;
+    private final PipelineMetrics pipelineMetrics;
+    private final int concurrency;
+
+    public ResumeUpdateService(GeminiService geminiService,
+            BuiltResumeService builtResumeService,
+            ObjectMapper objectMapper,
+            TokenEstimator tokenEstimator,
+            PipelineMetrics pipelineMetrics,
+            @Value("${resume-builder.update-concurrency:4}") int concurrency) {
+        this.geminiService = Objects.requireNonNull(geminiService, "geminiService must not be null");
+        this.builtResumeService = Objects.requireNonNull(builtResumeService, "builtResumeService must not be null");
+        this.objectMapper = Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.tokenEstimator = Objects.requireNonNull(tokenEstimator, "tokenEstimator must not be null");
+        this.pipelineMetrics = Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        this.concurrency = Math.max(1, concurrency);
+    }
+
+    /**
+     * Updates a resume owned by the user from its edited input.
+     *
+     * @param id      The resume ID
+     * @param request The complete edited input, as for a new build
+     * @param userId  The ID of the user, whose Gemini quota the calls use
+     * @return A Mono with the saved resume, empty if the user has no such
+     *         resume
+     */
+    public Mono<BuiltResume> update(UUID id, ResumeBuildRequest request, UUID userId) {
+        return Mono.fromCallable(() -> builtResumeService.findEntityOwned(id, userId))
+                .flatMap(Mono::justOrEmpty)
+                .flatMap(resume -> {
+                    Plan plan = plan(resume, request);
+                    Mono<JsonNode> content = plan == null
+                            ? pipelineMetrics.observe("resume.update", GeminiOperation.RESUME_BUILD.getTag(),
+                                    rebuild(id, request))
+                            : pipelineMetrics.observe("resume.update", GeminiOperation.RESUME_ENTRY.getTag(),
+                                    regenerate(id, plan, request));
+                    return content
+                            .publishOn(Schedulers.boundedElastic()) // saved with blocking JPA
+                            .map(generated -> {
+                                if (request.getTitle() != null) {
+                                    resume.setTitle(request.getTitle());
+                                }
+                                resume.setUserInputData(objectMapper.valueToTree(request));
+                                resume.setAiGeneratedContent(generated);
+                                return builtResumeService.save(resume);
+                            });
+                })
+                .contextWrite(FairQueue.forUser(userId));
+    }
+
+    /**
+     * The parts to regenerate, with every other part already in content.
+     * Entries to regenerate are null placeholders in their section's array.
+     */
+    private record Plan(ObjectNode content, List<Part> parts, int reused) {
+    }
+
+    private record Part(ResumeSection section, int index) {
+    }
+
+    /**
+     * Compares the edited input with the stored one.
+     *
+     * @return The plan, or null if the resume has to be rebuilt in full
+     */
+    private Plan plan(BuiltResume resume, ResumeBuildRequest request) {
+        if (!(resume.getAiGeneratedContent() instanceof ObjectNode stored) || stored.has("error")
+                || resume.getUserInputData() == null) {
+            return null;
+        }
+        ResumeBuildRequest previous;
+        try {
+            previous = objectMapper.treeToValue(resume.getUserInputData(), ResumeBuildRequest.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            logger.warn("Stored input of resume {} is unreadable, rebuilding it: {}", resume.getId(), e.getMessage());
+            return null;
+        }
+
+        ObjectNode content = stored.deepCopy();
+        List<Part> parts = new ArrayList<>();
+        int reused = 0;
+        for (ResumeSection section : ResumeSection.values()) {
+            if (!section.isList()) {
+                continue;
+            }
+            List<Map<String, String>> before = section.entries(previous);
+            JsonNode generated = stored.path(section.getKey());
+            if (generated.size() != before.size() || (!before.isEmpty() && !generated.isArray())) {
+                return null;
+            }
+            // Equal entries are matched in order, so duplicates reuse distinct generated entries
+            Map<Map<String, String>, Deque<Integer>> unused = new HashMap<>();
+            for (int i = 0; i < before.size(); i++) {
+                unused.computeIfAbsent(before.get(i), entry -> new ArrayDeque<>()).add(i);
+            }
+            List<Map<String, String>> after = section.entries(request);
+            ArrayNode entries = content.putArray(section.getKey());
+            for (int i = 0; i < after.size(); i++) {
+                Deque<Integer> same = unused.get(after.get(i));
+                Integer match = same == null ? null : same.poll();
+                if (match != null) {
+                    entries.add(generated.get(match).deepCopy());
+                    reused++;
+                } else {
+                    entries.addNull();
+                    parts.add(new Part(section, i));
+                }
+            }
+        }
+
+        boolean skillsChanged = !Objects.equals(orEmpty(previous.getSkills()), orEmpty(request.getSkills()));
+        boolean experienceChanged = !ResumeSection.EXPERIENCE.entries(previous)
+                .equals(ResumeSection.EXPERIENCE.entries(request));
+        if (skillsChanged) {
+            parts.add(new Part(ResumeSection.SKILLS, 0));
+        } else {
+            reused++;
+        }
+        if (skillsChanged || experienceChanged) {
+            parts.add(new Part(ResumeSection.SUMMARY, 0));
+        } else {
+            reused++;
+        }
+        return new Plan(content, parts, reused);
+    }
+
+    private Mono<JsonNode> regenerate(UUID id, Plan plan, ResumeBuildRequest request) {
+        int promptTokens = plan.parts().stream()
+                .mapToInt(part -> tokenEstimator.estimateTokens(
+                        geminiService.resumeEntryPrompt(part.section(), request, part.index())))
+                .sum();
+        return Flux.fromIterable(plan.parts())
+                .flatMap(part -> geminiService.rewriteResumeEntry(part.section(), request, part.index())
+                        .map(generated -> Map.entry(part, generated)), concurrency)
+                .collectList()
+                .map(results -> {
+                    ObjectNode content = plan.content();
+                    for (Map.Entry<Part, JsonNode> result : results) {
+                        Part part = result.getKey();
+                        if (part.section().isList()) {
+                            ((ArrayNode) content.get(part.section().getKey())).set(part.index(), result.getValue());
+                        } else {
+                            content.set(part.section().getKey(), result.getValue());
+                        }
+                    }
+                    pipelineMetrics.resumeUpdate(INCREMENTAL, plan.parts().size(), plan.reused(), promptTokens);
+                    logger.debug("Updated resume {}: {} parts regenerated, {} reused, ~{} prompt tokens", id,
+                            plan.parts().size(), plan.reused(), promptTokens);
+                    return content;
+                });
+    }
+
+    private Mono<JsonNode> rebuild(UUID id, ResumeBuildRequest request) {
+        int promptTokens = tokenEstimator.estimateTokens(geminiService.buildResumePrompt(request));
+        return geminiService.buildResume(request)
+                .map(json -> {
+                    JsonNode content;
+                    try {
+                        content = objectMapper.readTree(json);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Unparseable resume: " + e.getMessage(), e);
+                    }
+                    // buildResume answers failures with an error object, which must not replace the stored resume
+                    if (content.has("error")) {
+                        throw new IllegalStateException("Rebuilding resume failed: " + content.get("error").asText());
+                    }
+                    int parts = 2;
+                    for (ResumeSection section : ResumeSection.values()) {
+                        parts += section.isList() ? section.entries(request).size() : 0;
+                    }
+                    pipelineMetrics.resumeUpdate(FULL, parts, 0, promptTokens);
+                    logger.debug("Rebuilt resume {} in full, ~{} prompt tokens", id, promptTokens);
+                    return content;
+                });
+    }
+
+    private static List<String> orEmpty(List<String> list) {
+        return list == null ? List.of() : list;
+    }
+}
@@ -0,0 +1,197 @@
+package com.interviewai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.dto.ResumeVersionInfo;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.model.BuiltResumeVersion;
+import com.interviewai.repository.BuiltResumeVersionRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Version history of built resumes, stored in built_resume_versions.
+ *
+ * Version 1 of a resume is a full snapshot of its document; each later
+ * version is the JSON Patch from the one before, so an edit stores only
+ * what changed. A version is stored as a snapshot instead when
+ * resume-versions.snapshot-every versions have passed since the last one,
+ * or when its patch would be more than half the size of the document, which
+ * bounds how many patches reading a version applies. Rows are
+ * DEFLATE-compressed like feedback transcripts.
+ *
+ * Resumes with more than resume-versions.max-versions versions are
+ * compacted periodically: the oldest version kept becomes a snapshot and the
+ * versions before it are deleted.
+ */
+@Service
+public class ResumeVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumeVersionService.class);
+    private static final String OPERATION = GeminiOperation.RESUME_BUILD.getTag();
+
+    private final BuiltResumeVersionRepository repository;
+    private final ObjectMapper objectMapper;
+    private final PipelineMetrics pipelineMetrics;
+    private final int snapshotEvery;
+    private final int maxVersions;
+
+    public ResumeVersionService(BuiltResumeVersionRepository repository,
+            ObjectMapper objectMapper,
+            PipelineMetrics pipelineMetrics,
+            @Value("${resume-versions.snapshot-every:20}") int snapshotEvery,
+            @Value("${resume-versions.max-versions:100}") int maxVersions) {
+        this.repository = java.util.Objects.requireNonNull(repository, "repository must not be null");
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.pipelineMetrics = java.util.Objects.requireNonNull(pipelineMetrics, "pipelineMetrics must not be null");
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+        this.maxVersions = Math.max(1, maxVersions);
+    }
+
+    /**
+     * Stores a version of a resume's document.
+     *
+     * @param previous The document of version - 1, or null for the first
+     *                 version
+     * @return The number of bytes stored
+     */
+    public int store(UUID resumeId, int version, JsonNode previous, JsonNode document) {
+        byte[] full = json(document);
+        BuiltResumeVersion.Kind kind = BuiltResumeVersion.Kind.SNAPSHOT;
+        byte[] payload = full;
+        if (previous != null) {
+            Integer snapshot = repository.findLatestSnapshot(resumeId, BuiltResumeVersion.Kind.SNAPSHOT);
+            byte[] patch = json(JsonPatch.diff(previous, document));
+            if (snapshot != null && version - snapshot < snapshotEvery && patch.length * 2 <= full.length) {
+                kind = BuiltResumeVersion.Kind.DELTA;
+                payload = patch;
+            }
+        }
+        BuiltResumeVersion row = row(resumeId, version, kind, payload);
+        repository.save(row);
+        pipelineMetrics.resumeVersionBytes(kind.name().toLowerCase(), row.getStoredLength());
+        return row.getStoredLength();
+    }
+
+    /**
+     * The document of a version, from the latest snapshot at or before it
+     * and the patches after that.
+     *
+     * @return empty if the version is not stored (never written, or compacted
+     *         away)
+     */
+    public Optional<JsonNode> load(UUID resumeId, int version) {
+        return pipelineMetrics.observe("resume.version.load", OPERATION, () -> {
+            List<BuiltResumeVersion> chain = repository.findChain(resumeId, version,
+                    BuiltResumeVersion.Kind.SNAPSHOT);
+            if (chain.isEmpty() || chain.get(chain.size() - 1).getVersion() != version) {
+                return Optional.<JsonNode>empty();
+            }
+            JsonNode document = read(chain.get(0));
+            for (BuiltResumeVersion delta : chain.subList(1, chain.size())) {
+                document = JsonPatch.apply(read(delta), document);
+            }
+            return Optional.of(document);
+        });
+    }
+
+    /**
+     * Metadata of every stored version of a resume, newest first.
+     */
+    public List<ResumeVersionInfo> list(UUID resumeId) {
+        return repository.findInfoByResumeId(resumeId);
+    }
+
+    public void delete(UUID resumeId) {
+        repository.deleteByResumeId(resumeId);
+    }
+
+    @Scheduled(fixedDelayString = "${resume-versions.compaction-interval:PT1H}",
+            initialDelayString = "${resume-versions.compaction-interval:PT1H}")
+    public void compact() {
+        int compacted = 0;
+        try {
+            for (UUID resumeId : repository.findResumesWithMoreThan(maxVersions)) {
+                compact(resumeId);
+                compacted++;
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Compacting resume versions failed after {} resumes: {}", compacted, e.getMessage());
+        } finally {
+            if (compacted > 0) {
+                logger.info("Compacted the version history of {} resumes", compacted);
+            }
+        }
+    }
+
+    /**
+     * Keeps the latest resume-versions.max-versions versions of a resume. The
+     * oldest one kept is rewritten as a snapshot before the ones before it are
+     * deleted, so every kept version stays readable at any point.
+     */
+    public void compact(UUID resumeId) {
+        Integer latest = repository.findLatestVersion(resumeId);
+        if (latest == null || latest - maxVersions < 1) {
+            return;
+        }
+        int oldest = latest - maxVersions + 1;
+        List<BuiltResumeVersion> chain = repository.findChain(resumeId, oldest, BuiltResumeVersion.Kind.SNAPSHOT);
+        if (chain.isEmpty()) {
+            return;
+        }
+        BuiltResumeVersion first = chain.get(chain.size() - 1);
+        if (first.getKind() != BuiltResumeVersion.Kind.SNAPSHOT) {
+            JsonNode document = load(resumeId, oldest).orElseThrow(
+                    () -> new IllegalStateException("Version " + oldest + " of resume " + resumeId + " is missing"));
+            BuiltResumeVersion snapshot = row(resumeId, oldest, BuiltResumeVersion.Kind.SNAPSHOT, json(document));
+            first.setKind(snapshot.getKind());
+            first.setOriginalLength(snapshot.getOriginalLength());
+            first.setStoredLength(snapshot.getStoredLength());
+            first.setContent(snapshot.getContent());
+            repository.save(first);
+        }
+        repository.deleteBefore(resumeId, oldest);
+    }
+
+    private BuiltResumeVersion row(UUID resumeId, int version, BuiltResumeVersion.Kind kind, byte[] utf8) {
+        BuiltResumeVersion row = new BuiltResumeVersion();
+        row.setResumeId(resumeId);
+        row.setVersion(version);
+        row.setKind(kind);
+        row.setEncoding(FeedbackTranscriptService.DEFLATE);
+        row.setOriginalLength(utf8.length);
+        row.setContent(FeedbackTranscriptService.compress(utf8));
+        row.setStoredLength(row.getContent().length);
+        row.setCreatedAt(OffsetDateTime.now());
+        return row;
+    }
+
+    private JsonNode read(BuiltResumeVersion row) {
+        try {
+            return objectMapper.readTree(
+                    FeedbackTranscriptService.decompress(row.getContent(), row.getOriginalLength()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Version " + row.getVersion() + " of resume " + row.getResumeId()
+                    + " is corrupt", e);
+        }
+    }
+
+    private byte[] json(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unserializable resume document: " + e.getMessage(), e);
+        }
+    }
+}
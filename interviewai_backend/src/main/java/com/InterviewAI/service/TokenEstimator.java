@@ -0,0 +1,50 @@
+package com.interviewai.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Cheap local token estimate for prompt budgeting.
+ * Gemini tokenizes English prose at roughly four characters per token;
+ * the estimate errs slightly high so budgets stay conservative.
+ */
+@Component
+public class TokenEstimator {
+
+    private static final double CHARS_PER_TOKEN = 3.8;
+
+    /**
+     * Estimates the number of tokens in a piece of text.
+     */
+    public int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (int) Math.ceil(text.length() / CHARS_PER_TOKEN);
+    }
+
+    /**
+     * Returns the character count that corresponds to a token budget.
+     */
+    public int charsForTokens(int tokens) {
+        return (int) (tokens * CHARS_PER_TOKEN);
+    }
+
+    /**
+     * Truncates text to fit a token budget, cutting at the last line or word
+     * boundary before the limit.
+     */
+    public String truncateToTokens(String text, int maxTokens) {
+        if (text == null || estimateTokens(text) <= maxTokens) {
+            return text;
+        }
+        int limit = Math.max(0, charsForTokens(maxTokens));
+        int cut = text.lastIndexOf('\n', limit);
+        if (cut < limit / 2) {
+            cut = text.lastIndexOf(' ', limit);
+        }
+        if (cut < limit / 2) {
+            cut = limit;
+        }
+        return text.substring(0, cut).trim();
+    }
+}
@@ -0,0 +1,214 @@
+package com.interviewai.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.dto.AnswerRequest;
+import com.interviewai.dto.BuiltResumeJson;
+import com.interviewai.dto.FeedbackRequest;
+import com.interviewai.dto.InterviewRequest;
+import com.interviewai.dto.ResumeAnalysisJson;
+import com.interviewai.dto.ResumeAnalysisRequest;
+import com.interviewai.dto.ResumeBuildRequest;
+import com.interviewai.dto.gemini.GeminiRequest;
+import com.interviewai.dto.gemini.GeminiResponse;
+import com.interviewai.dto.gemini.GeminiSchemas;
+import com.interviewai.model.BuiltResume;
+import com.interviewai.model.Feedback;
+import com.interviewai.model.Interview;
+import com.interviewai.model.InterviewAnswer;
+import com.interviewai.model.ResumeAnalysis;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pays the first-use costs of a cold start in the background, before the
+ * instance reports itself ready: PDFBox's font cache (parsing a bundled
+ * sample resume), Jackson serializers for the Gemini DTOs, request bodies
+ * and entities, and connections to Gemini and Supabase, which stay in the
+ * shared Reactor Netty pool.
+ *
+ * Readiness (the warmUp health indicator, part of the readiness group) is
+ * OUT_OF_SERVICE until the warm-up has finished or timed out. A failing
+ * step is logged and does not keep the instance out of service.
+ */
+@Component
+public class WarmUp implements HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUp.class);
+
+    private static final String SAMPLE_PDF = "warmup/sample-resume.pdf";
+    private static final String SAMPLE_GEMINI_RESPONSE = "warmup/gemini-response.json";
+
+    /** Read and written back; GeminiRequest is only ever written. */
+    private static final List<Class<?>> ROUND_TRIPPED = List.of(
+            GeminiResponse.class,
+            AnswerRequest.class, FeedbackRequest.class, InterviewRequest.class, ResumeAnalysisRequest.class,
+            ResumeBuildRequest.class, ResumeAnalysisJson.class, BuiltResumeJson.class,
+            Interview.class, InterviewAnswer.class, Feedback.class, ResumeAnalysis.class, BuiltResume.class);
+
+    private final ObjectMapper objectMapper;
+    private final WebClient webClient;
+    private final WebClient supabaseWebClient;
+    private final String geminiApiUrl;
+    private final boolean enabled;
+    private final int connections;
+    private final Duration timeout;
+
+    private final Map<String, String> steps = new LinkedHashMap<>();
+    private volatile boolean done;
+
+    public WarmUp(ObjectMapper objectMapper,
+            WebClient webClient,
+            @Qualifier("supabaseWebClient") WebClient supabaseWebClient,
+            @Value("${gemini.api.url}") String geminiApiUrl,
+            @Value("${warmup.enabled:true}") boolean enabled,
+            @Value("${warmup.connections:2}") int connections,
+            @Value("${warmup.timeout:PT30S}") Duration timeout) {
+        this.objectMapper = java.util.Objects.requireNonNull(objectMapper, "objectMapper must not be null");
+        this.webClient = java.util.Objects.requireNonNull(webClient, "webClient must not be null");
+        this.supabaseWebClient = java.util.Objects.requireNonNull(supabaseWebClient,
+                "supabaseWebClient must not be null");
+        this.geminiApiUrl = java.util.Objects.requireNonNull(geminiApiUrl, "gemini.api.url must not be null");
+        this.enabled = enabled;
+        this.connections = connections;
+        this.timeout = java.util.Objects.requireNonNull(timeout, "warmup.timeout must not be null");
+        this.done = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = Thread.ofPlatform().name("warm-up").daemon().start(this::run);
+        // Readiness must not depend on the warm-up finishing
+        Thread.ofVirtual().name("warm-up-timeout").start(() -> {
+            try {
+                worker.join(timeout);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!done) {
+                logger.warn("Warm-up did not finish within {}, accepting traffic anyway", timeout);
+                done = true;
+            }
+        });
+    }
+
+    private void run() {
+        long started = System.nanoTime();
+        step("pdf", this::parseSamplePdf);
+        step("json", this::roundTripJson);
+        step("connections", this::openConnections);
+        done = true;
+        logger.info("Warm-up finished in {} ms: {}", (System.nanoTime() - started) / 1_000_000, steps());
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = done ? Health.up() : Health.outOfService();
+        return health.withDetails(steps()).build();
+    }
+
+    private Map<String, String> steps() {
+        synchronized (steps) {
+            return new LinkedHashMap<>(steps);
+        }
+    }
+
+    private void step(String name, Step step) {
+        long started = System.nanoTime();
+        String outcome;
+        try {
+            step.run();
+            outcome = (System.nanoTime() - started) / 1_000_000 + " ms";
+        } catch (Exception e) {
+            logger.warn("Warm-up step {} failed: {}", name, e.getMessage());
+            outcome = "failed: " + e.getMessage();
+        }
+        synchronized (steps) {
+            steps.put(name, outcome);
+        }
+    }
+
+    /**
+     * Loads the standard 14 fonts, which has PDFBox scan the system fonts
+     * and build its font cache.
+     */
+    private void parseSamplePdf() throws IOException {
+        try (InputStream in = new ClassPathResource(SAMPLE_PDF).getInputStream();
+                PDDocument document = Loader.loadPDF(in.readAllBytes())) {
+            if (new PDFTextStripper().getText(document).isBlank()) {
+                throw new IOException("No text in " + SAMPLE_PDF);
+            }
+        }
+    }
+
+    private void roundTripJson() throws IOException {
+        for (Class<?> type : ROUND_TRIPPED) {
+            byte[] json = type == GeminiResponse.class
+                    ? new ClassPathResource(SAMPLE_GEMINI_RESPONSE).getContentAsByteArray()
+                    : "{}".getBytes(StandardCharsets.UTF_8);
+            objectMapper.writeValueAsBytes(objectMapper.readValue(json, type));
+        }
+        objectMapper.writeValueAsBytes(new GeminiRequest(
+                List.of(new GeminiRequest.Content(List.of(new GeminiRequest.Part("warm-up")))),
+                new GeminiRequest.GenerationConfig("application/json", GeminiSchemas.FOLLOW_UP, 0.2, 16)));
+    }
+
+    /**
+     * Sends concurrent HEAD requests, which opens that many connections (DNS,
+     * TCP and TLS) to each host. Any response will do.
+     */
+    private void openConnections() {
+        URI gemini = URI.create(geminiApiUrl);
+        AtomicInteger opened = new AtomicInteger();
+        Flux.range(0, connections)
+                .flatMap(i -> Flux.merge(
+                        head(webClient.head().uri(gemini), opened),
+                        head(supabaseWebClient.head().uri("/"), opened)))
+                .then()
+                .block(timeout);
+        if (opened.get() == 0) {
+            throw new IllegalStateException("no connection could be opened");
+        }
+    }
+
+    private static Mono<Void> head(WebClient.RequestHeadersSpec<?> request, AtomicInteger opened) {
+        return request.exchangeToMono(response -> response.releaseBody())
+                .doOnSuccess(ignored -> opened.incrementAndGet())
+                .onErrorResume(e -> {
+                    logger.debug("Warm-up request failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,42 @@
+package com.interviewai.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Writes {"error": "..."} responses from servlet filters. Filters write the
+ * body directly because sendError would dispatch to /error, which security
+ * denies.
+ */
+public final class JsonErrorResponse {
+
+    private JsonErrorResponse() {
+    }
+
+    public static void write(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(("{\"error\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes an error with a Retry-After header, rounded up to whole seconds.
+     */
+    public static void write(HttpServletResponse response, HttpStatus status, String message, Duration retryAfter)
+            throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds(retryAfter));
+        write(response, status, message);
+    }
+
+    public static String retryAfterSeconds(Duration retryAfter) {
+        long seconds = retryAfter.toSeconds() + (retryAfter.toNanosPart() > 0 ? 1 : 0);
+        return Long.toString(Math.max(1, seconds));
+    }
+}
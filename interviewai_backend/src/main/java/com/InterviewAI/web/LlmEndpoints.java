@@ -0,0 +1,60 @@
+package com.interviewai.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * The POST endpoints whose requests call Gemini.
+ */
+public final class LlmEndpoints {
+
+    public static final List<String> PATTERNS = List.of(
+            "/api/interviews/generate",
+            "/api/interviews/{interviewId}/answers",
+            "/api/interviews/{interviewId}/complete",
+            "/api/feedback",
+            "/api/resume/analyze",
+            "/api/resume/analyze/stream",
+            "/api/resume-builder/build",
+            "/api/resume-builder/{id}/update",
+            "/api/recruiter/rank");
+
+    private static final List<PathPattern> PARSED = PATTERNS.stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+
+    private LlmEndpoints() {
+    }
+
+    public static boolean matches(HttpServletRequest request) {
+        return match(request) != null;
+    }
+
+    /**
+     * Returns the endpoint pattern a POST request matches, or null.
+     */
+    public static String match(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        PathContainer path = PathContainer.parsePath(path(request));
+        for (PathPattern pattern : PARSED) {
+            if (pattern.matches(path)) {
+                return pattern.getPatternString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Request path without the context path.
+     */
+    public static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,9 @@
+package com.interviewai.web;
+
+/**
+ * A response body that is already serialized JSON. Written verbatim for
+ * application/json, and transcoded token by token for the binary formats
+ * (see {@link RawJsonHttpMessageConverter}).
+ */
+public record RawJson(byte[] bytes) {
+}
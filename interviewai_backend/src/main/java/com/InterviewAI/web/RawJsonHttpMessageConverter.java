@@ -0,0 +1,82 @@
+package com.interviewai.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link RawJson} bodies. JSON is copied as-is; CBOR and Smile are
+ * produced by streaming the JSON tokens into the binary generator, without
+ * building a tree. JSON is listed first so that clients sending no Accept
+ * header (or *&#47;*) keep receiving JSON.
+ */
+public class RawJsonHttpMessageConverter extends AbstractHttpMessageConverter<RawJson> {
+
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = CBORFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+    private final SmileFactory smileFactory = SmileFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    public RawJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return RawJson.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(@NonNull Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected RawJson readInternal(@NonNull Class<? extends RawJson> clazz, @NonNull HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("RawJson is a response-only type", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(@NonNull RawJson body, MediaType contentType) {
+        return isBinary(contentType) ? null : (long) body.bytes().length;
+    }
+
+    @Override
+    protected void writeInternal(@NonNull RawJson body, @NonNull HttpOutputMessage outputMessage)
+            throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (!isBinary(contentType)) {
+            outputMessage.getBody().write(body.bytes());
+            return;
+        }
+        JsonFactory target = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborFactory : smileFactory;
+        try (JsonParser parser = jsonFactory.createParser(body.bytes());
+                JsonGenerator generator = target.createGenerator(outputMessage.getBody())) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+    }
+
+    private static boolean isBinary(MediaType contentType) {
+        return contentType != null
+                && (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)
+                        || APPLICATION_SMILE.isCompatibleWith(contentType));
+    }
+}
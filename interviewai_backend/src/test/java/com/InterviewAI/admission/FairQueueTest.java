@@ -0,0 +1,100 @@
+package com.InterviewAI.admission;
+
+import com.interviewai.admission.FairQueue;
+import com.interviewai.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairQueueTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void interleavesUsersInsteadOfServingInArrivalOrder() {
+        FairQueue queue = new FairQueue(registry, 1, 16, 8, Duration.ofSeconds(5));
+        UUID heavy = UUID.randomUUID();
+        UUID light = UUID.randomUUID();
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        Sinks.One<String> blocker = Sinks.one();
+        queue.submit(1, blocker.asMono()).contextWrite(FairQueue.forUser(heavy)).subscribe();
+        for (int i = 1; i <= 3; i++) {
+            queue.submit(1, record(started, "heavy-" + i)).contextWrite(FairQueue.forUser(heavy)).subscribe();
+        }
+        queue.submit(1, record(started, "light-1")).contextWrite(FairQueue.forUser(light)).subscribe();
+        assertThat(registry.get("gemini.admission.queue.depth").gauge().value()).isEqualTo(4);
+
+        blocker.tryEmitValue("done");
+
+        assertThat(started).containsExactly("heavy-1", "light-1", "heavy-2", "heavy-3");
+        assertThat(registry.get("gemini.admission.queue.depth").gauge().value()).isZero();
+        assertThat(registry.get("gemini.admission.running").gauge().value()).isZero();
+    }
+
+    @Test
+    void rejectsFastWhenUserQueueIsFull() {
+        FairQueue queue = new FairQueue(registry, 1, 16, 1, Duration.ofSeconds(5));
+        UUID user = UUID.randomUUID();
+        Sinks.One<String> blocker = Sinks.one();
+        queue.submit(1, blocker.asMono()).contextWrite(FairQueue.forUser(user)).subscribe();
+        queue.submit(1, Mono.just("queued")).contextWrite(FairQueue.forUser(user)).subscribe();
+
+        Mono<String> overflow = queue.submit(1, Mono.just("rejected")).contextWrite(FairQueue.forUser(user));
+
+        assertThat(overflow.onErrorResume(TooManyRequestsException.class,
+                e -> Mono.just("429 after " + e.getRetryAfter().isPositive())).block())
+                .isEqualTo("429 after true");
+        assertThat(registry.get("gemini.admission.rejected").tag("reason", "user_queue_full").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cancelledWaiterGivesUpItsPlace() {
+        FairQueue queue = new FairQueue(registry, 1, 16, 8, Duration.ofSeconds(5));
+        Sinks.One<String> blocker = Sinks.one();
+        queue.submit(1, blocker.asMono()).subscribe();
+        queue.submit(1, Mono.just("cancelled")).subscribe().dispose();
+
+        assertThat(registry.get("gemini.admission.queue.depth").gauge().value()).isZero();
+        blocker.tryEmitValue("done");
+        assertThat(queue.submit(1, Mono.just("next")).block()).isEqualTo("next");
+    }
+
+    @Test
+    void optionalCallsRunOnlyInAFreeSlot() {
+        FairQueue queue = new FairQueue(registry, 1, 16, 8, Duration.ofSeconds(5));
+        List<String> started = new CopyOnWriteArrayList<>();
+
+        Sinks.One<String> blocker = Sinks.one();
+        queue.trySubmit(blocker.asMono()).subscribe();
+        assertThat(registry.get("gemini.admission.running").gauge().value()).isEqualTo(1);
+        assertThat(queue.trySubmit(record(started, "dropped")).block()).isNull();
+        // The optional call holds its slot like any other
+        queue.submit(1, record(started, "user")).subscribe();
+        assertThat(started).isEmpty();
+
+        blocker.tryEmitValue("done");
+
+        assertThat(started).containsExactly("user");
+        assertThat(queue.trySubmit(record(started, "idle")).block()).isEqualTo("idle");
+        assertThat(registry.get("gemini.admission.running").gauge().value()).isZero();
+    }
+
+    private static Mono<String> record(List<String> started, String name) {
+        return Mono.fromCallable(() -> {
+            started.add(name);
+            return name;
+        });
+    }
+}
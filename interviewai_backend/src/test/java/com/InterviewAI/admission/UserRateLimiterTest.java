@@ -0,0 +1,44 @@
+package com.InterviewAI.admission;
+
+import com.interviewai.admission.UserRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 3 per minute overall, 2 per minute per endpoint
+    private final UserRateLimiter limiter = new UserRateLimiter(registry, 3, 3, 2, 2, now::get);
+
+    @Test
+    void allowsBurstThenAsksToRetryAfterRefill() {
+        assertThat(limiter.tryAcquire("user", "/api/feedback")).isZero();
+        assertThat(limiter.tryAcquire("user", "/api/feedback")).isZero();
+
+        Duration retryAfter = limiter.tryAcquire("user", "/api/feedback");
+        assertThat(retryAfter).isEqualTo(Duration.ofSeconds(30));
+
+        now.addAndGet(retryAfter.toNanos());
+        assertThat(limiter.tryAcquire("user", "/api/feedback")).isZero();
+    }
+
+    @Test
+    void overallLimitSpansEndpoints() {
+        assertThat(limiter.tryAcquire("user", "/api/feedback")).isZero();
+        assertThat(limiter.tryAcquire("user", "/api/feedback")).isZero();
+        assertThat(limiter.tryAcquire("user", "/api/resume/analyze")).isZero();
+
+        assertThat(limiter.tryAcquire("user", "/api/resume/analyze")).isPositive();
+        assertThat(registry.get("admission.rate.limited").tag("limit", "user").counter().count()).isEqualTo(1);
+        // Other users are unaffected
+        assertThat(limiter.tryAcquire("other", "/api/resume/analyze")).isZero();
+    }
+}
@@ -0,0 +1,235 @@
+package com.InterviewAI.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interviewai.cache.CachedEntry;
+import com.interviewai.cache.CachedPayload;
+import com.interviewai.cache.OffHeapPayloadStore;
+import com.interviewai.cache.OffHeapReadCache;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.cache.ReadThroughCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapPayloadStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recyclesTheOldestSegmentWhenFull() {
+        OffHeapPayloadStore store = new OffHeapPayloadStore(meterRegistry, DataSize.ofBytes(200),
+                DataSize.ofBytes(100));
+        byte[] payload = new byte[60];
+
+        var first = store.write(payload);
+        var second = store.write(payload);
+        assertThat(store.read(first)).isEqualTo(payload);
+
+        store.write(payload); // wraps around and recycles the first segment
+        assertThat(store.read(first)).isNull();
+        assertThat(store.read(second)).isEqualTo(payload);
+        assertThat(store.write(new byte[101])).isNull();
+    }
+
+    @Test
+    void servesStoredJsonAndReloadsAfterEviction() {
+        OffHeapPayloadStore store = new OffHeapPayloadStore(meterRegistry, DataSize.ofBytes(200),
+                DataSize.ofBytes(100));
+        OffHeapReadCache<String, JsonNode, String> cache = factory(store).createOffHeap("test",
+                node -> node.path("owner").asText());
+        AtomicInteger loads = new AtomicInteger();
+
+        CachedPayload<String> first = cache.get("a", key -> {
+            loads.incrementAndGet();
+            return objectMapper.createObjectNode().put("owner", "u1").put("score", 80);
+        });
+        CachedPayload<String> second = cache.get("a", key -> {
+            loads.incrementAndGet();
+            return objectMapper.createObjectNode().put("owner", "u1").put("score", 80);
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(new String(second.json(), StandardCharsets.UTF_8)).isEqualTo("{\"owner\":\"u1\",\"score\":80}");
+        assertThat(second.metadata()).isEqualTo("u1");
+        assertThat(second.etag()).isEqualTo(first.etag());
+
+        store.write(new byte[100]);
+        store.write(new byte[100]); // both segments recycled
+        cache.get("a", key -> {
+            loads.incrementAndGet();
+            return objectMapper.createObjectNode().put("owner", "u1");
+        });
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void anInvalidateDuringALoadIsNotUndoneByIt() throws Exception {
+        OffHeapReadCache<String, JsonNode, String> cache = factory(new OffHeapPayloadStore(meterRegistry,
+                DataSize.ofKilobytes(4), DataSize.ofKilobytes(1))).createOffHeap("race", node -> "owner");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Reads the old value, then stalls before caching it
+        Thread reader = new Thread(() -> cache.get("a", key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return objectMapper.createObjectNode().put("score", 80);
+        }));
+        reader.start();
+        loading.await();
+        // A save commits and invalidates while the read is in flight
+        Thread writer = new Thread(() -> cache.invalidate("a"));
+        writer.start();
+        long deadline = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+        while (writer.getState() == Thread.State.RUNNABLE && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        reader.join();
+        writer.join();
+
+        CachedPayload<String> next = cache.get("a", key -> {
+            loads.incrementAndGet();
+            return objectMapper.createObjectNode().put("score", 90);
+        });
+        assertThat(loads).hasValue(2);
+        assertThat(new String(next.json(), StandardCharsets.UTF_8)).isEqualTo("{\"score\":90}");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retained heap, GC time and read throughput for 2,000 cached ~50 KB
+     * analyses, kept as JsonNode trees (serialized per read, as the
+     * controller did) versus serialized off-heap. Run with
+     * mvn test -Dtest=OffHeapPayloadStoreTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkAgainstOnHeapTrees() {
+        int entries = 2_000;
+        ReadCacheFactory factory = factory(new OffHeapPayloadStore(new SimpleMeterRegistry(),
+                DataSize.ofMegabytes(256), DataSize.ofMegabytes(4)));
+
+        // Off-heap first, so the on-heap run's garbage cannot skew its baseline
+        System.out.println("off-heap JSON:    " + runOffHeap(factory, entries));
+        System.out.println("on-heap JsonNode: " + runOnHeap(factory, entries));
+    }
+
+    private String runOnHeap(ReadCacheFactory factory, int entries) {
+        long baseline = retainedHeap();
+        ReadThroughCache<Integer, JsonNode> cache = factory.create("onHeap");
+        for (int i = 0; i < entries; i++) {
+            cache.get(i, this::analysis);
+        }
+        long retained = retainedHeap() - baseline;
+        Result reads = measureReads(entries, key -> {
+            CachedEntry<JsonNode> entry = cache.get(key, this::analysis);
+            return writeBytes(entry.value()).length;
+        });
+        return String.format("retained %,d KB, %s", retained / 1024, reads);
+    }
+
+    private String runOffHeap(ReadCacheFactory factory, int entries) {
+        long baseline = retainedHeap();
+        OffHeapReadCache<Integer, JsonNode, String> cache = factory.createOffHeap("offHeap", node -> "owner");
+        for (int i = 0; i < entries; i++) {
+            cache.get(i, this::analysis);
+        }
+        long retained = retainedHeap() - baseline;
+        Result reads = measureReads(entries, key -> cache.get(key, this::analysis).json().length);
+        return String.format("retained %,d KB, %s", retained / 1024, reads);
+    }
+
+    private ReadCacheFactory factory(OffHeapPayloadStore store) {
+        return new ReadCacheFactory(objectMapper, new SimpleMeterRegistry(), store, DataSize.ofGigabytes(1),
+                Duration.ofMinutes(5), 100_000);
+    }
+
+    private JsonNode analysis(int seed) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("overallScore", seed % 100);
+        for (String section : new String[] { "skillsAssessment", "experienceEvaluation", "resumeOptimization",
+                "interviewPreparation", "careerAdvancement" }) {
+            ObjectNode node = root.putObject(section);
+            node.put("summary", "Summary for " + section + " " + seed);
+            ArrayNode items = node.putArray("items");
+            for (int i = 0; i < 60; i++) {
+                items.addObject()
+                        .put("title", "Item " + i + " of " + section)
+                        .put("detail", "Concrete, actionable feedback sentence number " + i + " for resume " + seed
+                                + ", referencing achievements and metrics.")
+                        .put("priority", i % 3);
+            }
+        }
+        return root;
+    }
+
+    private byte[] writeBytes(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsBytes(node);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Result measureReads(int entries, java.util.function.IntUnaryOperator read) {
+        int reads = 50_000;
+        long sink = 0;
+        long gcBefore = gcMillis();
+        long start = System.nanoTime();
+        for (int i = 0; i < reads; i++) {
+            sink += read.applyAsInt(i % entries);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(reads * 1_000_000_000L / elapsed, gcMillis() - gcBefore, sink);
+    }
+
+    private static long retainedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcMillis() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0, gc.getCollectionTime());
+        }
+        return total;
+    }
+
+    private record Result(long readsPerSecond, long gcMillis, long bytes) {
+
+        @Override
+        public String toString() {
+            return String.format("%,d reads/s, %,d ms in GC, %,d MB served", readsPerSecond, gcMillis,
+                    bytes / (1024 * 1024));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.InterviewAI.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.cache.CachedEntry;
+import com.interviewai.cache.OffHeapPayloadStore;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.cache.ReadThroughCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadThroughCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ReadCacheFactory factory = new ReadCacheFactory(new ObjectMapper(), meterRegistry,
+            new OffHeapPayloadStore(meterRegistry, DataSize.ofMegabytes(1), DataSize.ofKilobytes(256)),
+            DataSize.ofMegabytes(1), Duration.ofMinutes(5), 1000);
+
+    @Test
+    void loadsOnceAndKeepsTheEtagUntilInvalidated() {
+        ReadThroughCache<String, Map<String, Object>> cache = factory.create("test");
+        AtomicInteger loads = new AtomicInteger();
+        Map<String, Object> stored = Map.of("score", 80);
+
+        CachedEntry<Map<String, Object>> first = cache.get("a", key -> {
+            loads.incrementAndGet();
+            return stored;
+        });
+        CachedEntry<Map<String, Object>> second = cache.get("a", key -> {
+            loads.incrementAndGet();
+            return stored;
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.etag()).isEqualTo(first.etag()).startsWith("W/\"");
+
+        cache.invalidate("a");
+        CachedEntry<Map<String, Object>> changed = cache.get("a", key -> Map.of("score", 90));
+        assertThat(changed.etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    void doesNotCacheMisses() {
+        ReadThroughCache<String, String> cache = factory.create("misses");
+
+        assertThat(cache.get("a", key -> null)).isNull();
+        assertThat(cache.get("a", key -> "found").value()).isEqualTo("found");
+    }
+}
@@ -0,0 +1,107 @@
+package com.InterviewAI.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interviewai.dto.ResumeAnalysisJson;
+import com.interviewai.model.ResumeAnalysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeAnalysisJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void serializesLikeTheEntityWithoutParsingTheDocuments() throws Exception {
+        String strengths = "{\"skillsAssessment\": {\"technical\": [\"Java\"]}, \"note\": null}";
+        ResumeAnalysis entity = entity(strengths);
+        ResumeAnalysisJson raw = raw(entity, strengths);
+
+        JsonNode fromEntity = objectMapper.readTree(objectMapper.writeValueAsBytes(entity));
+        JsonNode fromRaw = objectMapper.readTree(objectMapper.writeValueAsBytes(raw));
+
+        assertThat(fromRaw).isEqualTo(fromEntity);
+    }
+
+    /**
+     * Cost of producing the response for a 50 KB analysis: parsing the stored
+     * text into JsonNode (what the SqlTypes.JSON mapping does) and serializing
+     * the entity, versus writing the stored text verbatim. Run with
+     * mvn test -Dtest=ResumeAnalysisJsonTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkFiftyKilobyteAnalysis() throws Exception {
+        String strengths = objectMapper.writeValueAsString(document(50 * 1024));
+        ResumeAnalysis template = entity(strengths);
+        int iterations = 20_000;
+
+        long treeNanos = time(iterations, () -> {
+            ResumeAnalysis entity = entity(strengths);
+            entity.setId(template.getId());
+            return objectMapper.writeValueAsBytes(entity).length;
+        });
+        long rawNanos = time(iterations, () -> objectMapper.writeValueAsBytes(raw(template, strengths)).length);
+
+        System.out.printf("document: %,d bytes%n", strengths.length());
+        System.out.printf("JsonNode round trip: %,d ns/response%n", treeNanos);
+        System.out.printf("raw passthrough:     %,d ns/response%n", rawNanos);
+    }
+
+    private ResumeAnalysis entity(String strengths) throws Exception {
+        ResumeAnalysis entity = new ResumeAnalysis();
+        entity.setId(UUID.nameUUIDFromBytes(new byte[] { 1 }));
+        entity.setResumeId(UUID.nameUUIDFromBytes(new byte[] { 2 }));
+        entity.setUserId(UUID.nameUUIDFromBytes(new byte[] { 3 }));
+        entity.setOverallScore(82);
+        entity.setStrengths(objectMapper.readTree(strengths));
+        entity.setImprovements(objectMapper.readTree("{\"note\": \"See strengths\"}"));
+        entity.setGeneratedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+        return entity;
+    }
+
+    private static ResumeAnalysisJson raw(ResumeAnalysis entity, String strengths) {
+        return new ResumeAnalysisJson(entity.getId(), entity.getResumeId(), entity.getUserId(),
+                entity.getOverallScore(), strengths, "{\"note\": \"See strengths\"}", entity.getGeneratedAt());
+    }
+
+    private ObjectNode document(int targetBytes) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ArrayNode items = root.putObject("skillsAssessment").putArray("items");
+        int i = 0;
+        while (root.toString().length() < targetBytes) {
+            items.addObject()
+                    .put("title", "Finding " + i)
+                    .put("detail", "Quantify the impact of project " + i + " with metrics and outcomes.")
+                    .put("priority", i++ % 3);
+        }
+        return root;
+    }
+
+    private static long time(int iterations, ThrowingSupplier body) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += body.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += body.get();
+        }
+        long elapsed = (System.nanoTime() - start) / iterations;
+        return sink > 0 ? elapsed : -1;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        int get() throws Exception;
+    }
+}
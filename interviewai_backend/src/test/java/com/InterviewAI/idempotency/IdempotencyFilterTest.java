@@ -0,0 +1,153 @@
+package com.InterviewAI.idempotency;
+
+import com.interviewai.idempotency.IdempotencyFilter;
+import com.interviewai.idempotency.IdempotencyService;
+import com.interviewai.model.IdempotencyRecord;
+import com.interviewai.repository.IdempotencyRecordRepository;
+
+import jakarta.servlet.FilterChain;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IdempotencyFilterTest {
+
+    private static final String USER_ID = UUID.randomUUID().toString();
+
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    IdempotencyFilterTest() {
+        when(repository.findById(any())).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any(IdempotencyRecord.class))).thenAnswer(call -> call.getArgument(0));
+        IdempotencyService service = new IdempotencyService(repository, Duration.ofHours(1), Duration.ofMinutes(5),
+                100, java.time.Clock.systemUTC());
+        filter = new IdempotencyFilter(service, Duration.ofSeconds(10));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void replaysStoredResponseForRepeatedKey() throws Exception {
+        FilterChain chain = respondingWith(200, "{\"id\":\"first\"}");
+
+        MockHttpServletResponse first = send("key-1", "{\"role\":\"dev\"}", chain);
+        MockHttpServletResponse second = send("key-1", "{\"role\":\"dev\"}", chain);
+
+        assertThat(executions).hasValue(1);
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    @Test
+    void rejectsKeyReusedForDifferentRequest() throws Exception {
+        FilterChain chain = respondingWith(200, "{}");
+
+        send("key-2", "{\"role\":\"dev\"}", chain);
+        MockHttpServletResponse reused = send("key-2", "{\"role\":\"qa\"}", chain);
+
+        assertThat(reused.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedRequestCanBeRetriedWithSameKey() throws Exception {
+        send("key-3", "{}", respondingWith(500, ""));
+        MockHttpServletResponse retry = send("key-3", "{}", respondingWith(200, "{\"ok\":true}"));
+
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getContentAsString()).isEqualTo("{\"ok\":true}");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForInFlightExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slow = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.setContentType("application/json");
+            response.getOutputStream().write("{\"id\":\"slow\"}".getBytes(StandardCharsets.UTF_8));
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> sendUnchecked("key-4", slow));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> sendUnchecked("key-4", slow));
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+
+        release.countDown();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getContentAsString())
+                .isEqualTo(first.get(5, TimeUnit.SECONDS).getContentAsString());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void requestsWithoutKeyAreNotTracked() throws Exception {
+        FilterChain chain = respondingWith(200, "{}");
+
+        send(null, "{}", chain);
+        send(null, "{}", chain);
+
+        assertThat(executions).hasValue(2);
+    }
+
+    private FilterChain respondingWith(int status, String body) {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            request.getInputStream().readAllBytes();
+            ((jakarta.servlet.http.HttpServletResponse) response).setStatus(status);
+            response.setContentType("application/json");
+            response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse sendUnchecked(String key, FilterChain chain) {
+        try {
+            return send(key, "{}", chain);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(USER_ID, null, "USER"));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/feedback");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
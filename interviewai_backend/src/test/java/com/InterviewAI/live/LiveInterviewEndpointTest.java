@@ -0,0 +1,160 @@
+package com.InterviewAI.live;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.dto.AnswerRequest;
+import com.interviewai.live.LiveInterviewEndpoint;
+import com.interviewai.live.LiveInterviewSettings;
+import com.interviewai.model.Interview;
+import com.interviewai.model.InterviewAnswer;
+import com.interviewai.service.GeminiService;
+import com.interviewai.service.InterviewSessionService;
+
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.EndpointConfig;
+import jakarta.websocket.MessageHandler;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LiveInterviewEndpointTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final InterviewSessionService sessionService = mock(InterviewSessionService.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final Session session = mock(Session.class);
+    private final RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+    private final List<JsonNode> sent = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean clientReading = new AtomicBoolean(true);
+
+    private final UUID userId = UUID.randomUUID();
+    private final Interview interview = new Interview();
+    private MessageHandler.Whole<String> client;
+
+    @BeforeEach
+    void setUp() {
+        interview.setId(UUID.randomUUID());
+        interview.setUserId(userId);
+        interview.setRole("Backend Engineer");
+        when(sessionService.questionAt(any(), anyInt())).thenReturn("Describe a hard bug.");
+        when(sessionService.submitAnswer(any(), any(), any())).thenAnswer(call -> {
+            AnswerRequest request = call.getArgument(1);
+            InterviewAnswer answer = new InterviewAnswer();
+            answer.setId(UUID.randomUUID());
+            answer.setQuestionIndex(request.getQuestionIndex());
+            answer.setAnswer(request.getAnswer());
+            answer.setStatus(InterviewAnswer.Status.PENDING);
+            return answer;
+        });
+        when(geminiService.generateFollowUp(anyString(), anyString(), anyString())).thenReturn(Mono.never());
+        when(session.getAsyncRemote()).thenReturn(remote);
+        doAnswer(call -> {
+            sent.add(objectMapper.readTree(call.<String>getArgument(0)));
+            if (clientReading.get()) {
+                call.<SendHandler>getArgument(1).onResult(new SendResult());
+            }
+            return null;
+        }).when(remote).sendText(anyString(), any(SendHandler.class));
+
+        // Follow-ups every 10 characters, at most 2 per answer, 3 queued messages
+        LiveInterviewEndpoint endpoint = new LiveInterviewEndpoint(interview, userId, sessionService, geminiService,
+                objectMapper, new LiveInterviewSettings(1024, 100, 3, Duration.ofMinutes(1), 10, 2), () -> {
+                });
+        endpoint.onOpen(session, mock(EndpointConfig.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<MessageHandler.Whole<String>> handler = ArgumentCaptor.forClass(MessageHandler.Whole.class);
+        verify(session).addMessageHandler(eq(String.class), handler.capture());
+        client = handler.getValue();
+    }
+
+    @Test
+    void acknowledgesChunksAndSubmitsTheAnswerWhenItEnds() {
+        client.onMessage("{\"type\":\"chunk\",\"questionIndex\":0,\"text\":\"I fixed \"}");
+        client.onMessage("{\"type\":\"chunk\",\"questionIndex\":0,\"text\":\"a leak\"}");
+        client.onMessage("{\"type\":\"end\",\"questionIndex\":0}");
+
+        ArgumentCaptor<AnswerRequest> submitted = ArgumentCaptor.forClass(AnswerRequest.class);
+        verify(sessionService).submitAnswer(eq(interview.getId()), submitted.capture(), eq(userId));
+        assertThat(submitted.getValue().getAnswer()).isEqualTo("I fixed a leak");
+        assertThat(sent).extracting(m -> m.path("type").asText()).containsExactly("ack", "ack", "saved");
+        assertThat(sent.get(1).path("chars").asInt()).isEqualTo(14);
+        assertThat(sent.get(2).path("status").asText()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void runsOneFollowUpAtATimeAndDropsThoseForEarlierQuestions() {
+        Sinks.One<Map<String, Object>> first = Sinks.one();
+        Sinks.One<Map<String, Object>> second = Sinks.one();
+        when(geminiService.generateFollowUp(anyString(), anyString(), anyString()))
+                .thenReturn(first.asMono())
+                .thenReturn(second.asMono());
+
+        client.onMessage("{\"type\":\"chunk\",\"questionIndex\":0,\"text\":\"I profiled the heap\"}");
+        client.onMessage("{\"type\":\"chunk\",\"questionIndex\":0,\"text\":\" and found a cache\"}");
+        verify(geminiService, times(1)).generateFollowUp(anyString(), anyString(), anyString());
+
+        // The answer grew while the first call ran, so the next one starts
+        first.tryEmitValue(Map.of("acknowledgment", "Nice.", "followUp", "Which cache?"));
+        verify(geminiService, times(2)).generateFollowUp(anyString(), anyString(), anyString());
+        assertThat(sent).filteredOn(m -> m.path("type").asText().equals("follow_up"))
+                .singleElement()
+                .satisfies(m -> assertThat(m.path("question").asText()).isEqualTo("Which cache?"));
+
+        // Moving to the next question makes the running follow-up stale
+        client.onMessage("{\"type\":\"chunk\",\"questionIndex\":1,\"text\":\"Next\"}");
+        second.tryEmitValue(Map.of("acknowledgment", "Ok.", "followUp", "Stale?"));
+        assertThat(sent).filteredOn(m -> m.path("type").asText().equals("follow_up")).hasSize(1);
+        verify(sessionService).submitAnswer(eq(interview.getId()), any(), eq(userId));
+    }
+
+    @Test
+    void coalescesAcksAndClosesAClientThatStopsReading() throws Exception {
+        clientReading.set(false);
+        for (int i = 0; i < 10; i++) {
+            client.onMessage("{\"type\":\"chunk\",\"questionIndex\":0,\"text\":\"x\"}");
+        }
+        // One ack in flight, the rest replaced by the latest
+        verify(session, never()).close(any(CloseReason.class));
+
+        for (int i = 0; i < 4; i++) {
+            client.onMessage("{\"type\":\"unknown\",\"questionIndex\":0}");
+        }
+        ArgumentCaptor<CloseReason> reason = ArgumentCaptor.forClass(CloseReason.class);
+        verify(session).close(reason.capture());
+        assertThat(reason.getValue().getCloseCode()).isEqualTo(CloseReason.CloseCodes.TRY_AGAIN_LATER);
+    }
+
+    @Test
+    void rejectsAnswersOverTheLimit() {
+        client.onMessage("{\"type\":\"chunk\",\"questionIndex\":0,\"text\":\"" + "x".repeat(101) + "\"}");
+
+        assertThat(sent).singleElement()
+                .satisfies(m -> assertThat(m.path("message").asText()).contains("exceeds 100 characters"));
+    }
+}
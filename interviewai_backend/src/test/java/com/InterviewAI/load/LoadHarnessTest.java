@@ -0,0 +1,747 @@
+package com.InterviewAI.load;
+
+import com.InterviewAI.stub.GeminiStubServer;
+import com.InterviewAI.stub.LatencyModel;
+import com.InterviewAI.stub.SupabaseStubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.InterviewaiBackendApplication;
+import com.interviewai.model.Feedback;
+import com.interviewai.model.Interview;
+import com.interviewai.ranking.ResumeIndex;
+import com.interviewai.repository.FeedbackRepository;
+import com.interviewai.repository.InterviewRepository;
+import com.interviewai.service.FeedbackService;
+import com.interviewai.service.FeedbackTranscriptService;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load harness that drives every controller against local Gemini and
+ * Supabase stubs, so no real quota is used. Disabled unless run with
+ * -Dloadtest=true, for example:
+ *
+ * <pre>
+ * ./mvnw test -Dtest=LoadHarnessTest -Dloadtest=true \
+ *     -Dloadtest.users=64 -Dloadtest.seconds=30 -Dloadtest.geminiMedianMs=800
+ * </pre>
+ *
+ * Reports throughput, p50/p99 latency and error counts per endpoint, plus
+ * peak live threads and heap usage sampled during the run.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(classes = InterviewaiBackendApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadHarnessTest {
+
+    private static final String JWT_SECRET = "load-test-secret-0123456789-abcdefghijklmnopqrstuvwxyz";
+
+    private static final GeminiStubServer GEMINI = GeminiStubServer.builder()
+            .seed(Long.getLong("loadtest.seed", 42L))
+            .latency(LatencyModel.logNormal(Long.getLong("loadtest.geminiMedianMs", 800L), 0.5))
+            .errorRate(Double.parseDouble(System.getProperty("loadtest.geminiErrorRate", "0.01")))
+            .rateLimitBursts(Integer.getInteger("loadtest.burstEvery", 500), Integer.getInteger("loadtest.burstLength", 5))
+            .build()
+            .start();
+
+    private static final SupabaseStubServer SUPABASE = new SupabaseStubServer(
+            Integer.getInteger("loadtest.pdfPages", 2), LatencyModel.uniform(20, 80), 7L).start();
+
+    private static final String LIVE_SCRIPT = """
+            {"opening":"Hi","questions":[
+              {"transition":"First","question":"Tell me about a system you designed.","acknowledgment":"Thanks"},
+              {"transition":"Next","question":"Describe a hard production bug.","acknowledgment":"Great"},
+              {"transition":"Last","question":"How do you measure performance?","acknowledgment":"Thanks"}],
+            "closing":"Bye"}""";
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> liveCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    private InterviewRepository interviewRepository;
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+    @Autowired
+    private FeedbackService feedbackService;
+    @Autowired
+    private FeedbackTranscriptService feedbackTranscriptService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ResumeIndex resumeIndex;
+    @Autowired
+    private io.micrometer.core.instrument.MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void stubProperties(DynamicPropertyRegistry registry) {
+        registry.add("gemini.api.url", GEMINI::baseUrl);
+        registry.add("gemini.api.key", () -> "stub-key");
+        registry.add("supabase.url", SUPABASE::baseUrl);
+        registry.add("supabase.service.role.key", () -> "stub-service-role-key");
+        registry.add("supabase.jwt.secret", () -> JWT_SECRET);
+        registry.add("spring.datasource.url", () -> "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;"
+                + "INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON");
+        registry.add("spring.datasource.driver-class-name", () -> "org.h2.Driver");
+        registry.add("spring.datasource.username", () -> "sa");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.datasource.hikari.maximum-pool-size", () -> "10");
+        registry.add("management.endpoint.health.probes.enabled", () -> "true");
+        registry.add("management.endpoint.health.group.readiness.include",
+                () -> "readinessState,warmUp,resumeIndexBackfill,feedbackTranscriptMigration");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        GEMINI.close();
+        SUPABASE.close();
+    }
+
+    @Test
+    void driveAllControllers() throws Exception {
+        int users = Integer.getInteger("loadtest.users", 32);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.seconds", 20L));
+
+        AtomicLong peakThreads = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = sampleResources(peakThreads, peakHeap);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                String token = token(UUID.randomUUID());
+                workers.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        runSession(token);
+                    }
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        sampler.shutdownNow();
+
+        long total = report(elapsedSeconds, peakThreads.get(), peakHeap.get());
+        assertThat(total).isPositive();
+    }
+
+    /**
+     * Opens loadtest.liveSessions concurrent live interview connections, each
+     * streaming its answers in chunks the way a speech-to-text client does:
+     *
+     * <pre>
+     * ./mvnw test -Dtest=LoadHarnessTest#driveLiveInterviews -Dloadtest=true \
+     *     -Dloadtest.liveSessions=300 -Dloadtest.chunkMs=150
+     * </pre>
+     */
+    @Test
+    void driveLiveInterviews() throws Exception {
+        int sessions = Integer.getInteger("loadtest.liveSessions", 200);
+
+        AtomicLong peakThreads = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+        ScheduledExecutorService sampler = sampleResources(peakThreads, peakHeap);
+
+        long started = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < sessions; i++) {
+                workers.submit(() -> {
+                    runLiveSession();
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        sampler.shutdownNow();
+
+        report(elapsedSeconds, peakThreads.get(), peakHeap.get());
+        System.out.printf("live: %d acks, %d follow-ups, %d answers without one, %d errors, %d abnormal closes%n",
+                liveCounter("ack").get(), liveCounter("follow_up").get(), liveCounter("no_follow_up").get(),
+                liveCounter("error").get(), liveCounter("abnormal_close").get());
+        assertThat(latencies.getOrDefault("WS end -> saved", List.of())).isNotEmpty();
+    }
+
+    private void runLiveSession() throws Exception {
+        UUID userId = UUID.randomUUID();
+        Interview interview = new Interview();
+        interview.setUserId(userId);
+        interview.setTitle("Live");
+        interview.setRole("Backend Engineer");
+        interview.setExperienceLevel("Senior");
+        interview.setQuestions(LIVE_SCRIPT);
+        interview = interviewRepository.save(interview);
+
+        LiveClient client = new LiveClient();
+        long start = System.nanoTime();
+        WebSocket socket;
+        try {
+            socket = httpClient.newWebSocketBuilder()
+                    .header("Authorization", "Bearer " + token(userId))
+                    .buildAsync(URI.create("ws://localhost:" + port + "/api/interviews/" + interview.getId() + "/live"),
+                            client)
+                    .get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            failures.computeIfAbsent("WS connect", k -> new AtomicLong()).incrementAndGet();
+            return;
+        }
+        record("WS connect", start);
+
+        long chunkMs = Long.getLong("loadtest.chunkMs", 150L);
+        for (int question = 0; question < 3; question++) {
+            client.answerStarted = System.nanoTime();
+            for (int chunk = 0; chunk < 8; chunk++) {
+                socket.sendText("{\"type\":\"chunk\",\"questionIndex\":" + question + ",\"text\":\""
+                        + "I designed the service boundaries and measured the latency of every call. " + "\"}",
+                        true).get(30, TimeUnit.SECONDS);
+                Thread.sleep(chunkMs);
+            }
+            client.saved = new CompletableFuture<>();
+            client.followUp = new CompletableFuture<>();
+            long ended = System.nanoTime();
+            socket.sendText("{\"type\":\"end\",\"questionIndex\":" + question + "}", true)
+                    .get(30, TimeUnit.SECONDS);
+            try {
+                client.saved.get(30, TimeUnit.SECONDS);
+                record("WS end -> saved", ended);
+            } catch (Exception e) {
+                failures.computeIfAbsent("WS end -> saved", k -> new AtomicLong()).incrementAndGet();
+            }
+            // The candidate listens for a follow-up before moving on
+            try {
+                client.followUp.get(Long.getLong("loadtest.followUpWaitMs", 3000L), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                liveCounter("no_follow_up").incrementAndGet();
+            }
+        }
+        socket.sendClose(WebSocket.NORMAL_CLOSURE, "done").get(30, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Collects the server's messages; reading one frame at a time gives the
+     * server real backpressure.
+     */
+    private final class LiveClient implements WebSocket.Listener {
+        private final StringBuilder frame = new StringBuilder();
+        private volatile long answerStarted;
+        private volatile CompletableFuture<Void> saved = new CompletableFuture<>();
+        private volatile CompletableFuture<Void> followUp = new CompletableFuture<>();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            frame.append(data);
+            if (last) {
+                try {
+                    JsonNode message = objectMapper.readTree(frame.toString());
+                    String type = message.path("type").asText();
+                    liveCounter(type).incrementAndGet();
+                    if (type.equals("follow_up") && !followUp.isDone()) {
+                        record("WS answer start -> follow-up", answerStarted);
+                        followUp.complete(null);
+                    } else if (type.equals("saved")) {
+                        saved.complete(null);
+                    }
+                } catch (Exception e) {
+                    liveCounter("error").incrementAndGet();
+                }
+                frame.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            if (statusCode != WebSocket.NORMAL_CLOSURE) {
+                liveCounter("abnormal_close").incrementAndGet();
+            }
+            return null;
+        }
+    }
+
+    private AtomicLong liveCounter(String type) {
+        return liveCounters.computeIfAbsent(type, k -> new AtomicLong());
+    }
+
+    private void record(String name, long start) {
+        latencies.computeIfAbsent(name, k -> java.util.Collections.synchronizedList(new ArrayList<>()))
+                .add(System.nanoTime() - start);
+    }
+
+    /**
+     * Latency of the first resume analyses once the instance reports itself
+     * ready. Run on its own (a fresh JVM, so PDFBox and Jackson are cold),
+     * with and without -Dwarmup.enabled=false:
+     *
+     * <pre>
+     * ./mvnw test -Dtest=LoadHarnessTest#measureFirstResumeAnalysis -Dloadtest=true
+     * </pre>
+     */
+    @Test
+    void measureFirstResumeAnalysis() throws Exception {
+        HttpRequest readiness = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + "/actuator/health/readiness")).build();
+        long waitStart = System.nanoTime();
+        while (httpClient.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+            Thread.sleep(20);
+        }
+        long readyMs = (System.nanoTime() - waitStart) / 1_000_000;
+
+        String token = token(UUID.randomUUID());
+        for (int i = 0; i < 6; i++) {
+            call(i == 0 ? "first analysis" : "next analyses", token, "POST", "/api/resume/analyze",
+                    "{\"resumeId\":\"" + UUID.randomUUID() + "\",\"jobDescription\":\"Senior Java engineer\"}");
+        }
+        System.out.printf("readiness reached %d ms after the test started waiting%n", readyMs);
+        report(1, 0, 0);
+        assertThat(failures).isEmpty();
+    }
+
+    /**
+     * Time until a user sees how their resume matches a job description: the
+     * local match endpoint, the full analysis, and the streamed analysis's
+     * first ("match") and last ("analysis") events.
+     *
+     * <pre>
+     * ./mvnw test -Dtest=LoadHarnessTest#measureKeywordMatch -Dloadtest=true
+     * </pre>
+     */
+    @Test
+    void measureKeywordMatch() throws Exception {
+        String body = "{\"resumeId\":\"" + UUID.randomUUID() + "\",\"jobDescription\":"
+                + "\"Senior Java engineer: Spring Boot, Kafka, Kubernetes, PostgreSQL, AWS, Terraform, CI/CD\"}";
+        for (int round = 0; round < 2; round++) { // the first round warms up
+            latencies.clear();
+            for (int i = 0; i < Integer.getInteger("loadtest.matchRounds", 10); i++) {
+                String token = token(UUID.randomUUID()); // a fresh user each time, clear of rate limits
+                call("match", token, "POST", "/api/resume/match", body);
+                call("analyze", token, "POST", "/api/resume/analyze", body);
+                stream(token, body);
+            }
+        }
+        report(1, 0, 0);
+        assertThat(failures).isEmpty();
+    }
+
+    private void stream(String token, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/resume/analyze/stream"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<java.util.stream.Stream<String>> response = httpClient.send(request,
+                HttpResponse.BodyHandlers.ofLines());
+        if (response.statusCode() != 200) {
+            failures.computeIfAbsent("stream", k -> new AtomicLong()).incrementAndGet();
+        }
+        response.body()
+                .filter(line -> line.startsWith("event:"))
+                .forEach(line -> {
+                    String event = line.substring("event:".length()).strip();
+                    record("stream: " + event + " event", start);
+                    if (event.equals("error")) {
+                        failures.computeIfAbsent("stream", k -> new AtomicLong()).incrementAndGet();
+                    }
+                });
+    }
+
+    /**
+     * Recruiter ranking of every indexed resume against one job description,
+     * with loadtest.rankedResumes synthetic resumes indexed directly and a
+     * few more through real analyses, then the same ranking with the top
+     * three sent to Gemini.
+     *
+     * <pre>
+     * ./mvnw test -Dtest=LoadHarnessTest#measureRecruiterRanking -Dloadtest=true
+     * </pre>
+     */
+    @Test
+    void measureRecruiterRanking() throws Exception {
+        String[] skills = { "Java", "Spring Boot", "Kafka", "Kubernetes", "PostgreSQL", "AWS", "Terraform",
+                "Python", "React", "Docker", "Redis", "GraphQL", "Go", "Scala", "CI/CD", "Agile" };
+        java.util.Random random = new java.util.Random(46);
+        String filler = "Delivered the quarterly roadmap with the team and improved the release process. ";
+        for (int i = 0; i < Integer.getInteger("loadtest.rankedResumes", 5000); i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < 12; j++) {
+                text.append(skills[random.nextInt(skills.length)]).append(", ");
+            }
+            resumeIndex.add(UUID.randomUUID(), UUID.randomUUID(), text.append(filler.repeat(30)).toString(), null);
+        }
+        for (int i = 0; i < 5; i++) {
+            call("analyze", token(UUID.randomUUID()), "POST", "/api/resume/analyze",
+                    "{\"resumeId\":\"" + UUID.randomUUID() + "\",\"jobDescription\":\"Senior Java engineer\"}");
+        }
+        String job = "\"Senior Java engineer: Spring Boot, Kafka, Kubernetes, PostgreSQL, AWS, Terraform, CI/CD\"";
+        assertThat(call("rank as a candidate", token(UUID.randomUUID()), "POST", "/api/recruiter/rank",
+                "{\"jobDescription\":" + job + "}")).isNull();
+        failures.clear();
+
+        for (int round = 0; round < 2; round++) { // the first round warms up
+            latencies.clear();
+            for (int i = 0; i < Integer.getInteger("loadtest.rankRounds", 20); i++) {
+                String token = recruiterToken(UUID.randomUUID()); // a fresh user each time, clear of rate limits
+                call("rank", token, "POST", "/api/recruiter/rank", "{\"jobDescription\":" + job + "}");
+                if (i % 5 == 0) {
+                    call("rank + 3 deep analyses", token, "POST", "/api/recruiter/rank",
+                            "{\"jobDescription\":" + job + ",\"deepAnalyses\":3}");
+                }
+            }
+        }
+        System.out.printf("%d resumes indexed%n", resumeIndex.size());
+        report(1, 0, 0);
+        assertThat(failures).isEmpty();
+    }
+
+    /**
+     * Prompt size of analyses tailored to one long job description pasted for
+     * many resumes, and the latency of the first analysis (which digests the
+     * job description) against the rest. Compare with digests turned off:
+     *
+     * <pre>
+     * ./mvnw test -Dtest=LoadHarnessTest#measureJobDigest -Dloadtest=true
+     * ./mvnw test -Dtest=LoadHarnessTest#measureJobDigest -Dloadtest=true -Djob-digest.min-tokens=100000
+     * </pre>
+     */
+    @Test
+    void measureJobDigest() throws Exception {
+        String job = ("About us: we are a fast-growing fintech on a mission to make payments simple, trusted by "
+                + "thousands of merchants across Europe. The role: as a Senior Backend Engineer you will design, "
+                + "build and run the Java and Spring Boot microservices behind our payment APIs, on Kubernetes "
+                + "with PostgreSQL and Kafka, own services end to end and mentor other engineers. Requirements: "
+                + "5+ years of backend development in Java; Spring Boot, Kafka and PostgreSQL; Kubernetes in "
+                + "production; a degree in computer science or equivalent experience. Nice to have: Terraform, "
+                + "AWS, payments. Benefits: competitive salary, equity, 30 days of holiday, a learning budget "
+                + "and a hybrid setup. ").repeat(3);
+        String body = "{\"resumeId\":\"%s\",\"jobDescription\":\"" + job + "\"}";
+        for (int i = 0; i < Integer.getInteger("loadtest.digestRounds", 10); i++) {
+            call(i == 0 ? "first analysis" : "next analyses", token(UUID.randomUUID()), "POST",
+                    "/api/resume/analyze", String.format(body, UUID.randomUUID()));
+        }
+        for (String operation : new String[] { "resume_analysis", "job_digest" }) {
+            io.micrometer.core.instrument.DistributionSummary prompts = meterRegistry
+                    .find("gemini.prompt.estimated.tokens").tag("operation", operation).summary();
+            System.out.printf("%-16s prompts %3d, mean ~%.0f tokens%n", operation,
+                    prompts == null ? 0 : prompts.count(), prompts == null ? 0 : prompts.mean());
+        }
+        report(1, 0, 0);
+        assertThat(failures).isEmpty();
+    }
+
+    /**
+     * Latency and prompt tokens of editing one bullet of a built resume
+     * through /update, against building the same resume from scratch. The
+     * resume has three entries per section, as the stub returns; the bytes
+     * stored per version compare snapshots (builds) with deltas (edits). Five
+     * rounds of each stay within the per-endpoint burst of the rate limiter.
+     *
+     * <pre>
+     * ./mvnw test -Dtest=LoadHarnessTest#measureResumeUpdate -Dloadtest=true
+     * </pre>
+     */
+    @Test
+    void measureResumeUpdate() throws Exception {
+        String resume = "{\"title\":\"Load\",\"personalInfo\":{\"name\":\"Jane\"},"
+                + "\"skills\":[\"Java\",\"Spring Boot\",\"Kafka\",\"PostgreSQL\"],"
+                + "\"experience\":[%s],\"education\":[%s],\"projects\":[%s],\"certifications\":[%s]}";
+        String[] experience = new String[3];
+        String[] education = new String[3];
+        String[] projects = new String[3];
+        String[] certifications = new String[3];
+        for (int i = 0; i < 3; i++) {
+            experience[i] = "{\"title\":\"Engineer " + i + "\",\"company\":\"Acme " + i + "\",\"startDate\":\"201" + i
+                    + "\",\"endDate\":\"201" + (i + 1) + "\",\"description\":\"Built the payment APIs in Java and "
+                    + "Spring Boot, ran them on Kubernetes, cut p99 latency, moved billing events to Kafka, "
+                    + "mentored two juniors and led the on-call rotation\"}";
+            education[i] = "{\"degree\":\"Degree " + i + "\",\"school\":\"State\",\"achievements\":\"Dean's list\"}";
+            projects[i] = "{\"name\":\"Project " + i + "\",\"description\":\"A rate limiter library for Spring "
+                    + "services, used by three teams\",\"technologies\":\"Java, Redis\"}";
+            certifications[i] = "{\"name\":\"Certification " + i + "\",\"issuer\":\"CNCF\",\"date\":\"2022\"}";
+        }
+        String body = String.format(resume, String.join(",", experience), String.join(",", education),
+                String.join(",", projects), String.join(",", certifications));
+
+        int rounds = Integer.getInteger("loadtest.updateRounds", 5);
+        String token = token(UUID.randomUUID());
+        String id = null;
+        for (int i = 0; i < rounds; i++) {
+            JsonNode built = call("build", token, "POST", "/api/resume-builder/build", body);
+            id = built == null ? id : built.path("id").asText();
+        }
+        for (int i = 0; i < rounds; i++) {
+            // A different edit of the first position's description each time
+            call("update one bullet", token, "POST", "/api/resume-builder/" + id + "/update",
+                    body.replaceFirst("mentored two juniors", "mentored " + (i + 3) + " juniors"));
+        }
+        for (String operation : new String[] { "resume_build", "resume_entry" }) {
+            io.micrometer.core.instrument.DistributionSummary prompts = meterRegistry
+                    .find("gemini.prompt.estimated.tokens").tag("operation", operation).summary();
+            System.out.printf("%-16s prompts %3d, mean ~%.0f tokens%n", operation,
+                    prompts == null ? 0 : prompts.count(), prompts == null ? 0 : prompts.mean());
+        }
+        io.micrometer.core.instrument.DistributionSummary perEdit = meterRegistry
+                .find("resume.update.prompt.tokens").tag("mode", "incremental").summary();
+        System.out.printf("per edit: ~%.0f prompt tokens%n", perEdit == null ? 0 : perEdit.mean());
+        for (String kind : new String[] { "snapshot", "delta" }) {
+            io.micrometer.core.instrument.DistributionSummary stored = meterRegistry
+                    .find("resume.version.stored.bytes").tag("kind", kind).summary();
+            System.out.printf("%-8s versions %3d, mean %.0f bytes stored%n", kind,
+                    stored == null ? 0 : stored.count(), stored == null ? 0 : stored.mean());
+        }
+        report(1, 0, 0);
+        assertThat(failures).isEmpty();
+    }
+
+    /**
+     * Storage size and read latency of feedback rows with long transcripts:
+     * scores only (the regular feedback reads), the transcript loaded on
+     * request, and the same rows with the transcript inline as plain TEXT,
+     * the layout before transcripts moved out of the feedback table.
+     */
+    @Test
+    void measureFeedbackReads() {
+        int rows = Integer.getInteger("loadtest.feedbackRows", 500);
+        int transcriptChars = Integer.getInteger("loadtest.transcriptChars", 30_000);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS feedback_inline AS SELECT * FROM feedback WHERE 1 = 0");
+        jdbcTemplate.execute("ALTER TABLE feedback_inline ADD COLUMN IF NOT EXISTS transcript TEXT");
+
+        java.util.Random random = new java.util.Random(7);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Feedback feedback = new Feedback();
+            feedback.setInterviewId(UUID.randomUUID());
+            feedback.setUserId(UUID.randomUUID());
+            feedback.setStrengths("Clear structure and concrete examples.");
+            feedback.setAreasForImprovement("Quantify the impact of the work.");
+            feedback.setOverallScore(70 + random.nextInt(30));
+            feedback.setTranscript(spokenTranscript(random, transcriptChars));
+            Feedback saved = feedbackService.save(feedback);
+            jdbcTemplate.update("INSERT INTO feedback_inline (id, interview_id, user_id, strengths, "
+                    + "areas_for_improvement, overall_score, generated_at, transcript) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    saved.getId(), saved.getInterviewId(), saved.getUserId(), saved.getStrengths(),
+                    saved.getAreasForImprovement(), saved.getOverallScore(), saved.getGeneratedAt(),
+                    feedback.getTranscript());
+            ids.add(saved.getId());
+        }
+
+        for (int round = 0; round < 2; round++) { // the first round warms up
+            latencies.clear();
+            for (UUID id : ids) {
+                long start = System.nanoTime();
+                feedbackRepository.findById(id).orElseThrow();
+                record("feedback by id (scores)", start);
+
+                start = System.nanoTime();
+                feedbackRepository.findById(id).orElseThrow();
+                feedbackTranscriptService.load(id).orElseThrow();
+                record("feedback by id + transcript", start);
+
+                start = System.nanoTime();
+                jdbcTemplate.queryForMap("SELECT * FROM feedback_inline WHERE id = ?", id);
+                record("feedback by id, inline TEXT", start);
+            }
+        }
+        report(1, 0, 0);
+
+        Long raw = jdbcTemplate.queryForObject("SELECT SUM(original_length) FROM feedback_transcripts", Long.class);
+        Long stored = jdbcTemplate.queryForObject("SELECT SUM(OCTET_LENGTH(content)) FROM feedback_transcripts",
+                Long.class);
+        System.out.printf("transcripts: %,d bytes as text, %,d bytes stored (%.1fx)%n", raw, stored,
+                (double) raw / stored);
+        assertThat(stored).isLessThan(raw);
+    }
+
+    private static String spokenTranscript(java.util.Random random, int length) {
+        String[] words = ("so I think the main thing was that we had a service timing out under load and I "
+                + "started with the dashboards then talked to the team we added caching moved heavy queries "
+                + "to a replica and learned about ownership communication trade-offs stakeholders latency "
+                + "customers deadline incident rollback postmortem mentoring hiring roadmap").split(" ");
+        StringBuilder sb = new StringBuilder(length + 100);
+        while (sb.length() < length) {
+            sb.append("Q: Tell me about a challenge you faced.\nA:");
+            for (int i = 0; i < 150; i++) {
+                sb.append(' ').append(words[random.nextInt(words.length)]);
+            }
+            sb.append(".\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One user journey touching every controller.
+     */
+    private void runSession(String token) throws Exception {
+        JsonNode interview = call("POST /api/interviews/generate", token, "POST", "/api/interviews/generate",
+                "{\"title\":\"Load\",\"role\":\"Backend Engineer\",\"experienceLevel\":\"Senior\"}");
+        if (interview != null) {
+            String interviewId = interview.path("id").asText();
+            JsonNode feedback = call("POST /api/feedback", token, "POST", "/api/feedback",
+                    "{\"interviewId\":\"" + interviewId + "\",\"transcript\":\"Q: Tell me about yourself. A: I build APIs.\"}");
+            if (feedback != null) {
+                call("GET /api/feedback/{id}", token, "GET", "/api/feedback/" + feedback.path("id").asText(), null);
+            }
+            call("GET /api/feedback/for-interview/{id}", token, "GET", "/api/feedback/for-interview/" + interviewId, null);
+        }
+
+        String resumeId = UUID.randomUUID().toString();
+        call("POST /api/resume/analyze", token, "POST", "/api/resume/analyze",
+                "{\"resumeId\":\"" + resumeId + "\",\"jobDescription\":\"Senior Java engineer, Spring, Kafka\"}");
+        call("GET /api/resume/analysis/{id}", token, "GET", "/api/resume/analysis/" + resumeId, null);
+
+        JsonNode built = call("POST /api/resume-builder/build", token, "POST", "/api/resume-builder/build",
+                "{\"title\":\"Load\",\"personalInfo\":{\"name\":\"Jane\"},\"skills\":[\"Java\"],"
+                        + "\"experience\":[{\"title\":\"Engineer\",\"company\":\"Acme\",\"description\":\"Built APIs\"}]}");
+        if (built != null) {
+            call("GET /api/resume-builder/{id}", token, "GET", "/api/resume-builder/" + built.path("id").asText(), null);
+        }
+        call("GET /api/resume-builder/my-resumes", token, "GET", "/api/resume-builder/my-resumes", null);
+    }
+
+    private JsonNode call(String name, String token, String method, String path, String body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+        request = body == null ? request.GET() : request.method(method, HttpRequest.BodyPublishers.ofString(body));
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (Exception e) {
+            failures.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+            return null;
+        }
+        latencies.computeIfAbsent(name, k -> java.util.Collections.synchronizedList(new ArrayList<>()))
+                .add(System.nanoTime() - start);
+        if (response.statusCode() >= 400) {
+            failures.computeIfAbsent(name, k -> new AtomicLong()).incrementAndGet();
+            return null;
+        }
+        return response.body().isEmpty() ? null : objectMapper.readTree(response.body());
+    }
+
+    private long report(double elapsedSeconds, long peakThreads, long peakHeap) {
+        long total = 0;
+        StringBuilder sb = new StringBuilder(String.format("%n%-40s %8s %9s %9s %9s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "errors"));
+        for (Map.Entry<String, List<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+            List<Long> sorted = new ArrayList<>(entry.getValue());
+            sorted.sort(null);
+            total += sorted.size();
+            sb.append(String.format("%-40s %8d %9.1f %9.1f %9.1f %7d%n",
+                    entry.getKey(),
+                    sorted.size(),
+                    sorted.size() / elapsedSeconds,
+                    percentile(sorted, 0.50) / 1e6,
+                    percentile(sorted, 0.99) / 1e6,
+                    failures.getOrDefault(entry.getKey(), new AtomicLong()).get()));
+        }
+        sb.append(String.format("%ntotal: %d requests in %.1f s (%.1f req/s)%n", total, elapsedSeconds,
+                total / elapsedSeconds));
+        sb.append(String.format("peak live threads: %d, peak heap used: %.1f MB%n", peakThreads,
+                peakHeap / (1024.0 * 1024.0)));
+        sb.append(String.format("gemini stub: %d requests, %d rate limited, %d errors; storage downloads: %d%n",
+                GEMINI.requestCount(), GEMINI.rateLimitedCount(), GEMINI.errorCount(), SUPABASE.downloadCount()));
+        // Calls per model and routing reason, e.g. how many moved to the light model under load
+        Map<String, Double> routes = new TreeMap<>();
+        meterRegistry.find("gemini.model.route").counters().forEach(counter -> routes.merge(
+                counter.getId().getTag("model") + " (" + counter.getId().getTag("reason") + ")",
+                counter.count(), Double::sum));
+        routes.forEach((route, count) -> sb.append(String.format("gemini route %s: %.0f%n", route, count)));
+        System.out.println(sb);
+        return total;
+    }
+
+    private static ScheduledExecutorService sampleResources(AtomicLong peakThreads, AtomicLong peakHeap) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakThreads.accumulateAndGet(threads.getThreadCount(), Math::max);
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+        }, 0, 100, TimeUnit.MILLISECONDS);
+        return sampler;
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    private static String token(UUID userId) throws Exception {
+        return sign(claims(userId).build());
+    }
+
+    private static String recruiterToken(UUID userId) throws Exception {
+        return sign(claims(userId).claim("app_metadata", Map.of("role", "recruiter")).build());
+    }
+
+    private static JWTClaimsSet.Builder claims(UUID userId) {
+        return new JWTClaimsSet.Builder()
+                .subject(userId.toString())
+                .claim("role", "authenticated")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 3_600_000));
+    }
+
+    private static String sign(JWTClaimsSet claims) throws Exception {
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(JWT_SECRET.getBytes()));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,123 @@
+package com.InterviewAI.match;
+
+import com.InterviewAI.stub.SamplePdfs;
+import com.interviewai.dto.KeywordMatch;
+import com.interviewai.match.KeywordMatcher;
+import com.interviewai.match.SkillVocabulary;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordMatcherTest {
+
+    private static final String JOB = """
+            Senior Backend Engineer. You will build Java and Spring Boot microservices on Kubernetes
+            (k8s experience required) backed by Postgres and Kafka, shipped through CI/CD.
+            Nice to have: Terraform, Go-to-market awareness. We work in an Agile team.
+            """;
+
+    private final KeywordMatcher matcher = new KeywordMatcher(SkillVocabulary.load("match/skills.txt"), 450);
+
+    KeywordMatcherTest() throws IOException {
+    }
+
+    @Test
+    void listsMatchedAndMissingSkillsMostImportantFirst() {
+        String resume = "Built Java services with Spring Boot on k8s and PostgreSQL. Agile, Scrum.";
+
+        KeywordMatch match = matcher.match(resume, JOB);
+
+        // Kubernetes is named twice in the job; Agile weighs less than the technical skills
+        assertThat(match.matched()).containsExactly("Kubernetes", "Java", "Spring Boot", "PostgreSQL",
+                "Agile");
+        assertThat(match.missing()).containsExactly("Microservices", "Kafka", "CI/CD", "Terraform");
+        assertThat(match.score()).isBetween(50, 70);
+    }
+
+    @Test
+    void scoresFullCoverageAsHundredAndNoCoverageAsZero() {
+        String everything = "Java, Spring Boot, microservices, Kubernetes, PostgreSQL, Kafka, CI/CD, Terraform, Agile";
+
+        assertThat(matcher.match(everything, JOB).score()).isEqualTo(100);
+        assertThat(matcher.match("Watercolor painting and pottery", JOB).score()).isZero();
+        assertThat(matcher.match(everything, "Friendly team, free snacks"))
+                .isEqualTo(new KeywordMatch(0, List.of(), List.of()));
+    }
+
+    @Test
+    void recognizesSymbolsAndDotsInSkillNames() {
+        KeywordMatch match = matcher.match("C++ and C# on .NET, some Node.js",
+                "C++, C#, .NET, Node.js; Series C funded");
+
+        assertThat(match.matched()).containsExactlyInAnyOrder("C++", "C#", ".NET", "Node.js");
+        assertThat(match.missing()).isEmpty();
+    }
+
+    @Test
+    void needsMoreMentionsInLongerResumes() {
+        String filler = " Delivered the quarterly roadmap with the team.".repeat(400);
+
+        int shortResume = matcher.match("Kafka", "Kafka and Redis").score();
+        int longResume = matcher.match("Kafka." + filler, "Kafka and Redis").score();
+        int longResumeRepeated = matcher.match("Kafka. Kafka. Kafka. Kafka." + filler, "Kafka and Redis").score();
+
+        assertThat(shortResume).isEqualTo(50);
+        assertThat(longResume).isLessThan(shortResume);
+        assertThat(longResumeRepeated).isGreaterThan(longResume);
+    }
+
+    @Test
+    void rejectsAnAliasListedForTwoSkills() {
+        assertThatThrownBy(() -> SkillVocabulary.parse(List.of("Kubernetes|k8s", "K3s|k8s")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("k8s");
+    }
+
+    /**
+     * Latency and allocation per match of a job description against resumes
+     * of 1-4 pages.
+     * Run with
+     * mvn test -Dtest=KeywordMatcherTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkMatch() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String job = JOB.repeat(3);
+        System.out.printf("%-6s %12s %10s %10s %14s%n", "pages", "resume chars", "score", "us/match",
+                "bytes/match");
+        for (int pages : new int[] { 1, 2, 4 }) {
+            String resume = plainText(SamplePdfs.styledResume(0, pages));
+            int rounds = 20_000 / pages;
+            for (int i = 0; i < rounds; i++) {
+                matcher.match(resume, job); // warm up
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            int score = 0;
+            for (int i = 0; i < rounds; i++) {
+                score = matcher.match(resume, job).score();
+            }
+            long elapsed = System.nanoTime() - start;
+            allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+            System.out.printf("%-6d %12d %10d %10.1f %14d%n", pages, resume.length(), score,
+                    elapsed / 1e3 / rounds, allocated / rounds);
+        }
+    }
+
+    private static String plainText(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+}
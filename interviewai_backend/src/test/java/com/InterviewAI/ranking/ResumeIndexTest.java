@@ -0,0 +1,166 @@
+package com.InterviewAI.ranking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.match.KeywordMatcher;
+import com.interviewai.match.SkillVocabulary;
+import com.interviewai.ranking.ResumeIndex;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeIndexTest {
+
+    private static final String JOB = "Backend engineer: Java, Spring Boot, Kafka and Kubernetes. Agile team.";
+
+    private final KeywordMatcher matcher = new KeywordMatcher(SkillVocabulary.load("match/skills.txt"), 450);
+    private final List<ResumeIndex> opened = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    ResumeIndexTest() throws IOException {
+    }
+
+    @AfterEach
+    void close() {
+        opened.forEach(ResumeIndex::close);
+    }
+
+    @Test
+    void ranksBestCoverageFirstWithTheKeywordMatchersScores() throws IOException {
+        ResumeIndex index = index("", 256, 8);
+        String full = "Java and Spring Boot services on Kubernetes, events through Kafka. Agile.";
+        String partial = "Java developer, some Kafka.";
+        UUID fullId = add(index, full, null);
+        UUID partialId = add(index, partial, null);
+        add(index, "Watercolor painting and pottery.", null);
+
+        List<ResumeIndex.Hit> hits = index.rank(JOB, 10);
+
+        assertThat(hits).extracting(ResumeIndex.Hit::resumeId).containsExactly(fullId, partialId);
+        assertThat(hits.get(0).match()).isEqualTo(matcher.match(full, JOB));
+        assertThat(hits.get(1).match()).isEqualTo(matcher.match(partial, JOB));
+        assertThat(index.rank(JOB, 1)).extracting(ResumeIndex.Hit::resumeId).containsExactly(fullId);
+        assertThat(index.rank("Friendly team, free snacks", 10)).isEmpty();
+    }
+
+    @Test
+    void indexesTheAnalysisSkillLists() throws IOException {
+        ResumeIndex index = index("", 256, 8);
+        JsonNode analysis = new ObjectMapper().readTree("""
+                {"skillsAssessment": {"technical": ["Kubernetes", "Kafka"], "soft": [], "domain": []}}
+                """);
+        UUID resumeId = add(index, "Java developer.", analysis);
+
+        assertThat(index.rank(JOB, 10).get(0).match().matched()).contains("Java", "Kafka", "Kubernetes");
+        assertThat(index.rank(JOB, 10).get(0).resumeId()).isEqualTo(resumeId);
+    }
+
+    @Test
+    void replacesTheEntryOfAReanalyzedResume() throws IOException {
+        ResumeIndex index = index("", 2, 8);
+        UUID resumeId = add(index, "Java.", null);
+        add(index, "Kafka.", null);
+        add(index, "Agile.", null); // the first two are flushed by now
+
+        index.add(resumeId, UUID.randomUUID(), "Java, Spring Boot, Kafka, Kubernetes.", null);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.rank(JOB, 10)).extracting(ResumeIndex.Hit::resumeId).first().isEqualTo(resumeId);
+        assertThat(index.rank(JOB, 10)).filteredOn(hit -> hit.resumeId().equals(resumeId)).hasSize(1);
+    }
+
+    @Test
+    void reopensFlushedAndMergedSegmentsFromDisk() throws IOException {
+        ResumeIndex index = index(directory.toString(), 2, 2);
+        List<UUID> resumeIds = new ArrayList<>();
+        for (String text : new String[] { "Java.", "Java, Kafka.", "Kafka.", "Agile.", "Kubernetes.", "Java." }) {
+            resumeIds.add(add(index, text, null));
+        }
+        index.add(resumeIds.get(0), UUID.randomUUID(), "Java, Spring Boot, Kafka.", null);
+        List<ResumeIndex.Hit> before = index.rank(JOB, 10);
+        index.close();
+        opened.remove(index);
+
+        ResumeIndex reopened = index(directory.toString(), 2, 2);
+
+        assertThat(reopened.size()).isEqualTo(6);
+        assertThat(reopened.rank(JOB, 10)).isEqualTo(before);
+        assertThat(before.get(0).resumeId()).isEqualTo(resumeIds.get(0));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".idx")).count()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    /**
+     * Time to index and to rank 1,000-20,000 synthetic resumes of ~450
+     * words against a job description naming ten skills.
+     * Run with
+     * mvn test -Dtest=ResumeIndexTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkRanking() throws IOException {
+        Random random = new Random(46);
+        String[] skills = new String[matcher.vocabulary().size()];
+        Arrays.setAll(skills, matcher.vocabulary()::name);
+        String filler = "Delivered the quarterly roadmap with the team and improved the release process. ";
+        String job = String.join(", ", Arrays.copyOf(skills, 10)) + ". " + filler;
+        System.out.printf("%-8s %10s %10s %10s %10s%n", "resumes", "index ms", "rank p50", "rank p99", "results");
+        for (int resumes : new int[] { 1_000, 5_000, 20_000 }) {
+            ResumeIndex index = index("", 256, 8);
+            long start = System.nanoTime();
+            for (int i = 0; i < resumes; i++) {
+                StringBuilder text = new StringBuilder();
+                for (int j = 0; j < 30; j++) {
+                    text.append(skills[random.nextInt(skills.length)]).append(", ");
+                }
+                text.append(filler.repeat(30));
+                index.add(UUID.randomUUID(), UUID.randomUUID(), text.toString(), null);
+            }
+            index.flush();
+            long indexMs = (System.nanoTime() - start) / 1_000_000;
+            for (int i = 0; i < 50; i++) {
+                index.rank(job, 20); // warm up
+            }
+            long[] micros = new long[200];
+            int results = 0;
+            for (int i = 0; i < micros.length; i++) {
+                long t = System.nanoTime();
+                results = index.rank(job, 20).size();
+                micros[i] = (System.nanoTime() - t) / 1000;
+            }
+            Arrays.sort(micros);
+            System.out.printf("%-8d %10d %10.2f %10.2f %10d%n", resumes, indexMs, micros[100] / 1000.0,
+                    micros[198] / 1000.0, results);
+        }
+    }
+
+    private ResumeIndex index(String dir, int flushDocs, int maxSegments) throws IOException {
+        ResumeIndex index = new ResumeIndex(matcher, new SimpleMeterRegistry(), dir, flushDocs, maxSegments, 2);
+        opened.add(index);
+        return index;
+    }
+
+    private static UUID add(ResumeIndex index, String text, JsonNode analysis) {
+        UUID resumeId = UUID.randomUUID();
+        index.add(resumeId, UUID.randomUUID(), text, analysis);
+        return resumeId;
+    }
+}
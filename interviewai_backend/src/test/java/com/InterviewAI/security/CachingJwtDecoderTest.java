@@ -0,0 +1,131 @@
+package com.InterviewAI.security;
+
+import com.interviewai.security.CachingJwtDecoder;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingJwtDecoderTest {
+
+    private static final String SECRET = "caching-decoder-secret-0123456789-abcdefghijklmnop";
+
+    private final NimbusJwtDecoder nimbus = NimbusJwtDecoder
+            .withSecretKey(new SecretKeySpec(SECRET.getBytes(), MacAlgorithm.HS256.getName()))
+            .macAlgorithm(MacAlgorithm.HS256)
+            .build();
+
+    @Test
+    void reusesVerifiedTokenUntilItExpires() throws Exception {
+        MutableClock clock = new MutableClock(Instant.now());
+        AtomicInteger delegateCalls = new AtomicInteger();
+        JwtDecoder counting = token -> {
+            delegateCalls.incrementAndGet();
+            return nimbus.decode(token);
+        };
+        CachingJwtDecoder decoder = new CachingJwtDecoder(counting, 100, clock);
+        String token = sign(clock.instant().plus(Duration.ofMinutes(10)));
+
+        decoder.decode(token);
+        decoder.decode(token);
+        assertThat(delegateCalls).hasValue(1);
+
+        clock.advance(Duration.ofMinutes(11));
+        assertThat(decoder.size()).isZero();
+    }
+
+    @Test
+    void doesNotCacheRejectedTokens() throws Exception {
+        CachingJwtDecoder decoder = new CachingJwtDecoder(nimbus, 100);
+        String tampered = sign(Instant.now().plusSeconds(600)) + "x";
+
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class);
+        assertThat(decoder.size()).isZero();
+    }
+
+    /**
+     * Decode cost per request with and without the cache. Run with
+     * mvn test -Dtest=CachingJwtDecoderTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkDecodeCost() throws Exception {
+        String token = sign(Instant.now().plusSeconds(3600));
+        CachingJwtDecoder caching = new CachingJwtDecoder(nimbus, 10_000);
+
+        System.out.printf("nimbus:  %,d ns/decode%n", nanosPerDecode(nimbus, token));
+        System.out.printf("caching: %,d ns/decode%n", nanosPerDecode(caching, token));
+    }
+
+    private static long nanosPerDecode(JwtDecoder decoder, String token) {
+        int iterations = 200_000;
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            decoder.decode(token);
+        }
+        return (System.nanoTime() - start) / iterations;
+    }
+
+    private static String sign(Instant expiresAt) throws Exception {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(UUID.randomUUID().toString())
+                .issueTime(new Date())
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes()));
+        return jwt.serialize();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.of("UTC");
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.InterviewAI.security;
+
+import com.interviewai.security.ScrapeTokenFilter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeTokenFilterTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void grantsTheMetricsRoleForTheConfiguredTokenOnly() throws Exception {
+        assertThat(authenticate("scrape-secret", "Bearer scrape-secret")).isNotNull()
+                .extracting(auth -> auth.getAuthorities().iterator().next().getAuthority())
+                .isEqualTo("ROLE_METRICS");
+        assertThat(authenticate("scrape-secret", "Bearer other")).isNull();
+        assertThat(authenticate("scrape-secret", null)).isNull();
+    }
+
+    @Test
+    void grantsNothingWithoutAConfiguredToken() throws Exception {
+        assertThat(authenticate("", "Bearer ")).isNull();
+        assertThat(authenticate(null, "Bearer null")).isNull();
+    }
+
+    private static Authentication authenticate(String token, String header) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/actuator/prometheus");
+        if (header != null) {
+            request.addHeader("Authorization", header);
+        }
+        new ScrapeTokenFilter(token).doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,54 @@
+package com.InterviewAI.service;
+
+import com.interviewai.service.FeedbackTranscriptMigration;
+import com.interviewai.service.FeedbackTranscriptService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedbackTranscriptMigrationTest {
+
+    private final FeedbackTranscriptService transcriptService = mock(FeedbackTranscriptService.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final FeedbackTranscriptMigration migration = new FeedbackTranscriptMigration(transcriptService,
+            jdbcTemplate, Duration.ofSeconds(30));
+
+    @Test
+    void staysOutOfServiceUntilTheLegacyTranscriptsAreCopied() throws InterruptedException {
+        UUID feedbackId = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbcTemplate.queryForList(anyString())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.<Map<String, Object>>of(Map.of("id", feedbackId, "transcript", "Q: Why us? A: The team."));
+        }).thenReturn(List.of());
+
+        migration.start();
+
+        assertThat(migration.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(migration.isComplete()).isFalse();
+
+        release.countDown();
+        for (int i = 0; i < 250 && migration.health().getStatus() != Status.UP; i++) {
+            Thread.sleep(20);
+        }
+
+        assertThat(migration.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(migration.isComplete()).isTrue();
+        assertThat(migration.health().getDetails()).containsEntry("copied", 1);
+        verify(transcriptService).store(feedbackId, "Q: Why us? A: The team.");
+    }
+}
@@ -0,0 +1,123 @@
+package com.InterviewAI.service;
+
+import com.interviewai.model.FeedbackTranscript;
+import com.interviewai.repository.FeedbackTranscriptRepository;
+import com.interviewai.service.FeedbackTranscriptService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedbackTranscriptServiceTest {
+
+    private static final String[] QUESTIONS = {
+            "Can you tell me about yourself and your background?",
+            "Describe a time you disagreed with a teammate.",
+            "How do you approach debugging a production incident?",
+            "What are you looking for in your next role?" };
+
+    private static final String[] WORDS = ("so I think um the main thing was that we we had a service that "
+            + "was timing out under load and I started by looking at the dashboards and then I talked to the "
+            + "team about it and we decided to add caching and also we moved the heavy queries to a replica "
+            + "which honestly made a big difference for our customers and I learned a lot about ownership "
+            + "communication and you know being really clear about trade-offs with stakeholders").split(" ");
+
+    private final FeedbackTranscriptRepository repository = mock(FeedbackTranscriptRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final FeedbackTranscriptService service = new FeedbackTranscriptService(repository, jdbcTemplate);
+
+    @Test
+    void storesTranscriptsCompressedAndLoadsThemBack() {
+        UUID feedbackId = UUID.randomUUID();
+        String transcript = transcript(new Random(1), 20_000) + " — naïve café ✓";
+
+        service.store(feedbackId, transcript);
+
+        ArgumentCaptor<FeedbackTranscript> stored = ArgumentCaptor.forClass(FeedbackTranscript.class);
+        verify(repository).save(stored.capture());
+        FeedbackTranscript row = stored.getValue();
+        assertThat(row.getEncoding()).isEqualTo(FeedbackTranscriptService.DEFLATE);
+        assertThat(row.getOriginalLength()).isEqualTo(transcript.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(row.getContent().length).isLessThan(row.getOriginalLength() / 3);
+
+        when(repository.findById(feedbackId)).thenReturn(Optional.of(row));
+        assertThat(service.load(feedbackId)).contains(transcript);
+    }
+
+    @Test
+    void readsTheLegacyColumnUntilTheTranscriptIsCopied() {
+        UUID feedbackId = UUID.randomUUID();
+        when(repository.findById(feedbackId)).thenReturn(Optional.empty());
+        when(jdbcTemplate.queryForList("SELECT transcript FROM feedback WHERE id = ?", String.class, feedbackId))
+                .thenReturn(java.util.List.of("Q: Tell me about yourself. A: I build APIs."));
+
+        assertThat(service.load(feedbackId)).contains("Q: Tell me about yourself. A: I build APIs.");
+    }
+
+    @Test
+    void rejectsTruncatedContent() {
+        byte[] utf8 = transcript(new Random(2), 5_000).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = FeedbackTranscriptService.compress(utf8);
+        byte[] truncated = java.util.Arrays.copyOf(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> FeedbackTranscriptService.decompress(truncated, utf8.length))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Stored size and decode time for transcripts of a short, typical and
+     * long voice interview. Run with
+     * mvn test -Dtest=FeedbackTranscriptServiceTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkCompression() {
+        Random random = new Random(42);
+        System.out.printf("%-12s %10s %10s %7s %12s%n", "transcript", "bytes", "stored", "ratio", "decode us");
+        for (int length : new int[] { 2_000, 15_000, 60_000 }) {
+            byte[] utf8 = transcript(random, length).getBytes(StandardCharsets.UTF_8);
+            byte[] compressed = FeedbackTranscriptService.compress(utf8);
+            for (int i = 0; i < 2_000; i++) {
+                FeedbackTranscriptService.decompress(compressed, utf8.length); // warm up
+            }
+            int rounds = 2_000;
+            long start = System.nanoTime();
+            for (int i = 0; i < rounds; i++) {
+                FeedbackTranscriptService.decompress(compressed, utf8.length);
+            }
+            double micros = (System.nanoTime() - start) / 1e3 / rounds;
+            System.out.printf("%-12s %,10d %,10d %6.1fx %12.1f%n", length + " chars", utf8.length,
+                    compressed.length, (double) utf8.length / compressed.length, micros);
+        }
+    }
+
+    /**
+     * Interviewer questions and rambling spoken answers, as produced by the
+     * speech-to-text client.
+     */
+    private static String transcript(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length + 200);
+        while (sb.length() < length) {
+            sb.append("Interviewer: ").append(QUESTIONS[random.nextInt(QUESTIONS.length)]).append('\n');
+            sb.append("Candidate:");
+            int words = 40 + random.nextInt(120);
+            for (int i = 0; i < words; i++) {
+                sb.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            sb.append(".\n");
+        }
+        return sb.toString();
+    }
+}
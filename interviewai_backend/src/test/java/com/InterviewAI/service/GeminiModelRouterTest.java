@@ -0,0 +1,95 @@
+package com.InterviewAI.service;
+
+import com.interviewai.admission.FairQueue;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.service.GeminiModelRouter;
+import com.interviewai.service.GeminiOperation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GeminiModelRouterTest {
+
+    private static final String FLASH = "gemini-2.5-flash";
+    private static final String LITE = "gemini-2.5-flash-lite";
+
+    private final FairQueue fairQueue = mock(FairQueue.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void routesOperationsToTheirConfiguredModel() {
+        GeminiModelRouter router = router("follow_up=" + LITE + ", job_digest = gemini-2.5-pro", "", 0);
+
+        assertThat(router.route(GeminiOperation.FOLLOW_UP).model()).isEqualTo(LITE);
+        assertThat(router.route(GeminiOperation.JOB_DIGEST).model()).isEqualTo("gemini-2.5-pro");
+        assertThat(router.route(GeminiOperation.RESUME_ANALYSIS))
+                .isEqualTo(new GeminiModelRouter.Route(FLASH, GeminiModelRouter.REASON_CONFIGURED));
+        assertThat(meterRegistry.counter("gemini.model.route", "operation", "follow_up", "model", LITE,
+                "reason", "configured").count()).isEqualTo(1);
+        assertThatThrownBy(() -> router("resume_analyze=" + LITE, "", 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("resume_analyze");
+    }
+
+    @Test
+    void movesAnOperationToTheLightModelWhileItsModelFailsOrIsSlow() {
+        GeminiModelRouter router = router("", "", 0);
+        for (int i = 0; i < 10; i++) {
+            router.record(GeminiOperation.RESUME_ANALYSIS, FLASH, TimeUnit.SECONDS.toNanos(2), i % 3 == 0);
+            router.record(GeminiOperation.INTERVIEW_QUESTIONS, FLASH, TimeUnit.SECONDS.toNanos(i < 8 ? 2 : 30),
+                    false);
+            router.record(GeminiOperation.ANSWER_EVALUATION, FLASH, TimeUnit.SECONDS.toNanos(1), i == 0);
+        }
+
+        assertThat(router.route(GeminiOperation.RESUME_ANALYSIS))
+                .isEqualTo(new GeminiModelRouter.Route(LITE, GeminiModelRouter.REASON_ERRORS));
+        assertThat(router.route(GeminiOperation.INTERVIEW_QUESTIONS))
+                .isEqualTo(new GeminiModelRouter.Route(LITE, GeminiModelRouter.REASON_LATENCY));
+        assertThat(router.route(GeminiOperation.ANSWER_EVALUATION).model()).isEqualTo(FLASH);
+        // Too few calls to judge yet
+        assertThat(router.route(GeminiOperation.FOLLOW_UP).model()).isEqualTo(FLASH);
+        assertThat(meterRegistry.timer("gemini.model.latency", "operation", "resume_analysis", "model", FLASH,
+                "traffic", "served", "outcome", "error").count()).isEqualTo(4);
+    }
+
+    @Test
+    void staysOnTheConfiguredModelWhenTheLightModelFailsToo() {
+        GeminiModelRouter router = router("", "", 0);
+        for (int i = 0; i < 10; i++) {
+            router.record(GeminiOperation.RESUME_BUILD, FLASH, TimeUnit.SECONDS.toNanos(5), true);
+            router.record(GeminiOperation.RESUME_BUILD, LITE, TimeUnit.SECONDS.toNanos(5), true);
+        }
+
+        assertThat(router.route(GeminiOperation.RESUME_BUILD).model()).isEqualTo(FLASH);
+    }
+
+    @Test
+    void movesCallsToTheLightModelUnderLoadAndShadowsSampledCalls() {
+        GeminiModelRouter router = router("", "gemini-2.5-pro", 1.0);
+
+        when(fairQueue.queueDepth()).thenReturn(3);
+        assertThat(router.route(GeminiOperation.TRANSCRIPT_ANALYSIS))
+                .isEqualTo(new GeminiModelRouter.Route(LITE, GeminiModelRouter.REASON_LOAD));
+
+        when(fairQueue.queueDepth()).thenReturn(0);
+        assertThat(router.route(GeminiOperation.TRANSCRIPT_ANALYSIS).model()).isEqualTo(FLASH);
+        assertThat(router.shadowModel(GeminiOperation.TRANSCRIPT_ANALYSIS, FLASH)).contains("gemini-2.5-pro");
+        assertThat(router.shadowModel(GeminiOperation.TRANSCRIPT_ANALYSIS, "gemini-2.5-pro")).isEmpty();
+        assertThat(router("", "", 1.0).shadowModel(GeminiOperation.TRANSCRIPT_ANALYSIS, FLASH)).isEmpty();
+    }
+
+    private GeminiModelRouter router(String routes, String shadowModel, double shadowSampleRate) {
+        return new GeminiModelRouter(fairQueue, new PipelineMetrics(meterRegistry, ObservationRegistry.NOOP),
+                FLASH, routes, LITE, Duration.ofMinutes(1), 5, Duration.ofSeconds(20), 0.25, 3,
+                shadowModel, shadowSampleRate, "");
+    }
+}
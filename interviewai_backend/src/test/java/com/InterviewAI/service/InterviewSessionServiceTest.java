@@ -0,0 +1,190 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.dto.AnswerRequest;
+import com.interviewai.model.Feedback;
+import com.interviewai.model.Interview;
+import com.interviewai.model.InterviewAnswer;
+import com.interviewai.repository.InterviewAnswerRepository;
+import com.interviewai.repository.InterviewRepository;
+import com.interviewai.service.FeedbackService;
+import com.interviewai.service.GeminiService;
+import com.interviewai.service.InterviewSessionService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InterviewSessionServiceTest {
+
+    private static final String SCRIPT = """
+            {"opening":"Hi","questions":[
+              {"transition":"First","question":"Tell me about yourself.","acknowledgment":"Thanks"},
+              {"transition":"Next","question":"Describe a hard bug.","acknowledgment":"Great"},
+              {"transition":"Last","question":"Why this role?","acknowledgment":"Thanks"}],
+            "closing":"Bye"}""";
+
+    private final InterviewRepository interviewRepository = mock(InterviewRepository.class);
+    private final InterviewAnswerRepository answerRepository = mock(InterviewAnswerRepository.class);
+    private final FeedbackService feedbackService = mock(FeedbackService.class);
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final Map<UUID, InterviewAnswer> rows = new ConcurrentHashMap<>();
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID interviewId = UUID.randomUUID();
+    private InterviewSessionService service;
+
+    @BeforeEach
+    void setUp() {
+        Interview interview = new Interview();
+        interview.setId(interviewId);
+        interview.setUserId(userId);
+        interview.setRole("Backend Engineer");
+        interview.setQuestions(SCRIPT);
+        when(interviewRepository.findById(interviewId)).thenReturn(Optional.of(interview));
+        when(feedbackService.saveForInterview(any(Feedback.class))).thenAnswer(call -> call.getArgument(0));
+        inMemoryAnswers();
+        service = new InterviewSessionService(interviewRepository, answerRepository, feedbackService, geminiService,
+                new ObjectMapper(), Duration.ofSeconds(5));
+    }
+
+    @Test
+    void evaluatesEachAnswerOnSubmitAndAggregatesOnComplete() {
+        when(geminiService.evaluateAnswer(eq("Backend Engineer"), anyString(), anyString()))
+                .thenReturn(evaluation(60), evaluation(80), evaluation(100));
+
+        for (int i = 0; i < 3; i++) {
+            InterviewAnswer answer = service.submitAnswer(interviewId, answer(i, "Answer " + i), userId);
+            assertThat(answer.getQuestion()).isNotBlank();
+        }
+        verify(geminiService, times(3)).evaluateAnswer(anyString(), anyString(), anyString());
+
+        Feedback feedback = service.complete(interviewId, userId);
+
+        assertThat(feedback.getOverallScore()).isEqualTo(80);
+        assertThat(feedback.getStrengths()).contains("Q1: good", "Q3: good");
+        assertThat(feedback.getTranscript()).contains("Q: Describe a hard bug.\nA: Answer 1");
+        // Completing did not call Gemini again
+        verify(geminiService, times(3)).evaluateAnswer(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void failedEvaluationIsRetriedOnComplete() {
+        when(geminiService.evaluateAnswer(anyString(), anyString(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("boom")), evaluation(70));
+
+        service.submitAnswer(interviewId, answer(0, "Answer"), userId);
+        Feedback feedback = service.complete(interviewId, userId);
+
+        assertThat(feedback.getOverallScore()).isEqualTo(70);
+        verify(geminiService, times(2)).evaluateAnswer(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void concurrentFirstSubmissionUpdatesTheRowInsertedFirst() {
+        when(geminiService.evaluateAnswer(anyString(), anyString(), anyString())).thenReturn(evaluation(70));
+        when(answerRepository.save(any(InterviewAnswer.class))).thenAnswer(call -> {
+            // The other request inserts its row between this one's lookup and insert
+            InterviewAnswer other = new InterviewAnswer();
+            other.setInterviewId(interviewId);
+            other.setUserId(userId);
+            other.setQuestionIndex(0);
+            other.setAnswer("Other answer");
+            other.setRevision(1);
+            other.setStatus(InterviewAnswer.Status.PENDING);
+            store(other);
+            throw new DataIntegrityViolationException("duplicate key");
+        }).thenAnswer(call -> store(call.getArgument(0)));
+
+        InterviewAnswer answer = service.submitAnswer(interviewId, answer(0, "Answer"), userId);
+
+        assertThat(rows).hasSize(1);
+        assertThat(answer.getRevision()).isEqualTo(2);
+        assertThat(rows.get(answer.getId()).getAnswer()).isEqualTo("Answer");
+    }
+
+    @Test
+    void rejectsQuestionIndexOutsideTheScript() {
+        assertThatThrownBy(() -> service.submitAnswer(interviewId, answer(3, "Answer"), userId))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Mono<Map<String, Object>> evaluation(int score) {
+        return Mono.delay(Duration.ofMillis(50))
+                .map(tick -> Map.of("score", score, "strengths", "good", "improvement", "more detail"));
+    }
+
+    private static AnswerRequest answer(int index, String text) {
+        AnswerRequest request = new AnswerRequest();
+        request.setQuestionIndex(index);
+        request.setAnswer(text);
+        return request;
+    }
+
+    private void inMemoryAnswers() {
+        when(answerRepository.save(any(InterviewAnswer.class))).thenAnswer(call -> store(call.getArgument(0)));
+        when(answerRepository.findByInterviewIdAndQuestionIndex(any(), any())).thenAnswer(call -> rows.values()
+                .stream()
+                .filter(a -> a.getQuestionIndex().equals(call.getArgument(1)))
+                .findFirst()
+                .map(InterviewSessionServiceTest::copy));
+        when(answerRepository.findByInterviewIdOrderByQuestionIndex(any())).thenAnswer(call -> rows.values()
+                .stream()
+                .sorted(Comparator.comparing(InterviewAnswer::getQuestionIndex))
+                .map(InterviewSessionServiceTest::copy)
+                .toList());
+        when(answerRepository.storeEvaluation(any(), any(), any(), any(), any(), any(), any())).thenAnswer(call -> {
+            InterviewAnswer row = rows.get(call.<UUID>getArgument(0));
+            if (row == null || !row.getRevision().equals(call.getArgument(1))) {
+                return 0;
+            }
+            row.setStatus(call.getArgument(2));
+            row.setScore(call.getArgument(3));
+            row.setStrengths(call.getArgument(4));
+            row.setImprovement(call.getArgument(5));
+            return 1;
+        });
+    }
+
+    private InterviewAnswer store(InterviewAnswer answer) {
+        if (answer.getId() == null) {
+            answer.setId(UUID.randomUUID());
+        }
+        rows.put(answer.getId(), copy(answer));
+        return answer;
+    }
+
+    private static InterviewAnswer copy(InterviewAnswer source) {
+        InterviewAnswer copy = new InterviewAnswer();
+        copy.setId(source.getId());
+        copy.setInterviewId(source.getInterviewId());
+        copy.setUserId(source.getUserId());
+        copy.setQuestionIndex(source.getQuestionIndex());
+        copy.setQuestion(source.getQuestion());
+        copy.setAnswer(source.getAnswer());
+        copy.setRevision(source.getRevision());
+        copy.setStatus(source.getStatus());
+        copy.setScore(source.getScore());
+        copy.setStrengths(source.getStrengths());
+        copy.setImprovement(source.getImprovement());
+        return copy;
+    }
+}
@@ -0,0 +1,150 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.cache.OffHeapPayloadStore;
+import com.interviewai.cache.ReadCacheFactory;
+import com.interviewai.match.KeywordMatcher;
+import com.interviewai.match.SkillVocabulary;
+import com.interviewai.model.JobDigest;
+import com.interviewai.repository.JobDigestRepository;
+import com.interviewai.service.GeminiService;
+import com.interviewai.service.JobDigestService;
+import com.interviewai.service.PromptBudget;
+import com.interviewai.service.ResumeTextCompressor;
+import com.interviewai.service.TokenEstimator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobDigestServiceTest {
+
+    private static final String JOB = """
+            About us: we are a fast-growing fintech on a mission to make payments simple for everyone,
+            backed by leading investors and trusted by thousands of merchants across Europe.
+
+            The role: as a Senior Backend Engineer you will design, build and run the Java and Spring Boot
+            microservices behind our payment APIs, deployed on Kubernetes and backed by PostgreSQL and Kafka.
+            You will own services end to end, from design reviews to on-call, and mentor other engineers.
+
+            Requirements: 5+ years of backend development in Java; experience with Spring Boot, Kafka and
+            PostgreSQL; Kubernetes in production; a degree in computer science or equivalent experience.
+            Nice to have: Terraform, AWS, experience in payments.
+
+            Benefits: competitive salary, equity, 30 days of holiday, a learning budget, a yearly team
+            retreat and a hybrid setup with an office in the city centre. Apply with your CV and a short note.
+            """;
+
+    private static final String REQUIREMENTS = """
+            {"title": "Senior Backend Engineer", "seniority": "senior",
+             "mustHave": ["Java", "Spring Boot", "Kafka", "PostgreSQL", "Kubernetes in production"],
+             "niceToHave": ["Terraform", "AWS", "payments"],
+             "responsibilities": ["Build and run payment APIs", "On-call", "Mentoring"],
+             "qualifications": ["5+ years backend", "CS degree or equivalent"]}""";
+
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final JobDigestRepository repository = mock(JobDigestRepository.class);
+    private final Map<String, JobDigest> rows = new ConcurrentHashMap<>();
+    private final TokenEstimator tokenEstimator = new TokenEstimator();
+    private JsonNode requirements;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        requirements = new ObjectMapper().readTree(REQUIREMENTS);
+        when(repository.findById(anyString())).thenAnswer(call -> Optional.ofNullable(rows.get(call.getArgument(0))));
+        when(repository.save(any(JobDigest.class))).thenAnswer(call -> {
+            JobDigest row = call.getArgument(0);
+            rows.put(row.getHash(), row);
+            return row;
+        });
+    }
+
+    @Test
+    void digestsAJobDescriptionOnceForAllCopiesOfIt() throws IOException {
+        when(geminiService.digestJobDescription(anyString())).thenReturn(Mono.just(requirements));
+        JobDigestService service = service();
+
+        String digest = service.resolve(JOB).block();
+        String copy = service.resolve("  " + JOB.toUpperCase().replace("\n", "\r\n") + "\n\n").block();
+
+        assertThat(copy).isEqualTo(digest);
+        assertThat(digest).contains("Title: Senior Backend Engineer (senior)",
+                "Must have: Java; Spring Boot; Kafka; PostgreSQL; Kubernetes in production",
+                "Also named: Microservices");
+        assertThat(tokenEstimator.estimateTokens(digest)).isLessThan(tokenEstimator.estimateTokens(JOB) / 2);
+        verify(geminiService, times(1)).digestJobDescription(anyString());
+        assertThat(rows).hasSize(1);
+    }
+
+    @Test
+    void reusesStoredDigestsAcrossInstances() throws IOException {
+        when(geminiService.digestJobDescription(anyString())).thenReturn(Mono.just(requirements));
+        String digest = service().resolve(JOB).block();
+
+        assertThat(service().resolve(JOB).block()).isEqualTo(digest);
+        verify(geminiService, times(1)).digestJobDescription(anyString());
+    }
+
+    @Test
+    void sharesOneGeminiCallBetweenConcurrentRequests() throws IOException {
+        Sinks.One<JsonNode> answer = Sinks.one();
+        when(geminiService.digestJobDescription(anyString())).thenReturn(answer.asMono());
+        JobDigestService service = service();
+
+        Mono<String> first = service.resolve(JOB).cache();
+        Mono<String> second = service.resolve(JOB).cache();
+        first.subscribe();
+        second.subscribe();
+        answer.tryEmitValue(requirements);
+
+        assertThat(first.block()).isEqualTo(second.block());
+        verify(geminiService, times(1)).digestJobDescription(anyString());
+    }
+
+    @Test
+    void usesShortJobDescriptionsAndFailedDigestsAsTheyAre() throws IOException {
+        when(geminiService.digestJobDescription(anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("Gemini unavailable")));
+        JobDigestService service = service();
+
+        assertThat(service.resolve("Senior Java engineer").block()).isEqualTo("Senior Java engineer");
+        assertThat(service.resolve(null).block()).isEmpty();
+        verify(geminiService, never()).digestJobDescription(anyString());
+
+        assertThat(service.resolve(JOB).block()).startsWith("About us:");
+        assertThat(service.resolve(JOB).block()).startsWith("About us:");
+        verify(geminiService, times(2)).digestJobDescription(anyString());
+        assertThat(rows).isEmpty();
+    }
+
+    private JobDigestService service() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ReadCacheFactory readCacheFactory = new ReadCacheFactory(new ObjectMapper(), meterRegistry,
+                new OffHeapPayloadStore(meterRegistry, DataSize.ofMegabytes(1), DataSize.ofKilobytes(256)),
+                DataSize.ofMegabytes(1), Duration.ofMinutes(5), 1000);
+        PromptBudget promptBudget = new PromptBudget(tokenEstimator, new ResumeTextCompressor(tokenEstimator),
+                6000, 1500, 12000, 24000);
+        return new JobDigestService(geminiService, repository,
+                new KeywordMatcher(SkillVocabulary.load("match/skills.txt"), 450), promptBudget, tokenEstimator,
+                readCacheFactory, 150, Duration.ofDays(30));
+    }
+}
@@ -0,0 +1,71 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.service.JsonPatch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void patchesOnlyTheChangedEntryOfAList() throws IOException {
+        JsonNode source = objectMapper.readTree("""
+                {"title": "Backend", "experience": [
+                  {"company": "Acme", "bullets": ["Built APIs"]},
+                  {"company": "Initech", "bullets": ["Kept servers up"]},
+                  {"company": "Hooli", "bullets": ["Scaled search"]}]}""");
+        JsonNode target = objectMapper.readTree("""
+                {"title": "Backend", "experience": [
+                  {"company": "Acme", "bullets": ["Built APIs"]},
+                  {"company": "Initech", "bullets": ["Kept servers up", "Cut costs"]},
+                  {"company": "Hooli", "bullets": ["Scaled search"]}]}""");
+
+        JsonNode patch = JsonPatch.diff(source, target);
+
+        assertThat(patch.toString())
+                .isEqualTo("[{\"op\":\"add\",\"path\":\"/experience/1/bullets/1\",\"value\":\"Cut costs\"}]");
+        assertThat(JsonPatch.apply(patch, source)).isEqualTo(target);
+    }
+
+    @Test
+    void roundTripsInsertsRemovalsAndTypeChanges() throws IOException {
+        String[][] cases = {
+                { "[1, 2, 3, 4]", "[1, 9, 2, 3, 4]" },
+                { "[1, 2, 3, 4]", "[1, 4]" },
+                { "[1, 2, 3]", "[]" },
+                { "[]", "[\"a\", \"b\"]" },
+                { "{\"a\": [1, 2], \"b\": {\"c\": null}}", "{\"b\": {\"c\": 1, \"d\": [true]}, \"e\": \"x\"}" },
+                { "{\"a\": {\"b\": 1}}", "{\"a\": [1]}" },
+                { "{\"a\": 1}", "[1]" },
+                { "{\"a/b\": 1, \"c~d\": 2}", "{\"a/b\": 3, \"c~d\": [2]}" },
+        };
+        for (String[] c : cases) {
+            JsonNode source = objectMapper.readTree(c[0]);
+            JsonNode target = objectMapper.readTree(c[1]);
+
+            assertThat(JsonPatch.apply(JsonPatch.diff(source, target), source)).as(c[0] + " -> " + c[1])
+                    .isEqualTo(target);
+        }
+    }
+
+    @Test
+    void leavesTheSourceUnchangedAndRejectsMissingPaths() throws IOException {
+        JsonNode source = objectMapper.readTree("{\"a\": [1, 2]}");
+        JsonNode patch = JsonPatch.diff(source, objectMapper.readTree("{\"a\": [1]}"));
+
+        JsonPatch.apply(patch, source);
+
+        assertThat(source).isEqualTo(objectMapper.readTree("{\"a\": [1, 2]}"));
+        assertThat(JsonPatch.diff(source, source.deepCopy())).isEmpty();
+        assertThatThrownBy(() -> JsonPatch.apply(patch, objectMapper.readTree("{\"a\": [1]}")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,39 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.service.JsonSimilarity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class JsonSimilarityTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void scoresEqualDocumentsOneAndUnrelatedOnesZero() throws IOException {
+        String analysis = "{\"score\": 80, \"strengths\": [\"Clear answers\"], \"passed\": true}";
+
+        assertThat(score(analysis, analysis)).isEqualTo(1.0);
+        assertThat(score(analysis, "{\"other\": 1}")).isEqualTo(0.0);
+        assertThat(score("[]", "[]")).isEqualTo(1.0);
+    }
+
+    @Test
+    void givesPartialCreditForCloseValuesAndMissingEntries() throws IOException {
+        // score 1 - 20/80; strengths (1 of 4 words shared, then a missing entry) / 2; passed 1
+        double similarity = score(
+                "{\"score\": 80, \"strengths\": [\"Clear answers given\", \"Good examples\"], \"passed\": true}",
+                "{\"score\": 60, \"strengths\": [\"Clear examples\"], \"passed\": true}");
+
+        assertThat(similarity).isCloseTo((0.75 + (0.25 / 2) + 1) / 3, within(1e-9));
+    }
+
+    private double score(String a, String b) throws IOException {
+        return JsonSimilarity.score(objectMapper.readTree(a), objectMapper.readTree(b));
+    }
+}
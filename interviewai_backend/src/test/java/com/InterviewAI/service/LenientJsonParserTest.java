@@ -0,0 +1,80 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interviewai.exception.AiAnalysisParseException;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.service.GeminiOperation;
+import com.interviewai.service.LenientJsonParser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LenientJsonParserTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LenientJsonParser parser;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        parser = new LenientJsonParser(new ObjectMapper(),
+                new PipelineMetrics(meterRegistry, ObservationRegistry.NOOP));
+    }
+
+    @Test
+    void validJsonTakesFastPath() {
+        JsonNode node = parser.parse(GeminiOperation.TRANSCRIPT_ANALYSIS,
+                "{\"strengths\": \"Clear\", \"areas_for_improvement\": \"Depth\", \"overall_score\": 80}");
+
+        assertThat(node.get("overall_score").asInt()).isEqualTo(80);
+        assertThat(count("ok")).isEqualTo(1.0);
+    }
+
+    @Test
+    void markdownFencesAreStripped() {
+        JsonNode node = parser.parse(GeminiOperation.TRANSCRIPT_ANALYSIS,
+                "```json\n{\"strengths\": \"a\", \"areas_for_improvement\": \"b\", \"overall_score\": 70}\n```");
+
+        assertThat(node.get("strengths").asText()).isEqualTo("a");
+        assertThat(count("repaired")).isEqualTo(1.0);
+    }
+
+    @Test
+    void truncatedStringValueIsClosed() {
+        JsonNode node = parser.parse(GeminiOperation.TRANSCRIPT_ANALYSIS,
+                "{\"overall_score\": 65, \"strengths\": \"Good\", \"areas_for_improvement\": \"Needs more det");
+
+        assertThat(node.get("areas_for_improvement").asText()).isEqualTo("Needs more det");
+    }
+
+    @Test
+    void truncatedArrayIsCutBackToLastCompleteValue() {
+        JsonNode node = parser.parse(GeminiOperation.INTERVIEW_QUESTIONS,
+                "{\"opening\": \"Hi\", \"closing\": \"Bye\", \"questions\": ["
+                        + "{\"transition\": \"First\", \"question\": \"Q1\", \"acknowledgment\": \"Thanks\"}, "
+                        + "{\"transition\": \"Next\", \"quest");
+
+        assertThat(node.get("questions").size()).isEqualTo(2);
+        assertThat(node.get("questions").get(0).get("question").asText()).isEqualTo("Q1");
+    }
+
+    @Test
+    void missingRequiredFieldsFail() {
+        assertThatThrownBy(() -> parser.parse(GeminiOperation.TRANSCRIPT_ANALYSIS, "{\"strengths\": \"a\"}"))
+                .isInstanceOf(AiAnalysisParseException.class);
+        assertThat(count("failed")).isEqualTo(1.0);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("gemini.response.parse",
+                "operation", "transcript_analysis", "outcome", outcome).count()
+                + meterRegistry.counter("gemini.response.parse",
+                        "operation", "interview_questions", "outcome", outcome).count();
+    }
+}
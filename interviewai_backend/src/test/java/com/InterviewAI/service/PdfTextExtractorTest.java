@@ -0,0 +1,118 @@
+package com.InterviewAI.service;
+
+import com.InterviewAI.stub.SamplePdfs;
+import com.interviewai.service.PdfTextExtractor;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfTextExtractorTest {
+
+    private final List<PdfTextExtractor> extractors = new ArrayList<>();
+
+    @AfterEach
+    void closeExtractors() {
+        extractors.forEach(PdfTextExtractor::close);
+    }
+
+    @Test
+    void joinsPageRangesInPageOrder() throws IOException {
+        byte[] pdf = SamplePdfs.resume(23);
+
+        String text = extractor(4, 3, 1_000_000).extract(pdf);
+
+        assertThat(text).isEqualTo(singleThreaded(pdf));
+        assertThat(text.split("\f")).hasSize(23);
+        assertThat(text).containsSubsequence("Page 1 of 23", "Page 2 of 23", "Page 12 of 23", "Page 23 of 23");
+    }
+
+    @Test
+    void stopsOnceTheTextBudgetIsReached() throws IOException {
+        byte[] pdf = SamplePdfs.resume(100);
+        String whole = singleThreaded(pdf);
+        int budget = whole.length() / 5;
+
+        String text = extractor(4, 2, budget).extract(pdf);
+
+        // Whole ranges from the first page on; at most one range per worker past the budget
+        assertThat(whole).startsWith(text);
+        assertThat(text).endsWith("\f");
+        assertThat(text.length()).isGreaterThanOrEqualTo(budget);
+        int pagesNeeded = whole.substring(0, budget).split("\f").length;
+        assertThat(text.split("\f").length).isLessThanOrEqualTo(pagesNeeded + 1 + 4 * 2);
+    }
+
+    @Test
+    void marksLinesSetLargerThanTheBodyText() throws IOException {
+        String text = extractor(1, 4, 1_000_000).extract(SamplePdfs.styledResume(0, 1));
+
+        assertThat(text).contains("\u001EProfessional Summary", "\u001EWork History", "\u001ETechnical Skills")
+                .contains("\nSenior Software Engineer, Acme Corp")
+                .doesNotContain("\u001EJane Doe \u2022", "\u001Ejane.doe@example.com");
+    }
+
+    @Test
+    void rejectsDocumentsThatAreNotPdfs() {
+        assertThatThrownBy(() -> extractor(4, 2, 1_000).extract("not a pdf".getBytes()))
+                .isInstanceOf(IOException.class);
+    }
+
+    /**
+     * Extraction time of whole documents, one page range at a time against
+     * up to 4 ranges at once, and of the first 10k characters (the sample
+     * pages hold about 330 characters each).
+     * Run with
+     * mvn test -Dtest=PdfTextExtractorTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkExtraction() throws IOException {
+        System.out.printf("%d CPUs%n%-8s %14s %14s %14s%n", Runtime.getRuntime().availableProcessors(),
+                "pages", "1 thread ms", "4 threads ms", "10k chars ms");
+        PdfTextExtractor sequential = extractor(1, 4, Integer.MAX_VALUE);
+        PdfTextExtractor parallel = extractor(4, 4, Integer.MAX_VALUE);
+        PdfTextExtractor budgeted = extractor(4, 4, 10_000);
+        for (int pages : new int[] { 2, 20, 100 }) {
+            byte[] pdf = SamplePdfs.resume(pages);
+            int rounds = Math.max(5, 400 / pages);
+            System.out.printf("%-8d %14.2f %14.2f %14.2f%n", pages, time(sequential, pdf, rounds),
+                    time(parallel, pdf, rounds), time(budgeted, pdf, rounds));
+        }
+    }
+
+    private static double time(PdfTextExtractor extractor, byte[] pdf, int rounds) throws IOException {
+        for (int i = 0; i < 2 * rounds; i++) {
+            extractor.extract(pdf); // warm up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            extractor.extract(pdf);
+        }
+        return (System.nanoTime() - start) / 1e6 / rounds;
+    }
+
+    private PdfTextExtractor extractor(int parallelism, int pagesPerRange, int maxChars) {
+        PdfTextExtractor extractor = new PdfTextExtractor(4, parallelism, pagesPerRange, maxChars);
+        extractors.add(extractor);
+        return extractor;
+    }
+
+    private static String singleThreaded(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setPageEnd("\f");
+            return stripper.getText(document);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.InterviewAI.service;
+
+import com.interviewai.model.ResumeAnalysis;
+import com.interviewai.ranking.ResumeIndex;
+import com.interviewai.repository.ResumeAnalysisRepository;
+import com.interviewai.service.ResumeIndexBackfill;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeIndexBackfillTest {
+
+    private final ResumeIndex resumeIndex = mock(ResumeIndex.class);
+    private final ResumeAnalysisRepository repository = mock(ResumeAnalysisRepository.class);
+    private final ResumeIndexBackfill backfill = new ResumeIndexBackfill(resumeIndex, repository,
+            Duration.ofSeconds(30));
+
+    @Test
+    void staysOutOfServiceUntilTheStoredAnalysesAreIndexed() throws InterruptedException {
+        ResumeAnalysis stored = analysis(UUID.randomUUID());
+        ResumeAnalysis analyzedMeanwhile = analysis(UUID.randomUUID());
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return new PageImpl<>(List.of(stored, analyzedMeanwhile), invocation.getArgument(0), 2);
+        });
+        // ResumeService indexed this resume, with its text, while the backfill ran
+        when(resumeIndex.contains(analyzedMeanwhile.getResumeId())).thenReturn(true);
+
+        backfill.start();
+
+        assertThat(backfill.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        assertThat(backfill.isComplete()).isFalse();
+
+        release.countDown();
+        for (int i = 0; i < 250 && backfill.health().getStatus() != Status.UP; i++) {
+            Thread.sleep(20);
+        }
+
+        assertThat(backfill.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(backfill.isComplete()).isTrue();
+        verify(resumeIndex).flush();
+        verify(resumeIndex).add(eq(stored.getResumeId()), any(), anyString(), any());
+        verify(resumeIndex, never()).add(eq(analyzedMeanwhile.getResumeId()), any(), anyString(), any());
+    }
+
+    private static ResumeAnalysis analysis(UUID resumeId) {
+        ResumeAnalysis analysis = new ResumeAnalysis();
+        analysis.setResumeId(resumeId);
+        analysis.setUserId(UUID.randomUUID());
+        return analysis;
+    }
+}
@@ -0,0 +1,140 @@
+package com.InterviewAI.service;
+
+import com.InterviewAI.stub.SamplePdfs;
+import com.interviewai.service.PdfTextExtractor;
+import com.interviewai.service.ResumeTextCompressor;
+import com.interviewai.service.TokenEstimator;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeTextCompressorTest {
+
+    private final TokenEstimator tokenEstimator = new TokenEstimator();
+    private final ResumeTextCompressor compressor = new ResumeTextCompressor(tokenEstimator);
+
+    @Test
+    void collapsesWhitespaceAndDropsRepeatedHeadersAndPageNumbers() {
+        String text = "Jane Doe   |  jane@example.com\nEXPERIENCE\nBuilt   things\n1\n"
+                + "\f"
+                + "Jane Doe   |  jane@example.com\nShipped more things\nPage 2 of 2\n";
+
+        String compressed = compressor.compress(text, 1000);
+
+        assertThat(compressed).isEqualTo(
+                "Jane Doe | jane@example.com\n## EXPERIENCE\nBuilt things\nShipped more things");
+    }
+
+    @Test
+    void keepsHighPrioritySectionsWhenOverBudget() {
+        String text = "Jane Doe\nHOBBIES\n" + "Chess and hiking. ".repeat(100)
+                + "\nEXPERIENCE\nLed the payments team.\nSKILLS\nJava, Spring\n";
+
+        String compressed = compressor.compress(text, 40);
+
+        assertThat(compressed).contains("Led the payments team.", "Java, Spring");
+        assertThat(tokenEstimator.estimateTokens(compressed)).isLessThanOrEqualTo(45);
+        assertThat(compressed.indexOf("EXPERIENCE")).isGreaterThan(compressed.indexOf("Jane Doe"));
+    }
+
+    @Test
+    void groupsTextUnderCanonicalSectionHeadings() {
+        String text = "Jane Doe\nProfessional Summary\nBackend engineer.\nWork History\nAcme Corp\n"
+                + "Skills & Tools:\nJava\nLicenses & Certifications\nAWS Architect\n";
+
+        String compressed = compressor.compress(text, 1000);
+
+        assertThat(compressed).isEqualTo("Jane Doe\n## SUMMARY\nBackend engineer.\n## EXPERIENCE\nAcme Corp\n"
+                + "## SKILLS\nJava\n## CERTIFICATIONS\nAWS Architect");
+    }
+
+    @Test
+    void joinsWrappedLinesAndNormalizesBullets() {
+        String text = "Jane Doe\nEXPERIENCE\n\u2022 Led the migration of payment ser-\nvices to Kubernetes, cutting\n"
+                + "deploy time by 60%\n\u25AA Built APIs.\nlowercase after a full stop\n* Mentored engineers\n";
+
+        String compressed = compressor.compress(text, 1000);
+
+        assertThat(compressed).isEqualTo("Jane Doe\n## EXPERIENCE\n"
+                + "- Led the migration of payment services to Kubernetes, cutting deploy time by 60%\n"
+                + "- Built APIs.\nlowercase after a full stop\n- Mentored engineers");
+    }
+
+    @Test
+    void treatsLargeShortLinesAsHeadingsOnceSectionsHaveStarted() {
+        // \u001E marks lines PdfTextExtractor found set in a larger font
+        String text = "\u001EJane Doe\n\u001ESenior Engineer\nEXPERIENCE\nAcme Corp\n\u001EOpen Source\n"
+                + "Rate limiter\n\u001EBuilt a rate limiter used by 40 companies\n";
+
+        String compressed = compressor.compress(text, 1000);
+
+        assertThat(compressed).isEqualTo("Jane Doe\nSenior Engineer\n## EXPERIENCE\nAcme Corp\n"
+                + "## OPEN SOURCE\nRate limiter\nBuilt a rate limiter used by 40 companies");
+    }
+
+    @Test
+    void keepsCapitalizedLinesInsideASectionAsBodyText() {
+        String text = "Jane Doe\nEXPERIENCE\nACME CORP\nMigrated billing to\nAWS\nSQL\nSKILLS\nJava\n";
+
+        String compressed = compressor.compress(text, 1000);
+
+        assertThat(compressed).isEqualTo("Jane Doe\n## EXPERIENCE\nACME CORP\nMigrated billing to\nAWS\nSQL\n"
+                + "## SKILLS\nJava");
+    }
+
+    /**
+     * Prompt tokens of the raw PDFTextStripper output against the sectioned
+     * text, and the time to extract and sectionize, on generated resumes in
+     * three layouts.
+     * Run with
+     * mvn test -Dtest=ResumeTextCompressorTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkTokenReduction() throws IOException {
+        PdfTextExtractor extractor = new PdfTextExtractor(1, 1, 4, Integer.MAX_VALUE);
+        try {
+            System.out.printf("%-6s %-6s %12s %16s %10s %14s %14s%n", "style", "pages", "raw tokens",
+                    "sectioned tokens", "reduction", "extract ms", "sectionize ms");
+            for (int style = 0; style < SamplePdfs.STYLES; style++) {
+                for (int pages : new int[] { 1, 2, 4 }) {
+                    byte[] pdf = SamplePdfs.styledResume(style, pages);
+                    int raw = tokenEstimator.estimateTokens(plainText(pdf));
+                    String text = extractor.extract(pdf);
+                    int sectioned = tokenEstimator.estimateTokens(compressor.compress(text, Integer.MAX_VALUE));
+                    int rounds = 200;
+                    for (int i = 0; i < rounds; i++) {
+                        compressor.compress(extractor.extract(pdf), Integer.MAX_VALUE); // warm up
+                    }
+                    long start = System.nanoTime();
+                    for (int i = 0; i < rounds; i++) {
+                        extractor.extract(pdf);
+                    }
+                    long extracted = System.nanoTime();
+                    for (int i = 0; i < rounds; i++) {
+                        compressor.compress(text, Integer.MAX_VALUE);
+                    }
+                    long sectionized = System.nanoTime();
+                    System.out.printf("%-6d %-6d %12d %16d %9.1f%% %14.2f %14.3f%n", style, pages, raw, sectioned,
+                            100.0 * (raw - sectioned) / raw, (extracted - start) / 1e6 / rounds,
+                            (sectionized - extracted) / 1e6 / rounds);
+                }
+            }
+        } finally {
+            extractor.close();
+        }
+    }
+
+    private static String plainText(byte[] pdf) throws IOException {
+        try (PDDocument document = Loader.loadPDF(pdf)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.interviewai.dto.ResumeBuildRequest;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.model.BuiltResume;
+import com.interviewai.service.BuiltResumeService;
+import com.interviewai.service.GeminiService;
+import com.interviewai.service.ResumeSection;
+import com.interviewai.service.ResumeUpdateService;
+import com.interviewai.service.TokenEstimator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ResumeUpdateServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GeminiService geminiService = mock(GeminiService.class);
+    private final BuiltResumeService builtResumeService = mock(BuiltResumeService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> rewritten = new ArrayList<>();
+    private ResumeUpdateService service;
+    private BuiltResume resume;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        service = new ResumeUpdateService(geminiService, builtResumeService, objectMapper, new TokenEstimator(),
+                new PipelineMetrics(meterRegistry, ObservationRegistry.NOOP), 4);
+        resume = new BuiltResume();
+        resume.setId(UUID.randomUUID());
+        resume.setUserId(USER_ID);
+        resume.setTitle("Backend");
+        resume.setUserInputData(objectMapper.valueToTree(request("Built APIs", "Kept servers up")));
+        resume.setAiGeneratedContent(objectMapper.readTree("""
+                {"summary": "Old summary",
+                 "experience": [{"title": "Engineer", "company": "Acme", "bullets": ["Engineered APIs"]},
+                                {"title": "Intern", "company": "Initech", "bullets": ["Maintained servers"]}],
+                 "education": [{"degree": "BSc", "school": "State"}],
+                 "skills": {"technical": ["Java"], "tools": [], "soft": []},
+                 "projects": []}"""));
+        when(builtResumeService.findEntityOwned(resume.getId(), USER_ID)).thenReturn(Optional.of(resume));
+        when(builtResumeService.save(any(BuiltResume.class))).thenAnswer(call -> call.getArgument(0));
+        when(geminiService.rewriteResumeEntry(any(), any(), anyInt())).thenAnswer(call -> {
+            ResumeSection section = call.getArgument(0);
+            int index = call.getArgument(2);
+            rewritten.add(section.getKey() + (section.isList() ? "[" + index + "]" : ""));
+            return Mono.just(section == ResumeSection.SUMMARY
+                    ? TextNode.valueOf("New summary")
+                    : objectMapper.createObjectNode().put("rewritten", section.getKey() + index));
+        });
+    }
+
+    @Test
+    void regeneratesOnlyTheChangedEntry() {
+        ResumeBuildRequest edited = request("Built payment APIs", "Kept servers up");
+
+        BuiltResume updated = service.update(resume.getId(), edited, USER_ID).block();
+
+        assertThat(rewritten).containsExactlyInAnyOrder("experience[0]", "summary");
+        JsonNode content = updated.getAiGeneratedContent();
+        assertThat(content.get("experience").get(0).get("rewritten").asText()).isEqualTo("experience0");
+        assertThat(content.get("experience").get(1).get("company").asText()).isEqualTo("Initech");
+        assertThat(content.get("education").get(0).get("degree").asText()).isEqualTo("BSc");
+        assertThat(content.get("skills").get("technical").get(0).asText()).isEqualTo("Java");
+        assertThat(content.get("summary").asText()).isEqualTo("New summary");
+        assertThat(updated.getUserInputData().get("experience").get(0).get("description").asText())
+                .isEqualTo("Built payment APIs");
+        assertThat(meterRegistry.summary("resume.update.parts", "mode", "incremental", "outcome", "regenerated")
+                .totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.summary("resume.update.parts", "mode", "incremental", "outcome", "reused")
+                .totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void keepsMovedEntriesAndSkipsGeminiForUngeneratedFields() {
+        ResumeBuildRequest edited = request("Built APIs", "Kept servers up");
+        edited.setExperience(List.of(edited.getExperience().get(1), edited.getExperience().get(0)));
+        edited.setTitle("Backend (short)");
+        edited.setPersonalInfo(Map.of("name", "Sam Doe", "email", "sam@example.com"));
+
+        BuiltResume updated = service.update(resume.getId(), edited, USER_ID).block();
+
+        // Reordering experience rewrites the summary only
+        assertThat(rewritten).containsExactly("summary");
+        assertThat(updated.getTitle()).isEqualTo("Backend (short)");
+        assertThat(updated.getAiGeneratedContent().get("experience"))
+                .extracting(entry -> entry.get("company").asText())
+                .containsExactly("Initech", "Acme");
+
+        rewritten.clear();
+        edited.setPersonalInfo(Map.of("name", "Sam Doe"));
+        service.update(resume.getId(), edited, USER_ID).block();
+
+        assertThat(rewritten).isEmpty();
+    }
+
+    @Test
+    void rebuildsResumesWhoseContentDoesNotLineUpWithTheirInput() throws IOException {
+        resume.setAiGeneratedContent(objectMapper.readTree("{\"error\": \"Failed to build resume.\"}"));
+        when(geminiService.buildResume(any())).thenReturn(Mono.just("{\"summary\": \"Rebuilt\", \"experience\": []}"));
+
+        BuiltResume updated = service.update(resume.getId(), request("Built APIs", "Kept servers up"), USER_ID)
+                .block();
+
+        assertThat(updated.getAiGeneratedContent().get("summary").asText()).isEqualTo("Rebuilt");
+        assertThat(rewritten).isEmpty();
+    }
+
+    @Test
+    void savesNothingWhenAnEntryFailsOrTheResumeIsNotOwned() {
+        doReturn(Mono.error(new IllegalStateException("Gemini unavailable")))
+                .when(geminiService).rewriteResumeEntry(eq(ResumeSection.SUMMARY), any(), anyInt());
+
+        assertThatThrownBy(() -> service.update(resume.getId(), request("Built payment APIs", "Kept servers up"),
+                USER_ID).block()).hasMessageContaining("Gemini unavailable");
+        assertThat(service.update(resume.getId(), request("Built APIs", "Kept servers up"), UUID.randomUUID())
+                .blockOptional()).isEmpty();
+        verify(builtResumeService, never()).save(any());
+    }
+
+    private static ResumeBuildRequest request(String acmeDescription, String initechDescription) {
+        ResumeBuildRequest request = new ResumeBuildRequest();
+        request.setTitle("Backend");
+        request.setPersonalInfo(Map.of("name", "Sam Doe"));
+        request.setExperience(List.of(
+                entry("title", "Engineer", "company", "Acme", "description", acmeDescription),
+                entry("title", "Intern", "company", "Initech", "description", initechDescription)));
+        request.setEducation(List.of(entry("degree", "BSc", "school", "State")));
+        request.setSkills(List.of("Java"));
+        request.setProjects(List.of());
+        return request;
+    }
+
+    private static Map<String, String> entry(String... keyValues) {
+        Map<String, String> entry = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            entry.put(keyValues[i], keyValues[i + 1]);
+        }
+        return entry;
+    }
+}
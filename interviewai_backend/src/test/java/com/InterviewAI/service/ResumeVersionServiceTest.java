@@ -0,0 +1,161 @@
+package com.InterviewAI.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.interviewai.dto.ResumeVersionInfo;
+import com.interviewai.metrics.PipelineMetrics;
+import com.interviewai.model.BuiltResumeVersion;
+import com.interviewai.repository.BuiltResumeVersionRepository;
+import com.interviewai.service.ResumeVersionService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResumeVersionServiceTest {
+
+    private static final UUID RESUME_ID = UUID.randomUUID();
+    private static final BuiltResumeVersion.Kind SNAPSHOT = BuiltResumeVersion.Kind.SNAPSHOT;
+    private static final BuiltResumeVersion.Kind DELTA = BuiltResumeVersion.Kind.DELTA;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BuiltResumeVersionRepository repository = mock(BuiltResumeVersionRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // In-memory built_resume_versions behind the repository queries the service uses
+    private final List<BuiltResumeVersion> rows = new ArrayList<>();
+    private ResumeVersionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ResumeVersionService(repository, objectMapper,
+                new PipelineMetrics(meterRegistry, ObservationRegistry.NOOP), 5, 8);
+        when(repository.save(any(BuiltResumeVersion.class))).thenAnswer(call -> {
+            BuiltResumeVersion row = call.getArgument(0);
+            if (!rows.contains(row)) {
+                rows.add(row);
+            }
+            return row;
+        });
+        when(repository.findLatestSnapshot(RESUME_ID, SNAPSHOT)).thenAnswer(call -> latestSnapshot(Integer.MAX_VALUE));
+        when(repository.findLatestVersion(RESUME_ID)).thenAnswer(call -> rows.stream()
+                .map(BuiltResumeVersion::getVersion).max(Integer::compare).orElse(null));
+        when(repository.findChain(eq(RESUME_ID), anyInt(), eq(SNAPSHOT))).thenAnswer(call -> {
+            int version = call.getArgument(1);
+            Integer snapshot = latestSnapshot(version);
+            return rows.stream()
+                    .filter(row -> snapshot != null && row.getVersion() >= snapshot && row.getVersion() <= version)
+                    .sorted(Comparator.comparingInt(BuiltResumeVersion::getVersion))
+                    .toList();
+        });
+        when(repository.findInfoByResumeId(RESUME_ID)).thenAnswer(call -> rows.stream()
+                .sorted(Comparator.comparingInt(BuiltResumeVersion::getVersion).reversed())
+                .map(row -> new ResumeVersionInfo(row.getVersion(), row.getKind(), row.getStoredLength(),
+                        row.getOriginalLength(), row.getCreatedAt()))
+                .toList());
+        when(repository.deleteBefore(eq(RESUME_ID), anyInt())).thenAnswer(call -> {
+            int version = call.getArgument(1);
+            int before = rows.size();
+            rows.removeIf(row -> row.getVersion() < version);
+            return before - rows.size();
+        });
+    }
+
+    @Test
+    void storesEditsAsDeltasBetweenPeriodicSnapshotsAndReadsEveryVersionBack() {
+        List<JsonNode> documents = storeVersions(12);
+
+        assertThat(service.list(RESUME_ID))
+                .extracting(ResumeVersionInfo::kind)
+                .containsExactly(DELTA, SNAPSHOT, DELTA, DELTA, DELTA, DELTA, SNAPSHOT,
+                        DELTA, DELTA, DELTA, DELTA, SNAPSHOT);
+        for (int version = 1; version <= 12; version++) {
+            assertThat(service.load(RESUME_ID, version)).as("version " + version)
+                    .contains(documents.get(version - 1));
+        }
+        assertThat(service.load(RESUME_ID, 13)).isEmpty();
+        assertThat(meterRegistry.summary("resume.version.stored.bytes", "kind", "delta").mean())
+                .isLessThan(meterRegistry.summary("resume.version.stored.bytes", "kind", "snapshot").mean());
+    }
+
+    @Test
+    void storesASnapshotWhenThePatchIsNotMuchSmallerThanTheDocument() {
+        JsonNode first = document(1);
+        service.store(RESUME_ID, 1, null, first);
+        ObjectNode rewritten = objectMapper.createObjectNode().put("title", "Frontend");
+        rewritten.putObject("aiGeneratedContent").putArray("experience").addObject().put("company", "Other");
+
+        service.store(RESUME_ID, 2, first, rewritten);
+
+        assertThat(service.list(RESUME_ID)).extracting(ResumeVersionInfo::kind).containsExactly(SNAPSHOT, SNAPSHOT);
+        assertThat(service.load(RESUME_ID, 2)).contains(rewritten);
+    }
+
+    @Test
+    void compactionKeepsTheLatestVersionsReadable() {
+        List<JsonNode> documents = storeVersions(12);
+
+        service.compact(RESUME_ID);
+
+        // Version 5 was a delta on the snapshot at version 1
+        assertThat(service.list(RESUME_ID))
+                .extracting(ResumeVersionInfo::version, ResumeVersionInfo::kind)
+                .endsWith(tuple(6, SNAPSHOT), tuple(5, SNAPSHOT))
+                .hasSize(8);
+        for (int version = 5; version <= 12; version++) {
+            assertThat(service.load(RESUME_ID, version)).as("version " + version)
+                    .contains(documents.get(version - 1));
+        }
+        assertThat(service.load(RESUME_ID, 4)).isEmpty();
+    }
+
+    private List<JsonNode> storeVersions(int count) {
+        List<JsonNode> documents = new ArrayList<>();
+        JsonNode previous = null;
+        for (int version = 1; version <= count; version++) {
+            JsonNode document = document(version);
+            service.store(RESUME_ID, version, previous, document);
+            documents.add(document);
+            previous = document;
+        }
+        return documents;
+    }
+
+    private Integer latestSnapshot(int atOrBefore) {
+        return rows.stream()
+                .filter(row -> row.getKind() == SNAPSHOT && row.getVersion() <= atOrBefore)
+                .map(BuiltResumeVersion::getVersion)
+                .max(Integer::compare)
+                .orElse(null);
+    }
+
+    /**
+     * A resume with many entries, of which version n changes one bullet.
+     */
+    private JsonNode document(int version) {
+        ObjectNode document = objectMapper.createObjectNode().put("title", "Backend");
+        var experience = document.putObject("aiGeneratedContent").putArray("experience");
+        for (int i = 0; i < 10; i++) {
+            experience.addObject()
+                    .put("company", "Company " + i)
+                    .putArray("bullets")
+                    .add("Delivered project " + i + " for a large customer base across several regions")
+                    .add(i == version % 10 ? "Revised in version " + version : "Mentored engineers on team " + i);
+        }
+        return document;
+    }
+}
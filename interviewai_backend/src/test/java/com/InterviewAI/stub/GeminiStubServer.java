@@ -0,0 +1,283 @@
+package com.InterviewAI.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Gemini REST API.
+ * Implements POST /v1beta/models/{model}:generateContent and
+ * :streamGenerateContent (SSE) with configurable latency, error rate and
+ * periodic 429 bursts. Responses are generated from the responseSchema in
+ * the request, so they always validate against the operation's schema;
+ * specific operations can be given canned bodies instead.
+ *
+ * All randomness comes from one seeded source, so a run with the same seed
+ * and request order is reproducible.
+ */
+public class GeminiStubServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SplittableRandom random;
+    private final LatencyModel latency;
+    private final double errorRate;
+    private final int burstEvery;
+    private final int burstLength;
+    private final Map<String, String> cannedResponses;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong rateLimitedCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private DisposableServer server;
+
+    private GeminiStubServer(Builder builder) {
+        this.random = new SplittableRandom(builder.seed);
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.burstEvery = builder.burstEvery;
+        this.burstLength = builder.burstLength;
+        this.cannedResponses = Map.copyOf(builder.cannedResponses);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public GeminiStubServer start() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(this::handle)
+                .bindNow();
+        return this;
+    }
+
+    /**
+     * Base URL to use as gemini.api.url.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    public long rateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    public long errorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private org.reactivestreams.Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String path = request.path();
+        boolean stream = path.endsWith(":streamGenerateContent");
+        if (!path.startsWith("v1beta/models/") || !(stream || path.endsWith(":generateContent"))) {
+            return response.status(HttpResponseStatus.NOT_FOUND).send();
+        }
+
+        long sequence = requestCount.getAndIncrement();
+        Decision decision = decide(sequence);
+
+        return request.receive().aggregate().asString()
+                .defaultIfEmpty("{}")
+                .delayUntil(body -> Mono.delay(decision.delay()))
+                .flatMap(body -> {
+                    if (decision.status() == 429) {
+                        rateLimitedCount.incrementAndGet();
+                        return response.status(HttpResponseStatus.TOO_MANY_REQUESTS)
+                                .header("Content-Type", "application/json")
+                                .header("Retry-After", "1")
+                                .sendString(Mono.just(error(429, "RESOURCE_EXHAUSTED", "Quota exceeded")))
+                                .then();
+                    }
+                    if (decision.status() == 500) {
+                        errorCount.incrementAndGet();
+                        return response.status(HttpResponseStatus.INTERNAL_SERVER_ERROR)
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just(error(500, "INTERNAL", "Stub failure")))
+                                .then();
+                    }
+                    String text = responseText(body);
+                    if (stream) {
+                        return response.header("Content-Type", "text/event-stream")
+                                .sendString(Flux.fromIterable(chunks(text))
+                                        .delayElements(Duration.ofMillis(20))
+                                        .map(chunk -> "data: " + envelope(chunk, body, text) + "\r\n\r\n"))
+                                .then();
+                    }
+                    return response.header("Content-Type", "application/json")
+                            .sendString(Mono.just(envelope(text, body, text)))
+                            .then();
+                });
+    }
+
+    private synchronized Decision decide(long sequence) {
+        Duration delay = latency.next(random);
+        if (burstEvery > 0 && sequence % burstEvery < burstLength) {
+            return new Decision(429, Duration.ZERO);
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            return new Decision(500, delay);
+        }
+        return new Decision(200, delay);
+    }
+
+    private String responseText(String requestBody) {
+        try {
+            JsonNode schema = objectMapper.readTree(requestBody).path("generationConfig").path("responseSchema");
+            String firstRequired = schema.path("required").path(0).asText("");
+            String canned = cannedResponses.get(firstRequired);
+            if (canned != null) {
+                return canned;
+            }
+            if (schema.isMissingNode()) {
+                return "Stub response.";
+            }
+            return objectMapper.writeValueAsString(fromSchema(schema, "value"));
+        } catch (Exception e) {
+            return "Stub response.";
+        }
+    }
+
+    /**
+     * Builds a deterministic value that validates against a Gemini schema.
+     */
+    private JsonNode fromSchema(JsonNode schema, String name) {
+        switch (schema.path("type").asText("STRING")) {
+            case "OBJECT" -> {
+                ObjectNode node = objectMapper.createObjectNode();
+                for (Map.Entry<String, JsonNode> field : schema.path("properties").properties()) {
+                    node.set(field.getKey(), fromSchema(field.getValue(), field.getKey()));
+                }
+                return node;
+            }
+            case "ARRAY" -> {
+                ArrayNode node = objectMapper.createArrayNode();
+                for (int i = 1; i <= 3; i++) {
+                    node.add(fromSchema(schema.path("items"), name + " " + i));
+                }
+                return node;
+            }
+            case "INTEGER" -> {
+                return objectMapper.getNodeFactory().numberNode(75);
+            }
+            case "NUMBER" -> {
+                return objectMapper.getNodeFactory().numberNode(0.75);
+            }
+            case "BOOLEAN" -> {
+                return objectMapper.getNodeFactory().booleanNode(true);
+            }
+            default -> {
+                return objectMapper.getNodeFactory().textNode("Stub " + name + " text.");
+            }
+        }
+    }
+
+    private String envelope(String text, String requestBody, String fullText) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode candidate = root.putArray("candidates").addObject();
+        candidate.putObject("content").put("role", "model").putArray("parts").addObject().put("text", text);
+        candidate.put("finishReason", "STOP");
+        ObjectNode usage = root.putObject("usageMetadata");
+        int promptTokens = requestBody.length() / 4;
+        int candidateTokens = fullText.length() / 4;
+        usage.put("promptTokenCount", promptTokens);
+        usage.put("candidatesTokenCount", candidateTokens);
+        usage.put("totalTokenCount", promptTokens + candidateTokens);
+        root.put("modelVersion", "stub");
+        return root.toString();
+    }
+
+    private List<String> chunks(String text) {
+        List<String> chunks = new ArrayList<>();
+        for (int i = 0; i < text.length(); i += 64) {
+            chunks.add(text.substring(i, Math.min(text.length(), i + 64)));
+        }
+        return chunks;
+    }
+
+    private String error(int code, String status, String message) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.putObject("error").put("code", code).put("message", message).put("status", status);
+        return root.toString();
+    }
+
+    private record Decision(int status, Duration delay) {
+    }
+
+    public static class Builder {
+        private long seed = 42L;
+        private LatencyModel latency = LatencyModel.none();
+        private double errorRate;
+        private int burstEvery;
+        private int burstLength;
+        private final Map<String, String> cannedResponses = new HashMap<>();
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder latency(LatencyModel latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /**
+         * Fraction of requests (0..1) answered with HTTP 500.
+         */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * Answers burstLength consecutive requests with 429 out of every
+         * burstEvery requests, mimicking per-minute quota exhaustion.
+         */
+        public Builder rateLimitBursts(int burstEvery, int burstLength) {
+            this.burstEvery = burstEvery;
+            this.burstLength = burstLength;
+            return this;
+        }
+
+        /**
+         * Returns a fixed response text for requests whose schema lists the
+         * given property first in "required".
+         */
+        public Builder cannedResponse(String firstRequiredField, String json) {
+            cannedResponses.put(firstRequiredField, json);
+            return this;
+        }
+
+        public GeminiStubServer build() {
+            return new GeminiStubServer(this);
+        }
+    }
+}
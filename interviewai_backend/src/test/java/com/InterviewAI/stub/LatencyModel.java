@@ -0,0 +1,46 @@
+package com.InterviewAI.stub;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Latency distribution for stub responses.
+ * Draws are made from the stub's seeded random source so a run with the
+ * same seed and request order replays the same delays.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+    Duration next(SplittableRandom random);
+
+    static LatencyModel none() {
+        return random -> Duration.ZERO;
+    }
+
+    static LatencyModel fixed(long millis) {
+        Duration latency = Duration.ofMillis(millis);
+        return random -> latency;
+    }
+
+    static LatencyModel uniform(long minMillis, long maxMillis) {
+        return random -> Duration.ofMillis(random.nextLong(minMillis, maxMillis + 1));
+    }
+
+    /**
+     * Log-normal latency, the usual shape of LLM response times: most calls
+     * near the median with a long right tail.
+     *
+     * @param medianMillis The median latency
+     * @param sigma        Shape parameter; 0.5 gives a p99 of roughly 3x the median
+     */
+    static LatencyModel logNormal(long medianMillis, double sigma) {
+        double mu = Math.log(medianMillis);
+        return random -> {
+            // Box-Muller transform for a standard normal draw
+            double u1 = 1.0 - random.nextDouble();
+            double u2 = random.nextDouble();
+            double normal = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+            return Duration.ofMillis((long) Math.exp(mu + sigma * normal));
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.InterviewAI.stub;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates resume-like PDFs for stubs and benchmarks.
+ */
+public final class SamplePdfs {
+
+    private static final List<String> FIRST_PAGE = List.of(
+            "Jane Doe | jane.doe@example.com | +1 555 0100",
+            "SUMMARY",
+            "Backend engineer with 7 years of experience building Java and Spring Boot services.",
+            "EXPERIENCE",
+            "Senior Software Engineer, Acme Corp, 2020 - Present",
+            "- Led migration of payment services to Kubernetes, cutting deploy time by 60%",
+            "- Designed event-driven order pipeline on Kafka handling 20k msgs/sec",
+            "Software Engineer, Initech, 2017 - 2020",
+            "- Built REST APIs with Spring Boot and PostgreSQL",
+            "SKILLS",
+            "Java, Kotlin, Spring Boot, PostgreSQL, Kafka, Docker, Kubernetes, AWS",
+            "EDUCATION",
+            "B.Sc. Computer Science, State University, 2017");
+
+    private static final List<String> CONTINUATION_PAGE = List.of(
+            "PROJECTS",
+            "Open-source rate limiter library for Spring applications",
+            "- Token bucket and sliding window algorithms with Redis backend",
+            "- Used by 40+ companies; 1.2k GitHub stars",
+            "CERTIFICATIONS",
+            "AWS Certified Solutions Architect - Associate",
+            "Oracle Certified Professional Java SE 17 Developer");
+
+    private SamplePdfs() {
+    }
+
+    /**
+     * Builds a resume PDF with the given number of pages. Every page carries
+     * the same header and a page-number footer, as real CV exports do.
+     */
+    public static byte[] resume(int pages) {
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            for (int p = 0; p < pages; p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(font, 10);
+                    content.newLineAtOffset(50, 750);
+                    content.showText("Jane Doe - Curriculum Vitae");
+                    content.newLineAtOffset(0, -24);
+                    for (String line : p == 0 ? FIRST_PAGE : CONTINUATION_PAGE) {
+                        content.showText(line);
+                        content.newLineAtOffset(0, -14);
+                    }
+                    content.newLineAtOffset(0, -14);
+                    content.showText("Page " + (p + 1) + " of " + pages);
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Number of layouts styledResume can generate. */
+    public static final int STYLES = 3;
+
+    private static final String[][] HEADINGS = {
+            {"Professional Summary", "Work History", "Technical Skills", "Education", "Selected Projects",
+                    "Licenses & Certifications"},
+            {"PROFILE", "PROFESSIONAL EXPERIENCE", "CORE COMPETENCIES", "ACADEMIC BACKGROUND", "PROJECTS",
+                    "CERTIFICATES"},
+            {"About Me", "Experience", "Skills & Tools", "Education", "Open Source", "Certifications"}};
+    private static final String[] BULLETS = {"\u2022 ", "- ", "\u2013 "};
+    private static final int WRAP = 88;
+
+    /**
+     * Builds a resume PDF laid out like an exported CV: Title Case or capital
+     * headings (larger and bold in style 0 and 2), bullets that wrap onto the
+     * next line, a running header and a footer with contact details and the
+     * page number. The experience section is repeated to fill about the
+     * given number of pages.
+     */
+    public static byte[] styledResume(int style, int pages) {
+        String[] headings = HEADINGS[style % STYLES];
+        String bullet = BULLETS[style % STYLES];
+        boolean largeHeadings = style % STYLES != 1;
+        // About 50 body lines fit on a page; each job takes about 8
+        int jobs = Math.max(1, (pages * 50 - 24) / 8);
+        List<String[]> lines = new ArrayList<>(); // {kind, text}: n name, h heading, t text
+        lines.add(new String[] {"n", "Jane Doe"});
+        lines.add(new String[] {"h", headings[0]});
+        lines.add(new String[] {"t", "Backend engineer with seven years of experience designing, building and "
+                + "operating high-throughput Java services for payments and logistics companies."});
+        lines.add(new String[] {"h", headings[1]});
+        for (int job = 0; job < jobs; job++) {
+            lines.add(new String[] {"t", (job % 2 == 0 ? "Senior Software Engineer, Acme Corp" : "Software Engineer, Initech")
+                    + ", " + (2023 - job) + " - " + (2024 - job)});
+            lines.add(new String[] {"t", bullet + "Led the migration of payment services from virtual machines to "
+                    + "Kubernetes, cutting deployment time by 60% and halving infrastructure costs across three regions"});
+            lines.add(new String[] {"t", bullet + "Designed an event-driven order pipeline on Kafka handling twenty "
+                    + "thousand messages per second with exactly-once processing and end-to-end tracing"});
+            lines.add(new String[] {"t", bullet + "Mentored four engineers and introduced contract testing between teams"});
+        }
+        lines.add(new String[] {"h", headings[2]});
+        lines.add(new String[] {"t", "Java, Kotlin, Spring Boot, PostgreSQL, Kafka, Redis, Docker, Kubernetes, AWS, "
+                + "Terraform, Prometheus, Grafana, OpenTelemetry, GitHub Actions"});
+        lines.add(new String[] {"h", headings[3]});
+        lines.add(new String[] {"t", "B.Sc. Computer Science, State University, 2017"});
+        lines.add(new String[] {"h", headings[4]});
+        lines.add(new String[] {"t", bullet + "Open-source rate limiter library for Spring applications with token "
+                + "bucket and sliding window algorithms on a Redis backend, used by more than forty companies"});
+        lines.add(new String[] {"h", headings[5]});
+        lines.add(new String[] {"t", "AWS Certified Solutions Architect - Associate"});
+        lines.add(new String[] {"t", "Oracle Certified Professional Java SE 17 Developer"});
+
+        try (PDDocument document = new PDDocument()) {
+            PDType1Font regular = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+            PDType1Font bold = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+            int next = 0;
+            for (int p = 0; next < lines.size(); p++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                    content.beginText();
+                    content.setFont(regular, 9);
+                    content.newLineAtOffset(50, 760);
+                    content.showText("Jane Doe \u2022 Senior Backend Engineer");
+                    content.newLineAtOffset(0, -24);
+                    float y = 736;
+                    while (next < lines.size() && y > 90) {
+                        String kind = lines.get(next)[0];
+                        String text = lines.get(next)[1];
+                        next++;
+                        if (kind.equals("n")) {
+                            content.setFont(bold, 16);
+                            content.showText(text);
+                            content.newLineAtOffset(0, -20);
+                            y -= 20;
+                            continue;
+                        }
+                        if (kind.equals("h")) {
+                            content.newLineAtOffset(0, -6);
+                            content.setFont(largeHeadings ? bold : regular, largeHeadings ? 13 : 10);
+                            content.showText(text);
+                            content.newLineAtOffset(0, -16);
+                            y -= 22;
+                            continue;
+                        }
+                        content.setFont(regular, 10);
+                        for (String wrapped : wrap(text)) {
+                            content.showText(wrapped);
+                            content.newLineAtOffset(0, -13);
+                            y -= 13;
+                        }
+                    }
+                    content.setFont(regular, 8);
+                    content.newLineAtOffset(0, -20);
+                    content.showText("jane.doe@example.com | +1 555 0100 | Page " + (p + 1));
+                    content.endText();
+                }
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wraps a line at WRAP characters the way layout engines do, hyphenating
+     * words longer than six letters that would overflow.
+     */
+    private static List<String> wrap(String text) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder line = new StringBuilder();
+        for (String word : text.split(" ")) {
+            if (line.length() + 1 + word.length() > WRAP && line.length() > 0) {
+                int room = WRAP - line.length() - 2;
+                if (word.length() > 6 && room >= 3 && word.chars().allMatch(Character::isLetter)) {
+                    lines.add(line + " " + word.substring(0, room) + "-");
+                    line = new StringBuilder("  " + word.substring(room));
+                    continue;
+                }
+                lines.add(line.toString());
+                line = new StringBuilder("  ");
+                line.append(word);
+                continue;
+            }
+            if (line.length() > 0 && !line.toString().isBlank()) {
+                line.append(' ');
+            }
+            line.append(word);
+        }
+        lines.add(line.toString());
+        return lines;
+    }
+}
@@ -0,0 +1,86 @@
+package com.InterviewAI.stub;
+
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Supabase REST and Storage APIs used by
+ * ResumeService: resume metadata under /rest/v1/resumes and file downloads
+ * under /storage/v1/object/authenticated/resumes/*. Every resume id resolves
+ * to the same generated PDF.
+ */
+public class SupabaseStubServer implements AutoCloseable {
+
+    private static final String METADATA = "[{\"file_path\":\"stub-user/resume.pdf\",\"file_name\":\"resume.pdf\","
+            + "\"file_size_bytes\":%d,\"upload_date\":\"2025-01-15T10:00:00Z\"}]";
+
+    private final byte[] pdf;
+    private final LatencyModel latency;
+    private final SplittableRandom random;
+    private final AtomicLong downloads = new AtomicLong();
+    private DisposableServer server;
+
+    public SupabaseStubServer(int pdfPages, LatencyModel latency, long seed) {
+        this.pdf = SamplePdfs.resume(pdfPages);
+        this.latency = latency;
+        this.random = new SplittableRandom(seed);
+    }
+
+    public SupabaseStubServer start() {
+        server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle(this::handle)
+                .bindNow();
+        return this;
+    }
+
+    /**
+     * Base URL to use as supabase.url.
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public long downloadCount() {
+        return downloads.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.disposeNow();
+        }
+    }
+
+    private org.reactivestreams.Publisher<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String path = "/" + request.path();
+        Mono<Long> delay = Mono.delay(nextDelay());
+
+        if (path.equals("/rest/v1/resumes") && request.method().equals(HttpMethod.GET)) {
+            return delay.then(response.header("Content-Type", "application/json")
+                    .sendString(Mono.just(String.format(METADATA, pdf.length))).then());
+        }
+        if (path.equals("/rest/v1/resumes") && request.method().equals(HttpMethod.PATCH)) {
+            return request.receive().then(delay).then(response.status(HttpResponseStatus.NO_CONTENT).send());
+        }
+        if (path.startsWith("/storage/v1/object/authenticated/resumes/")) {
+            downloads.incrementAndGet();
+            return delay.then(response.header("Content-Type", "application/pdf")
+                    .sendByteArray(Mono.just(pdf)).then());
+        }
+        return response.status(HttpResponseStatus.NOT_FOUND).send();
+    }
+
+    private synchronized java.time.Duration nextDelay() {
+        return latency.next(random);
+    }
+}
@@ -0,0 +1,62 @@
+package com.InterviewAI.warmup;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.InterviewAI.stub.LatencyModel;
+import com.InterviewAI.stub.SupabaseStubServer;
+import com.interviewai.warmup.WarmUp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class WarmUpTest {
+
+    private final SupabaseStubServer supabase = new SupabaseStubServer(1, LatencyModel.uniform(0, 5), 1L).start();
+
+    @AfterEach
+    void stopStub() {
+        supabase.close();
+    }
+
+    @Test
+    void reportsOutOfServiceUntilEveryStepHasRun() {
+        WarmUp warmUp = warmUp(supabase.baseUrl(), Duration.ofSeconds(30));
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        warmUp.start();
+
+        await().atMost(Duration.ofSeconds(20)).until(() -> warmUp.health().getStatus().equals(Status.UP));
+        assertThat(warmUp.health().getDetails()).containsOnlyKeys("pdf", "json", "connections")
+                .allSatisfy((step, outcome) -> assertThat((String) outcome).endsWith(" ms"));
+    }
+
+    @Test
+    void unreachableHostsDoNotKeepTheInstanceOutOfService() {
+        WarmUp warmUp = warmUp("http://127.0.0.1:9", Duration.ofSeconds(30));
+
+        warmUp.start();
+
+        await().atMost(Duration.ofSeconds(20)).until(() -> warmUp.health().getStatus().equals(Status.UP));
+        assertThat((String) warmUp.health().getDetails().get("connections")).startsWith("failed");
+        assertThat((String) warmUp.health().getDetails().get("pdf")).endsWith(" ms");
+    }
+
+    @Test
+    void disabledWarmUpIsReadyAtOnce() {
+        WarmUp warmUp = new WarmUp(JsonMapper.builder().findAndAddModules().build(), WebClient.create(),
+                WebClient.create(), "http://127.0.0.1:9", false, 2, Duration.ofSeconds(30));
+
+        assertThat(warmUp.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private static WarmUp warmUp(String baseUrl, Duration timeout) {
+        return new WarmUp(JsonMapper.builder().findAndAddModules().build(), WebClient.create(),
+                WebClient.create(baseUrl), baseUrl, true, 2, timeout);
+    }
+}
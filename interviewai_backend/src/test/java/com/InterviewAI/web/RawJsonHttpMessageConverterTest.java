@@ -0,0 +1,166 @@
+package com.InterviewAI.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.interviewai.dto.gemini.GeminiSchemas;
+import com.interviewai.web.RawJson;
+import com.interviewai.web.RawJsonHttpMessageConverter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RawJsonHttpMessageConverterTest {
+
+    private static final String JSON = "{\"id\":\"a\",\"score\":82,\"items\":[\"x\",\"y\"],\"nested\":{\"ok\":true}}";
+
+    private final RawJsonHttpMessageConverter converter = new RawJsonHttpMessageConverter();
+    private final ObjectMapper json = new ObjectMapper();
+    private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+    private final ObjectMapper smile = new ObjectMapper(new SmileFactory());
+    private final Random random = new Random(42);
+
+    private static final String[] WORDS = ("led migrated billing platform event-driven services reduced latency "
+            + "on-call pages designed implemented mentored engineers Kubernetes Postgres Kafka customers revenue "
+            + "increased onboarding dashboards accessibility stakeholders roadmap quarterly launched experiment "
+            + "conversion pipeline automated testing reliability incidents budget hiring cross-functional "
+            + "analytics forecasting negotiated vendors security compliance SOC2 mobile checkout payments").split(" ");
+
+    @Test
+    void writesJsonVerbatimAndDefaultsToJson() throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+
+        converter.write(new RawJson(JSON.getBytes(StandardCharsets.UTF_8)), null, output);
+
+        assertThat(output.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(output.getBodyAsString()).isEqualTo(JSON);
+    }
+
+    @Test
+    void transcodesToCborAndSmile() throws Exception {
+        JsonNode expected = json.readTree(JSON);
+
+        MockHttpOutputMessage cborOutput = new MockHttpOutputMessage();
+        converter.write(new RawJson(JSON.getBytes(StandardCharsets.UTF_8)), MediaType.APPLICATION_CBOR, cborOutput);
+        MockHttpOutputMessage smileOutput = new MockHttpOutputMessage();
+        converter.write(new RawJson(JSON.getBytes(StandardCharsets.UTF_8)),
+                RawJsonHttpMessageConverter.APPLICATION_SMILE, smileOutput);
+
+        assertThat(cbor.readTree(cborOutput.getBodyAsBytes())).isEqualTo(expected);
+        assertThat(smile.readTree(smileOutput.getBodyAsBytes())).isEqualTo(expected);
+    }
+
+    /**
+     * Serialization time and bytes on the wire per endpoint body, for JSON,
+     * gzip-compressed JSON, CBOR and Smile. Bodies are generated from the
+     * Gemini response schemas with realistic text lengths. Run with
+     * mvn test -Dtest=RawJsonHttpMessageConverterTest -Dbenchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmarkFormatsPerEndpoint() throws Exception {
+        Map<String, JsonNode> bodies = new LinkedHashMap<>();
+        bodies.put("POST /api/interviews/generate", fromSchema(GeminiSchemas.INTERVIEW_SCRIPT, 10));
+        bodies.put("GET /api/feedback/{id}", fromSchema(GeminiSchemas.TRANSCRIPT_FEEDBACK, 1));
+        bodies.put("GET /api/resume/analysis/{id}", fromSchema(GeminiSchemas.RESUME_ANALYSIS, 12));
+        bodies.put("GET /api/resume-builder/{id}", fromSchema(GeminiSchemas.BUILT_RESUME, 8));
+
+        System.out.printf("%-32s %-10s %10s %12s%n", "endpoint", "format", "bytes", "ns/body");
+        for (Map.Entry<String, JsonNode> body : bodies.entrySet()) {
+            for (String format : List.of("json", "json+gzip", "cbor", "cbor+gzip", "smile")) {
+                byte[] encoded = encode(format, body.getValue());
+                long nanos = time(() -> encode(format, body.getValue()).length);
+                System.out.printf("%-32s %-10s %,10d %,12d%n", body.getKey(), format, encoded.length, nanos);
+            }
+        }
+    }
+
+    private byte[] encode(String format, JsonNode body) throws Exception {
+        return switch (format) {
+            case "json" -> json.writeValueAsBytes(body);
+            case "json+gzip" -> gzip(json.writeValueAsBytes(body));
+            case "cbor" -> cbor.writeValueAsBytes(body);
+            case "cbor+gzip" -> gzip(cbor.writeValueAsBytes(body));
+            case "smile" -> smile.writeValueAsBytes(body);
+            default -> throw new IllegalArgumentException(format);
+        };
+    }
+
+    private static byte[] gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private JsonNode fromSchema(Map<String, Object> schema, int arrayLength) {
+        switch ((String) schema.get("type")) {
+            case "OBJECT" -> {
+                ObjectNode node = json.createObjectNode();
+                ((Map<String, Map<String, Object>>) schema.get("properties"))
+                        .forEach((name, property) -> node.set(name, fromSchema(property, arrayLength)));
+                return node;
+            }
+            case "ARRAY" -> {
+                ArrayNode node = json.createArrayNode();
+                for (int i = 0; i < arrayLength; i++) {
+                    node.add(fromSchema((Map<String, Object>) schema.get("items"), arrayLength));
+                }
+                return node;
+            }
+            case "INTEGER" -> {
+                return json.getNodeFactory().numberNode(82);
+            }
+            default -> {
+                return json.getNodeFactory().textNode(sentence(12 + random.nextInt(20)));
+            }
+        }
+    }
+
+    private String sentence(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            sb.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+            if (random.nextInt(8) == 0) {
+                sb.append(' ').append(random.nextInt(100)).append('%');
+            }
+        }
+        return sb.append('.').toString();
+    }
+
+    private static long time(ThrowingSupplier body) throws Exception {
+        int iterations = 5_000;
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += body.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += body.get();
+        }
+        long elapsed = (System.nanoTime() - start) / iterations;
+        return sink > 0 ? elapsed : -1;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        int get() throws Exception;
+    }
+}
@@ -0,0 +1,94 @@
+#!/bin/sh
+# Startup benchmark: time to first request and resident memory of the regular
+# build (as run by Dockerfile) and the fast-start build (Dockerfile.fast-start:
+# AOT-processed, AppCDS archive, lazy beans, schema validation).
+#
+#   ./startup-benchmark.sh [runs]
+#
+# Both builds run against the same file-based H2 database, created by the
+# first regular start (ddl-auto=update) and validated by the fast-start one.
+# Time to first request is measured from process launch to the first
+# successful GET /actuator/health; RSS is read right after that request.
+set -e
+
+RUNS=${1:-5}
+PORT=${PORT:-18080}
+JAR=interviewai_backend-0.0.1-SNAPSHOT.jar
+WORK=target/startup-benchmark
+JAVA_OPTS=${JAVA_OPTS:-"-Xms512m -Xmx1024m"}
+
+cd "$(dirname "$0")"
+rm -rf "$WORK"
+mkdir -p "$WORK/regular" "$WORK/fast-start"
+
+# Stand-ins for the deployment's environment
+APP_ARGS="-Dserver.port=$PORT \
+ -Dspring.datasource.url=jdbc:h2:file:$PWD/$WORK/db;MODE=PostgreSQL \
+ -Dspring.datasource.driver-class-name=org.h2.Driver \
+ -Dspring.datasource.username=sa -Dspring.datasource.password= \
+ -Dsupabase.url=http://localhost -Dsupabase.service.role.key=benchmark \
+ -Dsupabase.jwt.secret=startup-benchmark-secret-at-least-32-bytes \
+ -Dgemini.api.url=http://localhost:9 -Dgemini.api.key=benchmark \
+ -Dlogging.level.root=WARN"
+
+echo "Building regular jar"
+sh ./mvnw -B -q package -DskipTests
+cp "target/$JAR" "$WORK/regular/$JAR"
+
+echo "Building fast-start jar and AppCDS archive"
+sh ./mvnw -B -q package -DskipTests -Pfast-start
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$WORK/fast-start"
+# Creates the schema the fast-start build validates against
+java $JAVA_OPTS $APP_ARGS -Dspring.jpa.hibernate.ddl-auto=update -Dspring.context.exit=onRefresh \
+    -jar "$WORK/regular/$JAR" > /dev/null
+FAST_START_ARGS="-Dspring.aot.enabled=true -Dspring.profiles.active=fast-start"
+(cd "$WORK/fast-start" && java $JAVA_OPTS $APP_ARGS $FAST_START_ARGS \
+    -XX:ArchiveClassesAtExit=app.jsa -Dspring.context.exit=onRefresh -jar "$JAR" > /dev/null)
+
+now_ms() {
+    date +%s%3N
+}
+
+# Prints "<ms to first request> <rss KiB>"
+measure() {
+    dir=$1
+    shift
+    start=$(now_ms)
+    (cd "$dir" && exec java $JAVA_OPTS $APP_ARGS "$@" -jar "$JAR" > startup.log 2>&1) &
+    pid=$!
+    until curl -sf -o /dev/null "http://localhost:$PORT/actuator/health"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application in $dir exited, see $dir/startup.log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    elapsed=$(($(now_ms) - start))
+    java_pid=$(pgrep -P "$pid" java || echo "$pid")
+    rss=$(awk '/VmRSS/ { print $2 }' "/proc/$java_pid/status")
+    kill "$java_pid" "$pid" 2> /dev/null || true
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }'
+}
+
+report() {
+    name=$1
+    shift
+    : > "$WORK/$name.txt"
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        measure "$WORK/$name" "$@" >> "$WORK/$name.txt"
+        i=$((i + 1))
+    done
+    ttfr=$(cut -d' ' -f1 "$WORK/$name.txt" | median)
+    rss=$(cut -d' ' -f2 "$WORK/$name.txt" | median)
+    printf '%-12s %8d %22d %12d\n' "$name" "$RUNS" "$ttfr" "$((rss / 1024))"
+}
+
+printf '%-12s %8s %22s %12s\n' "build" "runs" "first request p50 ms" "RSS p50 MiB"
+report regular
+report fast-start $FAST_START_ARGS -XX:SharedArchiveFile=app.jsa